@@ -1,12 +1,15 @@
 package com.junaidsultan;
 
 import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.service.ServiceLocator;
 import com.junaidsultan.ui.core.input.InputReader;
 import com.junaidsultan.ui.core.screen.Screen;
 import com.junaidsultan.ui.dashboards.auth.LoginPage;
 import com.junaidsultan.ui.scene_manager.Page;
 import com.junaidsultan.util.DatabaseSeeder;
 
+import java.util.Arrays;
+
 /**
  * Main Application Entry Point.
  * Ticket Management System - A CLI-based issue tracking system.
@@ -28,6 +31,33 @@ import com.junaidsultan.util.DatabaseSeeder;
 public class Application {
     
     public static void main(String[] args) {
+        // Scheduled extracts run without the UI: Application export <table> [options]
+        if (args.length > 0 && args[0].equals("export")) {
+            DBConnection.getInstance();
+            int status = ExportCommand.run(Arrays.copyOfRange(args, 1, args.length));
+            DBConnection.getInstance().close();
+            System.exit(status);
+        }
+        // Bulk ticket loads, resumable after a crash: Application import <file> [options]
+        if (args.length > 0 && args[0].equals("import")) {
+            DBConnection.getInstance();
+            int status = ImportCommand.run(Arrays.copyOfRange(args, 1, args.length));
+            DBConnection.getInstance().close();
+            System.exit(status);
+        }
+        // Online snapshots and restores: Application backup [--list] | Application restore <file>
+        if (args.length > 0 && (args[0].equals("backup") || args[0].equals("restore"))) {
+            DBConnection.getInstance();
+            String[] rest = Arrays.copyOfRange(args, 1, args.length);
+            int status = args[0].equals("backup") ? BackupCommand.backup(rest) : BackupCommand.restore(rest);
+            DBConnection.getInstance().close();
+            System.exit(status);
+        }
+        // Offline storage format changes: Application convert <compact|text> <source> <target>
+        if (args.length > 0 && args[0].equals("convert")) {
+            System.exit(ConvertCommand.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        
         System.out.println("""
             ╔══════════════════════════════════════════════════╗
             ║                                                  ║
@@ -40,10 +70,19 @@ public class Application {
         // Initialize database connection
         DBConnection.getInstance();
         
+        // Store queued notifications even if the JVM is stopped with Ctrl+C
+        Runtime.getRuntime().addShutdownHook(new Thread(Application::shutdown, "shutdown"));
+        
         // Seed database with initial data (only if empty)
         DatabaseSeeder seeder = new DatabaseSeeder();
         seeder.seed();
         
+        // Apply notification retention in short batches while the UI starts
+        ServiceLocator.getInstance().getNotificationService().purgeNotificationsInBackground();
+        
+        // Snapshot the database on the configured schedule while the application runs
+        ServiceLocator.getInstance().getBackupService().startScheduledBackups();
+        
         // Initialize UI components
         Screen screen = new Screen(40);
         InputReader input = new InputReader();
@@ -58,6 +97,8 @@ public class Application {
             currentPage = currentPage.show(screen, input);
         }
 
+        shutdown();
+
         System.out.println("""
             
             ══════════════════════════════════════════════════
@@ -65,4 +106,15 @@ public class Application {
             ══════════════════════════════════════════════════
             """);
     }
+    
+    /**
+     * Flush queued notifications and let a running backup finish, then release pooled
+     * database connections. Runs on normal exit and again from the shutdown hook,
+     * where it is a no-op.
+     */
+    private static void shutdown() {
+        ServiceLocator.getInstance().getNotificationService().shutdown();
+        ServiceLocator.getInstance().getBackupService().shutdown();
+        DBConnection.getInstance().close();
+    }
 }
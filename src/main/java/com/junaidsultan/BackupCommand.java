@@ -0,0 +1,71 @@
+package com.junaidsultan;
+
+import com.junaidsultan.config.BackupReport;
+import com.junaidsultan.service.BackupService;
+import com.junaidsultan.service.IBackupService;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-interactive snapshots, e.g. from cron, and restores:
+ * <pre>
+ * java -cp ... com.junaidsultan.Application backup
+ * java -cp ... com.junaidsultan.Application backup --list
+ * java -cp ... com.junaidsultan.Application restore backups/tms-20250101-020000-000.db
+ * </pre>
+ * A backup runs alongside an interactive session. Stop interactive sessions before
+ * a restore: they would keep showing cached data from before it.
+ */
+final class BackupCommand {
+
+    static final String BACKUP_USAGE = """
+        Usage: backup [--list]""";
+    static final String RESTORE_USAGE = """
+        Usage: restore <snapshot.db>""";
+
+    private BackupCommand() {
+    }
+
+    /**
+     * @param args Arguments after "backup"
+     * @return Process exit status: 0 on success, 1 if the backup failed, 2 for bad arguments
+     */
+    static int backup(String[] args) {
+        IBackupService backups = new BackupService();
+        if (args.length == 1 && args[0].equals("--list")) {
+            List<Path> snapshots = backups.listSnapshots();
+            snapshots.forEach(snapshot -> System.out.println(snapshot));
+            System.out.println(snapshots.size() + " snapshot(s); " + backups.getPolicy());
+            return 0;
+        }
+        if (args.length > 0) {
+            System.err.println("Unknown option " + args[0] + "\n" + BACKUP_USAGE);
+            return 2;
+        }
+        Optional<BackupReport> report = backups.backup();
+        report.ifPresent(r -> System.out.println("Backed up " + r));
+        return report.isPresent() ? 0 : 1;
+    }
+
+    /**
+     * @param args Arguments after "restore"
+     * @return Process exit status: 0 on success, 1 if the snapshot was rejected or the
+     *         restore failed, 2 for bad arguments
+     */
+    static int restore(String[] args) {
+        if (args.length != 1) {
+            System.err.println(RESTORE_USAGE);
+            return 2;
+        }
+        IBackupService backups = new BackupService();
+        Optional<BackupReport> report = backups.restore(Path.of(args[0]));
+        if (report.isEmpty()) {
+            return 1;
+        }
+        backups.getLastBackup().ifPresent(saved -> System.out.println("Saved the previous data to " + saved.file()));
+        System.out.println("Restored " + report.get());
+        return 0;
+    }
+}
@@ -0,0 +1,53 @@
+package com.junaidsultan;
+
+import com.junaidsultan.config.ConversionReport;
+import com.junaidsultan.config.StorageConverter;
+import com.junaidsultan.config.StorageFormat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Copies a database into the compact storage format, or back to text:
+ * <pre>
+ * java -cp ... com.junaidsultan.Application convert compact tms.db tms-compact.db
+ * java -cp ... com.junaidsultan.Application convert text tms-compact.db tms.db
+ * </pre>
+ * Stop the application first, convert, then move the new file over tms.db (and
+ * delete tms.db-wal and tms.db-shm). The source is left as it was.
+ */
+final class ConvertCommand {
+
+    static final String USAGE = """
+        Usage: convert <compact|text> <source.db> <target.db>""";
+
+    private ConvertCommand() {
+    }
+
+    /**
+     * @param args Arguments after "convert"
+     * @return Process exit status: 0 on success, 1 if the conversion failed, 2 for bad arguments
+     */
+    static int run(String[] args) {
+        if (args.length != 3) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        StorageFormat format;
+        try {
+            format = StorageFormat.valueOf(args[0].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown format " + args[0] + "\n" + USAGE);
+            return 2;
+        }
+        try {
+            ConversionReport report = new StorageConverter().convert(Path.of(args[1]), Path.of(args[2]), format);
+            System.out.println("Converted " + report);
+            return 0;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error converting database: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.junaidsultan;
+
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.ExportCriteria;
+import com.junaidsultan.repository.ExportSource;
+import com.junaidsultan.service.ExportFormat;
+import com.junaidsultan.service.ExportReport;
+import com.junaidsultan.service.ExportService;
+import com.junaidsultan.service.IExportService;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-interactive export for scheduled extracts:
+ * <pre>
+ * java -cp ... com.junaidsultan.Application export tickets --format jsonl --status CLOSED \
+ *     --from 2025-01-01 --to 2025-06-30 --columns id,title,status --gzip --out tickets.jsonl.gz
+ * </pre>
+ * Only the table is required; by default all columns are written as CSV to a
+ * timestamped file in the exports directory.
+ */
+final class ExportCommand {
+
+    static final String USAGE = """
+        Usage: export <tickets|users|notifications> [--format csv|jsonl] [--columns a,b,...]
+                      [--status OPEN|RESOLVED|CLOSED|ON_HOLD] [--from yyyy-MM-dd] [--to yyyy-MM-dd]
+                      [--gzip] [--out file]""";
+
+    private ExportCommand() {
+    }
+
+    /**
+     * @param args Arguments after "export"
+     * @return Process exit status: 0 on success, 1 if the export failed, 2 for bad arguments
+     */
+    static int run(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        ExportCriteria criteria;
+        ExportFormat format = ExportFormat.CSV;
+        boolean gzip = false;
+        Path target = null;
+        try {
+            criteria = ExportCriteria.of(ExportSource.valueOf(args[0].toUpperCase()));
+            LocalDate from = null;
+            LocalDate to = null;
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--format" -> format = ExportFormat.valueOf(value(args, ++i).toUpperCase());
+                    case "--columns" -> criteria = criteria.withColumns(List.of(value(args, ++i).split(",")));
+                    case "--status" -> criteria = criteria.withStatus(Status.valueOf(value(args, ++i).toUpperCase()));
+                    case "--from" -> from = LocalDate.parse(value(args, ++i));
+                    case "--to" -> to = LocalDate.parse(value(args, ++i));
+                    case "--gzip" -> gzip = true;
+                    case "--out" -> target = Path.of(value(args, ++i));
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            criteria = criteria.withCreatedBetween(from, to);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.err.println(e.getMessage() + "\n" + USAGE);
+            return 2;
+        }
+
+        IExportService exportService = new ExportService();
+        if (target == null) {
+            target = exportService.defaultTarget(criteria, format, gzip);
+        }
+        Optional<ExportReport> report = exportService.export(criteria, format, gzip, target,
+            rows -> System.out.println("  " + rows + " rows"));
+        report.ifPresent(System.out::println);
+        return report.isPresent() ? 0 : 1;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
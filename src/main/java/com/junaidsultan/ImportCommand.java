@@ -0,0 +1,72 @@
+package com.junaidsultan;
+
+import com.junaidsultan.service.ImportError;
+import com.junaidsultan.service.ImportReport;
+import com.junaidsultan.service.TicketImporter;
+
+import java.nio.file.Path;
+
+/**
+ * Non-interactive bulk ticket import:
+ * <pre>
+ * java -cp ... com.junaidsultan.Application import tickets.csv.gz --batch 5000
+ * </pre>
+ * Running it again on the same file after a crash resumes after the last
+ * committed batch; --restart imports the file from the first row again.
+ */
+final class ImportCommand {
+
+    static final String USAGE = """
+        Usage: import <file.csv|file.jsonl>[.gz] [--batch N] [--restart]""";
+
+    private ImportCommand() {
+    }
+
+    /**
+     * @param args Arguments after "import"
+     * @return Process exit status: 0 if every row was imported, 1 if rows were rejected
+     *         or the import stopped early, 2 for bad arguments
+     */
+    static int run(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        Path file = Path.of(args[0]);
+        int batchSize = TicketImporter.DEFAULT_BATCH_SIZE;
+        boolean resume = true;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--batch" -> batchSize = Integer.parseInt(value(args, ++i));
+                    case "--restart" -> resume = false;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("--batch must be positive");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + "\n" + USAGE);
+            return 2;
+        }
+
+        ImportReport report = new TicketImporter().run(file, batchSize, resume,
+            rows -> System.out.println("  " + rows + " rows"));
+        for (ImportError error : report.errors()) {
+            System.err.println("  " + error);
+        }
+        if (report.failed() > report.errors().size()) {
+            System.err.println("  ... and " + (report.failed() - report.errors().size()) + " more rejected rows");
+        }
+        System.out.println(report);
+        return report.completed() && report.failed() == 0 ? 0 : 1;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,33 @@
+package com.junaidsultan.config;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of one {@link DatabaseBackup} copy, in either direction.
+ *
+ * @param file                 snapshot written by a backup, or read by a restore
+ * @param pages                database pages copied
+ * @param bytes                size of the snapshot file
+ * @param steps                copy steps; the source is read a step at a time
+ * @param elapsedNanos         wall time from the first step to the file being in place
+ * @param maxWriterStallNanos  longest a writer waited to start a write during the copy
+ * @param writerProbes         writes timed to measure the stall (0 for a restore, which holds the writer throughout)
+ */
+public record BackupReport(Path file, int pages, long bytes, int steps, long elapsedNanos,
+                           long maxWriterStallNanos, int writerProbes) {
+
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public double maxWriterStallMillis() {
+        return maxWriterStallNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d pages (%,d bytes) in %.0f ms over %d steps, longest writer stall %.2f ms%s",
+            file, pages, bytes, elapsedMillis(), steps, maxWriterStallMillis(),
+            writerProbes == 0 ? "" : " (" + writerProbes + " probes)");
+    }
+}
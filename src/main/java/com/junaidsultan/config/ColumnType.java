@@ -0,0 +1,45 @@
+package com.junaidsultan.config;
+
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+
+/**
+ * Kinds of column whose encoding depends on the {@link StorageFormat}.
+ * Every other column (titles, counts, flags) is stored the same way in both formats.
+ */
+public enum ColumnType {
+
+    /** Entity ids and references to them */
+    ID(null),
+
+    /** Timestamps */
+    TIME(null),
+
+    PRIORITY(Priority.class),
+    STATUS(Status.class),
+    ROLE(Role.class);
+
+    private final Class<? extends Enum<?>> enumType;
+    // getEnumConstants() copies the array on every call
+    private final Enum<?>[] constants;
+
+    ColumnType(Class<? extends Enum<?>> enumType) {
+        this.enumType = enumType;
+        this.constants = enumType != null ? enumType.getEnumConstants() : new Enum<?>[0];
+    }
+
+    /**
+     * @return The enum stored in this column, or null for ids and timestamps
+     */
+    public Class<? extends Enum<?>> enumType() {
+        return enumType;
+    }
+
+    /**
+     * @return The enum constants in code order; not to be modified
+     */
+    Enum<?>[] constants() {
+        return constants;
+    }
+}
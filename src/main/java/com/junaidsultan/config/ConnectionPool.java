@@ -0,0 +1,387 @@
+package com.junaidsultan.config;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of SQLite connections to a single database file.
+ *
+ * SQLite allows exactly one writer at a time, so the pool keeps a single
+ * writer connection and up to {@code maxReaders} read-only connections.
+ * With the database in WAL mode readers never block the writer and the
+ * writer never blocks readers.
+ *
+ * Reader connections are opened lazily and validated before being handed out
+ * if they have been idle longer than {@link #VALIDATION_INTERVAL_MILLIS}.
+ * Every connection is configured with the pool's {@link StorageProfile} when opened
+ * and gets its own {@link StatementCache} of up to {@code statementCacheSize} statements.
+ * Statements are prepared in the database's {@link StorageFormat}, read from the
+ * file whenever the writer connection opens.
+ *
+ * While the current thread has a transaction open through {@link #getTransactionManager()},
+ * both acquire methods return that transaction's connection, so repository calls
+ * made inside it join it without any change to the repositories.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_READERS = 4;
+    public static final long DEFAULT_ACQUIRE_TIMEOUT_MILLIS = 10_000;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    private static final long VALIDATION_INTERVAL_MILLIS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final String url;
+    private final StorageProfile profile;
+    private final int maxReaders;
+    private final long acquireTimeoutMillis;
+    private final int statementCacheSize;
+
+    // Writer slot
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private volatile PooledConnection writer;
+    private volatile StorageFormat storageFormat;
+
+    // Reader slots
+    private final Semaphore readerPermits;
+    private final ConcurrentLinkedDeque<PooledConnection> idleReaders = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger activeReaders = new AtomicInteger();
+
+    // Metrics
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final LongAdder statementEvictions = new LongAdder();
+
+    // Transaction open on each thread, joined by acquireRead/acquireWrite
+    private final ThreadLocal<Transaction> currentTransaction = new ThreadLocal<>();
+    private final TransactionManager transactionManager = new TransactionManager(this);
+
+    private volatile boolean closed;
+
+    public ConnectionPool(String url) throws SQLException {
+        this(url, StorageProfile.BALANCED);
+    }
+
+    public ConnectionPool(String url, StorageProfile profile) throws SQLException {
+        this(url, profile, DEFAULT_MAX_READERS, DEFAULT_ACQUIRE_TIMEOUT_MILLIS);
+    }
+
+    public ConnectionPool(String url, int maxReaders, long acquireTimeoutMillis) throws SQLException {
+        this(url, StorageProfile.BALANCED, maxReaders, acquireTimeoutMillis);
+    }
+
+    public ConnectionPool(String url, StorageProfile profile, int maxReaders, long acquireTimeoutMillis)
+            throws SQLException {
+        this(url, profile, maxReaders, acquireTimeoutMillis, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * @param statementCacheSize Prepared statements cached per connection; 0 disables caching
+     */
+    public ConnectionPool(String url, StorageProfile profile, int maxReaders, long acquireTimeoutMillis,
+                          int statementCacheSize) throws SQLException {
+        if (maxReaders < 1) {
+            throw new IllegalArgumentException("maxReaders must be at least 1");
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("statementCacheSize must not be negative");
+        }
+        this.url = url;
+        this.profile = profile;
+        this.maxReaders = maxReaders;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.readerPermits = new Semaphore(maxReaders, true);
+
+        // The writer is opened eagerly: it creates the database file and sets the
+        // journal mode before any read-only connection attaches.
+        this.writer = openConnection(true);
+    }
+
+    /**
+     * Lease a read-only connection. Blocks while all readers are in use.
+     * @return a lease that must be closed to return the connection
+     * @throws SQLException if the pool is closed or no reader frees up in time
+     */
+    public PooledConnection acquireRead() throws SQLException {
+        Transaction transaction = currentTransaction.get();
+        if (transaction != null) {
+            return transaction.connection().join();
+        }
+        return leaseReader();
+    }
+
+    /**
+     * Lease the single writer connection. Blocks while another caller holds it.
+     * @return a lease that must be closed to return the connection
+     * @throws SQLException if the pool is closed, the writer does not free up in time,
+     *                      or the current thread is inside a read-only transaction
+     */
+    public PooledConnection acquireWrite() throws SQLException {
+        Transaction transaction = currentTransaction.get();
+        if (transaction != null) {
+            if (transaction.isReadOnly()) {
+                throw new SQLException("Cannot write inside a read-only transaction.");
+            }
+            return transaction.connection().join();
+        }
+        return leaseWriter();
+    }
+
+    /**
+     * Unit-of-work API for this pool's database.
+     */
+    public TransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    // --- Pooled leases (bypass the thread's transaction) ---
+
+    PooledConnection leaseReader() throws SQLException {
+        long start = System.nanoTime();
+        acquirePermit(readerPermits, "reader");
+        try {
+            PooledConnection conn = pollHealthyReader();
+            if (conn == null) {
+                conn = openConnection(false);
+            }
+            activeReaders.incrementAndGet();
+            return lease(conn, start);
+        } catch (SQLException | RuntimeException e) {
+            readerPermits.release();
+            throw e;
+        }
+    }
+
+    PooledConnection leaseWriter() throws SQLException {
+        long start = System.nanoTime();
+        acquirePermit(writerPermit, "writer");
+        try {
+            if (!isHealthy(writer)) {
+                writer.closePhysical();
+                writer = openConnection(true);
+            }
+            return lease(writer, start);
+        } catch (SQLException | RuntimeException e) {
+            writerPermit.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Snapshot of the current pool metrics.
+     */
+    public PoolStats getStats() {
+        return new PoolStats(
+            1 - writerPermit.availablePermits(),
+            activeReaders.get(),
+            idleReaders.size(),
+            maxReaders,
+            acquisitions.sum(),
+            timeouts.sum(),
+            totalWaitNanos.sum(),
+            maxWaitNanos.get()
+        );
+    }
+
+    /**
+     * Prepared-statement cache counters across all connections.
+     */
+    public StatementCacheStats getStatementCacheStats() {
+        return new StatementCacheStats(statementHits.sum(), statementMisses.sum(), statementEvictions.sum());
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public StorageProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * How ids, enums and timestamps are stored in this database.
+     */
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    /**
+     * Read back the pragmas in {@link StorageProfile#REPORTED_PRAGMAS} from the writer,
+     * i.e. what SQLite actually accepted rather than what the profile asked for.
+     * @return pragma name to effective value, in report order
+     */
+    public Map<String, String> getEffectivePragmas() throws SQLException {
+        Map<String, String> pragmas = new LinkedHashMap<>();
+        try (PooledConnection conn = acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            for (String pragma : StorageProfile.REPORTED_PRAGMAS) {
+                try (ResultSet rs = stmt.executeQuery("PRAGMA " + pragma)) {
+                    pragmas.put(pragma, rs.next() ? rs.getString(1) : "?");
+                }
+            }
+        }
+        return pragmas;
+    }
+
+    /**
+     * Close every idle connection and refuse new leases.
+     * Connections that are still leased are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection conn;
+        while ((conn = idleReaders.poll()) != null) {
+            conn.closePhysical();
+        }
+        if (writerPermit.tryAcquire()) {
+            writer.closePhysical();
+        }
+    }
+
+    Transaction currentTransaction() {
+        return currentTransaction.get();
+    }
+
+    void bindTransaction(Transaction transaction) {
+        if (transaction == null) {
+            currentTransaction.remove();
+        } else {
+            currentTransaction.set(transaction);
+        }
+    }
+
+    // Called by PooledConnection.close()
+    void release(PooledConnection conn) {
+        boolean healthy = resetState(conn);
+
+        if (conn.isWriter()) {
+            if (closed) {
+                conn.closePhysical();
+                return;
+            }
+            writerPermit.release();
+            return;
+        }
+
+        activeReaders.decrementAndGet();
+        if (healthy && !closed) {
+            idleReaders.push(conn);
+        } else {
+            conn.closePhysical();
+        }
+        readerPermits.release();
+    }
+
+    private void acquirePermit(Semaphore permits, String kind) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTimeoutException(
+                    "Timed out after " + acquireTimeoutMillis + "ms waiting for a " + kind + " connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a " + kind + " connection.", e);
+        }
+    }
+
+    private PooledConnection lease(PooledConnection conn, long startNanos) {
+        long waited = System.nanoTime() - startNanos;
+        acquisitions.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        conn.markLeased();
+        return conn;
+    }
+
+    private PooledConnection pollHealthyReader() {
+        PooledConnection conn;
+        while ((conn = idleReaders.poll()) != null) {
+            if (isHealthy(conn)) {
+                return conn;
+            }
+            conn.closePhysical();
+        }
+        return null;
+    }
+
+    private boolean isHealthy(PooledConnection conn) {
+        try {
+            if (conn.connection().isClosed()) {
+                return false;
+            }
+            boolean stale = System.currentTimeMillis() - conn.getLastReleasedAt() > VALIDATION_INTERVAL_MILLIS;
+            return !stale || conn.connection().isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Undo anything a caller left behind (open transaction) before reuse.
+     * @return false if the connection is no longer usable
+     */
+    private boolean resetState(PooledConnection conn) {
+        try {
+            Connection raw = conn.connection();
+            if (raw.isClosed()) {
+                return false;
+            }
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private PooledConnection openConnection(boolean forWriter) throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(!forWriter);
+        if (forWriter) {
+            // Take the write lock when a transaction starts rather than at its first
+            // write, so a transaction never fails halfway through on a lock upgrade
+            config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        }
+        Connection raw = config.createConnection(url);
+
+        try (Statement stmt = raw.createStatement()) {
+            profile.apply(stmt, forWriter);
+            if (forWriter) {
+                storageFormat = StorageFormat.of(stmt);
+            }
+        } catch (SQLException e) {
+            raw.close();
+            throw e;
+        }
+        StatementCache cache = statementCacheSize == 0 ? null
+            : new StatementCache(raw, storageFormat, statementCacheSize, statementHits, statementMisses,
+                statementEvictions);
+        return new PooledConnection(this, raw, forWriter, cache);
+    }
+}
@@ -0,0 +1,28 @@
+package com.junaidsultan.config;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of one {@link StorageConverter} run.
+ *
+ * @param target       file written
+ * @param format       storage format of the target
+ * @param rows         rows copied across all tables
+ * @param sourceBytes  bytes of the source in use, i.e. without free pages
+ * @param targetBytes  bytes of the target in use
+ * @param elapsedNanos wall time from opening the source to the target being in place
+ */
+public record ConversionReport(Path target, StorageFormat format, long rows, long sourceBytes, long targetBytes,
+                               long elapsedNanos) {
+
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s): %,d rows, %,d bytes in use before and %,d after (%.0f%%) in %.0f ms",
+            target, format.name().toLowerCase(), rows, sourceBytes, targetBytes,
+            sourceBytes == 0 ? 100.0 : 100.0 * targetBytes / sourceBytes, elapsedMillis());
+    }
+}
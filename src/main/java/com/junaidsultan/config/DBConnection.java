@@ -1,16 +1,17 @@
 package com.junaidsultan.config;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import com.junaidsultan.config.migration.SchemaMigrator;
+
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class DBConnection {
 
     private static volatile DBConnection instance;
 
-    // The actual JDBC connection object
-    private Connection connection;
+    // Pool of JDBC connections (one writer, several readers) shared by all repositories
+    private ConnectionPool pool;
 
     private static final String DB_URL = "jdbc:sqlite:tms.db";
 
@@ -18,8 +19,9 @@ public class DBConnection {
         try {
             // Load the SQLite JDBC driver (optional in newer Java, but good for safety)
             Class.forName("org.sqlite.JDBC");
-            this.connection = DriverManager.getConnection(DB_URL);
+            this.pool = new ConnectionPool(DB_URL, StorageProfile.fromSystemProperty());
             System.out.println("✓ Connected to SQLite database.");
+            reportStorageProfile();
 
             initializeDatabase();
 
@@ -42,63 +44,38 @@ public class DBConnection {
         return instance;
     }
 
-    // 6. Getter for the actual SQL Connection object
-    public Connection getConnection() {
-        return connection;
+    // Repositories lease connections from the pool instead of sharing one handle
+    public ConnectionPool getPool() {
+        return pool;
     }
 
-    // Creates tables if they don't exist
-    private void initializeDatabase() {
-        try (Statement stmt = this.connection.createStatement()) {
-
-            String userTable = """
-                CREATE TABLE IF NOT EXISTS users (
-                    id TEXT PRIMARY KEY,
-                    username TEXT UNIQUE NOT NULL,
-                    email TEXT UNIQUE NOT NULL,
-                    name TEXT NOT NULL,
-                    password_hash TEXT NOT NULL,
-                    role TEXT NOT NULL CHECK(role IN ('STUDENT', 'ADMIN', 'STAFF')),
-                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
-                );
-            """;
-            stmt.execute(userTable);
+    // Groups repository calls into one commit; shares the pool's connections
+    public TransactionManager getTransactionManager() {
+        return pool.getTransactionManager();
+    }
 
-            String ticketTable = """
-                CREATE TABLE IF NOT EXISTS tickets (
-                    id TEXT PRIMARY KEY,
-                    title TEXT NOT NULL,
-                    description TEXT NOT NULL,
-                    priority TEXT DEFAULT 'MEDIUM' CHECK(priority IN ('LOW', 'MEDIUM', 'HIGH')),
-                    status TEXT DEFAULT 'OPEN' CHECK(status IN ('OPEN', 'RESOLVED', 'CLOSED', 'ON_HOLD')),
-                    category TEXT,
-                    created_by TEXT NOT NULL,
-                    assigned_to TEXT,
-                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-                    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (created_by) REFERENCES users(id),
-                    FOREIGN KEY (assigned_to) REFERENCES users(id)
-                );
-            """;
-            stmt.execute(ticketTable);
+    // Close all pooled connections (called once on application shutdown)
+    public void close() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
 
-            String notificationTable = """
-                CREATE TABLE IF NOT EXISTS notifications (
-                    id TEXT PRIMARY KEY,
-                    receiver_id TEXT NOT NULL,
-                    title TEXT NOT NULL,
-                    message TEXT,
-                    is_read INTEGER DEFAULT 0,
-                    created_by TEXT,
-                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (receiver_id) REFERENCES users(id),
-                    FOREIGN KEY (created_by) REFERENCES users(id)
-                );
-            """;
-            stmt.execute(notificationTable);
+    // Prints the pragmas SQLite is actually running with for the selected profile
+    private void reportStorageProfile() throws SQLException {
+        Map<String, String> pragmas = pool.getEffectivePragmas();
+        String summary = pragmas.entrySet().stream()
+            .map(e -> e.getKey() + "=" + e.getValue())
+            .collect(Collectors.joining(", "));
+        System.out.println("✓ Storage profile " + pool.getProfile() + ": " + summary);
+    }
 
+    // Creates or upgrades the schema; a no-op when the database is already current
+    private void initializeDatabase() {
+        try {
+            new SchemaMigrator(pool).migrate();
         } catch (SQLException e) {
-            System.err.println("Error creating tables: " + e.getMessage());
+            System.err.println("Error applying schema migrations: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,216 @@
+package com.junaidsultan.config;
+
+import com.junaidsultan.config.migration.Migrations;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.core.DB;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Copies the live database to a snapshot file and back with SQLite's online
+ * backup API, without stopping the application.
+ *
+ * A backup reads the database a few pages per step on a reader connection that
+ * holds one read transaction for the whole copy. In WAL mode that never blocks the
+ * writer, and every step sees the same snapshot, so commits made during the copy
+ * neither restart it nor end up half in it. Between steps the backup times how long
+ * a writer waits to start a write, and reports the longest wait.
+ *
+ * A restore overwrites the live database from a snapshot on the writer connection,
+ * so writers wait for it to finish; readers see the restored data from their next
+ * transaction.
+ */
+public class DatabaseBackup {
+
+    public static final int DEFAULT_PAGES_PER_STEP = 256;
+
+    // Writer probes are at least this far apart, so probing never competes with real writes
+    private static final long PROBE_INTERVAL_NANOS = 5_000_000;
+
+    // Retries when a step finds the database locked, and the pause before each
+    private static final int BUSY_RETRIES = 100;
+    private static final int BUSY_SLEEP_MILLIS = 10;
+
+    private static final int SQLITE_OK = 0;
+
+    private final ConnectionPool pool;
+
+    public DatabaseBackup(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Copy the database to a file. The file appears only once it is complete;
+     * a failed backup leaves no partial file behind.
+     * @param target Snapshot file, replaced if it exists
+     * @param pagesPerStep Most pages read per step
+     * @return Pages copied, time taken and the longest writer stall
+     * @throws SQLException if the copy fails or the current thread is inside a transaction
+     * @throws IOException if the snapshot cannot be moved into place
+     */
+    public BackupReport backup(Path target, int pagesPerStep) throws SQLException, IOException {
+        checkCopy(pagesPerStep);
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        Files.deleteIfExists(partial);
+
+        long start = System.nanoTime();
+        Progress progress = new Progress(true);
+        try (PooledConnection conn = pool.leaseReader()) {
+            // Pin one snapshot for every step; released when the lease is returned
+            conn.connection().setAutoCommit(false);
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT count(*) FROM sqlite_schema")) {
+                rs.next();
+            }
+            int rc = database(conn).backup("main", partial.toString(), progress,
+                BUSY_SLEEP_MILLIS, BUSY_RETRIES, pagesPerStep);
+            if (rc != SQLITE_OK) {
+                throw new SQLException("Backup to " + target + " failed with SQLite error " + rc);
+            }
+            // The copy carries the live database's WAL flag; clear it so opening the
+            // snapshot later leaves no -wal and -shm files beside it
+            try (Connection snapshot = new SQLiteConfig().createConnection("jdbc:sqlite:" + partial);
+                 Statement stmt = snapshot.createStatement()) {
+                stmt.execute("PRAGMA journal_mode = DELETE");
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (SQLException | IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        return new BackupReport(target, progress.pages, Files.size(target), progress.steps,
+            System.nanoTime() - start, progress.maxStallNanos, progress.probes);
+    }
+
+    /**
+     * Overwrite the database with a snapshot, after checking the snapshot with
+     * {@link #verify(Path)}. Holds the writer until the copy is done. The schema is
+     * left at the snapshot's version; run the migrations afterwards.
+     * @param source Snapshot written by {@link #backup(Path, int)}
+     * @param pagesPerStep Most pages written per step
+     * @return Pages copied and time taken, all of which writers waited
+     * @throws SQLException if the snapshot is unusable or the copy fails
+     */
+    public BackupReport restore(Path source, int pagesPerStep) throws SQLException {
+        checkCopy(pagesPerStep);
+        verify(source);
+
+        long start = System.nanoTime();
+        Progress progress = new Progress(false);
+        try (PooledConnection conn = pool.leaseWriter()) {
+            int rc = database(conn).restore("main", source.toString(), progress,
+                BUSY_SLEEP_MILLIS, BUSY_RETRIES, pagesPerStep);
+            if (rc != SQLITE_OK) {
+                throw new SQLException("Restore from " + source + " failed with SQLite error " + rc);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new BackupReport(source, progress.pages, source.toFile().length(), progress.steps,
+            elapsed, elapsed, 0);
+    }
+
+    /**
+     * Check that a file is an intact database of this application, in the storage
+     * format of the open database, that the migrations can bring up to date.
+     * @return The snapshot's schema version
+     * @throws SQLException saying what is wrong with the file
+     */
+    public int verify(Path file) throws SQLException {
+        if (!Files.isRegularFile(file)) {
+            throw new SQLException("Snapshot not found: " + file);
+        }
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        try (Connection conn = config.createConnection("jdbc:sqlite:" + file);
+             Statement stmt = conn.createStatement()) {
+            String check = pragma(stmt, "quick_check");
+            if (!"ok".equals(check)) {
+                throw new SQLException(file + " is damaged: " + check);
+            }
+            int version = Integer.parseInt(pragma(stmt, "user_version"));
+            if (version < 1) {
+                throw new SQLException(file + " is not a ticket database");
+            }
+            if (version > Migrations.latestVersion()) {
+                throw new SQLException(file + " has schema V" + version
+                    + ", newer than this application's V" + Migrations.latestVersion());
+            }
+            StorageFormat format = StorageFormat.of(stmt);
+            if (format != pool.getStorageFormat()) {
+                throw new SQLException(file + " is in the " + format.name().toLowerCase() + " format, the database in the "
+                    + pool.getStorageFormat().name().toLowerCase() + " format; convert it first");
+            }
+            return version;
+        }
+    }
+
+    private void checkCopy(int pagesPerStep) throws SQLException {
+        if (pagesPerStep < 1) {
+            throw new IllegalArgumentException("Pages per step must be positive: " + pagesPerStep);
+        }
+        // The copy uses its own connections; the thread's transaction would hold the writer
+        if (pool.currentTransaction() != null) {
+            throw new SQLException("Cannot copy the database inside a transaction.");
+        }
+    }
+
+    private static DB database(PooledConnection conn) throws SQLException {
+        return conn.connection().unwrap(SQLiteConnection.class).getDatabase();
+    }
+
+    private static String pragma(Statement stmt, String name) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA " + name)) {
+            return rs.next() ? rs.getString(1) : "";
+        }
+    }
+
+    // Called by SQLite after every step with the pages still to copy
+    private final class Progress implements DB.ProgressObserver {
+        private final boolean probeWriter;
+        private int pages;
+        private int steps;
+        private int probes;
+        private long maxStallNanos;
+        private long lastProbe = System.nanoTime() - PROBE_INTERVAL_NANOS;
+
+        Progress(boolean probeWriter) {
+            this.probeWriter = probeWriter;
+        }
+
+        @Override
+        public void progress(int remaining, int pageCount) {
+            pages = pageCount;
+            steps++;
+            if (probeWriter && System.nanoTime() - lastProbe >= PROBE_INTERVAL_NANOS) {
+                probeWriter();
+            }
+        }
+
+        // Time an interactive write would wait to begin: the writer lease plus BEGIN IMMEDIATE
+        private void probeWriter() {
+            long start = System.nanoTime();
+            try (PooledConnection conn = pool.leaseWriter()) {
+                conn.connection().setAutoCommit(false); // rolled back when the lease is returned
+                long stall = System.nanoTime() - start;
+                maxStallNanos = Math.max(maxStallNanos, stall);
+                probes++;
+            } catch (SQLException e) {
+                // the writer was busy past the pool's timeout; record that as the stall
+                maxStallNanos = Math.max(maxStallNanos, System.nanoTime() - start);
+            }
+            lastProbe = System.nanoTime();
+        }
+    }
+}
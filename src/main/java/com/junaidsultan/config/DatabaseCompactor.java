@@ -0,0 +1,101 @@
+package com.junaidsultan.config;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Returns the pages freed by deletes to the file system.
+ *
+ * SQLite keeps deleted pages on a free list and reuses them, but never shrinks the
+ * file on its own. With {@code auto_vacuum=INCREMENTAL} (set on every database the
+ * pool creates) {@link #incrementalVacuum(int)} truncates the file a few pages
+ * at a time, so the writer is never held for long. Older databases need one full
+ * {@code VACUUM} to switch modes; see {@link #enableIncrementalVacuum()}.
+ */
+public class DatabaseCompactor {
+
+    public static final int DEFAULT_PAGES_PER_STEP = 256;
+
+    // PRAGMA auto_vacuum values
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private final ConnectionPool pool;
+
+    public DatabaseCompactor(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return true if the database can be compacted with {@link #incrementalVacuum(int)}
+     */
+    public boolean isIncrementalVacuumEnabled() throws SQLException {
+        return pragma("auto_vacuum") == AUTO_VACUUM_INCREMENTAL;
+    }
+
+    /**
+     * @return Pages on the free list, waiting to be reused or reclaimed
+     */
+    public int freePages() throws SQLException {
+        return pragma("freelist_count");
+    }
+
+    /**
+     * Truncate free pages off the end of the file, one short write per step.
+     * Does nothing unless incremental vacuum is enabled.
+     * @param pagesPerStep Most pages released while the writer is held
+     * @return Pages reclaimed
+     */
+    public int incrementalVacuum(int pagesPerStep) throws SQLException {
+        if (pagesPerStep < 1) {
+            throw new IllegalArgumentException("Pages per step must be positive: " + pagesPerStep);
+        }
+        if (!isIncrementalVacuumEnabled()) {
+            return 0;
+        }
+        int reclaimed = 0;
+        int free = freePages();
+        while (free > 0) {
+            try (PooledConnection conn = pool.acquireWrite();
+                 Statement stmt = conn.createStatement()) {
+                // SQLite frees one page per step of this pragma; execute() steps once,
+                // executeUpdate() runs it to the end
+                stmt.executeUpdate("PRAGMA incremental_vacuum(" + pagesPerStep + ")");
+            }
+            int left = freePages();
+            if (left >= free) {
+                break; // another writer freed pages meanwhile; leave them for the next run
+            }
+            reclaimed += free - left;
+            free = left;
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Switch the database to incremental vacuum. Rewrites the whole file with
+     * {@code VACUUM}, holding the writer until it finishes, so run it once from
+     * maintenance rather than on a schedule. VACUUM may renumber the rowids of
+     * tables without an INTEGER PRIMARY KEY; rebuild the ticket search index afterwards.
+     * @return true if the mode was changed, false if it was already enabled
+     */
+    public boolean enableIncrementalVacuum() throws SQLException {
+        if (isIncrementalVacuumEnabled()) {
+            return false;
+        }
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            stmt.execute("VACUUM");
+        }
+        return true;
+    }
+
+    private int pragma(String name) throws SQLException {
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA " + name)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
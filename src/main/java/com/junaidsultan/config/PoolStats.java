@@ -0,0 +1,40 @@
+package com.junaidsultan.config;
+
+/**
+ * Point-in-time snapshot of {@link ConnectionPool} metrics.
+ *
+ * @param writerActive   1 if the writer connection is currently leased
+ * @param readersActive  reader connections currently leased
+ * @param readersIdle    reader connections open and waiting in the pool
+ * @param readersMax     upper bound on reader connections
+ * @param acquisitions   total successful leases (readers and writer)
+ * @param timeouts       acquire calls that gave up waiting
+ * @param totalWaitNanos accumulated time callers spent waiting for a lease
+ * @param maxWaitNanos   longest single wait for a lease
+ */
+public record PoolStats(int writerActive,
+                        int readersActive,
+                        int readersIdle,
+                        int readersMax,
+                        long acquisitions,
+                        long timeouts,
+                        long totalWaitNanos,
+                        long maxWaitNanos) {
+
+    public double averageWaitMillis() {
+        return acquisitions == 0 ? 0 : totalWaitNanos / 1_000_000.0 / acquisitions;
+    }
+
+    public double maxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "writer=%d/1 readers=%d active, %d idle (max %d) | leases=%d timeouts=%d | wait avg=%.3fms max=%.3fms",
+            writerActive, readersActive, readersIdle, readersMax,
+            acquisitions, timeouts, averageWaitMillis(), maxWaitMillis()
+        );
+    }
+}
@@ -0,0 +1,145 @@
+package com.junaidsultan.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A physical SQLite connection owned by the {@link ConnectionPool}.
+ * Callers lease it with {@code acquireRead()} / {@code acquireWrite()} and hand it
+ * back by closing it, so it is meant to be used in try-with-resources:
+ * <pre>
+ * try (PooledConnection conn = pool.acquireRead();
+ *      PreparedStatement stmt = conn.prepareStatement(sql)) { ... }
+ * </pre>
+ * Closing a lease never closes the underlying JDBC connection.
+ *
+ * Repositories should prefer {@link #prepareCached(String)}, which reuses the
+ * statement prepared for the same SQL on an earlier lease of this connection.
+ *
+ * While a {@link TransactionManager} transaction is open on the current thread,
+ * the pool hands out joined leases instead: views of the transaction's connection
+ * whose close() leaves the connection with the transaction.
+ */
+public class PooledConnection implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final boolean writer;
+    private final StatementCache statementCache; // null when caching is disabled
+    private final PooledConnection owner; // set on joined leases; null on pooled connections
+    private final List<PreparedStatement> uncachedStatements = new ArrayList<>();
+    private final AtomicBoolean leased = new AtomicBoolean(false);
+    private volatile long lastReleasedAt;
+
+    PooledConnection(ConnectionPool pool, Connection connection, boolean writer, StatementCache statementCache) {
+        this(pool, connection, writer, statementCache, null);
+    }
+
+    private PooledConnection(ConnectionPool pool, Connection connection, boolean writer,
+                             StatementCache statementCache, PooledConnection owner) {
+        this.pool = pool;
+        this.connection = connection;
+        this.writer = writer;
+        this.statementCache = statementCache;
+        this.owner = owner;
+        this.lastReleasedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * The underlying JDBC connection. Do not close it directly.
+     */
+    public Connection connection() {
+        return connection;
+    }
+
+    /**
+     * @param sql Text-format SQL, adapted to the database's {@link StorageFormat}
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return connection.prepareStatement(pool.getStorageFormat().sql(sql));
+    }
+
+    /**
+     * Prepared statement for this SQL, reused across leases of this connection.
+     * The caller must NOT close it (close its ResultSet instead); it stays
+     * owned by the connection's statement cache.
+     */
+    public PreparedStatement prepareCached(String sql) throws SQLException {
+        if (statementCache != null) {
+            return statementCache.get(sql);
+        }
+        // Caching disabled: hand out a fresh statement and close it on release
+        PreparedStatement stmt = prepareStatement(sql);
+        uncachedStatements.add(stmt);
+        return stmt;
+    }
+
+    public Statement createStatement() throws SQLException {
+        return connection.createStatement();
+    }
+
+    public boolean isWriter() {
+        return writer;
+    }
+
+    /**
+     * Return the connection to the pool. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        if (leased.compareAndSet(true, false)) {
+            closeUncachedStatements();
+            if (owner != null) {
+                return; // joined lease: the transaction still owns the connection
+            }
+            lastReleasedAt = System.currentTimeMillis();
+            pool.release(this);
+        }
+    }
+
+    // --- Pool bookkeeping ---
+
+    void markLeased() {
+        leased.set(true);
+    }
+
+    /**
+     * A lease on this same connection for code running inside its transaction.
+     */
+    PooledConnection join() {
+        PooledConnection joined = new PooledConnection(pool, connection, writer, statementCache, this);
+        joined.markLeased();
+        return joined;
+    }
+
+    long getLastReleasedAt() {
+        return lastReleasedAt;
+    }
+
+    private void closeUncachedStatements() {
+        for (PreparedStatement stmt : uncachedStatements) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing statement: " + e.getMessage());
+            }
+        }
+        uncachedStatements.clear();
+    }
+
+    void closePhysical() {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.junaidsultan.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of prepared statements for one pooled connection, keyed by SQL text.
+ *
+ * Preparing a statement makes SQLite parse and plan the SQL; reusing the prepared
+ * handle skips both. A connection is only ever used by the thread holding its lease,
+ * so the cache itself needs no locking. Hit/miss/eviction counters are shared
+ * with the owning pool so they can be reported across all connections.
+ */
+class StatementCache {
+
+    private final Connection connection;
+    private final StorageFormat format;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    StatementCache(Connection connection, StorageFormat format, int capacity,
+                   LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.connection = connection;
+        this.format = format;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Return the cached statement for this SQL, preparing it on a miss.
+     * Parameters left over from the previous use are cleared.
+     * @param sql Text-format SQL; the key, while the statement is prepared from its
+     *            {@link StorageFormat#sql(String)} form
+     */
+    PreparedStatement get(String sql) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt != null && !stmt.isClosed()) {
+            hits.increment();
+            stmt.clearParameters();
+            return stmt;
+        }
+        misses.increment();
+        stmt = connection.prepareStatement(format.sql(sql));
+        statements.put(sql, stmt);
+        return stmt;
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * Close and forget every cached statement.
+     */
+    void clear() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.junaidsultan.config;
+
+/**
+ * Prepared-statement cache counters, summed over every connection in a pool.
+ *
+ * @param hits      statements served from a cache
+ * @param misses    statements that had to be prepared
+ * @param evictions statements closed to stay within the cache capacity
+ */
+public record StatementCacheStats(long hits, long misses, long evictions) {
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("statements hits=%d misses=%d evictions=%d (hit rate %.1f%%)",
+            hits, misses, evictions, hitRate() * 100);
+    }
+}
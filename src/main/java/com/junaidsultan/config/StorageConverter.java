@@ -0,0 +1,200 @@
+package com.junaidsultan.config;
+
+import com.junaidsultan.config.migration.CompactSchema;
+import com.junaidsultan.config.migration.Migrations;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import org.sqlite.SQLiteConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies a database into a new file in another {@link StorageFormat}.
+ *
+ * The target gets the full schema first: the migrations for the text format,
+ * {@link CompactSchema} for the compact one. The source is then attached and each
+ * base table copied with one INSERT ... SELECT that converts ids, enums and
+ * timestamps in SQL. The unread counters, ticket rollups and the search index are
+ * not copied; the target's triggers rebuild them from the copied rows.
+ *
+ * The source is only read. Stop the application before converting its database,
+ * so nothing is written to the source during the copy.
+ */
+public class StorageConverter {
+
+    // Base tables in copy order, with the columns whose encoding differs between formats
+    private static final List<Table> TABLES = List.of(
+        new Table("users",
+            id("id"), plain("username"), plain("email"), plain("name"), plain("password_hash"),
+            new Column("role", ColumnType.ROLE), time("created_at")),
+        new Table("tickets", ticketColumns(false)),
+        new Table("tickets_archive", ticketColumns(true)),
+        new Table("broadcasts",
+            id("id"), new Column("target_role", ColumnType.ROLE), plain("title"), plain("message"),
+            id("created_by"), time("created_at")),
+        new Table("broadcast_receipts",
+            id("user_id"), id("broadcast_id"), time("read_at"), time("dismissed_at")),
+        new Table("notifications",
+            id("id"), id("receiver_id"), plain("title"), plain("message"), plain("is_read"),
+            id("created_by"), time("created_at"), time("updated_at")),
+        new Table("import_checkpoints",
+            plain("source"), plain("rows_read"), plain("imported"), plain("failed"), time("updated_at")),
+        new Table("schema_version",
+            plain("version"), plain("description"), plain("applied_at"))
+    );
+
+    /**
+     * Convert a database file.
+     * @param source Database at the latest schema version, in the other format
+     * @param target File to create; it appears only once the copy is complete
+     * @param format Format of the copy
+     * @return Rows copied, bytes in use before and after, and time taken
+     * @throws SQLException if the source cannot be converted or the copy fails
+     * @throws IOException if the target exists or cannot be moved into place
+     */
+    public ConversionReport convert(Path source, Path target, StorageFormat format) throws SQLException, IOException {
+        long start = System.nanoTime();
+        StorageFormat sourceFormat = checkSource(source, format);
+        if (Files.exists(target)) {
+            throw new IOException(target + " already exists");
+        }
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        Files.deleteIfExists(partial);
+
+        long rows = 0;
+        long sourceBytes;
+        long targetBytes;
+        // A rollback journal: the finished file is a single file, like a backup snapshot
+        try (ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + partial, StorageProfile.LEGACY)) {
+            if (format == StorageFormat.TEXT) {
+                new SchemaMigrator(pool).migrate();
+            }
+            try (PooledConnection conn = pool.acquireWrite();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("ATTACH DATABASE '" + source.toString().replace("'", "''") + "' AS source");
+                if (format == StorageFormat.COMPACT) {
+                    CompactSchema.create(stmt, "source");
+                }
+                stmt.execute("BEGIN IMMEDIATE");
+                try {
+                    stmt.execute("DELETE FROM schema_version"); // the source's history replaces the migrator's
+                    for (Table table : TABLES) {
+                        rows += stmt.executeUpdate(table.copySql(sourceFormat, format));
+                    }
+                    stmt.execute("PRAGMA user_version = " + Migrations.latestVersion());
+                    stmt.execute("PRAGMA application_id = " + format.applicationId());
+                    stmt.execute("COMMIT");
+                } catch (SQLException e) {
+                    stmt.execute("ROLLBACK");
+                    throw e;
+                }
+                sourceBytes = bytesInUse(stmt, "source");
+                stmt.execute("DETACH DATABASE source");
+                targetBytes = bytesInUse(stmt, "main");
+            }
+        } catch (SQLException e) {
+            Files.deleteIfExists(partial);
+            throw new SQLException("Converting " + source + " failed: " + e.getMessage(), e);
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        return new ConversionReport(target, format, rows, sourceBytes, targetBytes, System.nanoTime() - start);
+    }
+
+    /**
+     * @return The source's format
+     * @throws SQLException if the source is missing, already in the requested format
+     *         or not at the latest schema version
+     */
+    private static StorageFormat checkSource(Path source, StorageFormat format) throws SQLException {
+        if (!Files.isRegularFile(source)) {
+            throw new SQLException("Database not found: " + source);
+        }
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        try (Connection conn = config.createConnection("jdbc:sqlite:" + source);
+             Statement stmt = conn.createStatement()) {
+            StorageFormat current = StorageFormat.of(stmt);
+            if (current == format) {
+                throw new SQLException(source + " is already in the " + format.name().toLowerCase() + " format");
+            }
+            int version;
+            try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                version = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (version != Migrations.latestVersion()) {
+                throw new SQLException(source + " has schema V" + version + "; only V" + Migrations.latestVersion()
+                    + " databases can be converted. Start the application on it once to upgrade it.");
+            }
+            return current;
+        }
+    }
+
+    // Pages holding data, not counting free pages a VACUUM would drop
+    private static long bytesInUse(Statement stmt, String schema) throws SQLException {
+        long[] values = new long[3];
+        String[] pragmas = {"page_count", "freelist_count", "page_size"};
+        for (int i = 0; i < pragmas.length; i++) {
+            try (ResultSet rs = stmt.executeQuery("PRAGMA " + schema + "." + pragmas[i])) {
+                values[i] = rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+        return (values[0] - values[1]) * values[2];
+    }
+
+    private static Column[] ticketColumns(boolean archive) {
+        List<Column> columns = new ArrayList<>(List.of(
+            id("id"), plain("title"), new Column("priority", ColumnType.PRIORITY),
+            new Column("status", ColumnType.STATUS), plain("category"), id("created_by"), id("assigned_to"),
+            time("created_at"), time("updated_at"), plain("description")));
+        if (archive) {
+            columns.add(time("archived_at"));
+        }
+        return columns.toArray(Column[]::new);
+    }
+
+    private static Column id(String name) {
+        return new Column(name, ColumnType.ID);
+    }
+
+    private static Column time(String name) {
+        return new Column(name, ColumnType.TIME);
+    }
+
+    private static Column plain(String name) {
+        return new Column(name, null);
+    }
+
+    // type is null for columns stored the same in both formats
+    private record Column(String name, ColumnType type) {
+
+        String expression(StorageFormat from, StorageFormat to) {
+            return type == null ? name : to.fromText(type, from.toText(type, name));
+        }
+    }
+
+    private record Table(String name, Column... columns) {
+
+        String copySql(StorageFormat from, StorageFormat to) {
+            List<String> names = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            for (Column column : columns) {
+                names.add(column.name());
+                values.add(column.expression(from, to));
+            }
+            return "INSERT INTO main." + name + " (" + String.join(", ", names) + ") SELECT "
+                + String.join(", ", values) + " FROM source." + name;
+        }
+    }
+}
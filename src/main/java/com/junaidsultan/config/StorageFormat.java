@@ -0,0 +1,329 @@
+package com.junaidsultan.config;
+
+import com.junaidsultan.enums.Status;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * How ids, enums and timestamps are encoded in the database file.
+ *
+ * TEXT is the schema the migrations create: ids are 36-character UUID strings,
+ * enums are stored by name and timestamps are SQLite datetime strings (UTC).
+ *
+ * COMPACT has the same tables, indexes and triggers, but stores ids as 16-byte
+ * BLOBs, enums as small integer codes and timestamps as INTEGER milliseconds since
+ * the epoch, and keeps notifications in a WITHOUT ROWID table (see
+ * {@link com.junaidsultan.config.migration.CompactSchema}). Ids that are not
+ * lowercase UUIDs, such as ids given in an import file, stay TEXT. A database is
+ * converted with {@link StorageConverter} and is marked by its PRAGMA
+ * application_id, which the {@link ConnectionPool} reads when it opens.
+ *
+ * Repository SQL is written for the text format. Repositories bind and read ids,
+ * enums and timestamps through the methods here, which convert at the JDBC
+ * boundary, and the pool passes every statement it prepares through
+ * {@link #sql(String)}. Enum codes are ordinals: add new constants at the end.
+ */
+public enum StorageFormat {
+
+    TEXT,
+    COMPACT;
+
+    /** application_id of a compact database: "TMSC" */
+    public static final int COMPACT_APPLICATION_ID = 0x544D5343;
+
+    // The current time in epoch millis, as is and shifted by a modifier such as '-30 days'
+    private static final String NOW_MILLIS = "CAST(round(unixepoch('now', 'subsec') * 1000) AS INTEGER)";
+    private static final String SHIFTED_NOW_MILLIS = "CAST(round(unixepoch('now', ?, 'subsec') * 1000) AS INTEGER)";
+
+    // Matches exactly the ids isUuid() accepts; GLOB is case sensitive
+    private static final String UUID_GLOB = hexGlob(8) + "-" + hexGlob(4) + "-" + hexGlob(4) + "-"
+        + hexGlob(4) + "-" + hexGlob(12);
+
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter MILLIS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Read the format of the database a connection is open on.
+     * @throws SQLException if the file is marked as belonging to another application
+     */
+    public static StorageFormat of(Statement stmt) throws SQLException {
+        int applicationId;
+        try (ResultSet rs = stmt.executeQuery("PRAGMA application_id")) {
+            applicationId = rs.next() ? rs.getInt(1) : 0;
+        }
+        for (StorageFormat format : values()) {
+            if (format.applicationId() == applicationId) {
+                return format;
+            }
+        }
+        throw new SQLException("Not a ticket database (application_id " + applicationId + ")");
+    }
+
+    /**
+     * @return The PRAGMA application_id of a database in this format
+     */
+    public int applicationId() {
+        return this == COMPACT ? COMPACT_APPLICATION_ID : 0;
+    }
+
+    /**
+     * Adapt text-format SQL: datetime('now') and datetime('now', ?) become epoch
+     * millis, and a comparison with a quoted status name uses its code instead.
+     */
+    public String sql(String sql) {
+        if (this == TEXT) {
+            return sql;
+        }
+        String adapted = sql.replace("datetime('now', ?)", SHIFTED_NOW_MILLIS)
+            .replace("datetime('now')", NOW_MILLIS);
+        for (Status status : Status.values()) {
+            adapted = adapted.replace("status = '" + status.name() + "'", "status = " + status.ordinal());
+        }
+        return adapted;
+    }
+
+    /**
+     * SQL expression that converts a text-format value, such as a field of a JSON
+     * parameter, to this format.
+     */
+    public String fromText(ColumnType type, String expression) {
+        if (this == TEXT) {
+            return expression;
+        }
+        return switch (type) {
+            case ID -> "CASE WHEN " + expression + " GLOB '" + UUID_GLOB + "' THEN unhex(replace("
+                + expression + ", '-', '')) ELSE " + expression + " END";
+            case TIME -> "CAST(round(unixepoch(" + expression + ", 'subsec') * 1000) AS INTEGER)";
+            default -> {
+                StringBuilder sql = new StringBuilder("CASE ").append(expression);
+                for (Enum<?> constant : type.constants()) {
+                    sql.append(" WHEN '").append(constant.name()).append("' THEN ").append(constant.ordinal());
+                }
+                yield sql.append(" END").toString();
+            }
+        };
+    }
+
+    /**
+     * SQL expression that converts a value stored in this format to the text format.
+     */
+    public String toText(ColumnType type, String expression) {
+        if (this == TEXT) {
+            return expression;
+        }
+        return switch (type) {
+            case ID -> {
+                String hex = "hex(" + expression + ")";
+                yield "CASE WHEN typeof(" + expression + ") = 'blob' AND length(" + expression + ") = 16 THEN lower("
+                    + "substr(" + hex + ", 1, 8) || '-' || substr(" + hex + ", 9, 4) || '-' || substr(" + hex
+                    + ", 13, 4) || '-' || substr(" + hex + ", 17, 4) || '-' || substr(" + hex + ", 21)) ELSE "
+                    + expression + " END";
+            }
+            // Whole seconds in SQLite's own datetime form, the same as decode() produces
+            case TIME -> "CASE WHEN " + expression + " % 1000 = 0 THEN datetime(" + expression
+                + " / 1000, 'unixepoch') ELSE strftime('%Y-%m-%d %H:%M:%f', " + expression + " / 1000.0, 'unixepoch') END";
+            default -> {
+                StringBuilder sql = new StringBuilder("CASE ").append(expression);
+                for (Enum<?> constant : type.constants()) {
+                    sql.append(" WHEN ").append(constant.ordinal()).append(" THEN '").append(constant.name()).append('\'');
+                }
+                yield sql.append(" END").toString();
+            }
+        };
+    }
+
+    /**
+     * Value to bind for a column of the given type.
+     * @param value An id or timestamp string, an enum constant or name, or a date
+     *              (the start of that day, for range filters)
+     * @throws IllegalArgumentException if a timestamp or enum name cannot be parsed
+     */
+    public Object encode(ColumnType type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (this == TEXT) {
+            return value instanceof Enum<?> constant ? constant.name() : value.toString();
+        }
+        return switch (type) {
+            case ID -> isUuid(value.toString()) ? uuidBytes(value.toString()) : value.toString();
+            case TIME -> epochMillis(value);
+            default -> value instanceof Enum<?> constant ? constant.ordinal() : code(type, value.toString());
+        };
+    }
+
+    /**
+     * Value read from a column of the given type, in the text format's form.
+     */
+    public String decode(ColumnType type, Object stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (this == COMPACT) {
+            if (type == ColumnType.ID && stored instanceof byte[] bytes && bytes.length == 16) {
+                return uuidText(bytes);
+            }
+            if (stored instanceof Number number) {
+                if (type == ColumnType.TIME) {
+                    return timeText(number.longValue());
+                }
+                if (type.enumType() != null) {
+                    return type.constants()[number.intValue()].name();
+                }
+            }
+        }
+        return stored.toString();
+    }
+
+    public void bindId(PreparedStatement stmt, int index, String id) throws SQLException {
+        stmt.setObject(index, encode(ColumnType.ID, id));
+    }
+
+    public void bindEnum(PreparedStatement stmt, int index, Enum<?> value) throws SQLException {
+        stmt.setObject(index, value == null ? null : this == TEXT ? value.name() : value.ordinal());
+    }
+
+    /**
+     * @param time A timestamp as returned by {@link #readTime(ResultSet, String)}
+     */
+    public void bindTime(PreparedStatement stmt, int index, String time) throws SQLException {
+        try {
+            stmt.setObject(index, encode(ColumnType.TIME, time));
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    public String readId(ResultSet rs, String column) throws SQLException {
+        return this == TEXT ? rs.getString(column) : decode(ColumnType.ID, rs.getObject(column));
+    }
+
+    public String readId(ResultSet rs, int column) throws SQLException {
+        return this == TEXT ? rs.getString(column) : decode(ColumnType.ID, rs.getObject(column));
+    }
+
+    /**
+     * @return The constant's name, as the entity constructors take it
+     */
+    public String readEnum(ResultSet rs, String column, ColumnType type) throws SQLException {
+        return this == TEXT ? rs.getString(column) : decode(type, rs.getObject(column));
+    }
+
+    /**
+     * @return SQLite's "yyyy-MM-dd HH:mm:ss"; in the compact format with ".SSS"
+     *         added when the time is not a whole second
+     */
+    public String readTime(ResultSet rs, String column) throws SQLException {
+        return this == TEXT ? rs.getString(column) : decode(ColumnType.TIME, rs.getObject(column));
+    }
+
+    private static int code(ColumnType type, String name) {
+        for (Enum<?> constant : type.constants()) {
+            if (constant.name().equals(name)) {
+                return constant.ordinal();
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + type.name().toLowerCase() + " '" + name + "'");
+    }
+
+    private static long epochMillis(Object value) {
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        try {
+            return LocalDateTime.parse(value.toString().replace(' ', 'T')).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid timestamp '" + value + "'", e);
+        }
+    }
+
+    // Formatted by hand: this runs for every timestamp read, and a DateTimeFormatter
+    // costs more than the rest of the row mapping
+    private static String timeText(long millis) {
+        int fraction = (int) Math.floorMod(millis, 1000L);
+        LocalDateTime time = LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L), 0, ZoneOffset.UTC);
+        if (time.getYear() < 0 || time.getYear() > 9999) {
+            return time.plusNanos(fraction * 1_000_000L).format(fraction == 0 ? SECONDS : MILLIS);
+        }
+        char[] text = new char[fraction == 0 ? 19 : 23];
+        digits(text, 0, time.getYear(), 4);
+        text[4] = '-';
+        digits(text, 5, time.getMonthValue(), 2);
+        text[7] = '-';
+        digits(text, 8, time.getDayOfMonth(), 2);
+        text[10] = ' ';
+        digits(text, 11, time.getHour(), 2);
+        text[13] = ':';
+        digits(text, 14, time.getMinute(), 2);
+        text[16] = ':';
+        digits(text, 17, time.getSecond(), 2);
+        if (fraction != 0) {
+            text[19] = '.';
+            digits(text, 20, fraction, 3);
+        }
+        return new String(text);
+    }
+
+    private static void digits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // Lowercase 8-4-4-4-12 hex, the form UUID.toString() produces
+    private static boolean isUuid(String id) {
+        if (id.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                ? c == '-'
+                : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] uuidBytes(String id) {
+        byte[] bytes = new byte[16];
+        for (int b = 0, i = 0; b < 16; b++, i += 2) {
+            if (id.charAt(i) == '-') {
+                i++;
+            }
+            bytes[b] = (byte) (Character.digit(id.charAt(i), 16) << 4 | Character.digit(id.charAt(i + 1), 16));
+        }
+        return bytes;
+    }
+
+    private static String uuidText(byte[] bytes) {
+        char[] chars = new char[36];
+        for (int b = 0, i = 0; b < 16; b++) {
+            if (b == 4 || b == 6 || b == 8 || b == 10) {
+                chars[i++] = '-';
+            }
+            chars[i++] = HEX[(bytes[b] >> 4) & 0xF];
+            chars[i++] = HEX[bytes[b] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static String hexGlob(int digits) {
+        return "[0-9a-f]".repeat(digits);
+    }
+}
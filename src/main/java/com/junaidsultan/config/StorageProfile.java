@@ -0,0 +1,94 @@
+package com.junaidsultan.config;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Named sets of SQLite pragmas applied to every pooled connection when it is opened.
+ *
+ * The profile is chosen at startup with {@code -Dtms.storage.profile=<NAME>};
+ * {@link #BALANCED} is used when the property is missing or unknown.
+ *
+ * journal_mode is persistent in the database file and is only set from the writer
+ * connection; the other pragmas are per-connection and applied to readers too.
+ */
+public enum StorageProfile {
+
+    /**
+     * WAL with synchronous=NORMAL: commits do not fsync, checkpoints do.
+     * A power loss can drop the last few commits but never corrupts the file.
+     */
+    BALANCED("WAL", "NORMAL", -20_000, 256L * 1024 * 1024, "MEMORY", 5_000),
+
+    /**
+     * WAL with synchronous=FULL: every commit is fsynced before returning.
+     */
+    DURABLE("WAL", "FULL", -20_000, 256L * 1024 * 1024, "MEMORY", 5_000),
+
+    /**
+     * SQLite's out-of-the-box settings (rollback journal, full sync, 2MB cache).
+     * Readers and the writer block each other in this mode.
+     */
+    LEGACY("DELETE", "FULL", -2_000, 0, "DEFAULT", 5_000);
+
+    public static final String PROPERTY = "tms.storage.profile";
+
+    /** Pragmas reported by {@link ConnectionPool#getEffectivePragmas()}. */
+    public static final List<String> REPORTED_PRAGMAS = List.of(
+        "journal_mode", "synchronous", "cache_size", "mmap_size", "temp_store", "busy_timeout", "auto_vacuum"
+    );
+
+    private final String journalMode;
+    private final String synchronous;
+    private final int cacheSize;       // negative = KiB, positive = pages
+    private final long mmapSize;       // bytes, 0 disables memory-mapped I/O
+    private final String tempStore;
+    private final int busyTimeoutMillis;
+
+    StorageProfile(String journalMode, String synchronous, int cacheSize,
+                   long mmapSize, String tempStore, int busyTimeoutMillis) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    /**
+     * Resolve the profile named by the {@value #PROPERTY} system property.
+     */
+    public static StorageProfile fromSystemProperty() {
+        String name = System.getProperty(PROPERTY);
+        if (name == null || name.isBlank()) {
+            return BALANCED;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage profile '" + name + "', using " + BALANCED + ".");
+            return BALANCED;
+        }
+    }
+
+    /**
+     * Apply this profile to a freshly opened connection.
+     * @param stmt A statement on the connection to configure
+     * @param writer true for the writer connection, false for read-only connections
+     */
+    void apply(Statement stmt, boolean writer) throws SQLException {
+        // busy_timeout first so the remaining pragmas wait out a concurrent checkpoint
+        stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+        if (writer) {
+            // Only takes effect on a new database, and only before journal_mode writes
+            // its header; older files switch with DatabaseCompactor.enableIncrementalVacuum()
+            stmt.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            stmt.execute("PRAGMA journal_mode = " + journalMode);
+        }
+        stmt.execute("PRAGMA synchronous = " + synchronous);
+        stmt.execute("PRAGMA cache_size = " + cacheSize);
+        stmt.execute("PRAGMA mmap_size = " + mmapSize);
+        stmt.execute("PRAGMA temp_store = " + tempStore);
+    }
+}
@@ -0,0 +1,33 @@
+package com.junaidsultan.config;
+
+/**
+ * Reads the numeric {@code tms.*} system properties that tune the application at startup.
+ */
+public final class SystemProperties {
+
+    private SystemProperties() {
+    }
+
+    /**
+     * Read a non-negative integer system property.
+     * @param name Property name
+     * @param defaultValue Value used when the property is missing, blank, not a number or negative
+     * @return The property's value, or the default (an invalid value is reported on stderr)
+     */
+    public static int nonNegativeInt(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        System.err.println("Invalid value '" + value + "' for " + name + ", using " + defaultValue + ".");
+        return defaultValue;
+    }
+}
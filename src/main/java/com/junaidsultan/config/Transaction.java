@@ -0,0 +1,58 @@
+package com.junaidsultan.config;
+
+/**
+ * One scope of a unit of work opened by {@link TransactionManager}.
+ * The outermost scope owns a pooled connection; nested scopes share it and
+ * run inside a savepoint, so rolling one back leaves the enclosing work intact.
+ */
+public final class Transaction {
+
+    private final Transaction parent;
+    private final PooledConnection connection;
+    private final boolean readOnly;
+    private final int depth;
+    private boolean rollbackOnly;
+
+    Transaction(Transaction parent, PooledConnection connection, boolean readOnly) {
+        this.parent = parent;
+        this.connection = connection;
+        this.readOnly = readOnly;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+    }
+
+    /**
+     * Roll this scope back when it ends instead of committing it.
+     * Repositories report failures by return value rather than by exception,
+     * so this is how a caller discards work after a failed step.
+     */
+    public void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * True for a scope opened inside another transaction (backed by a savepoint).
+     */
+    public boolean isNested() {
+        return parent != null;
+    }
+
+    Transaction parent() {
+        return parent;
+    }
+
+    PooledConnection connection() {
+        return connection;
+    }
+
+    String savepointName() {
+        return "tx_" + depth;
+    }
+}
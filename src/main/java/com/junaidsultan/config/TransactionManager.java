@@ -0,0 +1,211 @@
+package com.junaidsultan.config;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit of work over a {@link ConnectionPool}. Every repository call made by the
+ * work runs on the transaction's connection and commits together:
+ * <pre>
+ * transactions.inTransaction(tx -> {
+ *     ticketRepository.updateStatus(ticketId, Status.RESOLVED);
+ *     return notificationRepository.save(notification);
+ * });
+ * </pre>
+ * Read-write transactions hold the pool's writer and begin IMMEDIATE; read-only
+ * transactions hold a reader and see one consistent snapshot. A transaction opened
+ * while another is active on the thread becomes a nested scope backed by a savepoint.
+ *
+ * The work's exceptions roll the scope back and are rethrown. Since repositories
+ * return null/false on failure, work can also call {@link Transaction#setRollbackOnly()}.
+ */
+public class TransactionManager {
+
+    /**
+     * Work run inside a transaction.
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(Transaction tx) throws Exception;
+    }
+
+    /**
+     * Work without a result.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run(Transaction tx) throws Exception;
+    }
+
+    private final ConnectionPool pool;
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong rollbacks = new AtomicLong();
+    private final AtomicLong readOnlyCompleted = new AtomicLong();
+    private final AtomicLong savepoints = new AtomicLong();
+    private final AtomicLong totalCommitNanos = new AtomicLong();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+
+    TransactionManager(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Run work in a read-write transaction, or in a savepoint if one is already open.
+     * @return the work's result
+     * @throws SQLException if the transaction cannot start or commit, or the work throws one
+     * @throws IllegalStateException if the current thread is inside a read-only transaction
+     */
+    public <T> T inTransaction(Work<T> work) throws SQLException {
+        return execute(work, false);
+    }
+
+    /**
+     * Run work in a read-only transaction. Writes inside it fail.
+     * Inside an open transaction this joins it as a nested scope.
+     */
+    public <T> T inReadOnlyTransaction(Work<T> work) throws SQLException {
+        return execute(work, true);
+    }
+
+    /**
+     * Run work without a result in a read-write transaction.
+     */
+    public void runInTransaction(Action action) throws SQLException {
+        execute(tx -> {
+            action.run(tx);
+            return null;
+        }, false);
+    }
+
+    /**
+     * True if the current thread is inside a transaction of this manager.
+     */
+    public boolean isActive() {
+        return pool.currentTransaction() != null;
+    }
+
+    public TransactionStats getStats() {
+        return new TransactionStats(commits.get(), rollbacks.get(), readOnlyCompleted.get(), savepoints.get(),
+            totalCommitNanos.get(), maxCommitNanos.get());
+    }
+
+    private <T> T execute(Work<T> work, boolean readOnly) throws SQLException {
+        Transaction current = pool.currentTransaction();
+        if (current == null) {
+            return runOutermost(work, readOnly);
+        }
+        if (current.isReadOnly() && !readOnly) {
+            throw new IllegalStateException("Cannot start a read-write transaction inside a read-only one.");
+        }
+        return runNested(current, work);
+    }
+
+    private <T> T runOutermost(Work<T> work, boolean readOnly) throws SQLException {
+        PooledConnection conn = readOnly ? pool.leaseReader() : pool.leaseWriter();
+        Transaction tx = new Transaction(null, conn, readOnly);
+        try {
+            conn.connection().setAutoCommit(false);
+            pool.bindTransaction(tx);
+
+            T result;
+            try {
+                result = work.run(tx);
+            } catch (Exception e) {
+                rollback(conn);
+                throw rethrow(e);
+            }
+
+            if (readOnly) {
+                conn.connection().rollback(); // nothing to keep; just ends the snapshot
+                readOnlyCompleted.incrementAndGet();
+            } else if (tx.isRollbackOnly()) {
+                rollback(conn);
+            } else {
+                commit(conn);
+            }
+            return result;
+        } finally {
+            pool.bindTransaction(null);
+            conn.close(); // the pool restores autocommit, rolling back anything left open
+        }
+    }
+
+    private <T> T runNested(Transaction parent, Work<T> work) throws SQLException {
+        Transaction tx = new Transaction(parent, parent.connection(), parent.isReadOnly());
+        String savepoint = tx.savepointName();
+        execute(parent.connection(), "SAVEPOINT " + savepoint);
+        savepoints.incrementAndGet();
+        pool.bindTransaction(tx);
+        try {
+            T result;
+            try {
+                result = work.run(tx);
+            } catch (Exception e) {
+                rollbackToSavepoint(parent.connection(), savepoint);
+                throw rethrow(e);
+            }
+
+            if (tx.isRollbackOnly()) {
+                rollbackToSavepoint(parent.connection(), savepoint);
+            } else {
+                execute(parent.connection(), "RELEASE " + savepoint);
+            }
+            return result;
+        } finally {
+            pool.bindTransaction(parent);
+        }
+    }
+
+    private void commit(PooledConnection conn) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            conn.connection().commit();
+        } catch (SQLException e) {
+            rollbacks.incrementAndGet();
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        commits.incrementAndGet();
+        totalCommitNanos.addAndGet(elapsed);
+        maxCommitNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private void rollback(PooledConnection conn) {
+        rollbacks.incrementAndGet();
+        try {
+            conn.connection().rollback();
+        } catch (SQLException e) {
+            System.err.println("Error rolling back transaction: " + e.getMessage());
+        }
+    }
+
+    private void rollbackToSavepoint(PooledConnection conn, String savepoint) {
+        rollbacks.incrementAndGet();
+        try {
+            // ROLLBACK TO keeps the savepoint open, so release it as well
+            execute(conn, "ROLLBACK TO " + savepoint);
+            execute(conn, "RELEASE " + savepoint);
+        } catch (SQLException e) {
+            System.err.println("Error rolling back to savepoint: " + e.getMessage());
+        }
+    }
+
+    private static void execute(PooledConnection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    // SQL and unchecked exceptions pass through unchanged; anything else is wrapped
+    private static SQLException rethrow(Exception e) {
+        if (e instanceof SQLException sql) {
+            return sql;
+        }
+        if (e instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new SQLException("Transaction failed: " + e.getMessage(), e);
+    }
+}
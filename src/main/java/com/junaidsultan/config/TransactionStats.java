@@ -0,0 +1,30 @@
+package com.junaidsultan.config;
+
+/**
+ * Counters for the transactions run through a {@link TransactionManager}.
+ *
+ * @param commits          read-write transactions committed
+ * @param rollbacks        transactions rolled back, by exception or setRollbackOnly
+ * @param readOnly         read-only transactions completed
+ * @param savepoints       nested scopes opened as savepoints
+ * @param totalCommitNanos time spent in COMMIT, summed over all commits
+ * @param maxCommitNanos   slowest single COMMIT
+ */
+public record TransactionStats(long commits, long rollbacks, long readOnly, long savepoints,
+                               long totalCommitNanos, long maxCommitNanos) {
+
+    public double averageCommitMillis() {
+        return commits == 0 ? 0 : totalCommitNanos / 1_000_000.0 / commits;
+    }
+
+    public double maxCommitMillis() {
+        return maxCommitNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("transactions commits=%d rollbacks=%d read-only=%d savepoints=%d "
+                + "(commit avg %.2f ms, max %.2f ms)",
+            commits, rollbacks, readOnly, savepoints, averageCommitMillis(), maxCommitMillis());
+    }
+}
@@ -0,0 +1,206 @@
+package com.junaidsultan.config.migration;
+
+import com.junaidsultan.config.StorageFormat;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The latest schema in the {@link StorageFormat#COMPACT} format: ids are BLOB,
+ * enums INTEGER codes and timestamps INTEGER epoch millis.
+ *
+ * Only the tables are declared here, column for column the tables the migrations
+ * leave behind. Indexes, the tickets_all view, the search index and the triggers
+ * do not depend on column types, so they are copied from a text-format database at
+ * the same version and cannot drift from the migrations. A compact database is
+ * never migrated in place; {@link SchemaMigrator} refuses one that is behind.
+ */
+public final class CompactSchema {
+
+    private static final String NOW = "(" + StorageFormat.COMPACT.sql("datetime('now')") + ")";
+
+    static final List<String> TABLES = List.of(
+        """
+            CREATE TABLE users (
+                id BLOB PRIMARY KEY,
+                username TEXT UNIQUE NOT NULL,
+                email TEXT UNIQUE NOT NULL,
+                name TEXT NOT NULL,
+                password_hash TEXT NOT NULL,
+                role INTEGER NOT NULL CHECK(role IN (%s)),
+                created_at INTEGER DEFAULT %s
+            )
+        """.formatted(codes(Role.class), NOW),
+        """
+            CREATE TABLE tickets (
+                id BLOB PRIMARY KEY,
+                title TEXT NOT NULL,
+                priority INTEGER DEFAULT %d CHECK(priority IN (%s)),
+                status INTEGER DEFAULT %d CHECK(status IN (%s)),
+                category TEXT,
+                created_by BLOB NOT NULL,
+                assigned_to BLOB,
+                created_at INTEGER DEFAULT %s,
+                updated_at INTEGER DEFAULT %s,
+                description TEXT NOT NULL,
+                FOREIGN KEY (created_by) REFERENCES users(id),
+                FOREIGN KEY (assigned_to) REFERENCES users(id)
+            )
+        """.formatted(Priority.MEDIUM.ordinal(), codes(Priority.class), Status.OPEN.ordinal(), codes(Status.class),
+            NOW, NOW),
+        // Time-ordered ids append at the end of the primary key, so the table itself
+        // is the id index and rows are not stored twice
+        """
+            CREATE TABLE notifications (
+                id BLOB PRIMARY KEY,
+                receiver_id BLOB NOT NULL,
+                title TEXT NOT NULL,
+                message TEXT,
+                is_read INTEGER DEFAULT 0,
+                created_by BLOB,
+                created_at INTEGER DEFAULT %s,
+                updated_at INTEGER,
+                FOREIGN KEY (receiver_id) REFERENCES users(id),
+                FOREIGN KEY (created_by) REFERENCES users(id)
+            ) WITHOUT ROWID
+        """.formatted(NOW),
+        """
+            CREATE TABLE broadcasts (
+                id BLOB PRIMARY KEY,
+                target_role INTEGER CHECK(target_role IN (%s)),
+                title TEXT NOT NULL,
+                message TEXT,
+                created_by BLOB,
+                created_at INTEGER DEFAULT %s,
+                FOREIGN KEY (created_by) REFERENCES users(id)
+            )
+        """.formatted(codes(Role.class), NOW),
+        """
+            CREATE TABLE broadcast_receipts (
+                user_id BLOB NOT NULL,
+                broadcast_id BLOB NOT NULL,
+                read_at INTEGER NOT NULL,
+                dismissed_at INTEGER,
+                PRIMARY KEY (user_id, broadcast_id),
+                FOREIGN KEY (user_id) REFERENCES users(id),
+                FOREIGN KEY (broadcast_id) REFERENCES broadcasts(id)
+            ) WITHOUT ROWID
+        """,
+        """
+            CREATE TABLE notification_counters (
+                user_id BLOB PRIMARY KEY,
+                unread INTEGER NOT NULL DEFAULT 0 CHECK(unread >= 0)
+            ) WITHOUT ROWID
+        """,
+        // The rollup triggers store a missing assignee as '', as in the text format
+        """
+            CREATE TABLE ticket_rollups (
+                created_by BLOB NOT NULL,
+                assigned_to BLOB NOT NULL,
+                status INTEGER NOT NULL,
+                priority INTEGER NOT NULL,
+                category TEXT NOT NULL,
+                ticket_count INTEGER NOT NULL CHECK(ticket_count >= 0),
+                PRIMARY KEY (created_by, assigned_to, status, priority, category)
+            ) WITHOUT ROWID
+        """,
+        """
+            CREATE TABLE tickets_archive (
+                id BLOB PRIMARY KEY,
+                title TEXT NOT NULL,
+                priority INTEGER NOT NULL,
+                status INTEGER NOT NULL,
+                category TEXT,
+                created_by BLOB NOT NULL,
+                assigned_to BLOB,
+                created_at INTEGER,
+                updated_at INTEGER,
+                description TEXT NOT NULL,
+                archived_at INTEGER NOT NULL DEFAULT %s,
+                FOREIGN KEY (created_by) REFERENCES users(id),
+                FOREIGN KEY (assigned_to) REFERENCES users(id)
+            )
+        """.formatted(NOW),
+        """
+            CREATE TABLE import_checkpoints (
+                source TEXT PRIMARY KEY,
+                rows_read INTEGER NOT NULL,
+                imported INTEGER NOT NULL,
+                failed INTEGER NOT NULL,
+                updated_at INTEGER NOT NULL DEFAULT %s
+            )
+        """.formatted(NOW),
+        // Migration history is kept as the migrations wrote it
+        """
+            CREATE TABLE schema_version (
+                version INTEGER PRIMARY KEY,
+                description TEXT NOT NULL,
+                applied_at DATETIME DEFAULT CURRENT_TIMESTAMP
+            )
+        """
+    );
+
+    private CompactSchema() {
+    }
+
+    /**
+     * Create the compact tables, then every index, view, virtual table and trigger
+     * of a text-format database attached to the same connection.
+     * @param stmt Statement on the (empty) compact database
+     * @param template Schema name the text-format database is attached as
+     */
+    public static void create(Statement stmt, String template) throws SQLException {
+        for (String sql : TABLES) {
+            stmt.execute(sql);
+        }
+        List<String> objects = new ArrayList<>();
+        List<String> searchTables = new ArrayList<>();
+        // Virtual tables before the triggers that write to them; their shadow tables
+        // are created with them. Automatic indexes have no SQL and come with the tables.
+        try (ResultSet rs = stmt.executeQuery("""
+                SELECT name, sql FROM %s.sqlite_schema
+                WHERE sql IS NOT NULL AND (type <> 'table' OR sql LIKE 'CREATE VIRTUAL TABLE%%')
+                ORDER BY CASE type WHEN 'table' THEN 0 WHEN 'index' THEN 1 WHEN 'view' THEN 2 ELSE 3 END, rowid
+                """.formatted(template))) {
+            while (rs.next()) {
+                String sql = rs.getString("sql");
+                objects.add(StorageFormat.COMPACT.sql(sql));
+                if (sql.toLowerCase().contains("using fts5")) {
+                    searchTables.add(rs.getString("name"));
+                }
+            }
+        }
+        for (String sql : objects) {
+            stmt.execute(sql);
+        }
+        // FTS5 keeps its ranking function in a shadow table rather than the schema
+        for (String table : searchTables) {
+            String rank = null;
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT v FROM " + template + "." + table + "_config WHERE k = 'rank'")) {
+                if (rs.next()) {
+                    rank = rs.getString(1);
+                }
+            }
+            if (rank != null) {
+                stmt.execute("INSERT INTO " + table + " (" + table + ", rank) VALUES ('rank', '"
+                    + rank.replace("'", "''") + "')");
+            }
+        }
+    }
+
+    // IN list of an enum's codes
+    private static String codes(Class<? extends Enum<?>> type) {
+        return Arrays.stream(type.getEnumConstants())
+            .map(constant -> String.valueOf(constant.ordinal()))
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,18 @@
+package com.junaidsultan.config.migration;
+
+import java.util.List;
+
+/**
+ * A numbered schema change. Migrations are applied in ascending version order
+ * and each version is applied at most once per database.
+ *
+ * @param version     Unique, increasing schema version this step produces
+ * @param description Short human-readable summary (stored in schema_version)
+ * @param statements  DDL/DML statements that make up the step
+ */
+public record Migration(int version, String description, List<String> statements) {
+
+    public Migration(int version, String description, String... statements) {
+        this(version, description, List.of(statements));
+    }
+}
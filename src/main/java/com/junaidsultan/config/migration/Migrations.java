@@ -0,0 +1,479 @@
+package com.junaidsultan.config.migration;
+
+import java.util.List;
+
+/**
+ * Registry of every schema migration, in version order.
+ * Append new steps at the end; never edit or renumber a step that has shipped.
+ */
+public final class Migrations {
+
+    private static final List<Migration> ALL = List.of(
+        baseTables(),
+        filterIndexes(),
+        notificationUpdatedAt(),
+        ticketKeysetIndexes(),
+        ticketDescriptionLast(),
+        broadcasts(),
+        unreadCounters(),
+        ticketRollups(),
+        ticketSearch(),
+        notificationRetentionIndex(),
+        ticketArchive(),
+        importCheckpoints()
+    );
+
+    private Migrations() {
+    }
+
+    public static List<Migration> all() {
+        return ALL;
+    }
+
+    /**
+     * @return The highest version in the registry
+     */
+    public static int latestVersion() {
+        return ALL.getLast().version();
+    }
+
+    // V1: the original schema. IF NOT EXISTS keeps it safe on databases created
+    // before migrations were tracked.
+    private static Migration baseTables() {
+        return new Migration(1, "Base tables",
+            """
+                CREATE TABLE IF NOT EXISTS users (
+                    id TEXT PRIMARY KEY,
+                    username TEXT UNIQUE NOT NULL,
+                    email TEXT UNIQUE NOT NULL,
+                    name TEXT NOT NULL,
+                    password_hash TEXT NOT NULL,
+                    role TEXT NOT NULL CHECK(role IN ('STUDENT', 'ADMIN', 'STAFF')),
+                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+                );
+            """,
+            """
+                CREATE TABLE IF NOT EXISTS tickets (
+                    id TEXT PRIMARY KEY,
+                    title TEXT NOT NULL,
+                    description TEXT NOT NULL,
+                    priority TEXT DEFAULT 'MEDIUM' CHECK(priority IN ('LOW', 'MEDIUM', 'HIGH')),
+                    status TEXT DEFAULT 'OPEN' CHECK(status IN ('OPEN', 'RESOLVED', 'CLOSED', 'ON_HOLD')),
+                    category TEXT,
+                    created_by TEXT NOT NULL,
+                    assigned_to TEXT,
+                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    FOREIGN KEY (created_by) REFERENCES users(id),
+                    FOREIGN KEY (assigned_to) REFERENCES users(id)
+                );
+            """,
+            """
+                CREATE TABLE IF NOT EXISTS notifications (
+                    id TEXT PRIMARY KEY,
+                    receiver_id TEXT NOT NULL,
+                    title TEXT NOT NULL,
+                    message TEXT,
+                    is_read INTEGER DEFAULT 0,
+                    created_by TEXT,
+                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    FOREIGN KEY (receiver_id) REFERENCES users(id),
+                    FOREIGN KEY (created_by) REFERENCES users(id)
+                );
+            """
+        );
+    }
+
+    // V2: one index per filtered query shape, ending in created_at so ORDER BY needs no sort
+    private static Migration filterIndexes() {
+        return new Migration(2, "Secondary indexes for ticket and notification filters",
+            // findAll
+            "CREATE INDEX IF NOT EXISTS idx_tickets_created_at ON tickets(created_at)",
+            // findByStatus / findByPriority
+            "CREATE INDEX IF NOT EXISTS idx_tickets_status_created ON tickets(status, created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_tickets_priority_created ON tickets(priority, created_at)",
+            // findByCreatedBy / findByCreatedByAndStatus
+            "CREATE INDEX IF NOT EXISTS idx_tickets_creator_created ON tickets(created_by, created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_tickets_creator_status_created ON tickets(created_by, status, created_at)",
+            // findByAssignedTo / findByAssignedToAndStatus
+            "CREATE INDEX IF NOT EXISTS idx_tickets_assignee_created ON tickets(assigned_to, created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_tickets_assignee_status_created ON tickets(assigned_to, status, created_at)",
+            // findUnassigned: partial index, only unassigned rows are stored
+            "CREATE INDEX IF NOT EXISTS idx_tickets_unassigned_created ON tickets(created_at) WHERE assigned_to IS NULL",
+            // findByReceiverId
+            "CREATE INDEX IF NOT EXISTS idx_notifications_receiver_created ON notifications(receiver_id, created_at)",
+            // findUnreadByReceiverId / countUnreadByReceiverId (covering for the count)
+            "CREATE INDEX IF NOT EXISTS idx_notifications_receiver_read_created ON notifications(receiver_id, is_read, created_at)"
+        );
+    }
+
+    // V3: track when a notification was last changed (read, edited)
+    private static Migration notificationUpdatedAt() {
+        return new Migration(3, "Add notifications.updated_at",
+            "ALTER TABLE notifications ADD COLUMN updated_at DATETIME",
+            "UPDATE notifications SET updated_at = created_at"
+        );
+    }
+
+    // V4: keyset pagination orders by (created_at, id). Rebuild the ticket list
+    // indexes with a trailing id so the tie-breaker needs no sort either; the
+    // old indexes are a prefix of the new ones and are dropped. The partial
+    // unassigned index goes too: assigned_to IS NULL is an equality seek on the
+    // assignee index.
+    private static Migration ticketKeysetIndexes() {
+        return new Migration(4, "Ticket indexes for keyset pagination on (created_at, id)",
+            "DROP INDEX IF EXISTS idx_tickets_created_at",
+            "DROP INDEX IF EXISTS idx_tickets_status_created",
+            "DROP INDEX IF EXISTS idx_tickets_priority_created",
+            "DROP INDEX IF EXISTS idx_tickets_creator_created",
+            "DROP INDEX IF EXISTS idx_tickets_creator_status_created",
+            "DROP INDEX IF EXISTS idx_tickets_assignee_created",
+            "DROP INDEX IF EXISTS idx_tickets_assignee_status_created",
+            "DROP INDEX IF EXISTS idx_tickets_unassigned_created",
+            "CREATE INDEX idx_tickets_created_id ON tickets(created_at, id)",
+            "CREATE INDEX idx_tickets_status_created_id ON tickets(status, created_at, id)",
+            "CREATE INDEX idx_tickets_priority_created_id ON tickets(priority, created_at, id)",
+            "CREATE INDEX idx_tickets_creator_created_id ON tickets(created_by, created_at, id)",
+            "CREATE INDEX idx_tickets_creator_status_created_id ON tickets(created_by, status, created_at, id)",
+            "CREATE INDEX idx_tickets_assignee_created_id ON tickets(assigned_to, created_at, id)",
+            "CREATE INDEX idx_tickets_assignee_status_created_id ON tickets(assigned_to, status, created_at, id)"
+        );
+    }
+
+    // V5: SQLite stores columns in declaration order and spills long rows into
+    // overflow pages, so reading status or created_at of a ticket with a large
+    // description meant walking the description's overflow chain. Rebuild the
+    // table with description last; list queries now stop at the first page of
+    // the row. rowids are kept.
+    private static Migration ticketDescriptionLast() {
+        return new Migration(5, "Move tickets.description to the end of the row",
+            """
+                CREATE TABLE tickets_rebuilt (
+                    id TEXT PRIMARY KEY,
+                    title TEXT NOT NULL,
+                    priority TEXT DEFAULT 'MEDIUM' CHECK(priority IN ('LOW', 'MEDIUM', 'HIGH')),
+                    status TEXT DEFAULT 'OPEN' CHECK(status IN ('OPEN', 'RESOLVED', 'CLOSED', 'ON_HOLD')),
+                    category TEXT,
+                    created_by TEXT NOT NULL,
+                    assigned_to TEXT,
+                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    description TEXT NOT NULL,
+                    FOREIGN KEY (created_by) REFERENCES users(id),
+                    FOREIGN KEY (assigned_to) REFERENCES users(id)
+                )
+            """,
+            """
+                INSERT INTO tickets_rebuilt (rowid, id, title, priority, status, category,
+                                             created_by, assigned_to, created_at, updated_at, description)
+                SELECT rowid, id, title, priority, status, category,
+                       created_by, assigned_to, created_at, updated_at, description
+                FROM tickets
+            """,
+            "DROP TABLE tickets",
+            "ALTER TABLE tickets_rebuilt RENAME TO tickets",
+            "CREATE INDEX idx_tickets_created_id ON tickets(created_at, id)",
+            "CREATE INDEX idx_tickets_status_created_id ON tickets(status, created_at, id)",
+            "CREATE INDEX idx_tickets_priority_created_id ON tickets(priority, created_at, id)",
+            "CREATE INDEX idx_tickets_creator_created_id ON tickets(created_by, created_at, id)",
+            "CREATE INDEX idx_tickets_creator_status_created_id ON tickets(created_by, status, created_at, id)",
+            "CREATE INDEX idx_tickets_assignee_created_id ON tickets(assigned_to, created_at, id)",
+            "CREATE INDEX idx_tickets_assignee_status_created_id ON tickets(assigned_to, status, created_at, id)"
+        );
+    }
+
+    // V6: audience-wide notifications stored once. A receipt row appears only when
+    // a user reads or dismisses a broadcast, so sending is a single insert.
+    private static Migration broadcasts() {
+        return new Migration(6, "Broadcast notifications with per-user receipts",
+            """
+                CREATE TABLE broadcasts (
+                    id TEXT PRIMARY KEY,
+                    target_role TEXT CHECK(target_role IN ('STUDENT', 'ADMIN', 'STAFF')),
+                    title TEXT NOT NULL,
+                    message TEXT,
+                    created_by TEXT,
+                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                    FOREIGN KEY (created_by) REFERENCES users(id)
+                )
+            """,
+            // Visible broadcasts are those created since the user joined
+            "CREATE INDEX idx_broadcasts_created ON broadcasts(created_at)",
+            """
+                CREATE TABLE broadcast_receipts (
+                    user_id TEXT NOT NULL,
+                    broadcast_id TEXT NOT NULL,
+                    read_at DATETIME NOT NULL,
+                    dismissed_at DATETIME,
+                    PRIMARY KEY (user_id, broadcast_id),
+                    FOREIGN KEY (user_id) REFERENCES users(id),
+                    FOREIGN KEY (broadcast_id) REFERENCES broadcasts(id)
+                ) WITHOUT ROWID
+            """
+        );
+    }
+
+    // V7: per-user unread counts of direct notifications, kept in step with the
+    // notifications table by triggers so the dashboard badge is a primary key read.
+    // Triggers run inside the writing statement's transaction, so every write path
+    // (single saves, batches, bulk updates and deletes) keeps the counter exact.
+    private static Migration unreadCounters() {
+        return new Migration(7, "Unread notification counters maintained by triggers",
+            """
+                CREATE TABLE notification_counters (
+                    user_id TEXT PRIMARY KEY,
+                    unread INTEGER NOT NULL DEFAULT 0 CHECK(unread >= 0)
+                ) WITHOUT ROWID
+            """,
+            // Backfill from the rows already there
+            """
+                INSERT INTO notification_counters (user_id, unread)
+                SELECT receiver_id, COUNT(*) FROM notifications WHERE is_read = 0 GROUP BY receiver_id
+            """,
+            """
+                CREATE TRIGGER trg_notifications_unread_insert
+                AFTER INSERT ON notifications WHEN NEW.is_read = 0
+                BEGIN
+                    INSERT INTO notification_counters (user_id, unread) VALUES (NEW.receiver_id, 1)
+                    ON CONFLICT(user_id) DO UPDATE SET unread = unread + 1;
+                END
+            """,
+            """
+                CREATE TRIGGER trg_notifications_unread_delete
+                AFTER DELETE ON notifications WHEN OLD.is_read = 0
+                BEGIN
+                    UPDATE notification_counters SET unread = unread - 1 WHERE user_id = OLD.receiver_id;
+                END
+            """,
+            """
+                CREATE TRIGGER trg_notifications_unread_update
+                AFTER UPDATE OF is_read, receiver_id ON notifications
+                WHEN OLD.is_read IS NOT NEW.is_read OR OLD.receiver_id IS NOT NEW.receiver_id
+                BEGIN
+                    UPDATE notification_counters SET unread = unread - 1
+                    WHERE OLD.is_read = 0 AND user_id = OLD.receiver_id;
+                    INSERT INTO notification_counters (user_id, unread)
+                    SELECT NEW.receiver_id, 1 WHERE NEW.is_read = 0
+                    ON CONFLICT(user_id) DO UPDATE SET unread = unread + 1;
+                END
+            """
+        );
+    }
+
+    // V8: ticket counts per (created_by, assigned_to, status, priority, category),
+    // kept current by triggers like V7 so dashboards read a handful of rollup rows
+    // instead of the tickets table. NULL category/assignee are stored as '' because
+    // primary key columns must compare equal to merge.
+    private static Migration ticketRollups() {
+        return new Migration(8, "Ticket status rollups maintained by triggers",
+            """
+                CREATE TABLE ticket_rollups (
+                    created_by TEXT NOT NULL,
+                    assigned_to TEXT NOT NULL,
+                    status TEXT NOT NULL,
+                    priority TEXT NOT NULL,
+                    category TEXT NOT NULL,
+                    ticket_count INTEGER NOT NULL CHECK(ticket_count >= 0),
+                    PRIMARY KEY (created_by, assigned_to, status, priority, category)
+                ) WITHOUT ROWID
+            """,
+            // Staff dashboards filter on the assignee
+            "CREATE INDEX idx_ticket_rollups_assignee ON ticket_rollups(assigned_to)",
+            """
+                INSERT INTO ticket_rollups (created_by, assigned_to, status, priority, category, ticket_count)
+                SELECT created_by, COALESCE(assigned_to, ''), status, priority, COALESCE(category, ''), COUNT(*)
+                FROM tickets
+                GROUP BY 1, 2, 3, 4, 5
+            """,
+            """
+                CREATE TRIGGER trg_tickets_rollup_insert
+                AFTER INSERT ON tickets
+                BEGIN
+                    INSERT INTO ticket_rollups (created_by, assigned_to, status, priority, category, ticket_count)
+                    VALUES (NEW.created_by, COALESCE(NEW.assigned_to, ''), NEW.status, NEW.priority,
+                            COALESCE(NEW.category, ''), 1)
+                    ON CONFLICT DO UPDATE SET ticket_count = ticket_count + 1;
+                END
+            """,
+            """
+                CREATE TRIGGER trg_tickets_rollup_delete
+                AFTER DELETE ON tickets
+                BEGIN
+                    UPDATE ticket_rollups SET ticket_count = ticket_count - 1
+                    WHERE created_by = OLD.created_by AND assigned_to = COALESCE(OLD.assigned_to, '')
+                      AND status = OLD.status AND priority = OLD.priority AND category = COALESCE(OLD.category, '');
+                    DELETE FROM ticket_rollups
+                    WHERE created_by = OLD.created_by AND assigned_to = COALESCE(OLD.assigned_to, '')
+                      AND status = OLD.status AND priority = OLD.priority AND category = COALESCE(OLD.category, '')
+                      AND ticket_count = 0;
+                END
+            """,
+            """
+                CREATE TRIGGER trg_tickets_rollup_update
+                AFTER UPDATE OF created_by, assigned_to, status, priority, category ON tickets
+                WHEN OLD.created_by IS NOT NEW.created_by OR OLD.assigned_to IS NOT NEW.assigned_to
+                  OR OLD.status IS NOT NEW.status OR OLD.priority IS NOT NEW.priority
+                  OR OLD.category IS NOT NEW.category
+                BEGIN
+                    UPDATE ticket_rollups SET ticket_count = ticket_count - 1
+                    WHERE created_by = OLD.created_by AND assigned_to = COALESCE(OLD.assigned_to, '')
+                      AND status = OLD.status AND priority = OLD.priority AND category = COALESCE(OLD.category, '');
+                    DELETE FROM ticket_rollups
+                    WHERE created_by = OLD.created_by AND assigned_to = COALESCE(OLD.assigned_to, '')
+                      AND status = OLD.status AND priority = OLD.priority AND category = COALESCE(OLD.category, '')
+                      AND ticket_count = 0;
+                    INSERT INTO ticket_rollups (created_by, assigned_to, status, priority, category, ticket_count)
+                    VALUES (NEW.created_by, COALESCE(NEW.assigned_to, ''), NEW.status, NEW.priority,
+                            COALESCE(NEW.category, ''), 1)
+                    ON CONFLICT DO UPDATE SET ticket_count = ticket_count + 1;
+                END
+            """
+        );
+    }
+
+    // V9: full-text index over ticket title, description and category. The FTS5
+    // table is external-content: it stores only the index and reads the text back
+    // from tickets by rowid, kept in step by triggers. tickets has no INTEGER
+    // PRIMARY KEY, so a full VACUUM may renumber its rowids; anything that runs
+    // one must rebuild the index afterwards.
+    private static Migration ticketSearch() {
+        return new Migration(9, "Full-text ticket search",
+            """
+                CREATE VIRTUAL TABLE tickets_fts USING fts5(
+                    title, description, category,
+                    content = 'tickets', content_rowid = 'rowid',
+                    tokenize = 'unicode61 remove_diacritics 2'
+                )
+            """,
+            // Title matches count most, then category, then description
+            "INSERT INTO tickets_fts (tickets_fts, rank) VALUES ('rank', 'bm25(10.0, 1.0, 4.0)')",
+            "INSERT INTO tickets_fts (tickets_fts) VALUES ('rebuild')",
+            """
+                CREATE TRIGGER trg_tickets_fts_insert
+                AFTER INSERT ON tickets
+                BEGIN
+                    INSERT INTO tickets_fts (rowid, title, description, category)
+                    VALUES (NEW.rowid, NEW.title, NEW.description, NEW.category);
+                END
+            """,
+            """
+                CREATE TRIGGER trg_tickets_fts_delete
+                AFTER DELETE ON tickets
+                BEGIN
+                    INSERT INTO tickets_fts (tickets_fts, rowid, title, description, category)
+                    VALUES ('delete', OLD.rowid, OLD.title, OLD.description, OLD.category);
+                END
+            """,
+            """
+                CREATE TRIGGER trg_tickets_fts_update
+                AFTER UPDATE OF title, description, category ON tickets
+                WHEN OLD.title IS NOT NEW.title OR OLD.description IS NOT NEW.description
+                  OR OLD.category IS NOT NEW.category
+                BEGIN
+                    INSERT INTO tickets_fts (tickets_fts, rowid, title, description, category)
+                    VALUES ('delete', OLD.rowid, OLD.title, OLD.description, OLD.category);
+                    INSERT INTO tickets_fts (rowid, title, description, category)
+                    VALUES (NEW.rowid, NEW.title, NEW.description, NEW.category);
+                END
+            """
+        );
+    }
+
+    // V10: retention deletes the oldest read notifications first. A partial index
+    // holds only read rows, so unread ones cost nothing extra and the purge walks
+    // straight to the rows it removes.
+    private static Migration notificationRetentionIndex() {
+        return new Migration(10, "Index read notifications by age for retention",
+            "CREATE INDEX idx_notifications_read_created ON notifications(created_at) WHERE is_read = 1"
+        );
+    }
+
+    // V11: closed tickets past their retention age move to tickets_archive so the
+    // hot table and its indexes stay small. The archive carries the same keyset
+    // indexes, and tickets_all lets list and detail queries read both tables; with
+    // ORDER BY on the view SQLite merges the two index-ordered halves instead of
+    // sorting. Rollup triggers on the archive keep dashboard counts whole: the move
+    // adds one archive row and deletes one ticket, so counts are unchanged. The
+    // search index (V9) covers only the hot table.
+    private static Migration ticketArchive() {
+        return new Migration(11, "Archive table for closed tickets",
+            """
+                CREATE TABLE tickets_archive (
+                    id TEXT PRIMARY KEY,
+                    title TEXT NOT NULL,
+                    priority TEXT NOT NULL,
+                    status TEXT NOT NULL,
+                    category TEXT,
+                    created_by TEXT NOT NULL,
+                    assigned_to TEXT,
+                    created_at DATETIME,
+                    updated_at DATETIME,
+                    description TEXT NOT NULL,
+                    archived_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                    FOREIGN KEY (created_by) REFERENCES users(id),
+                    FOREIGN KEY (assigned_to) REFERENCES users(id)
+                )
+            """,
+            "CREATE INDEX idx_tickets_archive_created_id ON tickets_archive(created_at, id)",
+            "CREATE INDEX idx_tickets_archive_status_created_id ON tickets_archive(status, created_at, id)",
+            "CREATE INDEX idx_tickets_archive_priority_created_id ON tickets_archive(priority, created_at, id)",
+            "CREATE INDEX idx_tickets_archive_creator_created_id ON tickets_archive(created_by, created_at, id)",
+            "CREATE INDEX idx_tickets_archive_creator_status_created_id ON tickets_archive(created_by, status, created_at, id)",
+            "CREATE INDEX idx_tickets_archive_assignee_created_id ON tickets_archive(assigned_to, created_at, id)",
+            "CREATE INDEX idx_tickets_archive_assignee_status_created_id ON tickets_archive(assigned_to, status, created_at, id)",
+            // Archiving walks closed tickets from the longest closed; status leads so the
+            // planner prefers this over idx_tickets_status_created_id
+            "CREATE INDEX idx_tickets_closed_updated ON tickets(status, updated_at) WHERE status = 'CLOSED'",
+            """
+                CREATE VIEW tickets_all AS
+                SELECT id, title, priority, status, category, created_by, assigned_to,
+                       created_at, updated_at, description, 0 AS archived
+                FROM tickets
+                UNION ALL
+                SELECT id, title, priority, status, category, created_by, assigned_to,
+                       created_at, updated_at, description, 1 AS archived
+                FROM tickets_archive
+            """,
+            """
+                CREATE TRIGGER trg_tickets_archive_rollup_insert
+                AFTER INSERT ON tickets_archive
+                BEGIN
+                    INSERT INTO ticket_rollups (created_by, assigned_to, status, priority, category, ticket_count)
+                    VALUES (NEW.created_by, COALESCE(NEW.assigned_to, ''), NEW.status, NEW.priority,
+                            COALESCE(NEW.category, ''), 1)
+                    ON CONFLICT DO UPDATE SET ticket_count = ticket_count + 1;
+                END
+            """,
+            """
+                CREATE TRIGGER trg_tickets_archive_rollup_delete
+                AFTER DELETE ON tickets_archive
+                BEGIN
+                    UPDATE ticket_rollups SET ticket_count = ticket_count - 1
+                    WHERE created_by = OLD.created_by AND assigned_to = COALESCE(OLD.assigned_to, '')
+                      AND status = OLD.status AND priority = OLD.priority AND category = COALESCE(OLD.category, '');
+                    DELETE FROM ticket_rollups
+                    WHERE created_by = OLD.created_by AND assigned_to = COALESCE(OLD.assigned_to, '')
+                      AND status = OLD.status AND priority = OLD.priority AND category = COALESCE(OLD.category, '')
+                      AND ticket_count = 0;
+                END
+            """
+        );
+    }
+
+    // V12: bulk imports record how far into each file they got in the same
+    // transaction as the rows themselves, so a resumed import neither skips nor
+    // repeats a row.
+    private static Migration importCheckpoints() {
+        return new Migration(12, "Checkpoints for resumable bulk imports",
+            """
+                CREATE TABLE import_checkpoints (
+                    source TEXT PRIMARY KEY,
+                    rows_read INTEGER NOT NULL,
+                    imported INTEGER NOT NULL,
+                    failed INTEGER NOT NULL,
+                    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+            """
+        );
+    }
+}
@@ -0,0 +1,162 @@
+package com.junaidsultan.config.migration;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.StorageFormat;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Brings a database up to the latest schema version.
+ *
+ * Applied versions are recorded in the {@code schema_version} table, and the newest
+ * one is mirrored into SQLite's {@code PRAGMA user_version} header field. Startup
+ * reads only that header value, so a database that is already current costs one
+ * pragma read no matter how many migrations exist.
+ *
+ * Each migration runs in its own {@code BEGIN IMMEDIATE} transaction together with
+ * its schema_version row, so a failing step leaves the database at the previous
+ * version and a second process starting at the same time waits instead of
+ * applying the same step twice.
+ *
+ * The migrations are written for the text storage format. A database in the
+ * compact format ({@link CompactSchema}) is only accepted at the latest version.
+ */
+public class SchemaMigrator {
+
+    private final ConnectionPool pool;
+    private final List<Migration> migrations;
+
+    public SchemaMigrator(ConnectionPool pool) {
+        this(pool, Migrations.all());
+    }
+
+    public SchemaMigrator(ConnectionPool pool, List<Migration> migrations) {
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() <= migrations.get(i - 1).version()) {
+                throw new IllegalArgumentException("Migration versions must be strictly increasing: V"
+                    + migrations.get(i - 1).version() + " followed by V" + migrations.get(i).version());
+            }
+        }
+        this.pool = pool;
+        this.migrations = migrations;
+    }
+
+    /**
+     * Apply every migration newer than the stored schema version.
+     * @return Number of migrations applied (0 when already up to date)
+     * @throws SQLException if a migration fails; earlier migrations stay applied
+     */
+    public int migrate() throws SQLException {
+        if (migrations.isEmpty()) {
+            return 0;
+        }
+        int latest = migrations.getLast().version();
+
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+
+            // Fast path: nothing to do, no DDL executed
+            if (userVersion(stmt) >= latest) {
+                return 0;
+            }
+            if (pool.getStorageFormat() == StorageFormat.COMPACT) {
+                throw new SQLException("Compact database at schema V" + userVersion(stmt) + " cannot be migrated to V"
+                    + latest + ": convert it to text, start the application once, then convert it back");
+            }
+
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    applied_at DATETIME DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+
+            int recorded = recordedVersion(stmt);
+            int applied = 0;
+            for (Migration migration : migrations) {
+                if (migration.version() <= recorded) {
+                    continue;
+                }
+                if (apply(conn, stmt, migration)) {
+                    System.out.println("✓ Applied schema migration V" + migration.version()
+                        + ": " + migration.description());
+                    applied++;
+                }
+            }
+
+            // Databases migrated before user_version was maintained catch up here
+            if (applied == 0) {
+                stmt.execute("PRAGMA user_version = " + recordedVersion(stmt));
+            }
+            return applied;
+        }
+    }
+
+    /**
+     * Current schema version of the database (0 for an empty database).
+     */
+    public int currentVersion() throws SQLException {
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            return Math.max(userVersion(stmt), recordedVersion(stmt));
+        }
+    }
+
+    private boolean apply(PooledConnection conn, Statement stmt, Migration migration) throws SQLException {
+        stmt.execute("BEGIN IMMEDIATE");
+        try {
+            // Re-check under the write lock: another process may have migrated meanwhile
+            if (recordedVersion(stmt) >= migration.version()) {
+                stmt.execute("COMMIT");
+                return false;
+            }
+
+            for (String sql : migration.statements()) {
+                stmt.execute(sql);
+            }
+
+            try (PreparedStatement insert = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                insert.setInt(1, migration.version());
+                insert.setString(2, migration.description());
+                insert.executeUpdate();
+            }
+            stmt.execute("PRAGMA user_version = " + migration.version());
+            stmt.execute("COMMIT");
+            return true;
+
+        } catch (SQLException e) {
+            try {
+                stmt.execute("ROLLBACK");
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw new SQLException("Migration V" + migration.version() + " ("
+                + migration.description() + ") failed: " + e.getMessage(), e);
+        }
+    }
+
+    private int userVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private int recordedVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'schema_version'")) {
+            if (!rs.next()) {
+                return 0;
+            }
+        }
+        try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
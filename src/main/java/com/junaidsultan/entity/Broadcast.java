@@ -0,0 +1,49 @@
+package com.junaidsultan.entity;
+
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.util.IdUtil;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification addressed to a whole audience (one role, or everyone).
+ * Stored once no matter how many users receive it; each user's read/dismissed
+ * state lives in a small per-user receipt row that only exists once they act on it.
+ */
+public class Broadcast {
+    private String id;
+    private Role targetRole; // null = every user
+    private String title;
+    private String message;
+    private String createdBy; // User ID or NULL for system
+    private LocalDateTime createdAt;
+
+    // Constructor for creating a NEW broadcast
+    public Broadcast(Role targetRole, String title, String message, String createdBy) {
+        this.id = IdUtil.newId();
+        this.targetRole = targetRole;
+        this.title = title;
+        this.message = message;
+        this.createdBy = createdBy;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Constructor for loading from DB
+    public Broadcast(String id, String targetRole, String title, String message, String createdBy, String createdAt) {
+        this.id = id;
+        this.targetRole = targetRole != null ? Role.valueOf(targetRole) : null;
+        this.title = title;
+        this.message = message;
+        this.createdBy = createdBy;
+        // SQLite datetime('now') format: "yyyy-MM-dd HH:mm:ss"
+        this.createdAt = createdAt != null ? LocalDateTime.parse(createdAt.replace(' ', 'T')) : null;
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public Role getTargetRole() { return targetRole; }
+    public String getTitle() { return title; }
+    public String getMessage() { return message; }
+    public String getCreatedBy() { return createdBy; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
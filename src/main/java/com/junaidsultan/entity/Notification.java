@@ -1,6 +1,8 @@
 package com.junaidsultan.entity;
 
-import java.util.UUID;
+import com.junaidsultan.util.IdUtil;
+
+import java.time.LocalDateTime;
 
 public class Notification {
     private String id;
@@ -9,15 +11,18 @@ public class Notification {
     private String message;
     private boolean isRead;
     private String createdBy; // User ID or NULL for system
+    private LocalDateTime createdAt;
+    private boolean broadcast; // true when this is a user's view of a Broadcast
 
     // Constructor for creating a NEW notification
     public Notification(String receiverId, String title, String message, String createdBy) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdUtil.newId();
         this.receiverId = receiverId;
         this.title = title;
         this.message = message;
         this.createdBy = createdBy;
         this.isRead = false;
+        this.createdAt = LocalDateTime.now();
     }
 
     // Constructor for loading from DB (where ID already exists)
@@ -30,6 +35,15 @@ public class Notification {
         this.createdBy = createdBy;
     }
 
+    // Constructor for loading from DB with timestamp; broadcast rows are addressed to the viewing user
+    public Notification(String id, String receiverId, String title, String message, boolean isRead,
+                        String createdBy, String createdAt, boolean broadcast) {
+        this(id, receiverId, title, message, isRead, createdBy);
+        // SQLite datetime('now') format: "yyyy-MM-dd HH:mm:ss"
+        this.createdAt = createdAt != null ? LocalDateTime.parse(createdAt.replace(' ', 'T')) : null;
+        this.broadcast = broadcast;
+    }
+
     // Getters
     public String getId() { return id; }
     public String getReceiverId() { return receiverId; }
@@ -37,6 +51,8 @@ public class Notification {
     public String getMessage() { return message; }
     public boolean isRead() { return isRead; }
     public String getCreatedBy() { return createdBy; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public boolean isBroadcast() { return broadcast; }
 
     public void markAsRead() { this.isRead = true; }
 }
@@ -2,8 +2,8 @@ package com.junaidsultan.entity;
 
 import com.junaidsultan.enums.Priority;
 import com.junaidsultan.enums.Status;
+import com.junaidsultan.util.IdUtil;
 
-import java.util.UUID;
 import java.time.LocalDateTime;
 
 public class Ticket {
@@ -21,7 +21,7 @@ public class Ticket {
 
     // Constructor for creating a NEW ticket
     public Ticket(String title, String description, Priority priority, String category, String createdBy) {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdUtil.newId();
         this.title = title;
         this.description = description;
         this.priority = priority;
@@ -42,8 +42,8 @@ public class Ticket {
         this.category = category;
         this.createdBy = createdBy;
         this.assignedTo = assignedTo;
-        // Parsing logic for date string would happen in the Service/DAO, keeping Entity simple
-        // For simplicity here, we assume String or handle conversion in DAO
+        // SQLite datetime('now') format: "yyyy-MM-dd HH:mm:ss"
+        this.createdAt = createdAt != null ? LocalDateTime.parse(createdAt.replace(' ', 'T')) : null;
     }
 
     // Getters
@@ -0,0 +1,52 @@
+package com.junaidsultan.entity;
+
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Status;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ticket counts for a dashboard: everything, a creator's tickets or an assignee's,
+ * broken down by status, priority and category. Read from the ticket rollups,
+ * never by counting tickets.
+ */
+public class TicketDashboard {
+    private final Map<Status, Integer> byStatus;
+    private final Map<Priority, Integer> byPriority;
+    private final Map<String, Integer> byCategory;
+    private final int unassignedActive;
+    private final int total;
+
+    public TicketDashboard(Map<Status, Integer> byStatus, Map<Priority, Integer> byPriority,
+                           Map<String, Integer> byCategory, int unassignedActive) {
+        this.byStatus = new EnumMap<>(Status.class);
+        this.byStatus.putAll(byStatus);
+        this.byPriority = new EnumMap<>(Priority.class);
+        this.byPriority.putAll(byPriority);
+        this.byCategory = Collections.unmodifiableMap(new TreeMap<>(byCategory));
+        this.unassignedActive = unassignedActive;
+        this.total = byStatus.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static TicketDashboard empty() {
+        return new TicketDashboard(Map.of(), Map.of(), Map.of(), 0);
+    }
+
+    public int count(Status status) {
+        return byStatus.getOrDefault(status, 0);
+    }
+
+    public int count(Priority priority) {
+        return byPriority.getOrDefault(priority, 0);
+    }
+
+    // Getters
+    public int getTotal() { return total; }
+    // Open or on-hold tickets nobody is assigned to
+    public int getUnassignedActive() { return unassignedActive; }
+    // Category name to count; tickets without a category are under ""
+    public Map<String, Integer> getByCategory() { return byCategory; }
+}
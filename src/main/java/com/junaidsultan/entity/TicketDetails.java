@@ -0,0 +1,32 @@
+package com.junaidsultan.entity;
+
+/**
+ * A ticket together with the display names of its creator and assignee,
+ * loaded in one query for the details page.
+ */
+public class TicketDetails {
+    private final Ticket ticket;
+    private final String createdByName;
+    private final String assignedToName;
+    private final boolean archived;
+
+    public TicketDetails(Ticket ticket, String createdByName, String assignedToName) {
+        this(ticket, createdByName, assignedToName, false);
+    }
+
+    public TicketDetails(Ticket ticket, String createdByName, String assignedToName, boolean archived) {
+        this.ticket = ticket;
+        this.createdByName = createdByName;
+        this.assignedToName = assignedToName;
+        this.archived = archived;
+    }
+
+    // Getters
+    public Ticket getTicket() { return ticket; }
+    // Null if the user no longer exists
+    public String getCreatedByName() { return createdByName; }
+    // Null if the ticket is unassigned or the user no longer exists
+    public String getAssignedToName() { return assignedToName; }
+    // True if the ticket was moved to the archive; it is read-only until restored
+    public boolean isArchived() { return archived; }
+}
@@ -0,0 +1,24 @@
+package com.junaidsultan.entity;
+
+/**
+ * One full-text search result: the matching ticket as a list row, plus an
+ * excerpt of the text around the matched words.
+ */
+public class TicketSearchHit {
+    private final TicketSummary summary;
+    private final String snippet;
+    private final double score;
+
+    public TicketSearchHit(TicketSummary summary, String snippet, double score) {
+        this.summary = summary;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    // Getters
+    public TicketSummary getSummary() { return summary; }
+    // Matched words are wrapped in [ and ]
+    public String getSnippet() { return snippet; }
+    // BM25 rank; lower is a better match
+    public double getScore() { return score; }
+}
@@ -0,0 +1,46 @@
+package com.junaidsultan.entity;
+
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a ticket for list views.
+ * Carries only the columns a list row shows; the description stays in the
+ * database until the full Ticket is loaded for the details page. Creator and
+ * assignee come as display names, resolved by the same query.
+ */
+public class TicketSummary {
+    private final String id;
+    private final String title;
+    private final Status status;
+    private final Priority priority;
+    private final LocalDateTime createdAt;
+    private final String createdByName;
+    private final String assignedToName;
+
+    // Constructor for loading from DB
+    public TicketSummary(String id, String title, String status, String priority, String createdAt,
+                         String createdByName, String assignedToName) {
+        this.id = id;
+        this.title = title;
+        this.status = Status.valueOf(status);
+        this.priority = Priority.valueOf(priority);
+        this.createdByName = createdByName;
+        this.assignedToName = assignedToName;
+        // SQLite datetime('now') format: "yyyy-MM-dd HH:mm:ss"
+        this.createdAt = createdAt != null ? LocalDateTime.parse(createdAt.replace(' ', 'T')) : null;
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getTitle() { return title; }
+    public Status getStatus() { return status; }
+    public Priority getPriority() { return priority; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    // Null if the user no longer exists
+    public String getCreatedByName() { return createdByName; }
+    // Null if the ticket is unassigned or the user no longer exists
+    public String getAssignedToName() { return assignedToName; }
+}
@@ -1,8 +1,7 @@
 package com.junaidsultan.entity;
 
 import com.junaidsultan.enums.Role;
-
-import java.util.UUID;
+import com.junaidsultan.util.IdUtil;
 
 public class User {
     private String id;
@@ -13,7 +12,7 @@ public class User {
     private Role role;
 
     public User(String username, String email, String name, String passwordHash, Role role) {
-        this.id = UUID.randomUUID().toString(); // Auto-generate ID
+        this.id = IdUtil.newId(); // Auto-generate ID
         this.username = username;
         this.email = email;
         this.name = name;
@@ -2,6 +2,7 @@ package com.junaidsultan.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Generic Repository Interface following the Repository Pattern.
@@ -11,6 +12,11 @@ import java.util.Optional;
  */
 public interface BaseRepository<T, ID> {
     
+    /**
+     * Rows fetched per driver round trip by {@link #streamAll()}.
+     */
+    int DEFAULT_FETCH_SIZE = 500;
+    
     /**
      * Save a new entity to the database.
      * @param entity The entity to save
@@ -38,6 +44,33 @@ public interface BaseRepository<T, ID> {
      */
     List<T> findAll();
     
+    /**
+     * Stream all entities from a live cursor, in no particular order, without
+     * loading the table into memory. The stream holds a database connection until
+     * it is exhausted or closed, so use it in try-with-resources:
+     * <pre>
+     * try (Stream&lt;T&gt; all = repository.streamAll(1000)) { ... }
+     * </pre>
+     * @param fetchSize Rows fetched per driver round trip
+     * @return Lazy stream of all entities
+     */
+    Stream<T> streamAll(int fetchSize);
+    
+    /**
+     * Stream all entities with the default fetch size.
+     * @return Lazy stream of all entities
+     * @see #streamAll(int)
+     */
+    default Stream<T> streamAll() {
+        return streamAll(DEFAULT_FETCH_SIZE);
+    }
+    
+    /**
+     * Check whether the table has any row, without reading more than one.
+     * @return true if at least one entity exists
+     */
+    boolean existsAny();
+    
     /**
      * Delete an entity by its ID.
      * @param id The primary key
@@ -51,4 +84,10 @@ public interface BaseRepository<T, ID> {
      * @return true if exists, false otherwise
      */
     boolean existsById(ID id);
+    
+    /**
+     * Delete every entity in one statement.
+     * @return Number of entities deleted
+     */
+    int deleteAll();
 }
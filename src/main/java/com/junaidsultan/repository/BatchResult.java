@@ -0,0 +1,26 @@
+package com.junaidsultan.repository;
+
+import java.util.List;
+
+/**
+ * Outcome of one chunk of a batched write. Each chunk commits or rolls back
+ * on its own, so a failed chunk does not undo the chunks before it.
+ *
+ * @param chunk     zero-based chunk number
+ * @param attempted rows in the chunk
+ * @param written   rows committed (0 if the chunk was rolled back)
+ * @param error     failure message, or null if the chunk committed
+ */
+public record BatchResult(int chunk, int attempted, int written, String error) {
+
+    public boolean succeeded() {
+        return error == null;
+    }
+
+    /**
+     * @return Rows committed across all chunks
+     */
+    public static int totalWritten(List<BatchResult> results) {
+        return results.stream().mapToInt(BatchResult::written).sum();
+    }
+}
@@ -0,0 +1,323 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ColumnType;
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.StorageFormat;
+import com.junaidsultan.entity.Broadcast;
+import com.junaidsultan.entity.Notification;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Concrete implementation of IBroadcastRepository.
+ * Handles all database operations for Broadcast entity and its receipts.
+ */
+public class BroadcastRepository implements IBroadcastRepository {
+    
+    // A broadcast is visible to a user if it targets their role (or everyone) and was
+    // sent after they joined. Walks only the broadcasts newer than the user's
+    // created_at via idx_broadcasts_created; receipts are looked up by primary key.
+    private static final String VISIBLE_FROM = """
+        FROM users u
+        JOIN broadcasts b ON b.created_at >= u.created_at
+        LEFT JOIN broadcast_receipts r ON r.user_id = u.id AND r.broadcast_id = b.id
+        WHERE u.id = ? AND (b.target_role IS NULL OR b.target_role = u.role)
+        """;
+    
+    static final String FIND_VISIBLE_SQL =
+        "SELECT b.*, r.read_at " + VISIBLE_FROM + " AND r.dismissed_at IS NULL ORDER BY b.created_at DESC";
+    static final String FIND_UNREAD_VISIBLE_SQL =
+        "SELECT b.*, r.read_at " + VISIBLE_FROM + " AND r.user_id IS NULL ORDER BY b.created_at DESC";
+    static final String COUNT_UNREAD_VISIBLE_SQL =
+        "SELECT COUNT(*) " + VISIBLE_FROM + " AND r.user_id IS NULL";
+    
+    private final ConnectionPool pool;
+    private final StorageFormat format;
+    
+    public BroadcastRepository() {
+        this(DBConnection.getInstance().getPool());
+    }
+    
+    // Constructor for dependency injection (e.g. a pool on a test database)
+    public BroadcastRepository(ConnectionPool pool) {
+        this.pool = pool;
+        this.format = pool.getStorageFormat();
+    }
+    
+    @Override
+    public Broadcast save(Broadcast broadcast) {
+        String sql = """
+            INSERT INTO broadcasts (id, target_role, title, message, created_by, created_at)
+            VALUES (?, ?, ?, ?, ?, datetime('now'))
+        """;
+        
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, broadcast.getId());
+            format.bindEnum(stmt, 2, broadcast.getTargetRole());
+            stmt.setString(3, broadcast.getTitle());
+            stmt.setString(4, broadcast.getMessage());
+            format.bindId(stmt, 5, broadcast.getCreatedBy());
+            
+            stmt.executeUpdate();
+            return broadcast;
+        } catch (SQLException e) {
+            System.err.println("Error saving broadcast: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    @Override
+    public Broadcast update(Broadcast broadcast) {
+        String sql = "UPDATE broadcasts SET target_role = ?, title = ?, message = ? WHERE id = ?";
+        
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindEnum(stmt, 1, broadcast.getTargetRole());
+            stmt.setString(2, broadcast.getTitle());
+            stmt.setString(3, broadcast.getMessage());
+            format.bindId(stmt, 4, broadcast.getId());
+            
+            int rowsAffected = stmt.executeUpdate();
+            return rowsAffected > 0 ? broadcast : null;
+        } catch (SQLException e) {
+            System.err.println("Error updating broadcast: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    @Override
+    public Optional<Broadcast> findById(String id) {
+        String sql = "SELECT * FROM broadcasts WHERE id = ?";
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToBroadcast(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding broadcast by id: " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+    
+    @Override
+    public List<Broadcast> findAll() {
+        List<Broadcast> broadcasts = new ArrayList<>();
+        String sql = "SELECT * FROM broadcasts ORDER BY created_at DESC";
+        
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached(sql).executeQuery()) {
+            
+            while (rs.next()) {
+                broadcasts.add(mapResultSetToBroadcast(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding all broadcasts: " + e.getMessage());
+        }
+        return broadcasts;
+    }
+    
+    @Override
+    public boolean deleteById(String id) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement receipts = conn.prepareCached("DELETE FROM broadcast_receipts WHERE broadcast_id = ?");
+            format.bindId(receipts, 1, id);
+            receipts.executeUpdate();
+            
+            PreparedStatement stmt = conn.prepareCached("DELETE FROM broadcasts WHERE id = ?");
+            format.bindId(stmt, 1, id);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error deleting broadcast: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public boolean existsById(String id) {
+        String sql = "SELECT 1 FROM broadcasts WHERE id = ?";
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error checking broadcast existence: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public Stream<Broadcast> streamAll(int fetchSize) {
+        return RowStream.open(pool, "SELECT * FROM broadcasts", fetchSize, this::mapResultSetToBroadcast);
+    }
+    
+    @Override
+    public boolean existsAny() {
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached("SELECT 1 FROM broadcasts LIMIT 1").executeQuery()) {
+            return rs.next();
+        } catch (SQLException e) {
+            System.err.println("Error checking for any broadcast: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public int deleteAll() {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            conn.prepareCached("DELETE FROM broadcast_receipts").executeUpdate();
+            return conn.prepareCached("DELETE FROM broadcasts").executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error deleting all broadcasts: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    @Override
+    public List<Notification> findVisibleTo(String userId) {
+        return findVisible(FIND_VISIBLE_SQL, userId);
+    }
+    
+    @Override
+    public List<Notification> findUnreadVisibleTo(String userId) {
+        return findVisible(FIND_UNREAD_VISIBLE_SQL, userId);
+    }
+    
+    @Override
+    public int countUnreadVisibleTo(String userId) {
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(COUNT_UNREAD_VISIBLE_SQL);
+            format.bindId(stmt, 1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting unread broadcasts: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    @Override
+    public boolean markAsRead(String broadcastId, String userId) {
+        String sql = """
+            INSERT INTO broadcast_receipts (user_id, broadcast_id, read_at)
+            VALUES (?, ?, datetime('now'))
+            ON CONFLICT (user_id, broadcast_id) DO NOTHING
+        """;
+        
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, userId);
+            format.bindId(stmt, 2, broadcastId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error marking broadcast as read: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public int markAllAsRead(String userId) {
+        String sql = "INSERT INTO broadcast_receipts (user_id, broadcast_id, read_at) "
+            + "SELECT u.id, b.id, datetime('now') " + VISIBLE_FROM + " AND r.user_id IS NULL";
+        
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, userId);
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error marking all broadcasts as read: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    @Override
+    public boolean dismiss(String broadcastId, String userId) {
+        String sql = """
+            INSERT INTO broadcast_receipts (user_id, broadcast_id, read_at, dismissed_at)
+            VALUES (?, ?, datetime('now'), datetime('now'))
+            ON CONFLICT (user_id, broadcast_id) DO UPDATE SET dismissed_at = excluded.dismissed_at
+        """;
+        
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, userId);
+            format.bindId(stmt, 2, broadcastId);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error dismissing broadcast: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public int dismissAll(String userId) {
+        String sql = "INSERT INTO broadcast_receipts (user_id, broadcast_id, read_at, dismissed_at) "
+            + "SELECT u.id, b.id, datetime('now'), datetime('now') " + VISIBLE_FROM + " AND r.dismissed_at IS NULL "
+            + "ON CONFLICT (user_id, broadcast_id) DO UPDATE SET dismissed_at = excluded.dismissed_at";
+        
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, userId);
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error dismissing all broadcasts: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    private List<Notification> findVisible(String sql, String userId) {
+        List<Notification> notifications = new ArrayList<>();
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(new Notification(
+                        format.readId(rs, "id"),
+                        userId,
+                        rs.getString("title"),
+                        rs.getString("message"),
+                        rs.getObject("read_at") != null,
+                        format.readId(rs, "created_by"),
+                        format.readTime(rs, "created_at"),
+                        true
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding broadcasts for user: " + e.getMessage());
+        }
+        return notifications;
+    }
+    
+    /**
+     * Helper method to map ResultSet to Broadcast entity.
+     */
+    private Broadcast mapResultSetToBroadcast(ResultSet rs) throws SQLException {
+        return new Broadcast(
+            format.readId(rs, "id"),
+            format.readEnum(rs, "target_role", ColumnType.ROLE),
+            rs.getString("title"),
+            rs.getString("message"),
+            format.readId(rs, "created_by"),
+            format.readTime(rs, "created_at")
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.enums.Status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * What an export reads. Null filters are not applied.
+ *
+ * @param source      table to export
+ * @param columns     columns to write, in order; all of the source's columns if empty
+ * @param status      ticket status (tickets only)
+ * @param createdFrom first creation date included
+ * @param createdTo   last creation date included
+ */
+public record ExportCriteria(ExportSource source, List<String> columns, Status status,
+                             LocalDate createdFrom, LocalDate createdTo) {
+
+    public ExportCriteria {
+        if (source == null) {
+            throw new IllegalArgumentException("Export source is required");
+        }
+        columns = columns == null || columns.isEmpty() ? source.columns() : List.copyOf(columns);
+        for (String column : columns) {
+            // Column names are written into the SQL, so only known names get through
+            if (!source.columns().contains(column)) {
+                throw new IllegalArgumentException("Unknown column '" + column + "' for "
+                    + source.name().toLowerCase() + ", expected one of " + source.columns());
+            }
+        }
+        if (status != null && source != ExportSource.TICKETS) {
+            throw new IllegalArgumentException("Only tickets can be filtered by status");
+        }
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new IllegalArgumentException("Start date " + createdFrom + " is after end date " + createdTo);
+        }
+    }
+
+    public static ExportCriteria of(ExportSource source) {
+        return new ExportCriteria(source, null, null, null, null);
+    }
+
+    public ExportCriteria withColumns(List<String> columns) {
+        return new ExportCriteria(source, columns, status, createdFrom, createdTo);
+    }
+
+    public ExportCriteria withStatus(Status status) {
+        return new ExportCriteria(source, columns, status, createdFrom, createdTo);
+    }
+
+    public ExportCriteria withCreatedBetween(LocalDate from, LocalDate to) {
+        return new ExportCriteria(source, columns, status, from, to);
+    }
+}
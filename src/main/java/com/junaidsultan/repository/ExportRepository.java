@@ -0,0 +1,112 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ColumnType;
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.StorageFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Concrete implementation of IExportRepository.
+ * Streams rows as plain values, skipping entity mapping, so an export of any
+ * size runs in the memory of one fetch.
+ */
+public class ExportRepository implements IExportRepository {
+
+    // Exported columns stored differently in the compact format; values leave in the text form
+    private static final Map<String, ColumnType> COLUMN_TYPES = Map.of(
+        "id", ColumnType.ID,
+        "created_by", ColumnType.ID,
+        "assigned_to", ColumnType.ID,
+        "receiver_id", ColumnType.ID,
+        "priority", ColumnType.PRIORITY,
+        "status", ColumnType.STATUS,
+        "role", ColumnType.ROLE,
+        "created_at", ColumnType.TIME,
+        "updated_at", ColumnType.TIME);
+
+    private final ConnectionPool pool;
+    private final StorageFormat format;
+
+    public ExportRepository() {
+        this(DBConnection.getInstance().getPool());
+    }
+
+    // Constructor for dependency injection (e.g. a pool on a test database)
+    public ExportRepository(ConnectionPool pool) {
+        this.pool = pool;
+        this.format = pool.getStorageFormat();
+    }
+
+    @Override
+    public Stream<Object[]> streamRows(ExportCriteria criteria, int fetchSize) {
+        int width = criteria.columns().size();
+        ColumnType[] types = new ColumnType[width];
+        if (format == StorageFormat.COMPACT) {
+            for (int i = 0; i < width; i++) {
+                types[i] = COLUMN_TYPES.get(criteria.columns().get(i));
+            }
+        }
+        return RowStream.open(pool, exportSql(criteria), parameters(criteria), fetchSize, rs -> {
+            Object[] row = new Object[width];
+            for (int i = 0; i < width; i++) {
+                Object value = rs.getObject(i + 1);
+                row[i] = types[i] == null ? value : format.decode(types[i], value);
+            }
+            return row;
+        });
+    }
+
+    /**
+     * Build the export query; placeholders are bound by {@link #parameters(ExportCriteria)}.
+     * Column names come from {@link ExportSource#columns()}, never from user input directly.
+     */
+    static String exportSql(ExportCriteria criteria) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+            .append(String.join(", ", criteria.columns()))
+            .append(" FROM ").append(criteria.source().table());
+
+        List<String> conditions = new ArrayList<>();
+        if (criteria.status() != null) {
+            conditions.add("status = ?");
+        }
+        // Dates compare as text prefixes of created_at, whichever separator it was stored with
+        if (criteria.createdFrom() != null) {
+            conditions.add("created_at >= ?");
+        }
+        if (criteria.createdTo() != null) {
+            conditions.add("created_at < ?");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        if (criteria.source().orderBy() != null) {
+            sql.append(" ORDER BY ").append(criteria.source().orderBy());
+        }
+        return sql.toString();
+    }
+
+    private List<Object> parameters(ExportCriteria criteria) {
+        List<Object> parameters = new ArrayList<>(3);
+        if (criteria.status() != null) {
+            parameters.add(format.encode(ColumnType.STATUS, criteria.status()));
+        }
+        if (criteria.createdFrom() != null) {
+            parameters.add(dateBound(criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            parameters.add(dateBound(criteria.createdTo().plusDays(1)));
+        }
+        return parameters;
+    }
+
+    // A text prefix of created_at, or the start of that day in epoch millis
+    private Object dateBound(LocalDate date) {
+        return format == StorageFormat.TEXT ? date.toString() : format.encode(ColumnType.TIME, date);
+    }
+}
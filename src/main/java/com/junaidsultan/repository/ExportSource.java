@@ -0,0 +1,47 @@
+package com.junaidsultan.repository;
+
+import java.util.List;
+
+/**
+ * Tables that can be exported, with the columns an export may select.
+ * Password hashes are never exportable.
+ */
+public enum ExportSource {
+
+    // Active and archived tickets, in creation order (idx_tickets_created_id on both tables)
+    TICKETS("tickets_all", "created_at, id", List.of(
+        "id", "title", "priority", "status", "category", "created_by", "assigned_to",
+        "created_at", "updated_at", "description", "archived")),
+
+    // Storage order: neither table has an index on created_at alone
+    USERS("users", null, List.of(
+        "id", "username", "email", "name", "role", "created_at")),
+
+    NOTIFICATIONS("notifications", null, List.of(
+        "id", "receiver_id", "title", "message", "is_read", "created_by", "created_at", "updated_at"));
+
+    private final String table;
+    private final String orderBy;
+    private final List<String> columns;
+
+    ExportSource(String table, String orderBy, List<String> columns) {
+        this.table = table;
+        this.orderBy = orderBy;
+        this.columns = columns;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    /**
+     * @return ORDER BY clause, or null to export in storage order
+     */
+    public String orderBy() {
+        return orderBy;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+}
@@ -0,0 +1,66 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.entity.Broadcast;
+import com.junaidsultan.entity.Notification;
+
+import java.util.List;
+
+/**
+ * Broadcast-specific repository interface extending the base repository.
+ * A broadcast reaches every user of its target role (or every user) who
+ * existed when it was sent; per-user state is kept in receipts.
+ */
+public interface IBroadcastRepository extends BaseRepository<Broadcast, String> {
+    
+    /**
+     * Find the broadcasts a user can see and has not dismissed, newest first,
+     * as notifications addressed to that user.
+     * @param userId The viewing user's ID
+     * @return List of broadcast notifications
+     */
+    List<Notification> findVisibleTo(String userId);
+    
+    /**
+     * Find the visible broadcasts the user has not read yet.
+     * @param userId The viewing user's ID
+     * @return List of unread broadcast notifications
+     */
+    List<Notification> findUnreadVisibleTo(String userId);
+    
+    /**
+     * Count the visible broadcasts the user has not read yet.
+     * @param userId The viewing user's ID
+     * @return Number of unread broadcasts
+     */
+    int countUnreadVisibleTo(String userId);
+    
+    /**
+     * Record that a user read a broadcast.
+     * @param broadcastId The broadcast's ID
+     * @param userId The reader's user ID
+     * @return true if the receipt was written (false if it was already read)
+     */
+    boolean markAsRead(String broadcastId, String userId);
+    
+    /**
+     * Mark every visible broadcast as read for a user.
+     * @param userId The reader's user ID
+     * @return Number of broadcasts newly marked as read
+     */
+    int markAllAsRead(String userId);
+    
+    /**
+     * Hide a broadcast from one user. The broadcast itself is kept for everyone else.
+     * @param broadcastId The broadcast's ID
+     * @param userId The user's ID
+     * @return true if dismissed successfully
+     */
+    boolean dismiss(String broadcastId, String userId);
+    
+    /**
+     * Hide every visible broadcast from one user.
+     * @param userId The user's ID
+     * @return Number of broadcasts dismissed
+     */
+    int dismissAll(String userId);
+}
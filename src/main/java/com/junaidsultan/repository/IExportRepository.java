@@ -0,0 +1,22 @@
+package com.junaidsultan.repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Read-only access to raw rows for exports.
+ */
+public interface IExportRepository {
+
+    /**
+     * Stream the selected columns of every matching row without loading the table
+     * into memory. Values are the driver's types: String, Integer, Long, Double or null.
+     * The stream holds a database connection until it is closed or exhausted:
+     * <pre>
+     * try (Stream&lt;Object[]&gt; rows = repository.streamRows(criteria, 1000)) { ... }
+     * </pre>
+     * @param criteria Table, columns and filters
+     * @param fetchSize Rows fetched per driver round trip
+     * @return Lazy stream of rows, one value per selected column
+     */
+    Stream<Object[]> streamRows(ExportCriteria criteria, int fetchSize);
+}
@@ -0,0 +1,30 @@
+package com.junaidsultan.repository;
+
+import java.util.Optional;
+
+/**
+ * Checkpoints of resumable bulk imports, see Migrations V12.
+ */
+public interface IImportCheckpointRepository {
+
+    /**
+     * @param source The import's source key
+     * @return The last saved checkpoint, if the source was imported before
+     */
+    Optional<ImportCheckpoint> find(String source);
+
+    /**
+     * Insert or replace the checkpoint for its source. Call inside the transaction
+     * that stores the rows it covers.
+     * @param checkpoint The new position
+     * @return true if the checkpoint was saved
+     */
+    boolean save(ImportCheckpoint checkpoint);
+
+    /**
+     * Forget a source, so its next import starts from the first row.
+     * @param source The import's source key
+     * @return true if a checkpoint was deleted
+     */
+    boolean delete(String source);
+}
@@ -10,6 +10,30 @@ import java.util.List;
  */
 public interface INotificationRepository extends BaseRepository<Notification, String> {
     
+    /**
+     * Rows per transaction used by {@link #saveAll(List)}.
+     */
+    int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+    
+    /**
+     * Insert many notifications with JDBC batching. Rows are written in chunks,
+     * each chunk in its own transaction, so the write lock is released between
+     * chunks and a failure only rolls back the chunk it happened in.
+     * @param notifications The notifications to insert
+     * @param chunkSize Rows per transaction
+     * @return One result per chunk, in order
+     */
+    List<BatchResult> saveAll(List<Notification> notifications, int chunkSize);
+    
+    /**
+     * Insert many notifications using the default chunk size.
+     * @param notifications The notifications to insert
+     * @return One result per chunk, in order
+     */
+    default List<BatchResult> saveAll(List<Notification> notifications) {
+        return saveAll(notifications, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+    
     /**
      * Find all notifications for a specific user.
      * @param userId The receiver's user ID
@@ -26,11 +50,20 @@ public interface INotificationRepository extends BaseRepository<Notification, St
     
     /**
      * Count unread notifications for a specific user.
+     * Reads a per-user counter kept current by database triggers, so the cost
+     * does not grow with the size of the inbox.
      * @param userId The receiver's user ID
      * @return Number of unread notifications
      */
     int countUnreadByReceiverId(String userId);
     
+    /**
+     * Recompute every unread counter from the notifications table.
+     * Only needed to repair counters after notifications were edited outside the application.
+     * @return Number of users with unread notifications
+     */
+    int rebuildUnreadCounters();
+    
     /**
      * Mark a notification as read.
      * @param notificationId The notification's ID
@@ -51,4 +84,29 @@ public interface INotificationRepository extends BaseRepository<Notification, St
      * @return Number of notifications deleted
      */
     int deleteAllByReceiverId(String userId);
+    
+    /**
+     * Delete one batch of read notifications older than the given age, oldest first.
+     * Each call is its own short write; call again until it returns less than the limit.
+     * @param days Minimum age in days
+     * @param limit Most rows deleted by this call
+     * @return Number of notifications deleted
+     */
+    int deleteReadOlderThan(int days, int limit);
+    
+    /**
+     * Find the users whose inbox holds more than the given number of notifications.
+     * @param cap Notifications a user may keep
+     * @return Receiver IDs over the cap
+     */
+    List<String> findReceiversOverCap(int cap);
+    
+    /**
+     * Delete one batch of a user's notifications beyond their newest {@code cap}, oldest first.
+     * @param userId The receiver's user ID
+     * @param cap Newest notifications to keep
+     * @param limit Most rows deleted by this call
+     * @return Number of notifications deleted
+     */
+    int deleteOverCap(String userId, int cap, int limit);
 }
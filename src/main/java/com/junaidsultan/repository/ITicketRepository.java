@@ -1,10 +1,19 @@
 package com.junaidsultan.repository;
 
 import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDetails;
+import com.junaidsultan.entity.TicketSearchHit;
+import com.junaidsultan.entity.TicketSummary;
 import com.junaidsultan.enums.Priority;
 import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.repository.paging.SearchPage;
+import com.junaidsultan.repository.paging.Slice;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Ticket-specific repository interface extending the base repository.
@@ -12,6 +21,31 @@ import java.util.List;
  */
 public interface ITicketRepository extends BaseRepository<Ticket, String> {
     
+    /**
+     * Rows per transaction used by {@link #saveAll(List)}.
+     */
+    int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+    
+    /**
+     * Insert many tickets with one statement per chunk, each chunk in its own transaction
+     * (a savepoint inside a caller's transaction), so a failure only rolls back
+     * the chunk it happened in. Unlike {@link #save}, each ticket keeps its own
+     * created_at; a null one is stamped with the current time.
+     * @param tickets The tickets to insert
+     * @param chunkSize Rows per transaction
+     * @return One result per chunk, in order
+     */
+    List<BatchResult> saveAll(List<Ticket> tickets, int chunkSize);
+    
+    /**
+     * Insert many tickets using the default chunk size.
+     * @param tickets The tickets to insert
+     * @return One result per chunk, in order
+     */
+    default List<BatchResult> saveAll(List<Ticket> tickets) {
+        return saveAll(tickets, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+    
     /**
      * Find all tickets created by a specific user.
      * @param userId The creator's user ID
@@ -85,4 +119,77 @@ public interface ITicketRepository extends BaseRepository<Ticket, String> {
      * @return List of unassigned tickets
      */
     List<Ticket> findUnassigned();
+    
+    /**
+     * Find one page of matching tickets, newest first, using keyset pagination
+     * on (created_at, id). Cost depends on the page size, not the table size.
+     * @param criteria The filter to apply
+     * @param page Which page to fetch
+     * @return The page, with cursors for the neighbouring pages
+     */
+    Slice<Ticket> findPage(TicketCriteria criteria, PageRequest page);
+    
+    /**
+     * Same as {@link #findPage}, but loads only the columns list views display
+     * (no description or category), with creator and assignee names instead of IDs.
+     * @param criteria The filter to apply
+     * @param page Which page to fetch
+     * @return The page of ticket summaries
+     */
+    Slice<TicketSummary> findSummaryPage(TicketCriteria criteria, PageRequest page);
+    
+    /**
+     * Find a ticket with its creator and assignee names in one query.
+     * Archived tickets are found too, see {@link TicketDetails#isArchived()}.
+     * @param id The ticket ID
+     * @return Optional containing the ticket details if found
+     */
+    Optional<TicketDetails> findDetailsById(String id);
+    
+    /**
+     * Full-text search over title, description and category, best matches first.
+     * Every word in the query must match; the last word also matches as a prefix
+     * once it is at least three characters long.
+     * @param query Words to search for, as typed by the user
+     * @param criteria Additional filters on the matching tickets
+     * @param page Zero-based page number
+     * @param size Results per page
+     * @return The page of results, empty if the query has no searchable words
+     */
+    SearchPage<TicketSearchHit> search(String query, TicketCriteria criteria, int page, int size);
+    
+    /**
+     * Rebuild the full-text index from the tickets table.
+     * @return Number of tickets indexed, or 0 if the rebuild failed
+     */
+    int rebuildSearchIndex();
+    
+    /**
+     * Tickets moved per transaction by {@link #archiveClosedBefore(int, int)}.
+     */
+    int DEFAULT_ARCHIVE_BATCH_SIZE = 500;
+    
+    /**
+     * Move one batch of tickets that were closed, and not changed since, more than
+     * the given number of days ago into the archive. The batch is one transaction;
+     * call again until it returns less than the limit.
+     * @param days Minimum days since the ticket was last changed
+     * @param limit Most tickets moved by this call
+     * @return Number of tickets archived
+     */
+    int archiveClosedBefore(int days, int limit);
+    
+    /**
+     * Move an archived ticket back into the active tickets table so it can be edited again.
+     * @param ticketId The ticket ID
+     * @return true if the ticket was restored
+     */
+    boolean restoreFromArchive(String ticketId);
+    
+    /**
+     * Find which of the given ticket IDs are taken by archived tickets, in one query.
+     * @param ids Ticket IDs
+     * @return The IDs held by the archive
+     */
+    Set<String> findArchivedIds(Collection<String> ids);
 }
@@ -0,0 +1,37 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.entity.TicketDashboard;
+
+/**
+ * Read side of the ticket rollups: per-dashboard ticket counts that database
+ * triggers keep current on every ticket insert, update and delete.
+ */
+public interface ITicketRollupRepository {
+    
+    /**
+     * Counts over all tickets (admin dashboard).
+     * @return The dashboard counts
+     */
+    TicketDashboard findDashboard();
+    
+    /**
+     * Counts over the tickets a user created (student dashboard).
+     * @param userId The creator's user ID
+     * @return The dashboard counts
+     */
+    TicketDashboard findDashboardForCreator(String userId);
+    
+    /**
+     * Counts over the tickets assigned to a staff member (staff dashboard).
+     * @param staffId The assignee's user ID
+     * @return The dashboard counts
+     */
+    TicketDashboard findDashboardForAssignee(String staffId);
+    
+    /**
+     * Recompute every rollup from the tickets table in one pass and one transaction.
+     * Only needed to repair rollups after tickets were edited outside the application.
+     * @return Number of rollup rows written
+     */
+    int rebuild();
+}
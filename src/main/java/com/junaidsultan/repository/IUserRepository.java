@@ -3,7 +3,9 @@ package com.junaidsultan.repository;
 import com.junaidsultan.entity.User;
 import com.junaidsultan.enums.Role;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -12,6 +14,30 @@ import java.util.Optional;
  */
 public interface IUserRepository extends BaseRepository<User, String> {
     
+    /**
+     * Rows per transaction used by {@link #saveAll(List)}.
+     */
+    int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+    
+    /**
+     * Insert many users with one statement per chunk, each chunk in its own transaction
+     * (a savepoint inside a caller's transaction), so a failure only rolls back the
+     * chunk it happened in.
+     * @param users The users to insert, passwords already hashed
+     * @param chunkSize Rows per transaction
+     * @return One result per chunk, in order
+     */
+    List<BatchResult> saveAll(List<User> users, int chunkSize);
+    
+    /**
+     * Insert many users using the default chunk size.
+     * @param users The users to insert
+     * @return One result per chunk, in order
+     */
+    default List<BatchResult> saveAll(List<User> users) {
+        return saveAll(users, DEFAULT_BATCH_CHUNK_SIZE);
+    }
+    
     /**
      * Find a user by username.
      * @param username The username to search for
@@ -26,6 +52,28 @@ public interface IUserRepository extends BaseRepository<User, String> {
      */
     Optional<User> findByEmail(String email);
     
+    /**
+     * Find many users by id in one query, e.g. to show names for a list of tickets.
+     * @param ids The user IDs; duplicates and nulls are ignored
+     * @return The users found, keyed by id (ids with no user are absent)
+     */
+    Map<String, User> findByIds(Collection<String> ids);
+    
+    /**
+     * Resolve references to users given either as user IDs or as usernames, in one query.
+     * @param references IDs and/or usernames
+     * @return User ID for each reference that matched; unknown references are absent
+     */
+    Map<String, String> findIdsByIdOrUsername(Collection<String> references);
+    
+    /**
+     * Check a whole batch of new accounts against the registered ones in one query.
+     * @param usernames Usernames to check
+     * @param emails Emails to check
+     * @return The usernames and emails that are already taken
+     */
+    UserConflicts findConflicts(Collection<String> usernames, Collection<String> emails);
+    
     /**
      * Find all users with a specific role.
      * @param role The role to filter by
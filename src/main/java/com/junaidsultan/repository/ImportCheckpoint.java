@@ -0,0 +1,21 @@
+package com.junaidsultan.repository;
+
+/**
+ * How far a bulk import has got through its file. Saved in the same transaction
+ * as the rows it covers, so it never runs ahead of or behind the data.
+ *
+ * @param source   identifies the file, e.g. its absolute path
+ * @param rowsRead data rows consumed so far, stored or rejected
+ * @param imported rows stored so far
+ * @param failed   rows rejected so far
+ */
+public record ImportCheckpoint(String source, long rowsRead, long imported, long failed) {
+
+    public static ImportCheckpoint start(String source) {
+        return new ImportCheckpoint(source, 0, 0, 0);
+    }
+
+    public ImportCheckpoint advance(long rows, long importedRows, long failedRows) {
+        return new ImportCheckpoint(source, rowsRead + rows, imported + importedRows, failed + failedRows);
+    }
+}
@@ -0,0 +1,78 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.PooledConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Concrete implementation of IImportCheckpointRepository.
+ */
+public class ImportCheckpointRepository implements IImportCheckpointRepository {
+
+    private static final String SAVE_SQL = """
+        INSERT INTO import_checkpoints (source, rows_read, imported, failed) VALUES (?, ?, ?, ?)
+        ON CONFLICT (source) DO UPDATE SET rows_read = excluded.rows_read, imported = excluded.imported,
+            failed = excluded.failed, updated_at = datetime('now')
+    """;
+
+    private final ConnectionPool pool;
+
+    public ImportCheckpointRepository() {
+        this(DBConnection.getInstance().getPool());
+    }
+
+    // Constructor for dependency injection (e.g. a pool on a test database)
+    public ImportCheckpointRepository(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Optional<ImportCheckpoint> find(String source) {
+        String sql = "SELECT rows_read, imported, failed FROM import_checkpoints WHERE source = ?";
+
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            stmt.setString(1, source);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(new ImportCheckpoint(source, rs.getLong(1), rs.getLong(2), rs.getLong(3)));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding import checkpoint: " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean save(ImportCheckpoint checkpoint) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(SAVE_SQL);
+            stmt.setString(1, checkpoint.source());
+            stmt.setLong(2, checkpoint.rowsRead());
+            stmt.setLong(3, checkpoint.imported());
+            stmt.setLong(4, checkpoint.failed());
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error saving import checkpoint: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean delete(String source) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached("DELETE FROM import_checkpoints WHERE source = ?");
+            stmt.setString(1, source);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error deleting import checkpoint: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.junaidsultan.repository;
 
+import com.junaidsultan.config.ConnectionPool;
 import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.StorageFormat;
 import com.junaidsultan.entity.Notification;
 
-import java.sql.*;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Concrete implementation of INotificationRepository.
@@ -14,26 +20,73 @@ import java.util.Optional;
  */
 public class NotificationRepository implements INotificationRepository {
     
-    private final Connection connection;
+    // Filtered list queries; each is backed by a secondary index (see Migrations V2
+    // and QueryPlanTest, which fails if one of them falls back to a table scan)
+    static final String FIND_BY_RECEIVER_SQL =
+        "SELECT * FROM notifications WHERE receiver_id = ? ORDER BY created_at DESC";
+    static final String FIND_UNREAD_BY_RECEIVER_SQL =
+        "SELECT * FROM notifications WHERE receiver_id = ? AND is_read = 0 ORDER BY created_at DESC";
+    // Unread badge: a primary key read of the counter the V7 triggers maintain
+    static final String COUNT_UNREAD_BY_RECEIVER_SQL =
+        "SELECT unread FROM notification_counters WHERE user_id = ?";
+    // Retention batches: pick a bounded set of rowids through an index, then delete
+    // them by rowid, so each call holds the writer only briefly (see NotificationRetention).
+    // The compact table has no rowid and uses its primary key instead (see byKey).
+    static final String DELETE_READ_OLDER_THAN_SQL = """
+        DELETE FROM notifications WHERE rowid IN (
+            SELECT rowid FROM notifications WHERE is_read = 1 AND created_at < datetime('now', ?)
+            ORDER BY created_at LIMIT ?
+        )
+    """;
+    static final String FIND_RECEIVERS_OVER_CAP_SQL =
+        "SELECT receiver_id FROM notifications GROUP BY receiver_id HAVING COUNT(*) > ?";
+    static final String DELETE_OVER_CAP_SQL = """
+        DELETE FROM notifications WHERE rowid IN (
+            SELECT rowid FROM notifications WHERE receiver_id = ?
+            ORDER BY created_at DESC, rowid DESC LIMIT ? OFFSET ?
+        )
+    """;
+    
+    private static final String REBUILD_COUNTERS_SQL = """
+        INSERT INTO notification_counters (user_id, unread)
+        SELECT receiver_id, COUNT(*) FROM notifications WHERE is_read = 0 GROUP BY receiver_id
+    """;
+    
+    private static final String INSERT_SQL = """
+        INSERT INTO notifications (id, receiver_id, title, message, is_read, created_by, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, datetime('now'), datetime('now'))
+    """;
+    
+    private final ConnectionPool pool;
+    private final StorageFormat format;
+    private final String deleteReadOlderThanSql;
+    private final String deleteOverCapSql;
     
     public NotificationRepository() {
-        this.connection = DBConnection.getInstance().getConnection();
+        this(DBConnection.getInstance().getPool());
+    }
+    
+    // Constructor for dependency injection (e.g. a pool on a test database)
+    public NotificationRepository(ConnectionPool pool) {
+        this.pool = pool;
+        this.format = pool.getStorageFormat();
+        this.deleteReadOlderThanSql = byKey(DELETE_READ_OLDER_THAN_SQL, format);
+        this.deleteOverCapSql = byKey(DELETE_OVER_CAP_SQL, format);
+    }
+    
+    /**
+     * A retention statement for the given format: compact notifications are a
+     * WITHOUT ROWID table, addressed by their id.
+     */
+    static String byKey(String sql, StorageFormat format) {
+        return format == StorageFormat.COMPACT ? sql.replace("rowid", "id") : sql;
     }
     
     @Override
     public Notification save(Notification notification) {
-        String sql = """
-            INSERT INTO notifications (id, receiver_id, title, message, is_read, created_by, created_at)
-            VALUES (?, ?, ?, ?, ?, ?, datetime('now'))
-        """;
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, notification.getId());
-            stmt.setString(2, notification.getReceiverId());
-            stmt.setString(3, notification.getTitle());
-            stmt.setString(4, notification.getMessage());
-            stmt.setInt(5, notification.isRead() ? 1 : 0);
-            stmt.setString(6, notification.getCreatedBy());
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(INSERT_SQL);
+            bindInsert(stmt, notification);
             
             stmt.executeUpdate();
             return notification;
@@ -43,15 +96,71 @@ public class NotificationRepository implements INotificationRepository {
         }
     }
     
+    @Override
+    public List<BatchResult> saveAll(List<Notification> notifications, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        List<BatchResult> results = new ArrayList<>();
+        for (int from = 0, chunk = 0; from < notifications.size(); from += chunkSize, chunk++) {
+            List<Notification> rows = notifications.subList(from, Math.min(from + chunkSize, notifications.size()));
+            results.add(saveChunk(chunk, rows));
+        }
+        return results;
+    }
+    
+    /**
+     * Insert one chunk as a single batch in its own transaction. Inside a caller's
+     * transaction the chunk becomes a savepoint, so a failed chunk still rolls back alone.
+     */
+    private BatchResult saveChunk(int chunk, List<Notification> rows) {
+        try {
+            int written = pool.getTransactionManager().inTransaction(tx -> insertBatch(rows));
+            return new BatchResult(chunk, rows.size(), written, null);
+        } catch (SQLException e) {
+            System.err.println("Error saving notification chunk " + chunk + ": " + e.getMessage());
+            return new BatchResult(chunk, rows.size(), 0, e.getMessage());
+        }
+    }
+    
+    private int insertBatch(List<Notification> rows) throws SQLException {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(INSERT_SQL);
+            try {
+                for (Notification notification : rows) {
+                    bindInsert(stmt, notification);
+                    stmt.addBatch();
+                }
+                int written = 0;
+                for (int count : stmt.executeBatch()) {
+                    written += Math.max(count, 0);
+                }
+                return written;
+            } finally {
+                stmt.clearBatch(); // the statement is cached; never leave rows queued on it
+            }
+        }
+    }
+    
+    private void bindInsert(PreparedStatement stmt, Notification notification) throws SQLException {
+        format.bindId(stmt, 1, notification.getId());
+        format.bindId(stmt, 2, notification.getReceiverId());
+        stmt.setString(3, notification.getTitle());
+        stmt.setString(4, notification.getMessage());
+        stmt.setInt(5, notification.isRead() ? 1 : 0);
+        format.bindId(stmt, 6, notification.getCreatedBy());
+    }
+    
     @Override
     public Notification update(Notification notification) {
-        String sql = "UPDATE notifications SET title = ?, message = ?, is_read = ? WHERE id = ?";
+        String sql = "UPDATE notifications SET title = ?, message = ?, is_read = ?, updated_at = datetime('now') WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
             stmt.setString(1, notification.getTitle());
             stmt.setString(2, notification.getMessage());
             stmt.setInt(3, notification.isRead() ? 1 : 0);
-            stmt.setString(4, notification.getId());
+            format.bindId(stmt, 4, notification.getId());
             
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0 ? notification : null;
@@ -65,12 +174,13 @@ public class NotificationRepository implements INotificationRepository {
     public Optional<Notification> findById(String id) {
         String sql = "SELECT * FROM notifications WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(mapResultSetToNotification(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToNotification(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding notification by id: " + e.getMessage());
@@ -83,8 +193,8 @@ public class NotificationRepository implements INotificationRepository {
         List<Notification> notifications = new ArrayList<>();
         String sql = "SELECT * FROM notifications ORDER BY created_at DESC";
         
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached(sql).executeQuery()) {
             
             while (rs.next()) {
                 notifications.add(mapResultSetToNotification(rs));
@@ -99,8 +209,9 @@ public class NotificationRepository implements INotificationRepository {
     public boolean deleteById(String id) {
         String sql = "DELETE FROM notifications WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting notification: " + e.getMessage());
@@ -112,26 +223,55 @@ public class NotificationRepository implements INotificationRepository {
     public boolean existsById(String id) {
         String sql = "SELECT 1 FROM notifications WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            return stmt.executeQuery().next();
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
         } catch (SQLException e) {
             System.err.println("Error checking notification existence: " + e.getMessage());
             return false;
         }
     }
     
+    @Override
+    public Stream<Notification> streamAll(int fetchSize) {
+        return RowStream.open(pool, "SELECT * FROM notifications", fetchSize, this::mapResultSetToNotification);
+    }
+    
+    @Override
+    public boolean existsAny() {
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached("SELECT 1 FROM notifications LIMIT 1").executeQuery()) {
+            return rs.next();
+        } catch (SQLException e) {
+            System.err.println("Error checking for any notification: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public int deleteAll() {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            return conn.prepareCached("DELETE FROM notifications").executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error deleting all notifications: " + e.getMessage());
+            return 0;
+        }
+    }
+    
     @Override
     public List<Notification> findByReceiverId(String userId) {
         List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM notifications WHERE receiver_id = ? ORDER BY created_at DESC";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                notifications.add(mapResultSetToNotification(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_BY_RECEIVER_SQL);
+            format.bindId(stmt, 1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapResultSetToNotification(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding notifications by receiver: " + e.getMessage());
@@ -142,14 +282,14 @@ public class NotificationRepository implements INotificationRepository {
     @Override
     public List<Notification> findUnreadByReceiverId(String userId) {
         List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM notifications WHERE receiver_id = ? AND is_read = 0 ORDER BY created_at DESC";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                notifications.add(mapResultSetToNotification(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_UNREAD_BY_RECEIVER_SQL);
+            format.bindId(stmt, 1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapResultSetToNotification(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding unread notifications: " + e.getMessage());
@@ -159,14 +299,13 @@ public class NotificationRepository implements INotificationRepository {
     
     @Override
     public int countUnreadByReceiverId(String userId) {
-        String sql = "SELECT COUNT(*) FROM notifications WHERE receiver_id = ? AND is_read = 0";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return rs.getInt(1);
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(COUNT_UNREAD_BY_RECEIVER_SQL);
+            format.bindId(stmt, 1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error counting unread notifications: " + e.getMessage());
@@ -174,12 +313,28 @@ public class NotificationRepository implements INotificationRepository {
         return 0;
     }
     
+    @Override
+    public int rebuildUnreadCounters() {
+        try {
+            return pool.getTransactionManager().inTransaction(tx -> {
+                try (PooledConnection conn = pool.acquireWrite()) {
+                    conn.prepareCached("DELETE FROM notification_counters").executeUpdate();
+                    return conn.prepareCached(REBUILD_COUNTERS_SQL).executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding unread counters: " + e.getMessage());
+            return 0;
+        }
+    }
+    
     @Override
     public boolean markAsRead(String notificationId) {
-        String sql = "UPDATE notifications SET is_read = 1 WHERE id = ?";
+        String sql = "UPDATE notifications SET is_read = 1, updated_at = datetime('now') WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, notificationId);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, notificationId);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error marking notification as read: " + e.getMessage());
@@ -189,10 +344,11 @@ public class NotificationRepository implements INotificationRepository {
     
     @Override
     public int markAllAsRead(String userId) {
-        String sql = "UPDATE notifications SET is_read = 1 WHERE receiver_id = ? AND is_read = 0";
+        String sql = "UPDATE notifications SET is_read = 1, updated_at = datetime('now') WHERE receiver_id = ? AND is_read = 0";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, userId);
             return stmt.executeUpdate();
         } catch (SQLException e) {
             System.err.println("Error marking all notifications as read: " + e.getMessage());
@@ -204,8 +360,9 @@ public class NotificationRepository implements INotificationRepository {
     public int deleteAllByReceiverId(String userId) {
         String sql = "DELETE FROM notifications WHERE receiver_id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, userId);
             return stmt.executeUpdate();
         } catch (SQLException e) {
             System.err.println("Error deleting all notifications: " + e.getMessage());
@@ -213,24 +370,63 @@ public class NotificationRepository implements INotificationRepository {
         }
     }
     
+    @Override
+    public int deleteReadOlderThan(int days, int limit) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(deleteReadOlderThanSql);
+            stmt.setString(1, "-" + days + " days");
+            stmt.setInt(2, limit);
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error purging read notifications: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    @Override
+    public List<String> findReceiversOverCap(int cap) {
+        List<String> receiverIds = new ArrayList<>();
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_RECEIVERS_OVER_CAP_SQL);
+            stmt.setInt(1, cap);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    receiverIds.add(format.readId(rs, 1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding inboxes over cap: " + e.getMessage());
+        }
+        return receiverIds;
+    }
+    
+    @Override
+    public int deleteOverCap(String userId, int cap, int limit) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(deleteOverCapSql);
+            format.bindId(stmt, 1, userId);
+            stmt.setInt(2, limit);
+            stmt.setInt(3, cap);
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error trimming inbox: " + e.getMessage());
+            return 0;
+        }
+    }
+    
     /**
      * Helper method to map ResultSet to Notification entity.
      */
     private Notification mapResultSetToNotification(ResultSet rs) throws SQLException {
-        Notification notification = new Notification(
-            rs.getString("receiver_id"),
-            rs.getString("title"),
-            rs.getString("message"),
-            rs.getString("created_by")
-        );
-        // Set id via reflection or add constructor - for now we'll create a proper constructor
         return new Notification(
-            rs.getString("id"),
-            rs.getString("receiver_id"),
+            format.readId(rs, "id"),
+            format.readId(rs, "receiver_id"),
             rs.getString("title"),
             rs.getString("message"),
             rs.getInt("is_read") == 1,
-            rs.getString("created_by")
+            format.readId(rs, "created_by"),
+            format.readTime(rs, "created_at"),
+            false
         );
     }
 }
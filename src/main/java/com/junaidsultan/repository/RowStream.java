@@ -0,0 +1,142 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Adapts a live ResultSet to a lazy {@link Stream}, one row mapped at a time.
+ *
+ * The stream holds a read lease, a statement and a ResultSet. All three are
+ * released when the stream is closed or when the last row has been read,
+ * whichever happens first, so callers should still use try-with-resources
+ * if they may stop early.
+ */
+final class RowStream {
+
+    /**
+     * Maps the current row of a ResultSet to an entity.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private RowStream() {
+    }
+
+    /**
+     * Run a query and stream its rows.
+     * @param pool The pool to lease a reader from
+     * @param sql The query, without parameters
+     * @param fetchSize Rows fetched per round trip to the driver
+     * @param mapper Row to entity mapping
+     * @return Stream of entities, empty if the query could not be started
+     */
+    static <T> Stream<T> open(ConnectionPool pool, String sql, int fetchSize, RowMapper<T> mapper) {
+        return open(pool, sql, List.of(), fetchSize, mapper);
+    }
+
+    /**
+     * Run a parameterized query and stream its rows.
+     * @param pool The pool to lease a reader from
+     * @param sql The query
+     * @param parameters Values bound to the query's placeholders, in order
+     * @param fetchSize Rows fetched per round trip to the driver
+     * @param mapper Row to entity mapping
+     * @return Stream of entities, empty if the query could not be started
+     */
+    static <T> Stream<T> open(ConnectionPool pool, String sql, List<?> parameters, int fetchSize,
+                              RowMapper<T> mapper) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        PooledConnection conn = null;
+        PreparedStatement stmt = null;
+        try {
+            conn = pool.acquireRead();
+            // Not from the statement cache: the ResultSet stays open while the caller consumes it
+            stmt = conn.prepareStatement(sql);
+            stmt.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.size(); i++) {
+                stmt.setObject(i + 1, parameters.get(i));
+            }
+            ResultSet rs = stmt.executeQuery();
+
+            RowSpliterator<T> rows = new RowSpliterator<>(conn, stmt, rs, mapper);
+            return StreamSupport.stream(rows, false).onClose(rows::close);
+        } catch (SQLException e) {
+            System.err.println("Error opening stream: " + e.getMessage());
+            closeQuietly(stmt);
+            if (conn != null) {
+                conn.close();
+            }
+            return Stream.empty();
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            System.err.println("Error closing stream resource: " + e.getMessage());
+        }
+    }
+
+    private static final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final PooledConnection conn;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+        private boolean closed;
+
+        RowSpliterator(PooledConnection conn, PreparedStatement stmt, ResultSet rs, RowMapper<T> mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(mapper.map(rs));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new IllegalStateException("Error reading stream: " + e.getMessage(), e);
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeQuietly(rs);
+            closeQuietly(stmt);
+            conn.close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Status;
+
+/**
+ * Filter for paged ticket queries. Null fields are not filtered on.
+ * Every combination the UI builds is backed by an index ending in
+ * {@code (created_at, id)}, see Migrations V4.
+ *
+ * @param createdBy      creator's user ID
+ * @param assignedTo     assignee's user ID
+ * @param unassignedOnly only tickets with no assignee
+ * @param status         ticket status
+ * @param priority       ticket priority
+ * @param includeArchived also list tickets moved to the archive (see Migrations V11)
+ */
+public record TicketCriteria(String createdBy, String assignedTo, boolean unassignedOnly,
+                             Status status, Priority priority, boolean includeArchived) {
+
+    public TicketCriteria {
+        if (unassignedOnly && assignedTo != null) {
+            throw new IllegalArgumentException("A ticket cannot be both assigned and unassigned");
+        }
+    }
+
+    public static TicketCriteria all() {
+        return new TicketCriteria(null, null, false, null, null, false);
+    }
+
+    public static TicketCriteria createdBy(String userId) {
+        return new TicketCriteria(userId, null, false, null, null, false);
+    }
+
+    public static TicketCriteria assignedTo(String staffId) {
+        return new TicketCriteria(null, staffId, false, null, null, false);
+    }
+
+    public static TicketCriteria unassigned() {
+        return new TicketCriteria(null, null, true, null, null, false);
+    }
+
+    public TicketCriteria withStatus(Status status) {
+        return new TicketCriteria(createdBy, assignedTo, unassignedOnly, status, priority, includeArchived);
+    }
+
+    public TicketCriteria withPriority(Priority priority) {
+        return new TicketCriteria(createdBy, assignedTo, unassignedOnly, status, priority, includeArchived);
+    }
+
+    public TicketCriteria withArchived(boolean includeArchived) {
+        return new TicketCriteria(createdBy, assignedTo, unassignedOnly, status, priority, includeArchived);
+    }
+}
@@ -1,14 +1,33 @@
 package com.junaidsultan.repository;
 
+import com.junaidsultan.config.ColumnType;
+import com.junaidsultan.config.ConnectionPool;
 import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.StorageFormat;
 import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDetails;
+import com.junaidsultan.entity.TicketSearchHit;
+import com.junaidsultan.entity.TicketSummary;
 import com.junaidsultan.enums.Priority;
 import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.paging.Cursor;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.repository.paging.SearchPage;
+import com.junaidsultan.repository.paging.Slice;
 
-import java.sql.*;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Concrete implementation of ITicketRepository.
@@ -16,10 +35,108 @@ import java.util.Optional;
  */
 public class TicketRepository implements ITicketRepository {
     
-    private final Connection connection;
+    // Filtered list queries; each is backed by a secondary index (see Migrations V2/V4
+    // and QueryPlanTest, which fails if one of them falls back to a table scan)
+    static final String FIND_ALL_SQL =
+        "SELECT * FROM tickets ORDER BY created_at DESC";
+    static final String FIND_BY_CREATED_BY_SQL =
+        "SELECT * FROM tickets WHERE created_by = ? ORDER BY created_at DESC";
+    static final String FIND_BY_ASSIGNED_TO_SQL =
+        "SELECT * FROM tickets WHERE assigned_to = ? ORDER BY created_at DESC";
+    static final String FIND_BY_STATUS_SQL =
+        "SELECT * FROM tickets WHERE status = ? ORDER BY created_at DESC";
+    static final String FIND_BY_CREATED_BY_AND_STATUS_SQL =
+        "SELECT * FROM tickets WHERE created_by = ? AND status = ? ORDER BY created_at DESC";
+    static final String FIND_BY_ASSIGNED_TO_AND_STATUS_SQL =
+        "SELECT * FROM tickets WHERE assigned_to = ? AND status = ? ORDER BY created_at DESC";
+    static final String FIND_BY_PRIORITY_SQL =
+        "SELECT * FROM tickets WHERE priority = ? ORDER BY created_at DESC";
+    static final String FIND_UNASSIGNED_SQL =
+        "SELECT * FROM tickets WHERE assigned_to IS NULL ORDER BY created_at DESC";
+    
+    // Select lists for page queries: the full row, or just what a list row shows
+    static final String TICKET_COLUMNS = "*";
+    // User names are primary key lookups per row of the page, not a join, so the
+    // criteria and cursor columns in pageSql() stay unqualified
+    static final String SUMMARY_COLUMNS = "id, title, status, priority, created_at, "
+        + "(SELECT u.name FROM users u WHERE u.id = tickets.created_by) AS created_by_name, "
+        + "(SELECT u.name FROM users u WHERE u.id = tickets.assigned_to) AS assigned_to_name";
+    // Reads through the tickets_all view so archived tickets still open by id
+    static final String FIND_DETAILS_SQL = """
+        SELECT t.*, c.name AS created_by_name, a.name AS assigned_to_name
+        FROM tickets_all t
+        LEFT JOIN users c ON c.id = t.created_by
+        LEFT JOIN users a ON a.id = t.assigned_to
+        WHERE t.id = ?
+        """;
+    
+    // Full-text search (Migrations V9), joined to tickets by rowid and ordered by the
+    // bm25 rank configured on the table; see searchSql()
+    static final String SEARCH_COLUMNS = "t.id, t.title, t.status, t.priority, t.created_at, "
+        + "(SELECT u.name FROM users u WHERE u.id = t.created_by) AS created_by_name, "
+        + "(SELECT u.name FROM users u WHERE u.id = t.assigned_to) AS assigned_to_name, "
+        + "snippet(tickets_fts, -1, '[', ']', '...', 12) AS snippet, "
+        + "tickets_fts.rank AS score";
+    // Shortest last word that is also matched as a prefix
+    static final int MIN_PREFIX_LENGTH = 3;
+    static final String REBUILD_SEARCH_INDEX_SQL = "INSERT INTO tickets_fts (tickets_fts) VALUES ('rebuild')";
+    
+    // Archiving (Migrations V11): ids come from the partial index on closed tickets,
+    // then each row is copied and deleted by primary key in the same transaction
+    static final String FIND_ARCHIVABLE_SQL =
+        "SELECT id FROM tickets WHERE status = 'CLOSED' AND updated_at < datetime('now', ?) ORDER BY updated_at LIMIT ?";
+    private static final String ARCHIVE_COPY_SQL = """
+        INSERT INTO tickets_archive (id, title, priority, status, category, created_by, assigned_to,
+                                     created_at, updated_at, description)
+        SELECT id, title, priority, status, category, created_by, assigned_to, created_at, updated_at, description
+        FROM tickets WHERE id = ?
+    """;
+    // A restored ticket counts as changed now, so the next run does not archive it straight back
+    private static final String RESTORE_COPY_SQL = """
+        INSERT INTO tickets (id, title, priority, status, category, created_by, assigned_to,
+                             created_at, updated_at, description)
+        SELECT id, title, priority, status, category, created_by, assigned_to, created_at, datetime('now'), description
+        FROM tickets_archive WHERE id = ?
+    """;
+    
+    private static final DateTimeFormatter SQLITE_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private final ConnectionPool pool;
+    private final StorageFormat format;
+    private final String insertAllSql;
+    private final String findArchivedIdsSql;
     
     public TicketRepository() {
-        this.connection = DBConnection.getInstance().getConnection();
+        this(DBConnection.getInstance().getPool());
+    }
+    
+    // Constructor for dependency injection (e.g. a pool on a test database)
+    public TicketRepository(ConnectionPool pool) {
+        this.pool = pool;
+        this.format = pool.getStorageFormat();
+        this.insertAllSql = insertAllSql(format);
+        this.findArchivedIdsSql = findArchivedIdsSql(format);
+    }
+    
+    // A primary key probe of the archive per id; the JSON values stay text in the result
+    static String findArchivedIdsSql(StorageFormat format) {
+        return "SELECT value FROM json_each(?) WHERE EXISTS (SELECT 1 FROM tickets_archive a WHERE a.id = "
+            + format.fromText(ColumnType.ID, "value") + ")";
+    }
+    
+    // One statement per chunk, its rows passed as a JSON array of arrays. Row-at-a-time
+    // inserts are several times slower here: the FTS5 index flushes its pending terms at
+    // every statement boundary. Each ticket keeps its own created_at, sent in the same
+    // text form as datetime('now') and converted to the storage format in SQL.
+    static String insertAllSql(StorageFormat format) {
+        return """
+            INSERT INTO tickets (id, title, description, priority, status, category, created_by, assigned_to, created_at)
+            SELECT %s, value ->> 1, value ->> 2, %s, %s, value ->> 5, %s,
+                   %s, COALESCE(%s, datetime('now'))
+            FROM json_each(?)
+        """.formatted(format.fromText(ColumnType.ID, "value ->> 0"), format.fromText(ColumnType.PRIORITY, "value ->> 3"),
+            format.fromText(ColumnType.STATUS, "value ->> 4"), format.fromText(ColumnType.ID, "value ->> 6"),
+            format.fromText(ColumnType.ID, "value ->> 7"), format.fromText(ColumnType.TIME, "value ->> 8"));
     }
     
     @Override
@@ -29,15 +146,16 @@ public class TicketRepository implements ITicketRepository {
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, datetime('now'))
         """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, ticket.getId());
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, ticket.getId());
             stmt.setString(2, ticket.getTitle());
             stmt.setString(3, ticket.getDescription());
-            stmt.setString(4, ticket.getPriority().name());
-            stmt.setString(5, ticket.getStatus().name());
+            format.bindEnum(stmt, 4, ticket.getPriority());
+            format.bindEnum(stmt, 5, ticket.getStatus());
             stmt.setString(6, ticket.getCategory());
-            stmt.setString(7, ticket.getCreatedBy());
-            stmt.setString(8, ticket.getAssignedTo());
+            format.bindId(stmt, 7, ticket.getCreatedBy());
+            format.bindId(stmt, 8, ticket.getAssignedTo());
             
             stmt.executeUpdate();
             return ticket;
@@ -47,6 +165,64 @@ public class TicketRepository implements ITicketRepository {
         }
     }
     
+    @Override
+    public List<BatchResult> saveAll(List<Ticket> tickets, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        List<BatchResult> results = new ArrayList<>();
+        for (int from = 0, chunk = 0; from < tickets.size(); from += chunkSize, chunk++) {
+            List<Ticket> rows = tickets.subList(from, Math.min(from + chunkSize, tickets.size()));
+            results.add(saveChunk(chunk, rows));
+        }
+        return results;
+    }
+    
+    private BatchResult saveChunk(int chunk, List<Ticket> rows) {
+        try {
+            int written = pool.getTransactionManager().inTransaction(tx -> insertBatch(rows));
+            return new BatchResult(chunk, rows.size(), written, null);
+        } catch (SQLException e) {
+            // Not printed: bulk callers retry failed chunks row by row and report each row
+            return new BatchResult(chunk, rows.size(), 0, e.getMessage());
+        }
+    }
+    
+    private int insertBatch(List<Ticket> rows) throws SQLException {
+        StringBuilder json = new StringBuilder(rows.size() * 256).append('[');
+        for (Ticket ticket : rows) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('[');
+            JsonText.appendString(json, ticket.getId());
+            json.append(',');
+            JsonText.appendString(json, ticket.getTitle());
+            json.append(',');
+            JsonText.appendString(json, ticket.getDescription());
+            json.append(',');
+            JsonText.appendString(json, ticket.getPriority().name());
+            json.append(',');
+            JsonText.appendString(json, ticket.getStatus().name());
+            json.append(',');
+            JsonText.appendString(json, ticket.getCategory());
+            json.append(',');
+            JsonText.appendString(json, ticket.getCreatedBy());
+            json.append(',');
+            JsonText.appendString(json, ticket.getAssignedTo());
+            json.append(',');
+            JsonText.appendString(json, ticket.getCreatedAt() != null ? ticket.getCreatedAt().format(SQLITE_DATETIME) : null);
+            json.append(']');
+        }
+        json.append(']');
+        
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(insertAllSql);
+            stmt.setString(1, json.toString());
+            return stmt.executeUpdate();
+        }
+    }
+    
     @Override
     public Ticket update(Ticket ticket) {
         String sql = """
@@ -54,14 +230,15 @@ public class TicketRepository implements ITicketRepository {
             category = ?, assigned_to = ?, updated_at = datetime('now') WHERE id = ?
         """;
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
             stmt.setString(1, ticket.getTitle());
             stmt.setString(2, ticket.getDescription());
-            stmt.setString(3, ticket.getPriority().name());
-            stmt.setString(4, ticket.getStatus().name());
+            format.bindEnum(stmt, 3, ticket.getPriority());
+            format.bindEnum(stmt, 4, ticket.getStatus());
             stmt.setString(5, ticket.getCategory());
-            stmt.setString(6, ticket.getAssignedTo());
-            stmt.setString(7, ticket.getId());
+            format.bindId(stmt, 6, ticket.getAssignedTo());
+            format.bindId(stmt, 7, ticket.getId());
             
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0 ? ticket : null;
@@ -75,12 +252,13 @@ public class TicketRepository implements ITicketRepository {
     public Optional<Ticket> findById(String id) {
         String sql = "SELECT * FROM tickets WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(mapResultSetToTicket(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToTicket(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding ticket by id: " + e.getMessage());
@@ -88,13 +266,30 @@ public class TicketRepository implements ITicketRepository {
         return Optional.empty();
     }
     
+    @Override
+    public Optional<TicketDetails> findDetailsById(String id) {
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_DETAILS_SQL);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(new TicketDetails(mapResultSetToTicket(rs),
+                        rs.getString("created_by_name"), rs.getString("assigned_to_name"),
+                        rs.getBoolean("archived")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding ticket details: " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+    
     @Override
     public List<Ticket> findAll() {
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT * FROM tickets ORDER BY created_at DESC";
         
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached(FIND_ALL_SQL).executeQuery()) {
             
             while (rs.next()) {
                 tickets.add(mapResultSetToTicket(rs));
@@ -109,8 +304,9 @@ public class TicketRepository implements ITicketRepository {
     public boolean deleteById(String id) {
         String sql = "DELETE FROM tickets WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting ticket: " + e.getMessage());
@@ -122,26 +318,61 @@ public class TicketRepository implements ITicketRepository {
     public boolean existsById(String id) {
         String sql = "SELECT 1 FROM tickets WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            return stmt.executeQuery().next();
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
         } catch (SQLException e) {
             System.err.println("Error checking ticket existence: " + e.getMessage());
             return false;
         }
     }
     
+    @Override
+    public Stream<Ticket> streamAll(int fetchSize) {
+        return RowStream.open(pool, "SELECT * FROM tickets", fetchSize, this::mapResultSetToTicket);
+    }
+    
+    @Override
+    public boolean existsAny() {
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached("SELECT 1 FROM tickets LIMIT 1").executeQuery()) {
+            return rs.next();
+        } catch (SQLException e) {
+            System.err.println("Error checking for any ticket: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    // Archived tickets go too, in the same transaction: they reference users and count towards the rollups
+    @Override
+    public int deleteAll() {
+        try {
+            return pool.getTransactionManager().inTransaction(tx -> {
+                try (PooledConnection conn = pool.acquireWrite()) {
+                    return conn.prepareCached("DELETE FROM tickets_archive").executeUpdate()
+                        + conn.prepareCached("DELETE FROM tickets").executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error deleting all tickets: " + e.getMessage());
+            return 0;
+        }
+    }
+    
     @Override
     public List<Ticket> findByCreatedBy(String userId) {
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT * FROM tickets WHERE created_by = ? ORDER BY created_at DESC";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tickets.add(mapResultSetToTicket(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_BY_CREATED_BY_SQL);
+            format.bindId(stmt, 1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tickets.add(mapResultSetToTicket(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding tickets by creator: " + e.getMessage());
@@ -152,14 +383,14 @@ public class TicketRepository implements ITicketRepository {
     @Override
     public List<Ticket> findByAssignedTo(String staffId) {
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT * FROM tickets WHERE assigned_to = ? ORDER BY created_at DESC";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, staffId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tickets.add(mapResultSetToTicket(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_BY_ASSIGNED_TO_SQL);
+            format.bindId(stmt, 1, staffId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tickets.add(mapResultSetToTicket(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding tickets by assignee: " + e.getMessage());
@@ -170,14 +401,14 @@ public class TicketRepository implements ITicketRepository {
     @Override
     public List<Ticket> findByStatus(Status status) {
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT * FROM tickets WHERE status = ? ORDER BY created_at DESC";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, status.name());
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tickets.add(mapResultSetToTicket(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_BY_STATUS_SQL);
+            format.bindEnum(stmt, 1, status);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tickets.add(mapResultSetToTicket(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding tickets by status: " + e.getMessage());
@@ -188,15 +419,15 @@ public class TicketRepository implements ITicketRepository {
     @Override
     public List<Ticket> findByCreatedByAndStatus(String userId, Status status) {
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT * FROM tickets WHERE created_by = ? AND status = ? ORDER BY created_at DESC";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, userId);
-            stmt.setString(2, status.name());
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tickets.add(mapResultSetToTicket(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_BY_CREATED_BY_AND_STATUS_SQL);
+            format.bindId(stmt, 1, userId);
+            format.bindEnum(stmt, 2, status);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tickets.add(mapResultSetToTicket(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding tickets by creator and status: " + e.getMessage());
@@ -207,15 +438,15 @@ public class TicketRepository implements ITicketRepository {
     @Override
     public List<Ticket> findByAssignedToAndStatus(String staffId, Status status) {
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT * FROM tickets WHERE assigned_to = ? AND status = ? ORDER BY created_at DESC";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, staffId);
-            stmt.setString(2, status.name());
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tickets.add(mapResultSetToTicket(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_BY_ASSIGNED_TO_AND_STATUS_SQL);
+            format.bindId(stmt, 1, staffId);
+            format.bindEnum(stmt, 2, status);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tickets.add(mapResultSetToTicket(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding tickets by assignee and status: " + e.getMessage());
@@ -226,14 +457,14 @@ public class TicketRepository implements ITicketRepository {
     @Override
     public List<Ticket> findByPriority(Priority priority) {
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT * FROM tickets WHERE priority = ? ORDER BY created_at DESC";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, priority.name());
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                tickets.add(mapResultSetToTicket(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_BY_PRIORITY_SQL);
+            format.bindEnum(stmt, 1, priority);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tickets.add(mapResultSetToTicket(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding tickets by priority: " + e.getMessage());
@@ -245,9 +476,10 @@ public class TicketRepository implements ITicketRepository {
     public boolean updateStatus(String ticketId, Status status) {
         String sql = "UPDATE tickets SET status = ?, updated_at = datetime('now') WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, status.name());
-            stmt.setString(2, ticketId);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindEnum(stmt, 1, status);
+            format.bindId(stmt, 2, ticketId);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error updating ticket status: " + e.getMessage());
@@ -259,9 +491,10 @@ public class TicketRepository implements ITicketRepository {
     public boolean updatePriority(String ticketId, Priority priority) {
         String sql = "UPDATE tickets SET priority = ?, updated_at = datetime('now') WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, priority.name());
-            stmt.setString(2, ticketId);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindEnum(stmt, 1, priority);
+            format.bindId(stmt, 2, ticketId);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error updating ticket priority: " + e.getMessage());
@@ -273,9 +506,10 @@ public class TicketRepository implements ITicketRepository {
     public boolean assignToStaff(String ticketId, String staffId) {
         String sql = "UPDATE tickets SET assigned_to = ?, updated_at = datetime('now') WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, staffId);
-            stmt.setString(2, ticketId);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, staffId);
+            format.bindId(stmt, 2, ticketId);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error assigning ticket to staff: " + e.getMessage());
@@ -286,10 +520,9 @@ public class TicketRepository implements ITicketRepository {
     @Override
     public List<Ticket> findUnassigned() {
         List<Ticket> tickets = new ArrayList<>();
-        String sql = "SELECT * FROM tickets WHERE assigned_to IS NULL ORDER BY created_at DESC";
         
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached(FIND_UNASSIGNED_SQL).executeQuery()) {
             
             while (rs.next()) {
                 tickets.add(mapResultSetToTicket(rs));
@@ -300,20 +533,356 @@ public class TicketRepository implements ITicketRepository {
         return tickets;
     }
     
+    @Override
+    public Slice<Ticket> findPage(TicketCriteria criteria, PageRequest page) {
+        return queryPage(TICKET_COLUMNS, criteria, page, this::mapResultSetToTicket);
+    }
+    
+    @Override
+    public Slice<TicketSummary> findSummaryPage(TicketCriteria criteria, PageRequest page) {
+        return queryPage(SUMMARY_COLUMNS, criteria, page, this::mapResultSetToSummary);
+    }
+    
+    @Override
+    public SearchPage<TicketSearchHit> search(String query, TicketCriteria criteria, int page, int size) {
+        String match = matchExpression(query);
+        if (match == null) {
+            return SearchPage.empty(page, size);
+        }
+        List<TicketSearchHit> hits = new ArrayList<>(size + 1);
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(searchSql(criteria));
+            stmt.setString(1, match);
+            int index = bindCriteria(stmt, criteria, 2);
+            // One extra row tells us whether there is another page
+            stmt.setInt(index++, size + 1);
+            stmt.setInt(index, page * size);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    hits.add(new TicketSearchHit(mapResultSetToSummary(rs), rs.getString("snippet"), rs.getDouble("score")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error searching tickets: " + e.getMessage());
+            return SearchPage.empty(page, size);
+        }
+        
+        boolean more = hits.size() > size;
+        if (more) {
+            hits.removeLast();
+        }
+        return new SearchPage<>(hits, page, size, more);
+    }
+    
+    @Override
+    public int rebuildSearchIndex() {
+        try {
+            return pool.getTransactionManager().inTransaction(tx -> {
+                try (PooledConnection conn = pool.acquireWrite()) {
+                    conn.prepareCached(REBUILD_SEARCH_INDEX_SQL).executeUpdate();
+                    try (ResultSet rs = conn.prepareCached("SELECT COUNT(*) FROM tickets").executeQuery()) {
+                        return rs.next() ? rs.getInt(1) : 0;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding ticket search index: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    @Override
+    public int archiveClosedBefore(int days, int limit) {
+        try {
+            return pool.getTransactionManager().inTransaction(tx -> {
+                try (PooledConnection conn = pool.acquireWrite()) {
+                    PreparedStatement find = conn.prepareCached(FIND_ARCHIVABLE_SQL);
+                    find.setString(1, "-" + days + " days");
+                    find.setInt(2, limit);
+                    List<String> ids = new ArrayList<>(limit);
+                    try (ResultSet rs = find.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(format.readId(rs, 1));
+                        }
+                    }
+                    return moveRows(conn, ids, ARCHIVE_COPY_SQL, "DELETE FROM tickets WHERE id = ?");
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error archiving closed tickets: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    @Override
+    public boolean restoreFromArchive(String ticketId) {
+        try {
+            return pool.getTransactionManager().inTransaction(tx -> {
+                try (PooledConnection conn = pool.acquireWrite()) {
+                    return moveRows(conn, List.of(ticketId), RESTORE_COPY_SQL,
+                        "DELETE FROM tickets_archive WHERE id = ?") == 1;
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error restoring archived ticket: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public Set<String> findArchivedIds(Collection<String> ids) {
+        Set<String> archived = new HashSet<>();
+        StringBuilder json = new StringBuilder("[");
+        for (String id : ids) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            JsonText.appendString(json, id);
+        }
+        if (json.length() == 1) {
+            return archived;
+        }
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(findArchivedIdsSql);
+            stmt.setString(1, json.append(']').toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    archived.add(rs.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding archived ticket ids: " + e.getMessage());
+        }
+        return archived;
+    }
+    
+    /**
+     * Copy rows by id with one statement and delete them with another, both batched.
+     * Must run inside a transaction so a row is never in both tables or neither.
+     * @return Number of rows moved
+     */
+    private int moveRows(PooledConnection conn, List<String> ids, String copySql, String deleteSql) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        PreparedStatement copy = conn.prepareCached(copySql);
+        PreparedStatement delete = conn.prepareCached(deleteSql);
+        try {
+            for (String id : ids) {
+                format.bindId(copy, 1, id);
+                copy.addBatch();
+                format.bindId(delete, 1, id);
+                delete.addBatch();
+            }
+            int copied = 0;
+            for (int count : copy.executeBatch()) {
+                copied += Math.max(count, 0);
+            }
+            int moved = 0;
+            for (int count : delete.executeBatch()) {
+                moved += Math.max(count, 0);
+            }
+            if (copied != moved) {
+                // Rolls the batch back rather than losing or duplicating a ticket
+                throw new SQLException("Copied " + copied + " ticket(s) but removed " + moved);
+            }
+            return moved;
+        } finally {
+            // Both statements are cached; never leave rows queued on them
+            copy.clearBatch();
+            delete.clearBatch();
+        }
+    }
+    
+    /**
+     * Run a keyset page query with the given select list.
+     */
+    private <T> Slice<T> queryPage(String columns, TicketCriteria criteria, PageRequest page,
+                                   RowStream.RowMapper<T> mapper) {
+        String sql = pageSql(columns, criteria, page.cursor() != null, page.backward());
+        List<T> items = new ArrayList<>(page.size() + 1);
+        List<Cursor> cursors = new ArrayList<>(page.size() + 1);
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            int index = bindCriteria(stmt, criteria, 1);
+            if (page.cursor() != null) {
+                format.bindTime(stmt, index++, page.cursor().createdAt());
+                format.bindId(stmt, index++, page.cursor().id());
+            }
+            // One extra row tells us whether there is another page in this direction
+            stmt.setInt(index, page.size() + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(mapper.map(rs));
+                    cursors.add(new Cursor(format.readTime(rs, "created_at"), format.readId(rs, "id")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding ticket page: " + e.getMessage());
+            return Slice.empty(page.size());
+        }
+        
+        boolean more = items.size() > page.size();
+        if (more) {
+            items.removeLast();
+            cursors.removeLast();
+        }
+        if (items.isEmpty()) {
+            return Slice.empty(page.size());
+        }
+        if (page.backward()) {
+            // Fetched oldest-first walking towards newer rows; flip to display order
+            Collections.reverse(items);
+            Collections.reverse(cursors);
+        }
+        
+        boolean hasPrevious = page.backward() ? more : page.cursor() != null;
+        boolean hasNext = page.backward() || more;
+        return new Slice<>(items, page.size(), cursors.getFirst(), cursors.getLast(), hasPrevious, hasNext);
+    }
+    
+    /**
+     * Build the keyset query for a criteria shape. The text only depends on the
+     * select list and which filters are set, so each shape is prepared once and
+     * then served from the statement cache.
+     */
+    static String pageSql(String columns, TicketCriteria criteria, boolean hasCursor, boolean backward) {
+        List<String> conditions = filterConditions(criteria);
+        if (hasCursor) {
+            conditions.add(backward ? "(created_at, id) > (?, ?)" : "(created_at, id) < (?, ?)");
+        }
+        
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        String order = backward ? " ORDER BY created_at ASC, id ASC" : " ORDER BY created_at DESC, id DESC";
+        // The view is aliased so select lists that name tickets.<column> work on both
+        String from = criteria.includeArchived() ? " FROM tickets_all AS tickets" : " FROM tickets";
+        return "SELECT " + columns + from + where + order + " LIMIT ?";
+    }
+    
+    /**
+     * Build the search query for a criteria shape. The MATCH expression is the
+     * first parameter, then the criteria values, then LIMIT and OFFSET.
+     *
+     * The join order is fixed with CROSS JOIN so every search starts from the
+     * full-text index: only matching tickets are read, FTS5 returns them already
+     * ranked, and the criteria filter them as they are joined. Starting from a
+     * user's tickets instead would re-run the whole MATCH for every ticket probed.
+     */
+    static String searchSql(TicketCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("tickets_fts MATCH ?");
+        for (String condition : filterConditions(criteria)) {
+            conditions.add("t." + condition);
+        }
+        return "SELECT " + SEARCH_COLUMNS + " FROM tickets_fts CROSS JOIN tickets t ON t.rowid = tickets_fts.rowid"
+            + " WHERE " + String.join(" AND ", conditions)
+            + " ORDER BY tickets_fts.rank LIMIT ? OFFSET ?";
+    }
+    
+    // Criteria filters shared by the page and search queries, in bindCriteria() order
+    private static List<String> filterConditions(TicketCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        if (criteria.createdBy() != null) {
+            conditions.add("created_by = ?");
+        }
+        if (criteria.assignedTo() != null) {
+            conditions.add("assigned_to = ?");
+        }
+        if (criteria.unassignedOnly()) {
+            conditions.add("assigned_to IS NULL");
+        }
+        if (criteria.status() != null) {
+            conditions.add("status = ?");
+        }
+        if (criteria.priority() != null) {
+            conditions.add("priority = ?");
+        }
+        return conditions;
+    }
+    
+    /**
+     * Turn typed text into an FTS5 MATCH expression. Each word is quoted so that
+     * punctuation and FTS5 operators in the input are taken literally; all words
+     * must match, and the last one also matches as a prefix (search-as-you-type).
+     * @return The expression, or null if the text has no searchable words
+     */
+    static String matchExpression(String query) {
+        if (query == null) {
+            return null;
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>(words.size());
+        for (String word : words) {
+            terms.add("\"" + word + "\"");
+        }
+        // Shorter prefixes would expand to a large part of the vocabulary
+        if (words.getLast().length() >= MIN_PREFIX_LENGTH) {
+            terms.set(terms.size() - 1, terms.getLast() + "*");
+        }
+        return String.join(" ", terms);
+    }
+    
+    /**
+     * Bind the criteria values from the given parameter index, in the order
+     * filterConditions() lists them.
+     * @return The next free parameter index
+     */
+    private int bindCriteria(PreparedStatement stmt, TicketCriteria criteria, int index) throws SQLException {
+        if (criteria.createdBy() != null) {
+            format.bindId(stmt, index++, criteria.createdBy());
+        }
+        if (criteria.assignedTo() != null) {
+            format.bindId(stmt, index++, criteria.assignedTo());
+        }
+        if (criteria.status() != null) {
+            format.bindEnum(stmt, index++, criteria.status());
+        }
+        if (criteria.priority() != null) {
+            format.bindEnum(stmt, index++, criteria.priority());
+        }
+        return index;
+    }
+    
     /**
      * Helper method to map ResultSet to Ticket entity.
      */
     private Ticket mapResultSetToTicket(ResultSet rs) throws SQLException {
         return new Ticket(
-            rs.getString("id"),
+            format.readId(rs, "id"),
             rs.getString("title"),
             rs.getString("description"),
-            rs.getString("priority"),
-            rs.getString("status"),
+            format.readEnum(rs, "priority", ColumnType.PRIORITY),
+            format.readEnum(rs, "status", ColumnType.STATUS),
             rs.getString("category"),
-            rs.getString("created_by"),
-            rs.getString("assigned_to"),
-            rs.getString("created_at")
+            format.readId(rs, "created_by"),
+            format.readId(rs, "assigned_to"),
+            format.readTime(rs, "created_at")
+        );
+    }
+    
+    /**
+     * Helper method to map ResultSet to TicketSummary projection.
+     */
+    private TicketSummary mapResultSetToSummary(ResultSet rs) throws SQLException {
+        return new TicketSummary(
+            format.readId(rs, "id"),
+            rs.getString("title"),
+            format.readEnum(rs, "status", ColumnType.STATUS),
+            format.readEnum(rs, "priority", ColumnType.PRIORITY),
+            format.readTime(rs, "created_at"),
+            rs.getString("created_by_name"),
+            rs.getString("assigned_to_name")
         );
     }
 }
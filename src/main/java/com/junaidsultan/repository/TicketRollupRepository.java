@@ -0,0 +1,111 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ColumnType;
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.StorageFormat;
+import com.junaidsultan.entity.TicketDashboard;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Status;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Concrete implementation of ITicketRollupRepository.
+ * Reads the ticket_rollups table (see Migrations V8); rows are summed here, since
+ * a dashboard covers at most a few hundred of them.
+ */
+public class TicketRollupRepository implements ITicketRollupRepository {
+    
+    private static final String ROLLUP_COLUMNS = "SELECT assigned_to, status, priority, category, ticket_count FROM ticket_rollups";
+    static final String DASHBOARD_SQL = ROLLUP_COLUMNS;
+    static final String DASHBOARD_BY_CREATOR_SQL = ROLLUP_COLUMNS + " WHERE created_by = ?";
+    static final String DASHBOARD_BY_ASSIGNEE_SQL = ROLLUP_COLUMNS + " WHERE assigned_to = ?";
+    
+    private static final String REBUILD_SQL = """
+        INSERT INTO ticket_rollups (created_by, assigned_to, status, priority, category, ticket_count)
+        SELECT created_by, COALESCE(assigned_to, ''), status, priority, COALESCE(category, ''), COUNT(*)
+        FROM tickets_all
+        GROUP BY 1, 2, 3, 4, 5
+    """;
+    
+    private final ConnectionPool pool;
+    private final StorageFormat format;
+    
+    public TicketRollupRepository() {
+        this(DBConnection.getInstance().getPool());
+    }
+    
+    // Constructor for dependency injection (e.g. a pool on a test database)
+    public TicketRollupRepository(ConnectionPool pool) {
+        this.pool = pool;
+        this.format = pool.getStorageFormat();
+    }
+    
+    @Override
+    public TicketDashboard findDashboard() {
+        return summarize(DASHBOARD_SQL, null);
+    }
+    
+    @Override
+    public TicketDashboard findDashboardForCreator(String userId) {
+        return summarize(DASHBOARD_BY_CREATOR_SQL, userId);
+    }
+    
+    @Override
+    public TicketDashboard findDashboardForAssignee(String staffId) {
+        return summarize(DASHBOARD_BY_ASSIGNEE_SQL, staffId);
+    }
+    
+    @Override
+    public int rebuild() {
+        try {
+            return pool.getTransactionManager().inTransaction(tx -> {
+                try (PooledConnection conn = pool.acquireWrite()) {
+                    conn.prepareCached("DELETE FROM ticket_rollups").executeUpdate();
+                    return conn.prepareCached(REBUILD_SQL).executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Error rebuilding ticket rollups: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    private TicketDashboard summarize(String sql, String userId) {
+        Map<Status, Integer> byStatus = new EnumMap<>(Status.class);
+        Map<Priority, Integer> byPriority = new EnumMap<>(Priority.class);
+        Map<String, Integer> byCategory = new HashMap<>();
+        int unassignedActive = 0;
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            if (userId != null) {
+                format.bindId(stmt, 1, userId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Status status = Status.valueOf(format.readEnum(rs, "status", ColumnType.STATUS));
+                    int count = rs.getInt("ticket_count");
+                    byStatus.merge(status, count, Integer::sum);
+                    byPriority.merge(Priority.valueOf(format.readEnum(rs, "priority", ColumnType.PRIORITY)), count, Integer::sum);
+                    byCategory.merge(rs.getString("category"), count, Integer::sum);
+                    boolean active = status == Status.OPEN || status == Status.ON_HOLD;
+                    if (active && format.readId(rs, "assigned_to").isEmpty()) {
+                        unassignedActive += count;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading ticket rollups: " + e.getMessage());
+            return TicketDashboard.empty();
+        }
+        return new TicketDashboard(byStatus, byPriority, byCategory, unassignedActive);
+    }
+}
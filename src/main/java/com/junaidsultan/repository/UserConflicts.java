@@ -0,0 +1,16 @@
+package com.junaidsultan.repository;
+
+import java.util.Set;
+
+/**
+ * Usernames and emails that are already registered, out of a set being checked.
+ *
+ * @param usernames taken usernames
+ * @param emails    taken emails
+ */
+public record UserConflicts(Set<String> usernames, Set<String> emails) {
+
+    public boolean isEmpty() {
+        return usernames.isEmpty() && emails.isEmpty();
+    }
+}
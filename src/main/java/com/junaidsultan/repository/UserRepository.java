@@ -1,13 +1,25 @@
 package com.junaidsultan.repository;
 
+import com.junaidsultan.config.ColumnType;
+import com.junaidsultan.config.ConnectionPool;
 import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.StorageFormat;
 import com.junaidsultan.entity.User;
 import com.junaidsultan.enums.Role;
 
-import java.sql.*;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Concrete implementation of IUserRepository.
@@ -16,23 +28,76 @@ import java.util.Optional;
  */
 public class UserRepository implements IUserRepository {
     
-    private final Connection connection;
+    // The ids travel as one JSON array parameter, so a single cached statement serves
+    // any number of ids; each one is a primary key lookup
+    static final String FIND_BY_IDS_SQL = findByIdsSql(StorageFormat.TEXT);
+    
+    // Same single-parameter form, probing the primary key and the username index
+    static final String FIND_IDS_BY_ID_OR_USERNAME_SQL = findIdsByIdOrUsernameSql(StorageFormat.TEXT);
+    
+    // A batch of new accounts against both unique indexes in one round trip
+    static final String FIND_CONFLICTS_SQL = """
+        SELECT 'username', u.username FROM json_each(?) r JOIN users u ON u.username = r.value
+        UNION ALL
+        SELECT 'email', u.email FROM json_each(?) r JOIN users u ON u.email = r.value
+        """;
+    
+    private final ConnectionPool pool;
+    private final StorageFormat format;
+    private final String findByIdsSql;
+    private final String findIdsByIdOrUsernameSql;
+    private final String insertAllSql;
     
     public UserRepository() {
-        this.connection = DBConnection.getInstance().getConnection();
+        this(DBConnection.getInstance().getPool());
+    }
+    
+    // Constructor for dependency injection (e.g. a pool on a test database)
+    public UserRepository(ConnectionPool pool) {
+        this.pool = pool;
+        this.format = pool.getStorageFormat();
+        this.findByIdsSql = findByIdsSql(format);
+        this.findIdsByIdOrUsernameSql = findIdsByIdOrUsernameSql(format);
+        this.insertAllSql = insertAllSql(format);
+    }
+    
+    // JSON values are text; the ids are converted to the storage format before the lookup
+    static String findByIdsSql(StorageFormat format) {
+        return "SELECT * FROM users WHERE id IN (SELECT " + format.fromText(ColumnType.ID, "value")
+            + " FROM json_each(?))";
+    }
+    
+    static String findIdsByIdOrUsernameSql(StorageFormat format) {
+        String id = format.toText(ColumnType.ID, "u.id");
+        return """
+            SELECT r.value, %s FROM json_each(?) r JOIN users u ON u.id = %s
+            UNION ALL
+            SELECT r.value, %s FROM json_each(?) r JOIN users u ON u.username = r.value
+            """.formatted(id, format.fromText(ColumnType.ID, "r.value"), id);
+    }
+    
+    // One statement per chunk, its rows passed as a JSON array of arrays
+    private static String insertAllSql(StorageFormat format) {
+        return """
+            INSERT INTO users (id, username, email, name, password_hash, role)
+            SELECT %s, value ->> 1, value ->> 2, value ->> 3, value ->> 4, %s
+            FROM json_each(?)
+            """.formatted(format.fromText(ColumnType.ID, "value ->> 0"),
+                format.fromText(ColumnType.ROLE, "value ->> 5"));
     }
     
     @Override
     public User save(User user) {
         String sql = "INSERT INTO users (id, username, email, name, password_hash, role) VALUES (?, ?, ?, ?, ?, ?)";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, user.getId());
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, user.getId());
             stmt.setString(2, user.getUsername());
             stmt.setString(3, user.getEmail());
             stmt.setString(4, user.getName());
             stmt.setString(5, user.getPasswordHash());
-            stmt.setString(6, user.getRole().name());
+            format.bindEnum(stmt, 6, user.getRole());
             
             stmt.executeUpdate();
             return user;
@@ -42,16 +107,69 @@ public class UserRepository implements IUserRepository {
         }
     }
     
+    @Override
+    public List<BatchResult> saveAll(List<User> users, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        List<BatchResult> results = new ArrayList<>();
+        for (int from = 0, chunk = 0; from < users.size(); from += chunkSize, chunk++) {
+            List<User> rows = users.subList(from, Math.min(from + chunkSize, users.size()));
+            results.add(saveChunk(chunk, rows));
+        }
+        return results;
+    }
+    
+    private BatchResult saveChunk(int chunk, List<User> rows) {
+        try {
+            int written = pool.getTransactionManager().inTransaction(tx -> insertBatch(rows));
+            return new BatchResult(chunk, rows.size(), written, null);
+        } catch (SQLException e) {
+            // Not printed: bulk callers retry failed chunks row by row and report each row
+            return new BatchResult(chunk, rows.size(), 0, e.getMessage());
+        }
+    }
+    
+    private int insertBatch(List<User> rows) throws SQLException {
+        StringBuilder json = new StringBuilder(rows.size() * 160).append('[');
+        for (User user : rows) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('[');
+            JsonText.appendString(json, user.getId());
+            json.append(',');
+            JsonText.appendString(json, user.getUsername());
+            json.append(',');
+            JsonText.appendString(json, user.getEmail());
+            json.append(',');
+            JsonText.appendString(json, user.getName());
+            json.append(',');
+            JsonText.appendString(json, user.getPasswordHash());
+            json.append(',');
+            JsonText.appendString(json, user.getRole().name());
+            json.append(']');
+        }
+        json.append(']');
+        
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(insertAllSql);
+            stmt.setString(1, json.toString());
+            return stmt.executeUpdate();
+        }
+    }
+    
     @Override
     public User update(User user) {
         String sql = "UPDATE users SET username = ?, email = ?, name = ?, role = ? WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
             stmt.setString(1, user.getUsername());
             stmt.setString(2, user.getEmail());
             stmt.setString(3, user.getName());
-            stmt.setString(4, user.getRole().name());
-            stmt.setString(5, user.getId());
+            format.bindEnum(stmt, 4, user.getRole());
+            format.bindId(stmt, 5, user.getId());
             
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0 ? user : null;
@@ -65,12 +183,13 @@ public class UserRepository implements IUserRepository {
     public Optional<User> findById(String id) {
         String sql = "SELECT * FROM users WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(mapResultSetToUser(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToUser(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding user by id: " + e.getMessage());
@@ -83,8 +202,8 @@ public class UserRepository implements IUserRepository {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM users";
         
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached(sql).executeQuery()) {
             
             while (rs.next()) {
                 users.add(mapResultSetToUser(rs));
@@ -99,8 +218,9 @@ public class UserRepository implements IUserRepository {
     public boolean deleteById(String id) {
         String sql = "DELETE FROM users WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error deleting user: " + e.getMessage());
@@ -112,25 +232,55 @@ public class UserRepository implements IUserRepository {
     public boolean existsById(String id) {
         String sql = "SELECT 1 FROM users WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, id);
-            return stmt.executeQuery().next();
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindId(stmt, 1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
         } catch (SQLException e) {
             System.err.println("Error checking user existence: " + e.getMessage());
             return false;
         }
     }
     
+    @Override
+    public Stream<User> streamAll(int fetchSize) {
+        return RowStream.open(pool, "SELECT * FROM users", fetchSize, this::mapResultSetToUser);
+    }
+    
+    @Override
+    public boolean existsAny() {
+        try (PooledConnection conn = pool.acquireRead();
+             ResultSet rs = conn.prepareCached("SELECT 1 FROM users LIMIT 1").executeQuery()) {
+            return rs.next();
+        } catch (SQLException e) {
+            System.err.println("Error checking for any user: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    @Override
+    public int deleteAll() {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            return conn.prepareCached("DELETE FROM users").executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error deleting all users: " + e.getMessage());
+            return 0;
+        }
+    }
+    
     @Override
     public Optional<User> findByUsername(String username) {
         String sql = "SELECT * FROM users WHERE username = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
             stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(mapResultSetToUser(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToUser(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding user by username: " + e.getMessage());
@@ -138,16 +288,105 @@ public class UserRepository implements IUserRepository {
         return Optional.empty();
     }
     
+    @Override
+    public Map<String, User> findByIds(Collection<String> ids) {
+        Map<String, User> users = new HashMap<>();
+        String json = toJsonArray(ids);
+        if (json == null) {
+            return users;
+        }
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(findByIdsSql);
+            stmt.setString(1, json);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    User user = mapResultSetToUser(rs);
+                    users.put(user.getId(), user);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding users by ids: " + e.getMessage());
+        }
+        return users;
+    }
+    
+    @Override
+    public Map<String, String> findIdsByIdOrUsername(Collection<String> references) {
+        Map<String, String> ids = new HashMap<>();
+        String json = toJsonArray(references);
+        if (json == null) {
+            return ids;
+        }
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(findIdsByIdOrUsernameSql);
+            stmt.setString(1, json);
+            stmt.setString(2, json);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.putIfAbsent(rs.getString(1), rs.getString(2)); // an id match comes first
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error resolving user references: " + e.getMessage());
+        }
+        return ids;
+    }
+    
+    @Override
+    public UserConflicts findConflicts(Collection<String> usernames, Collection<String> emails) {
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        String usernameJson = toJsonArray(usernames);
+        String emailJson = toJsonArray(emails);
+        if (usernameJson == null && emailJson == null) {
+            return new UserConflicts(takenUsernames, takenEmails);
+        }
+        
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(FIND_CONFLICTS_SQL);
+            stmt.setString(1, usernameJson != null ? usernameJson : "[]");
+            stmt.setString(2, emailJson != null ? emailJson : "[]");
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    (rs.getString(1).equals("username") ? takenUsernames : takenEmails).add(rs.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error checking usernames and emails: " + e.getMessage());
+        }
+        return new UserConflicts(takenUsernames, takenEmails);
+    }
+    
+    /**
+     * JSON array of the non-null ids, or null if there are none.
+     */
+    private static String toJsonArray(Collection<String> ids) {
+        StringBuilder json = new StringBuilder("[");
+        for (String id : ids) {
+            if (id == null) {
+                continue;
+            }
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            JsonText.appendString(json, id);
+        }
+        return json.length() > 1 ? json.append(']').toString() : null;
+    }
+    
     @Override
     public Optional<User> findByEmail(String email) {
         String sql = "SELECT * FROM users WHERE email = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
             stmt.setString(1, email);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(mapResultSetToUser(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(mapResultSetToUser(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding user by email: " + e.getMessage());
@@ -160,12 +399,13 @@ public class UserRepository implements IUserRepository {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM users WHERE role = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, role.name());
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                users.add(mapResultSetToUser(rs));
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            format.bindEnum(stmt, 1, role);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapResultSetToUser(rs));
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error finding users by role: " + e.getMessage());
@@ -177,9 +417,12 @@ public class UserRepository implements IUserRepository {
     public boolean existsByUsername(String username) {
         String sql = "SELECT 1 FROM users WHERE username = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
             stmt.setString(1, username);
-            return stmt.executeQuery().next();
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
         } catch (SQLException e) {
             System.err.println("Error checking username existence: " + e.getMessage());
             return false;
@@ -190,9 +433,12 @@ public class UserRepository implements IUserRepository {
     public boolean existsByEmail(String email) {
         String sql = "SELECT 1 FROM users WHERE email = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PooledConnection conn = pool.acquireRead()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
             stmt.setString(1, email);
-            return stmt.executeQuery().next();
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
         } catch (SQLException e) {
             System.err.println("Error checking email existence: " + e.getMessage());
             return false;
@@ -203,9 +449,10 @@ public class UserRepository implements IUserRepository {
     public boolean updatePassword(String userId, String newPasswordHash) {
         String sql = "UPDATE users SET password_hash = ? WHERE id = ?";
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (PooledConnection conn = pool.acquireWrite()) {
+            PreparedStatement stmt = conn.prepareCached(sql);
             stmt.setString(1, newPasswordHash);
-            stmt.setString(2, userId);
+            format.bindId(stmt, 2, userId);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("Error updating password: " + e.getMessage());
@@ -219,12 +466,12 @@ public class UserRepository implements IUserRepository {
      */
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
         return new User(
-            rs.getString("id"),
+            format.readId(rs, "id"),
             rs.getString("username"),
             rs.getString("email"),
             rs.getString("name"),
             rs.getString("password_hash"),
-            rs.getString("role")
+            format.readEnum(rs, "role", ColumnType.ROLE)
         );
     }
 }
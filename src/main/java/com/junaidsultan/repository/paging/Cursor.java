@@ -0,0 +1,19 @@
+package com.junaidsultan.repository.paging;
+
+/**
+ * Position of a row in a list ordered by {@code (created_at, id)}.
+ * Keyset pagination continues from the cursor instead of skipping rows with OFFSET,
+ * so fetching page 1000 costs the same as fetching page 1.
+ *
+ * @param createdAt the row's created_at value as stored in the text format; in the
+ *                  compact format, its epoch millis in that form
+ * @param id        the row's id, breaking ties between rows created in the same second
+ */
+public record Cursor(String createdAt, String id) {
+
+    public Cursor {
+        if (createdAt == null || id == null) {
+            throw new IllegalArgumentException("Cursor needs both created_at and id");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.junaidsultan.repository.paging;
+
+/**
+ * Which page of a newest-first list to fetch.
+ *
+ * @param size     maximum number of rows in the page
+ * @param cursor   row to continue from, or null for the first page
+ * @param backward true to fetch the rows newer than the cursor (previous page),
+ *                 false to fetch the rows older than it (next page)
+ */
+public record PageRequest(int size, Cursor cursor, boolean backward) {
+
+    public static final int MAX_SIZE = 500;
+
+    public PageRequest {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE + ": " + size);
+        }
+        if (backward && cursor == null) {
+            throw new IllegalArgumentException("A backward page needs a cursor");
+        }
+    }
+
+    /**
+     * The newest {@code size} rows.
+     */
+    public static PageRequest first(int size) {
+        return new PageRequest(size, null, false);
+    }
+
+    /**
+     * The {@code size} rows immediately older than the cursor.
+     */
+    public static PageRequest after(Cursor cursor, int size) {
+        return new PageRequest(size, cursor, false);
+    }
+
+    /**
+     * The {@code size} rows immediately newer than the cursor.
+     */
+    public static PageRequest before(Cursor cursor, int size) {
+        return new PageRequest(size, cursor, true);
+    }
+}
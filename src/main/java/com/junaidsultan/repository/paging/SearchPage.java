@@ -0,0 +1,38 @@
+package com.junaidsultan.repository.paging;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. Results are ordered by relevance rather
+ * than by {@code (created_at, id)}, so pages are addressed by number instead of
+ * by cursor.
+ *
+ * @param items   results on this page, best match first
+ * @param page    zero-based page number
+ * @param size    requested page size
+ * @param hasNext whether more results follow this page
+ */
+public record SearchPage<T>(List<T> items, int page, int size, boolean hasNext) {
+
+    public SearchPage {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number must not be negative: " + page);
+        }
+        if (size < 1 || size > PageRequest.MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + PageRequest.MAX_SIZE + ": " + size);
+        }
+        items = List.copyOf(items);
+    }
+
+    public static <T> SearchPage<T> empty(int page, int size) {
+        return new SearchPage<>(List.of(), page, size, false);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.junaidsultan.repository.paging;
+
+import java.util.List;
+
+/**
+ * One page of a newest-first list, with the cursors needed to move to its neighbours.
+ * A slice does not know the total row count; counting a large table would cost
+ * as much as reading it.
+ *
+ * @param items       rows in display order (newest first)
+ * @param size        requested page size
+ * @param first       cursor of the first item, or null when empty
+ * @param last        cursor of the last item, or null when empty
+ * @param hasPrevious whether newer rows exist before this page
+ * @param hasNext     whether older rows exist after this page
+ */
+public record Slice<T>(List<T> items, int size, Cursor first, Cursor last, boolean hasPrevious, boolean hasNext) {
+
+    public Slice {
+        items = List.copyOf(items);
+    }
+
+    public static <T> Slice<T> empty(int size) {
+        return new Slice<>(List.of(), size, null, null, false, false);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * @return Request for the page after this one, or null if this is the last page
+     */
+    public PageRequest nextPage() {
+        return hasNext ? PageRequest.after(last, size) : null;
+    }
+
+    /**
+     * @return Request for the page before this one, or null if this is the first page
+     */
+    public PageRequest previousPage() {
+        return hasPrevious ? PageRequest.before(first, size) : null;
+    }
+}
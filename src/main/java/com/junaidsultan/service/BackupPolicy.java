@@ -0,0 +1,61 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.DatabaseBackup;
+import com.junaidsultan.config.SystemProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Where {@link BackupService} keeps snapshots, how many, and how often it takes them.
+ *
+ * The directory is read at startup from {@value #DIRECTORY_PROPERTY}, the rest from
+ * {@value #KEEP_PROPERTY} and {@value #INTERVAL_PROPERTY}; a value of 0 turns a rule off.
+ *
+ * @param directory       where snapshots are written
+ * @param keep            newest snapshots kept, older ones are deleted (0 = keep all)
+ * @param intervalMinutes minutes between scheduled snapshots (0 = only on request)
+ * @param pagesPerStep    most pages copied per backup step
+ */
+public record BackupPolicy(Path directory, int keep, int intervalMinutes, int pagesPerStep) {
+
+    public static final String DIRECTORY_PROPERTY = "tms.backup.dir";
+    public static final String KEEP_PROPERTY = "tms.backup.keep";
+    public static final String INTERVAL_PROPERTY = "tms.backup.intervalMinutes";
+
+    public static final Path DEFAULT_DIRECTORY = Path.of("backups");
+    public static final int DEFAULT_KEEP = 10;
+    public static final int DEFAULT_INTERVAL_MINUTES = 60;
+
+    public BackupPolicy {
+        if (keep < 0 || intervalMinutes < 0) {
+            throw new IllegalArgumentException("Backup limits must not be negative");
+        }
+        if (pagesPerStep < 1) {
+            throw new IllegalArgumentException("Pages per step must be at least 1");
+        }
+    }
+
+    public static BackupPolicy defaults() {
+        return new BackupPolicy(DEFAULT_DIRECTORY, DEFAULT_KEEP, DEFAULT_INTERVAL_MINUTES,
+            DatabaseBackup.DEFAULT_PAGES_PER_STEP);
+    }
+
+    /**
+     * Build the policy from system properties, using the defaults for missing or invalid values.
+     */
+    public static BackupPolicy fromSystemProperties() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return new BackupPolicy(
+            directory == null || directory.isBlank() ? DEFAULT_DIRECTORY : Path.of(directory.trim()),
+            SystemProperties.nonNegativeInt(KEEP_PROPERTY, DEFAULT_KEEP),
+            SystemProperties.nonNegativeInt(INTERVAL_PROPERTY, DEFAULT_INTERVAL_MINUTES),
+            DatabaseBackup.DEFAULT_PAGES_PER_STEP);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("snapshots in %s, %s, %s",
+            directory, keep == 0 ? "all kept" : "newest " + keep + " kept",
+            intervalMinutes == 0 ? "on request only" : "every " + intervalMinutes + " min");
+    }
+}
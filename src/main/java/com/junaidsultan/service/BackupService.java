@@ -0,0 +1,165 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.BackupReport;
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.DatabaseBackup;
+import com.junaidsultan.config.migration.SchemaMigrator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of IBackupService.
+ * Snapshots are named by the time they were taken, e.g.
+ * {@code backups/tms-20250101-020000-000.db}, so name order is age order.
+ * Backups and restores are serialized.
+ */
+public class BackupService implements IBackupService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("tms-\\d{8}-\\d{6}-\\d{3}\\.db");
+
+    private final DatabaseBackup database;
+    private final SchemaMigrator migrator;
+    private final BackupPolicy policy;
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile BackupReport lastBackup;
+    private Thread scheduler;
+
+    public BackupService() {
+        this(new DatabaseBackup(DBConnection.getInstance().getPool()),
+            new SchemaMigrator(DBConnection.getInstance().getPool()), BackupPolicy.fromSystemProperties());
+    }
+
+    // Constructor for dependency injection (e.g. a pool on a test database)
+    public BackupService(DatabaseBackup database, SchemaMigrator migrator, BackupPolicy policy) {
+        this.database = database;
+        this.migrator = migrator;
+        this.policy = policy;
+    }
+
+    @Override
+    public synchronized Optional<BackupReport> backup() {
+        Optional<BackupReport> report = snapshot();
+        report.ifPresent(r -> rotate());
+        return report;
+    }
+
+    @Override
+    public synchronized Optional<BackupReport> restore(Path snapshot) {
+        try {
+            database.verify(snapshot);
+            // Keep the current data in case the wrong snapshot was picked. Rotation waits
+            // until after the restore so it cannot delete the snapshot being restored.
+            if (snapshot().isEmpty()) {
+                return Optional.empty();
+            }
+            BackupReport report = database.restore(snapshot, policy.pagesPerStep());
+            migrator.migrate();
+            rotate();
+            return Optional.of(report);
+        } catch (SQLException e) {
+            System.err.println("Error restoring " + snapshot + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<Path> listSnapshots() {
+        if (!Files.isDirectory(policy.directory())) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(policy.directory())) {
+            return files.filter(f -> SNAPSHOT_NAME.matcher(f.getFileName().toString()).matches())
+                .sorted(Comparator.comparing(Path::getFileName).reversed())
+                .toList();
+        } catch (IOException e) {
+            System.err.println("Error listing snapshots: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Override
+    public Optional<BackupReport> getLastBackup() {
+        return Optional.ofNullable(lastBackup);
+    }
+
+    @Override
+    public BackupPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public synchronized void startScheduledBackups() {
+        if (policy.intervalMinutes() == 0 || stopped.getCount() == 0 || scheduler != null) {
+            return;
+        }
+        long intervalMillis = TimeUnit.MINUTES.toMillis(policy.intervalMinutes());
+        scheduler = Thread.ofVirtual().name("scheduled-backup").start(() -> {
+            try {
+                while (!stopped.await(intervalMillis, TimeUnit.MILLISECONDS)) {
+                    backup();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        stopped.countDown();
+        Thread running;
+        synchronized (this) {
+            running = scheduler;
+        }
+        if (running == null) {
+            return;
+        }
+        try {
+            running.join(Duration.ofMillis(NotificationDispatcher.DEFAULT_CLOSE_TIMEOUT_MILLIS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Optional<BackupReport> snapshot() {
+        Path target = policy.directory().resolve("tms-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".db");
+        try {
+            BackupReport report = database.backup(target, policy.pagesPerStep());
+            lastBackup = report;
+            return Optional.of(report);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error backing up the database: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // Delete the oldest snapshots beyond the policy's limit
+    private void rotate() {
+        if (policy.keep() == 0) {
+            return;
+        }
+        List<Path> snapshots = listSnapshots();
+        for (Path old : snapshots.subList(Math.min(policy.keep(), snapshots.size()), snapshots.size())) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                System.err.println("Error deleting old snapshot " + old + ": " + e.getMessage());
+            }
+        }
+    }
+}
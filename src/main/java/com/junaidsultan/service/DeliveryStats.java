@@ -0,0 +1,38 @@
+package com.junaidsultan.service;
+
+/**
+ * Counters for the notifications handed to a {@link NotificationDispatcher}.
+ *
+ * @param enqueued          notifications accepted into the queue
+ * @param delivered         notifications committed to the database
+ * @param failed            notifications the writer could not store
+ * @param rejected          notifications refused because the queue stayed full or was closed
+ * @param batches           transactions the writer committed
+ * @param queueDepth        notifications waiting right now
+ * @param maxQueueDepth     deepest the queue has been
+ * @param totalLatencyNanos enqueue-to-commit time, summed over delivered notifications
+ * @param maxLatencyNanos   slowest single enqueue-to-commit time
+ */
+public record DeliveryStats(long enqueued, long delivered, long failed, long rejected, long batches,
+                            int queueDepth, int maxQueueDepth, long totalLatencyNanos, long maxLatencyNanos) {
+
+    public double averageLatencyMillis() {
+        return delivered == 0 ? 0 : totalLatencyNanos / 1_000_000.0 / delivered;
+    }
+
+    public double maxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    public double averageBatchSize() {
+        return batches == 0 ? 0 : (double) delivered / batches;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("notifications enqueued=%d delivered=%d failed=%d rejected=%d batches=%d "
+                + "queue=%d (max %d) (latency avg %.2f ms, max %.2f ms)",
+            enqueued, delivered, failed, rejected, batches, queueDepth, maxQueueDepth,
+            averageLatencyMillis(), maxLatencyMillis());
+    }
+}
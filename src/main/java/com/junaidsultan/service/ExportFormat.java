@@ -0,0 +1,37 @@
+package com.junaidsultan.service;
+
+import java.util.Locale;
+
+/**
+ * File formats an export can be written in and an import can be read from.
+ */
+public enum ExportFormat {
+
+    // RFC 4180: header row, comma separated, quoted where needed
+    CSV("csv"),
+
+    // One JSON object per line, keyed by column name
+    JSONL("jsonl");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @param extension A file extension without the dot, e.g. "csv"
+     * @return The matching format (.ndjson and .json are read as JSON Lines), or null
+     */
+    public static ExportFormat forExtension(String extension) {
+        return switch (extension.toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "jsonl", "ndjson", "json" -> JSONL;
+            default -> null;
+        };
+    }
+}
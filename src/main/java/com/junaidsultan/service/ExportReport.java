@@ -0,0 +1,28 @@
+package com.junaidsultan.service;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of one export.
+ *
+ * @param file         file written
+ * @param rows         rows written, not counting the CSV header
+ * @param bytes        size of the file, after compression if any
+ * @param elapsedNanos wall time from the query starting to the file being in place
+ */
+public record ExportReport(Path file, long rows, long bytes, long elapsedNanos) {
+
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("exported %d rows to %s (%,d bytes) in %.0f ms, %.0f rows/s",
+            rows, file, bytes, elapsedMillis(), rowsPerSecond());
+    }
+}
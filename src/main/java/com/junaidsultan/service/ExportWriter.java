@@ -0,0 +1,134 @@
+package com.junaidsultan.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes exported rows in one {@link ExportFormat}. Holds nothing but the column
+ * names, so memory use does not depend on the number of rows.
+ */
+abstract class ExportWriter {
+
+    protected final Writer out;
+    protected final List<String> columns;
+
+    private ExportWriter(Writer out, List<String> columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    static ExportWriter create(ExportFormat format, Writer out, List<String> columns) {
+        return switch (format) {
+            case CSV -> new Csv(out, columns);
+            case JSONL -> new JsonLines(out, columns);
+        };
+    }
+
+    /**
+     * Write whatever precedes the first row.
+     */
+    abstract void writeHeader() throws IOException;
+
+    /**
+     * @param values One value per column: String, a Number, or null
+     */
+    abstract void writeRow(Object[] values) throws IOException;
+
+    private static final class Csv extends ExportWriter {
+
+        Csv(Writer out, List<String> columns) {
+            super(out, columns);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            writeRow(columns.toArray());
+        }
+
+        @Override
+        void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            out.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    private static final class JsonLines extends ExportWriter {
+
+        JsonLines(Writer out, List<String> columns) {
+            super(out, columns);
+        }
+
+        @Override
+        void writeHeader() {
+            // Every line names its own fields
+        }
+
+        @Override
+        void writeRow(Object[] values) throws IOException {
+            out.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeString(columns.get(i));
+                out.write(':');
+                Object value = values[i];
+                if (value == null) {
+                    out.write("null");
+                } else if (value instanceof Number) {
+                    out.write(value.toString());
+                } else {
+                    writeString(value.toString());
+                }
+            }
+            out.write("}\n");
+        }
+
+        private void writeString(String value) throws IOException {
+            out.write('"');
+            // Copy runs of plain characters in one call; Writer.write(int) locks per character
+            int run = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    continue;
+                }
+                out.write(value, run, i - run);
+                run = i + 1;
+                switch (c) {
+                    case '"' -> out.write("\\\"");
+                    case '\\' -> out.write("\\\\");
+                    case '\n' -> out.write("\\n");
+                    case '\r' -> out.write("\\r");
+                    case '\t' -> out.write("\\t");
+                    default -> out.write(String.format("\\u%04x", (int) c));
+                }
+            }
+            out.write(value, run, value.length() - run);
+            out.write('"');
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.BackupReport;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service Interface for online snapshots of the database.
+ * Snapshots are taken while the application keeps running; interactive writes
+ * carry on during the copy.
+ */
+public interface IBackupService {
+
+    /**
+     * Snapshot the database into the policy's directory now, then delete the
+     * snapshots beyond the policy's limit.
+     * @return The backup's report, or empty if it failed
+     */
+    Optional<BackupReport> backup();
+
+    /**
+     * Replace the database with a snapshot. The current data is snapshotted first,
+     * and the restored schema is migrated to the current version. Other running
+     * instances of the application keep stale caches; stop them first.
+     * @param snapshot File written by {@link #backup()}
+     * @return The restore's report, or empty if the snapshot was rejected or the restore failed
+     */
+    Optional<BackupReport> restore(Path snapshot);
+
+    /**
+     * Snapshots in the policy's directory, newest first.
+     */
+    List<Path> listSnapshots();
+
+    /**
+     * The most recent successful backup of this run, scheduled or not.
+     */
+    Optional<BackupReport> getLastBackup();
+
+    BackupPolicy getPolicy();
+
+    /**
+     * Take a snapshot every {@link BackupPolicy#intervalMinutes()} on a background
+     * thread until {@link #shutdown()}. Does nothing when the interval is 0.
+     */
+    void startScheduledBackups();
+
+    /**
+     * Stop scheduled backups, waiting for a backup in progress to finish.
+     */
+    void shutdown();
+}
@@ -0,0 +1,36 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.repository.ExportCriteria;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Service Interface for exporting tables to files.
+ * Rows are streamed from the database to the file, so an export of any size
+ * runs in constant memory.
+ */
+public interface IExportService {
+
+    // Rows between progress callbacks
+    int PROGRESS_INTERVAL = 10_000;
+
+    /**
+     * Write the rows matching the criteria to a file. The file appears only once it
+     * is complete; a failed export leaves no partial file behind.
+     * @param criteria Table, columns and filters
+     * @param format File format
+     * @param gzip Compress the file with gzip
+     * @param target File to write, replaced if it exists; see {@link #defaultTarget}
+     * @param progress Called with the rows written so far every PROGRESS_INTERVAL rows and at the end
+     * @return The export's report, or empty if it failed
+     */
+    Optional<ExportReport> export(ExportCriteria criteria, ExportFormat format, boolean gzip, Path target,
+                                  LongConsumer progress);
+
+    /**
+     * A timestamped file name in the exports directory, e.g. {@code exports/tickets-20250101-020000.csv.gz}.
+     */
+    Path defaultTarget(ExportCriteria criteria, ExportFormat format, boolean gzip);
+}
@@ -1,6 +1,8 @@
 package com.junaidsultan.service;
 
+import com.junaidsultan.entity.Broadcast;
 import com.junaidsultan.entity.Notification;
+import com.junaidsultan.enums.Role;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,46 +13,64 @@ import java.util.Optional;
 public interface INotificationService {
     
     /**
-     * Create and send a notification to a user.
+     * Create and send a notification to a user. Delivery is asynchronous: the
+     * notification is queued and stored shortly after this returns.
      * @param receiverId The receiver's user ID
      * @param title The notification title
      * @param message The notification message
      * @param createdBy The sender's user ID (or null for system)
-     * @return The created notification, or null if creation failed
+     * @return The queued notification, or null if it could not be queued
      */
     Notification sendNotification(String receiverId, String title, String message, String createdBy);
     
     /**
-     * Send a notification to multiple users.
+     * Send a notification to multiple users. Delivery is asynchronous, like sendNotification.
      * @param receiverIds List of receiver user IDs
      * @param title The notification title
      * @param message The notification message
      * @param createdBy The sender's user ID (or null for system)
-     * @return Number of notifications sent successfully
+     * @return Number of notifications queued
      */
     int sendBulkNotification(List<String> receiverIds, String title, String message, String createdBy);
     
     /**
-     * Get all notifications for a user.
+     * Send one notification to every user of a role, or to every user.
+     * Stored once regardless of audience size; users registered later do not see it.
+     * @param targetRole The audience role, or null for all users
+     * @param title The notification title
+     * @param message The notification message
+     * @param createdBy The sender's user ID (or null for system)
+     * @return The stored broadcast, or null if sending failed
+     */
+    Broadcast sendBroadcast(Role targetRole, String title, String message, String createdBy);
+    
+    /**
+     * Get all notifications for a user, direct and broadcast, newest first.
      * @param userId The user ID
      * @return List of notifications for the user
      */
     List<Notification> getNotifications(String userId);
     
     /**
-     * Get unread notifications for a user.
+     * Get unread notifications for a user, direct and broadcast, newest first.
      * @param userId The user ID
      * @return List of unread notifications
      */
     List<Notification> getUnreadNotifications(String userId);
     
     /**
-     * Get the count of unread notifications for a user.
+     * Get the count of unread notifications for a user, direct and broadcast.
      * @param userId The user ID
      * @return Number of unread notifications
      */
     int getUnreadCount(String userId);
     
+    /**
+     * Recompute the unread counters behind getUnreadCount from the notifications table.
+     * @return Number of users with unread notifications
+     */
+    int rebuildUnreadCounters();
+    
     /**
      * Mark a notification as read.
      * @param notificationId The notification ID
@@ -58,6 +78,14 @@ public interface INotificationService {
      */
     boolean markAsRead(String notificationId);
     
+    /**
+     * Mark a notification as read for its receiver. Works for both direct and
+     * broadcast notifications as returned by getNotifications.
+     * @param notification The notification
+     * @return true if marked successfully
+     */
+    boolean markAsRead(Notification notification);
+    
     /**
      * Mark all notifications as read for a user.
      * @param userId The user ID
@@ -73,7 +101,7 @@ public interface INotificationService {
     boolean deleteNotification(String notificationId);
     
     /**
-     * Delete all notifications for a user.
+     * Delete all notifications for a user. Broadcasts are hidden for this user only.
      * @param userId The user ID
      * @return Number of notifications deleted
      */
@@ -85,4 +113,47 @@ public interface INotificationService {
      * @return Optional containing the notification if found
      */
     Optional<Notification> findById(String notificationId);
+    
+    /**
+     * Wait for queued notifications to be stored.
+     * @param timeoutMillis Longest time to wait
+     * @return true if everything queued so far has been written
+     */
+    boolean flushNotifications(long timeoutMillis);
+    
+    /**
+     * Queue depth, delivery and latency counters for asynchronous sends.
+     */
+    DeliveryStats getDeliveryStats();
+    
+    /**
+     * Apply the retention policy now: purge old read notifications and trim
+     * oversized inboxes in small batches, then reclaim the freed pages.
+     * @return Rows purged and pages reclaimed
+     */
+    RetentionReport purgeNotifications();
+    
+    /**
+     * Start a retention run without waiting for it. Used at startup.
+     */
+    void purgeNotificationsInBackground();
+    
+    /**
+     * The rules purgeNotifications applies.
+     */
+    RetentionPolicy getRetentionPolicy();
+    
+    /**
+     * One-time switch of an older database to incremental vacuum, so purges can
+     * shrink the file. Rewrites the whole database; the ticket search index must
+     * be rebuilt afterwards.
+     * @return true if the mode was changed
+     */
+    boolean enableIncrementalVacuum();
+    
+    /**
+     * Stop accepting notifications and store everything still queued.
+     * Call before closing the database.
+     */
+    void shutdown();
 }
@@ -1,17 +1,35 @@
 package com.junaidsultan.service;
 
 import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDashboard;
+import com.junaidsultan.entity.TicketDetails;
+import com.junaidsultan.entity.TicketSearchHit;
+import com.junaidsultan.entity.TicketSummary;
 import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
 import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.TicketCriteria;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.repository.paging.SearchPage;
+import com.junaidsultan.repository.paging.Slice;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 
 /**
  * Service interface for Ticket-related business logic.
  */
 public interface ITicketService {
     
+    // Results per page of search()
+    int SEARCH_PAGE_SIZE = 10;
+    
+    // Days a ticket stays closed before archiveClosedTickets() moves it, overridable at startup
+    String ARCHIVE_AFTER_DAYS_PROPERTY = "tms.archive.closedDays";
+    int DEFAULT_ARCHIVE_AFTER_DAYS = 180;
+    
     /**
      * Create a new ticket.
      * @param title The ticket title
@@ -30,6 +48,13 @@ public interface ITicketService {
      */
     Optional<Ticket> findById(String ticketId);
     
+    /**
+     * Find a ticket with its creator and assignee names, for display.
+     * @param ticketId The ticket ID
+     * @return Optional containing the ticket details if found
+     */
+    Optional<TicketDetails> getTicketDetails(String ticketId);
+    
     /**
      * Get all tickets.
      * @return List of all tickets
@@ -149,4 +174,83 @@ public interface ITicketService {
      * @return List of tickets with the specified status
      */
     List<Ticket> getTicketsByStatus(Status status);
+    
+    /**
+     * Get one page of tickets matching the criteria, newest first.
+     * @param criteria The filter to apply
+     * @param page Which page to fetch (see PageRequest.first / Slice.nextPage)
+     * @return The page of tickets
+     */
+    Slice<Ticket> getTicketPage(TicketCriteria criteria, PageRequest page);
+    
+    /**
+     * Get one page of ticket summaries for a list view, newest first.
+     * @param criteria The filter to apply
+     * @param page Which page to fetch
+     * @return The page of ticket summaries
+     */
+    Slice<TicketSummary> getTicketSummaryPage(TicketCriteria criteria, PageRequest page);
+    
+    /**
+     * Ticket counts for a user's dashboard, read from the precomputed rollups:
+     * all tickets for an admin, assigned tickets for staff, own tickets for a student.
+     * @param userId The user ID
+     * @param role The user's role
+     * @return The dashboard counts
+     */
+    TicketDashboard getDashboard(String userId, Role role);
+    
+    /**
+     * Recompute the dashboard rollups from the tickets table.
+     * @return Number of rollup rows written
+     */
+    int rebuildDashboardRollups();
+    
+    /**
+     * Search tickets by the words in their title, description and category,
+     * best matches first. Every word must match; the last one may be a prefix.
+     * @param query Words to search for, as typed by the user
+     * @param filters Restricts the results, e.g. to a user's own tickets
+     * @param page Zero-based page number, SEARCH_PAGE_SIZE results per page
+     * @return The page of results, with a highlighted excerpt for each
+     */
+    SearchPage<TicketSearchHit> search(String query, TicketCriteria filters, int page);
+    
+    /**
+     * Rebuild the full-text search index from the tickets table.
+     * @return Number of tickets indexed
+     */
+    int rebuildSearchIndex();
+    
+    /**
+     * Move tickets closed for longer than the archive age into the archive table,
+     * in batches, so lists and dashboards only scan the active tickets.
+     * Archived tickets stay readable and can be restored.
+     * @return Number of tickets archived
+     */
+    int archiveClosedTickets();
+    
+    /**
+     * @return Days a ticket must have been closed, unchanged, before it is archived
+     */
+    int getArchiveAfterDays();
+    
+    /**
+     * Move an archived ticket back into the active tickets so it can be edited again.
+     * @param ticketId The ticket ID
+     * @return true if the ticket was restored
+     */
+    boolean restoreArchivedTicket(String ticketId);
+    
+    /**
+     * Bulk-load tickets from a CSV or JSON Lines file (optionally gzipped), in batches
+     * of one transaction each. Rejected rows are reported and skipped; an interrupted
+     * import resumes after its last committed batch when run again on the same file.
+     * @param file The file to read
+     * @param batchSize Rows per transaction
+     * @param resume false to start again from the first row
+     * @param progress Called after each batch with the number of rows committed so far
+     * @return What was imported and rejected
+     */
+    ImportReport importTickets(Path file, int batchSize, boolean resume, LongConsumer progress);
 }
@@ -3,8 +3,12 @@ package com.junaidsultan.service;
 import com.junaidsultan.entity.User;
 import com.junaidsultan.enums.Role;
 
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 
 /**
  * Service interface for User-related business logic.
@@ -40,6 +44,17 @@ public interface IUserService {
      */
     User registerStaff(String username, String email, String name, String password);
     
+    /**
+     * Register many students from a roster file (CSV or JSON Lines, optionally gzipped)
+     * with the columns username, email, name and password. Rows whose username or email
+     * is taken are reported and skipped.
+     * @param roster The file to read
+     * @param batchSize Rows per transaction
+     * @param progress Called after each batch with the number of rows read so far
+     * @return Who was registered and who was rejected
+     */
+    ImportReport importStudents(Path roster, int batchSize, LongConsumer progress);
+    
     /**
      * Reset a user's password.
      * @param email The user's email
@@ -62,10 +77,17 @@ public interface IUserService {
      */
     Optional<User> findByUsername(String username);
     
+    /**
+     * Find many users at once; cached users are reused and the rest load in one query.
+     * @param userIds The user IDs (duplicates and nulls are ignored)
+     * @return The users found, keyed by id
+     */
+    Map<String, User> findByIds(Collection<String> userIds);
+    
     /**
      * Get all users with a specific role.
      * @param role The role to filter by
-     * @return List of users with that role
+     * @return Unmodifiable list of users with that role
      */
     List<User> findByRole(Role role);
     
@@ -108,4 +130,10 @@ public interface IUserService {
      * @return true if available
      */
     boolean isEmailAvailable(String email);
+    
+    /**
+     * Hit and eviction counters of the user cache behind the find and list methods.
+     * @return A snapshot of the counters
+     */
+    UserCacheStats getCacheStats();
 }
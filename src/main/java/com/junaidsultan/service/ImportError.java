@@ -0,0 +1,15 @@
+package com.junaidsultan.service;
+
+/**
+ * A row an import rejected.
+ *
+ * @param row     one-based number of the data row in the file, not counting a CSV header
+ * @param message why the row was rejected
+ */
+public record ImportError(long row, String message) {
+
+    @Override
+    public String toString() {
+        return String.format("row %d: %s", row, message);
+    }
+}
@@ -0,0 +1,313 @@
+package com.junaidsultan.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads records from a CSV or JSON Lines file, the formats {@link ExportWriter}
+ * writes, one at a time. A {@code .gz} suffix means the file is gzipped.
+ *
+ * Each record is a map from lower-case column name to value (null for a JSON
+ * null). A malformed record is reported with an IllegalArgumentException and
+ * skipped; the next call continues with the record after it.
+ */
+abstract class ImportReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final BufferedReader in;
+
+    private ImportReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    /**
+     * Open a file, choosing the format from its extension.
+     * @throws IllegalArgumentException if the extension is not .csv or .jsonl (optionally + .gz)
+     */
+    static ImportReader open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) {
+            name = name.substring(0, name.length() - 3);
+        }
+        ExportFormat format = ExportFormat.forExtension(name.substring(name.lastIndexOf('.') + 1));
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown file type " + file.getFileName()
+                + ", expected .csv or .jsonl, optionally gzipped (.gz)");
+        }
+
+        InputStream stream = Files.newInputStream(file);
+        try {
+            if (gzip) {
+                stream = new GZIPInputStream(stream, BUFFER_SIZE);
+            }
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+        BufferedReader in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return switch (format) {
+            case CSV -> new Csv(in);
+            case JSONL -> new JsonLines(in);
+        };
+    }
+
+    /**
+     * @return The next record, or null at the end of the file. Blank lines are skipped.
+     * @throws IllegalArgumentException if the record is malformed
+     */
+    abstract Map<String, String> next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static final class Csv extends ImportReader {
+
+        private List<String> header;
+
+        Csv(BufferedReader in) {
+            super(in);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = names.stream().map(n -> n.trim().toLowerCase(Locale.ROOT)).toList();
+            }
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() != header.size()) {
+                throw new IllegalArgumentException("Expected " + header.size() + " fields, found " + fields.size());
+            }
+            Map<String, String> record = new HashMap<>(header.size() * 2);
+            for (int i = 0; i < header.size(); i++) {
+                record.put(header.get(i), fields.get(i));
+            }
+            return record;
+        }
+
+        // RFC 4180: a quoted field may contain commas, doubled quotes and line breaks
+        private List<String> readRecord() throws IOException {
+            String line;
+            do {
+                line = in.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    // Line break inside a quoted field
+                    line = in.readLine();
+                    if (line == null) {
+                        throw new IllegalArgumentException("Unterminated quoted field at end of file");
+                    }
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+        }
+    }
+
+    private static final class JsonLines extends ImportReader {
+
+        JsonLines(BufferedReader in) {
+            super(in);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            String line;
+            do {
+                line = in.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            return new ObjectParser(line).parse();
+        }
+    }
+
+    /**
+     * Parses one flat JSON object. Numbers and booleans are kept as their literal text.
+     */
+    private static final class ObjectParser {
+
+        private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?");
+
+        private final String text;
+        private int pos;
+
+        ObjectParser(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> parse() {
+            Map<String, String> record = new HashMap<>();
+            expect('{');
+            skipSpace();
+            if (peek() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    skipSpace();
+                    String key = readString().toLowerCase(Locale.ROOT);
+                    skipSpace();
+                    expect(':');
+                    skipSpace();
+                    record.put(key, readValue());
+                    skipSpace();
+                    char c = take();
+                    if (c == '}') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw error("Expected ',' or '}'");
+                    }
+                }
+            }
+            skipSpace();
+            if (pos != text.length()) {
+                throw error("Unexpected text after the object");
+            }
+            return record;
+        }
+
+        private String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("Nested objects and arrays are not supported");
+            }
+            int start = pos;
+            while (pos < text.length() && ",} \t".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.equals("true") || literal.equals("false") || NUMBER.matcher(literal).matches()) {
+                return literal;
+            }
+            throw error("Invalid value '" + literal + "'");
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = take();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = take();
+                switch (escaped) {
+                    case '"', '\\', '/' -> value.append(escaped);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) {
+                            throw error("Truncated \\u escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid \\u escape");
+                        }
+                        pos += 4;
+                    }
+                    default -> throw error("Invalid escape \\" + escaped);
+                }
+            }
+        }
+
+        private void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw error("Unexpected end of line");
+            }
+            return text.charAt(pos);
+        }
+
+        private char take() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char c) {
+            if (take() != c) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Malformed JSON at column " + (pos + 1) + ": " + message);
+        }
+    }
+}
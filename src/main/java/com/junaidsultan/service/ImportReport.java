@@ -0,0 +1,43 @@
+package com.junaidsultan.service;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of one bulk import run.
+ *
+ * @param file         file read
+ * @param resumedFrom  data rows skipped because an earlier run already committed them
+ * @param rowsRead     data rows this run read, stored or rejected
+ * @param imported     rows this run stored
+ * @param failed       rows this run rejected
+ * @param errors       the first {@link #MAX_ERRORS} rejections, in file order
+ * @param elapsedNanos wall time of the run
+ * @param failure      why the run stopped early, or null if it read the whole file
+ */
+public record ImportReport(Path file, long resumedFrom, long rowsRead, long imported, long failed,
+                           List<ImportError> errors, long elapsedNanos, String failure) {
+
+    // Keeps the report small when a whole file is rejected
+    public static final int MAX_ERRORS = 1000;
+
+    public boolean completed() {
+        return failure == null;
+    }
+
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : imported * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("imported %d of %d rows from %s (%d rejected%s) in %.0f ms, %.0f rows/s%s",
+            imported, rowsRead, file, failed,
+            resumedFrom > 0 ? ", " + resumedFrom + " skipped as already imported" : "",
+            elapsedMillis(), rowsPerSecond(), completed() ? "" : "; stopped early: " + failure);
+    }
+}
@@ -0,0 +1,318 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.entity.Notification;
+import com.junaidsultan.repository.BatchResult;
+import com.junaidsultan.repository.INotificationRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Delivers notifications off the caller's thread.
+ *
+ * Senders put notifications on a bounded queue and return at once. A single
+ * writer on a virtual thread takes whatever has piled up (up to one batch) and
+ * stores it with {@link INotificationRepository#saveAll(List, int)}, so a burst
+ * of sends costs one transaction instead of one per row.
+ *
+ * When the queue is full, {@link #enqueue} waits up to the offer timeout for the
+ * writer to catch up and then refuses the notification. {@link #close()} stops
+ * accepting new notifications and returns only after the queue has been written.
+ */
+public class NotificationDispatcher implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final int DEFAULT_MAX_BATCH = INotificationRepository.DEFAULT_BATCH_CHUNK_SIZE;
+    public static final long DEFAULT_OFFER_TIMEOUT_MILLIS = 5_000;
+    public static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 30_000;
+
+    private record Pending(Notification notification, long enqueuedAt) { }
+
+    // Tells the writer to drain what is left and stop
+    private static final Pending SHUTDOWN = new Pending(null, 0);
+
+    private final INotificationRepository notificationRepository;
+    private final BlockingQueue<Pending> queue;
+    private final int maxBatch;
+    private final long offerTimeoutMillis;
+    private final Thread writer;
+
+    // Senders hold the read lock while offering; close() takes the write lock so
+    // nothing can be queued behind the shutdown marker
+    private final ReentrantReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    // Counters, guarded by statsLock; progress is signalled after each batch
+    private final ReentrantLock statsLock = new ReentrantLock();
+    private final Condition progress = statsLock.newCondition();
+    private long enqueued;
+    private long delivered;
+    private long failed;
+    private long rejected;
+    private long batches;
+    private int maxQueueDepth;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    public NotificationDispatcher(INotificationRepository notificationRepository) {
+        this(notificationRepository, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH, DEFAULT_OFFER_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param notificationRepository Where notifications are stored
+     * @param capacity Notifications the queue holds before senders wait
+     * @param maxBatch Most notifications written in one transaction
+     * @param offerTimeoutMillis How long a sender waits for room before its notification is refused
+     */
+    public NotificationDispatcher(INotificationRepository notificationRepository, int capacity,
+                                  int maxBatch, long offerTimeoutMillis) {
+        if (capacity < 1 || maxBatch < 1) {
+            throw new IllegalArgumentException("capacity and maxBatch must be at least 1");
+        }
+        this.notificationRepository = notificationRepository;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = maxBatch;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.writer = Thread.ofVirtual().name("notification-writer").start(this::drain);
+    }
+
+    /**
+     * Queue a notification for delivery.
+     * @param notification The notification to store
+     * @return true if it was queued, false if the queue stayed full or the dispatcher is closed
+     */
+    public boolean enqueue(Notification notification) {
+        acceptLock.readLock().lock();
+        try {
+            if (closed || !offer(new Pending(notification, System.nanoTime()))) {
+                recordRejected(1);
+                return false;
+            }
+            recordEnqueued();
+            return true;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Queue several notifications, stopping at the first one refused.
+     * @param notifications The notifications to store
+     * @return Number of notifications queued
+     */
+    public int enqueueAll(List<Notification> notifications) {
+        for (int i = 0; i < notifications.size(); i++) {
+            if (!enqueue(notifications.get(i))) {
+                recordRejected(notifications.size() - i - 1);
+                return i;
+            }
+        }
+        return notifications.size();
+    }
+
+    /**
+     * Wait until every notification queued before this call has been written or has failed.
+     * @param timeoutMillis Longest time to wait
+     * @return true if the writer caught up in time
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        statsLock.lock();
+        try {
+            long target = enqueued;
+            while (delivered + failed < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !writer.isAlive()) {
+                    return false;
+                }
+                progress.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    /**
+     * Stop accepting notifications and wait for the queue to be written.
+     * Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        acceptLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(SHUTDOWN);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        try {
+            if (!writer.join(Duration.ofMillis(DEFAULT_CLOSE_TIMEOUT_MILLIS))) {
+                System.err.println("Error flushing notifications: " + queue.size() + " still queued at shutdown");
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isClosed() {
+        acceptLock.readLock().lock();
+        try {
+            return closed;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    public DeliveryStats getStats() {
+        statsLock.lock();
+        try {
+            return new DeliveryStats(enqueued, delivered, failed, rejected, batches,
+                queue.size(), maxQueueDepth, totalLatencyNanos, maxLatencyNanos);
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    // --- Writer ---
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        boolean stopping = false;
+        while (!stopping || !queue.isEmpty()) {
+            if (stopping) {
+                // Nothing new can arrive after the marker; write what is left
+                queue.drainTo(batch, maxBatch);
+            } else {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    continue; // only close() stops the writer
+                }
+                queue.drainTo(batch, maxBatch - 1);
+            }
+            stopping |= batch.remove(SHUTDOWN);
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Notification> rows = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            rows.add(pending.notification());
+        }
+
+        boolean[] stored = new boolean[batch.size()];
+        if (saveBatch(rows)) {
+            Arrays.fill(stored, true);
+        } else if (rows.size() > 1) {
+            // Retry row by row so one bad notification does not drop the rest
+            for (int i = 0; i < rows.size(); i++) {
+                stored[i] = saveOne(rows.get(i));
+            }
+        }
+        recordBatch(batch, stored);
+    }
+
+    private boolean saveBatch(List<Notification> rows) {
+        try {
+            return BatchResult.totalWritten(notificationRepository.saveAll(rows, maxBatch)) == rows.size();
+        } catch (RuntimeException e) {
+            System.err.println("Error delivering notifications: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean saveOne(Notification notification) {
+        try {
+            return notificationRepository.save(notification) != null;
+        } catch (RuntimeException e) {
+            System.err.println("Error delivering notification: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean offer(Pending pending) {
+        try {
+            return queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // --- Counters ---
+
+    private void recordEnqueued() {
+        statsLock.lock();
+        try {
+            enqueued++;
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    private void recordRejected(int count) {
+        statsLock.lock();
+        try {
+            rejected += count;
+        } finally {
+            statsLock.unlock();
+        }
+    }
+
+    private void recordBatch(List<Pending> batch, boolean[] stored) {
+        long now = System.nanoTime();
+        statsLock.lock();
+        try {
+            boolean any = false;
+            for (int i = 0; i < batch.size(); i++) {
+                if (stored[i]) {
+                    long latency = now - batch.get(i).enqueuedAt();
+                    delivered++;
+                    totalLatencyNanos += latency;
+                    maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+                    any = true;
+                } else {
+                    failed++;
+                }
+            }
+            if (any) {
+                batches++;
+            }
+            progress.signalAll();
+        } finally {
+            statsLock.unlock();
+        }
+    }
+}
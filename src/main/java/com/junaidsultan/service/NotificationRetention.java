@@ -0,0 +1,156 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.DatabaseCompactor;
+import com.junaidsultan.repository.INotificationRepository;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Keeps the notifications table from growing forever.
+ *
+ * A run deletes read notifications past the age limit, then trims every inbox over
+ * the cap, in batches of at most {@link RetentionPolicy#batchSize()} rows. Each batch
+ * is its own short write, so senders and readers interleave with a large purge
+ * instead of waiting behind it. The freed pages are then returned to the file
+ * system with incremental vacuum.
+ *
+ * Runs are serialized. {@link #close()} stops a run between batches; whatever is
+ * left is purged by the next run.
+ */
+public class NotificationRetention implements AutoCloseable {
+
+    private final INotificationRepository notificationRepository;
+    private final DatabaseCompactor compactor;
+    private final RetentionPolicy policy;
+
+    private volatile boolean closed;
+    private Thread background;
+
+    /**
+     * @param notificationRepository Where notifications are deleted
+     * @param compactor Reclaims freed pages after the purge
+     * @param policy Rules to apply
+     */
+    public NotificationRetention(INotificationRepository notificationRepository, DatabaseCompactor compactor,
+                                 RetentionPolicy policy) {
+        this.notificationRepository = notificationRepository;
+        this.compactor = compactor;
+        this.policy = policy;
+    }
+
+    public RetentionPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Apply the policy once and reclaim the space it freed.
+     * @return Rows purged and pages reclaimed
+     */
+    public synchronized RetentionReport run() {
+        long start = System.nanoTime();
+        Counter counter = new Counter();
+
+        long readPurged = 0;
+        if (policy.readMaxAgeDays() > 0) {
+            readPurged = counter.drain(limit ->
+                notificationRepository.deleteReadOlderThan(policy.readMaxAgeDays(), limit));
+        }
+
+        long overCapPurged = 0;
+        if (policy.inboxCap() > 0) {
+            List<String> receiverIds = notificationRepository.findReceiversOverCap(policy.inboxCap());
+            for (String receiverId : receiverIds) {
+                if (closed) {
+                    break;
+                }
+                overCapPurged += counter.drain(limit ->
+                    notificationRepository.deleteOverCap(receiverId, policy.inboxCap(), limit));
+            }
+        }
+
+        int pagesReclaimed = 0;
+        int freePages = 0;
+        boolean incremental = false;
+        try {
+            incremental = compactor.isIncrementalVacuumEnabled();
+            if (incremental && !closed) {
+                pagesReclaimed = compactor.incrementalVacuum(policy.vacuumPagesPerStep());
+            }
+            freePages = compactor.freePages();
+        } catch (SQLException e) {
+            System.err.println("Error compacting database: " + e.getMessage());
+        }
+
+        return new RetentionReport(readPurged, overCapPurged, counter.batches, counter.maxBatchNanos,
+            pagesReclaimed, freePages, incremental, System.nanoTime() - start);
+    }
+
+    /**
+     * Start a run on a virtual thread. Errors are reported by the repository and
+     * compactor; the report itself is discarded.
+     */
+    public synchronized void runInBackground() {
+        if (closed || (background != null && background.isAlive())) {
+            return;
+        }
+        background = Thread.ofVirtual().name("notification-retention").start(this::run);
+    }
+
+    /**
+     * Switch an older database to incremental vacuum with a one-time full VACUUM.
+     * Holds the writer for the whole rewrite.
+     * @return true if the mode was changed, false if it was already on or the VACUUM failed
+     */
+    public boolean enableIncrementalVacuum() {
+        try {
+            return compactor.enableIncrementalVacuum();
+        } catch (SQLException e) {
+            System.err.println("Error enabling incremental vacuum: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stop a background run after its current batch and wait for it to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Thread running;
+        synchronized (this) {
+            running = background;
+        }
+        if (running == null) {
+            return;
+        }
+        try {
+            running.join(Duration.ofMillis(NotificationDispatcher.DEFAULT_CLOSE_TIMEOUT_MILLIS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Repeats a batched delete until a batch comes back short, timing each one
+    private final class Counter {
+        private int batches;
+        private long maxBatchNanos;
+
+        long drain(IntUnaryOperator deleteBatch) {
+            long purged = 0;
+            while (!closed) {
+                long start = System.nanoTime();
+                int deleted = deleteBatch.applyAsInt(policy.batchSize());
+                maxBatchNanos = Math.max(maxBatchNanos, System.nanoTime() - start);
+                batches++;
+                purged += deleted;
+                if (deleted < policy.batchSize()) {
+                    break;
+                }
+            }
+            return purged;
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package com.junaidsultan.service;
 
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.DatabaseCompactor;
+import com.junaidsultan.config.TransactionManager;
+import com.junaidsultan.entity.Broadcast;
 import com.junaidsultan.entity.Notification;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.repository.BroadcastRepository;
+import com.junaidsultan.repository.IBroadcastRepository;
 import com.junaidsultan.repository.INotificationRepository;
 import com.junaidsultan.repository.NotificationRepository;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,48 +23,74 @@ import java.util.Optional;
  */
 public class NotificationService implements INotificationService {
     
+    // Newest first; direct and broadcast lists are each sorted, merged here
+    private static final Comparator<Notification> NEWEST_FIRST = Comparator.comparing(
+        Notification::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+    
     private final INotificationRepository notificationRepository;
+    private final IBroadcastRepository broadcastRepository;
+    private final TransactionManager transactionManager;
+    private final NotificationDispatcher dispatcher;
+    private final NotificationRetention retention;
     
     public NotificationService() {
         this.notificationRepository = new NotificationRepository();
+        this.broadcastRepository = new BroadcastRepository();
+        this.transactionManager = DBConnection.getInstance().getTransactionManager();
+        this.dispatcher = new NotificationDispatcher(notificationRepository);
+        this.retention = new NotificationRetention(notificationRepository,
+            new DatabaseCompactor(DBConnection.getInstance().getPool()), RetentionPolicy.fromSystemProperties());
     }
     
     // Constructor for dependency injection
-    public NotificationService(INotificationRepository notificationRepository) {
+    public NotificationService(INotificationRepository notificationRepository,
+                               IBroadcastRepository broadcastRepository,
+                               TransactionManager transactionManager,
+                               NotificationDispatcher dispatcher,
+                               NotificationRetention retention) {
         this.notificationRepository = notificationRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.transactionManager = transactionManager;
+        this.dispatcher = dispatcher;
+        this.retention = retention;
     }
     
     @Override
     public Notification sendNotification(String receiverId, String title, String message, String createdBy) {
         Notification notification = new Notification(receiverId, title, message, createdBy);
-        return notificationRepository.save(notification);
+        return dispatcher.enqueue(notification) ? notification : null;
     }
     
     @Override
     public int sendBulkNotification(List<String> receiverIds, String title, String message, String createdBy) {
-        int count = 0;
+        List<Notification> notifications = new ArrayList<>(receiverIds.size());
         for (String receiverId : receiverIds) {
-            Notification notification = sendNotification(receiverId, title, message, createdBy);
-            if (notification != null) {
-                count++;
-            }
+            notifications.add(new Notification(receiverId, title, message, createdBy));
         }
-        return count;
+        return dispatcher.enqueueAll(notifications);
+    }
+    
+    @Override
+    public Broadcast sendBroadcast(Role targetRole, String title, String message, String createdBy) {
+        Broadcast broadcast = new Broadcast(targetRole, title, message, createdBy);
+        return broadcastRepository.save(broadcast);
     }
     
     @Override
     public List<Notification> getNotifications(String userId) {
-        return notificationRepository.findByReceiverId(userId);
+        return merge(notificationRepository.findByReceiverId(userId), broadcastRepository.findVisibleTo(userId));
     }
     
     @Override
     public List<Notification> getUnreadNotifications(String userId) {
-        return notificationRepository.findUnreadByReceiverId(userId);
+        return merge(notificationRepository.findUnreadByReceiverId(userId),
+            broadcastRepository.findUnreadVisibleTo(userId));
     }
     
     @Override
     public int getUnreadCount(String userId) {
-        return notificationRepository.countUnreadByReceiverId(userId);
+        return notificationRepository.countUnreadByReceiverId(userId)
+            + broadcastRepository.countUnreadVisibleTo(userId);
     }
     
     @Override
@@ -62,9 +98,29 @@ public class NotificationService implements INotificationService {
         return notificationRepository.markAsRead(notificationId);
     }
     
+    @Override
+    public boolean markAsRead(Notification notification) {
+        if (notification.isBroadcast()) {
+            return broadcastRepository.markAsRead(notification.getId(), notification.getReceiverId());
+        }
+        return notificationRepository.markAsRead(notification.getId());
+    }
+    
+    @Override
+    public int rebuildUnreadCounters() {
+        return notificationRepository.rebuildUnreadCounters();
+    }
+    
     @Override
     public int markAllAsRead(String userId) {
-        return notificationRepository.markAllAsRead(userId);
+        try {
+            // Direct and broadcast notifications flip together
+            return transactionManager.inTransaction(tx ->
+                notificationRepository.markAllAsRead(userId) + broadcastRepository.markAllAsRead(userId));
+        } catch (SQLException e) {
+            System.err.println("Error marking notifications as read: " + e.getMessage());
+            return 0;
+        }
     }
     
     @Override
@@ -74,11 +130,65 @@ public class NotificationService implements INotificationService {
     
     @Override
     public int deleteAllNotifications(String userId) {
-        return notificationRepository.deleteAllByReceiverId(userId);
+        try {
+            return transactionManager.inTransaction(tx ->
+                notificationRepository.deleteAllByReceiverId(userId) + broadcastRepository.dismissAll(userId));
+        } catch (SQLException e) {
+            System.err.println("Error deleting notifications: " + e.getMessage());
+            return 0;
+        }
     }
     
     @Override
     public Optional<Notification> findById(String notificationId) {
         return notificationRepository.findById(notificationId);
     }
+    
+    @Override
+    public boolean flushNotifications(long timeoutMillis) {
+        return dispatcher.flush(timeoutMillis);
+    }
+    
+    @Override
+    public DeliveryStats getDeliveryStats() {
+        return dispatcher.getStats();
+    }
+    
+    @Override
+    public RetentionReport purgeNotifications() {
+        return retention.run();
+    }
+    
+    @Override
+    public void purgeNotificationsInBackground() {
+        retention.runInBackground();
+    }
+    
+    @Override
+    public RetentionPolicy getRetentionPolicy() {
+        return retention.getPolicy();
+    }
+    
+    @Override
+    public boolean enableIncrementalVacuum() {
+        return retention.enableIncrementalVacuum();
+    }
+    
+    @Override
+    public void shutdown() {
+        // A background purge stops after its current batch
+        retention.close();
+        dispatcher.close();
+    }
+    
+    private List<Notification> merge(List<Notification> direct, List<Notification> broadcasts) {
+        if (broadcasts.isEmpty()) {
+            return direct;
+        }
+        List<Notification> merged = new ArrayList<>(direct.size() + broadcasts.size());
+        merged.addAll(direct);
+        merged.addAll(broadcasts);
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
 }
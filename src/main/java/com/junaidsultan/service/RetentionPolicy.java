@@ -0,0 +1,57 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.DatabaseCompactor;
+import com.junaidsultan.config.SystemProperties;
+
+/**
+ * Rules {@link NotificationRetention} applies to direct notifications.
+ *
+ * The rules are read at startup from {@value #READ_DAYS_PROPERTY} and
+ * {@value #INBOX_CAP_PROPERTY}; a value of 0 turns a rule off. The inbox cap is
+ * off unless set, as it deletes unread notifications too.
+ *
+ * @param readMaxAgeDays     read notifications older than this are deleted (0 = keep)
+ * @param inboxCap           newest notifications each user keeps, read or not (0 = no cap)
+ * @param batchSize          most rows deleted per write
+ * @param vacuumPagesPerStep most pages reclaimed per write during incremental vacuum
+ */
+public record RetentionPolicy(int readMaxAgeDays, int inboxCap, int batchSize, int vacuumPagesPerStep) {
+
+    public static final String READ_DAYS_PROPERTY = "tms.retention.readDays";
+    public static final String INBOX_CAP_PROPERTY = "tms.retention.inboxCap";
+
+    public static final int DEFAULT_READ_MAX_AGE_DAYS = 90;
+    public static final int DEFAULT_INBOX_CAP = 0;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    public RetentionPolicy {
+        if (readMaxAgeDays < 0 || inboxCap < 0) {
+            throw new IllegalArgumentException("Retention limits must not be negative");
+        }
+        if (batchSize < 1 || vacuumPagesPerStep < 1) {
+            throw new IllegalArgumentException("Batch size and pages per step must be at least 1");
+        }
+    }
+
+    public static RetentionPolicy defaults() {
+        return new RetentionPolicy(DEFAULT_READ_MAX_AGE_DAYS, DEFAULT_INBOX_CAP,
+            DEFAULT_BATCH_SIZE, DatabaseCompactor.DEFAULT_PAGES_PER_STEP);
+    }
+
+    /**
+     * Build the policy from system properties, using the defaults for missing or invalid values.
+     */
+    public static RetentionPolicy fromSystemProperties() {
+        return new RetentionPolicy(
+            SystemProperties.nonNegativeInt(READ_DAYS_PROPERTY, DEFAULT_READ_MAX_AGE_DAYS),
+            SystemProperties.nonNegativeInt(INBOX_CAP_PROPERTY, DEFAULT_INBOX_CAP),
+            DEFAULT_BATCH_SIZE, DatabaseCompactor.DEFAULT_PAGES_PER_STEP);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("read notifications kept %s, inbox cap %s",
+            readMaxAgeDays == 0 ? "forever" : readMaxAgeDays + " days",
+            inboxCap == 0 ? "none" : String.valueOf(inboxCap));
+    }
+}
@@ -0,0 +1,37 @@
+package com.junaidsultan.service;
+
+/**
+ * Outcome of one {@link NotificationRetention} run.
+ *
+ * @param readPurged         read notifications deleted for being older than the age limit
+ * @param overCapPurged      notifications deleted from inboxes over the cap
+ * @param batches            delete statements executed
+ * @param maxBatchNanos      longest single delete, i.e. the longest the writer was held
+ * @param pagesReclaimed     pages truncated off the file by incremental vacuum
+ * @param freePages          pages still on the free list afterwards
+ * @param incrementalVacuum  false if the database still needs a one-time VACUUM to reclaim space
+ * @param elapsedNanos       wall time of the whole run
+ */
+public record RetentionReport(long readPurged, long overCapPurged, int batches, long maxBatchNanos,
+                              int pagesReclaimed, int freePages, boolean incrementalVacuum, long elapsedNanos) {
+
+    public long totalPurged() {
+        return readPurged + overCapPurged;
+    }
+
+    public double maxBatchMillis() {
+        return maxBatchNanos / 1_000_000.0;
+    }
+
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("purged %d notifications (%d read, %d over cap) in %d batches "
+                + "(longest %.2f ms), reclaimed %d pages, %d free%s, took %.0f ms",
+            totalPurged(), readPurged, overCapPurged, batches, maxBatchMillis(), pagesReclaimed,
+            freePages, incrementalVacuum ? "" : " (incremental vacuum off)", elapsedMillis());
+    }
+}
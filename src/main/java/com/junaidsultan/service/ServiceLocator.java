@@ -1,5 +1,8 @@
 package com.junaidsultan.service;
 
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.TransactionManager;
+
 /**
  * Service Locator Pattern implementation.
  * Provides centralized access to all services.
@@ -18,12 +21,16 @@ public class ServiceLocator {
     private IUserService userService;
     private ITicketService ticketService;
     private INotificationService notificationService;
+    private IExportService exportService;
+    private IBackupService backupService;
     
     private ServiceLocator() {
         // Initialize with default implementations
         this.userService = new UserService();
         this.ticketService = new TicketService();
         this.notificationService = new NotificationService();
+        this.exportService = new ExportService();
+        this.backupService = new BackupService();
     }
     
     public static ServiceLocator getInstance() {
@@ -50,6 +57,21 @@ public class ServiceLocator {
         return notificationService;
     }
     
+    public IExportService getExportService() {
+        return exportService;
+    }
+    
+    public IBackupService getBackupService() {
+        return backupService;
+    }
+    
+    /**
+     * Unit-of-work API for callers that combine several service calls into one commit.
+     */
+    public TransactionManager getTransactionManager() {
+        return DBConnection.getInstance().getTransactionManager();
+    }
+    
     // Setters for testing or swapping implementations
     public void setUserService(IUserService userService) {
         this.userService = userService;
@@ -63,6 +85,14 @@ public class ServiceLocator {
         this.notificationService = notificationService;
     }
     
+    public void setExportService(IExportService exportService) {
+        this.exportService = exportService;
+    }
+    
+    public void setBackupService(IBackupService backupService) {
+        this.backupService = backupService;
+    }
+    
     /**
      * Reset the service locator (useful for testing).
      */
@@ -0,0 +1,208 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.TransactionManager;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.repository.BatchResult;
+import com.junaidsultan.repository.IUserRepository;
+import com.junaidsultan.repository.UserConflicts;
+import com.junaidsultan.repository.UserRepository;
+import com.junaidsultan.util.PasswordUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Registers student accounts in bulk from a roster file: CSV or JSON Lines,
+ * optionally gzipped, with the columns username, email, name and password.
+ *
+ * Rows are handled in batches. A batch's passwords are hashed in parallel on the
+ * common fork-join pool before the write lock is taken. Then, in one transaction,
+ * the whole batch is checked against the registered usernames and emails with a
+ * single query and inserted with a single statement. A row whose username or email
+ * is taken, or repeats an earlier row of the roster, is reported with its row
+ * number and skipped, so importing the same roster twice registers nobody twice.
+ *
+ * Callers that cache users must drop their cache afterwards.
+ */
+public class StudentImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final IUserRepository userRepository;
+    private final TransactionManager transactions;
+
+    public StudentImporter() {
+        this(new UserRepository(), DBConnection.getInstance().getTransactionManager());
+    }
+
+    // Constructor for dependency injection (e.g. a repository on a test database)
+    public StudentImporter(IUserRepository userRepository, TransactionManager transactions) {
+        this.userRepository = userRepository;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Register every valid, new student in a roster.
+     * @param roster .csv or .jsonl file, optionally gzipped (.gz)
+     * @param batchSize Rows per transaction
+     * @param progress Called after each batch commits with the number of rows read so far
+     * @return Who was registered and who was rejected
+     */
+    public ImportReport run(Path roster, int batchSize, LongConsumer progress) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        long start = System.nanoTime();
+        long rowsRead = 0;
+        long imported = 0;
+        List<ImportError> errors = new ArrayList<>();
+        long failed = 0;
+        long committedRows = 0;
+        String failure = null;
+
+        // First row of the roster for each username and email, to reject repeats
+        Map<String, Long> usernameRows = new HashMap<>();
+        Map<String, Long> emailRows = new HashMap<>();
+
+        try (ImportReader reader = ImportReader.open(roster)) {
+            boolean more = true;
+            while (more) {
+                List<Student> batch = new ArrayList<>(batchSize);
+                List<ImportError> rejected = new ArrayList<>();
+                while (batch.size() + rejected.size() < batchSize) {
+                    Map<String, String> record;
+                    try {
+                        record = reader.next();
+                    } catch (IllegalArgumentException e) {
+                        rejected.add(new ImportError(++rowsRead, e.getMessage()));
+                        continue;
+                    }
+                    if (record == null) {
+                        more = false;
+                        break;
+                    }
+                    long row = ++rowsRead;
+                    try {
+                        batch.add(validate(row, record, usernameRows, emailRows));
+                    } catch (IllegalArgumentException e) {
+                        rejected.add(new ImportError(row, e.getMessage()));
+                    }
+                }
+                if (batch.isEmpty() && rejected.isEmpty()) {
+                    break;
+                }
+
+                Batch written = write(batch, rejected);
+                imported += written.stored();
+                failed += written.errors().size();
+                for (ImportError error : written.errors()) {
+                    if (errors.size() < ImportReport.MAX_ERRORS) {
+                        errors.add(error);
+                    }
+                }
+                committedRows = rowsRead;
+                progress.accept(rowsRead);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // IllegalArgumentException here comes from open(): not a roster file
+            failure = "Cannot read " + roster + ": " + e.getMessage();
+        } catch (SQLException e) {
+            failure = "Batch after row " + committedRows + " was not saved: " + e.getMessage();
+        }
+
+        return new ImportReport(roster, 0, rowsRead, imported, failed, errors, System.nanoTime() - start, failure);
+    }
+
+    // Hash outside the transaction, then check and insert the batch in one
+    private Batch write(List<Student> batch, List<ImportError> rejected) throws SQLException {
+        // SHA-256 is CPU-bound, so the fork-join pool (one thread per core) suits it
+        List<User> users = batch.parallelStream()
+            .map(s -> new User(s.username(), s.email(), s.name(), PasswordUtil.hashPassword(s.password()), Role.STUDENT))
+            .toList();
+
+        return transactions.inTransaction(tx -> {
+            List<ImportError> errors = new ArrayList<>(rejected);
+            UserConflicts conflicts = userRepository.findConflicts(
+                users.stream().map(User::getUsername).toList(), users.stream().map(User::getEmail).toList());
+            List<User> fresh = new ArrayList<>(users.size());
+            List<Long> freshRows = new ArrayList<>(users.size());
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                long row = batch.get(i).row();
+                if (conflicts.usernames().contains(user.getUsername())) {
+                    errors.add(new ImportError(row, "Username '" + user.getUsername() + "' is already taken"));
+                } else if (conflicts.emails().contains(user.getEmail())) {
+                    errors.add(new ImportError(row, "Email '" + user.getEmail() + "' is already registered"));
+                } else {
+                    fresh.add(user);
+                    freshRows.add(row);
+                }
+            }
+
+            List<BatchResult> results = userRepository.saveAll(fresh, Math.max(fresh.size(), 1));
+            if (!results.isEmpty() && !results.get(0).succeeded()) {
+                // Retry one row per savepoint so only the rows at fault are rejected
+                results = userRepository.saveAll(fresh, 1);
+                for (int i = 0; i < results.size(); i++) {
+                    if (!results.get(i).succeeded()) {
+                        errors.add(new ImportError(freshRows.get(i), results.get(i).error()));
+                    }
+                }
+            }
+            errors.sort(Comparator.comparingLong(ImportError::row));
+            return new Batch(BatchResult.totalWritten(results), errors);
+        });
+    }
+
+    /**
+     * Check one roster row. Usernames and emails are compared exactly, as the
+     * unique indexes compare them.
+     * @throws IllegalArgumentException with a message for the user if the row is invalid
+     */
+    private static Student validate(long row, Map<String, String> record,
+                                    Map<String, Long> usernameRows, Map<String, Long> emailRows) {
+        String username = required(record, "username");
+        String email = required(record, "email");
+        String name = required(record, "name");
+        String password = record.get("password");
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Missing password");
+        }
+        if (email.indexOf('@') < 1) {
+            throw new IllegalArgumentException("Invalid email '" + email + "'");
+        }
+        Long earlier = usernameRows.putIfAbsent(username, row);
+        if (earlier != null) {
+            throw new IllegalArgumentException("Username '" + username + "' repeats row " + earlier);
+        }
+        earlier = emailRows.putIfAbsent(email, row);
+        if (earlier != null) {
+            usernameRows.remove(username);
+            throw new IllegalArgumentException("Email '" + email + "' repeats row " + earlier);
+        }
+        return new Student(row, username, email, name, password);
+    }
+
+    private static String required(Map<String, String> record, String column) {
+        String value = record.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value.trim();
+    }
+
+    private record Student(long row, String username, String email, String name, String password) {
+    }
+
+    private record Batch(int stored, List<ImportError> errors) {
+    }
+}
@@ -0,0 +1,413 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.TransactionManager;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.BatchResult;
+import com.junaidsultan.repository.IImportCheckpointRepository;
+import com.junaidsultan.repository.ITicketRepository;
+import com.junaidsultan.repository.IUserRepository;
+import com.junaidsultan.repository.ImportCheckpoint;
+import com.junaidsultan.repository.ImportCheckpointRepository;
+import com.junaidsultan.repository.TicketRepository;
+import com.junaidsultan.repository.UserRepository;
+import com.junaidsultan.util.IdUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.LongConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * Loads tickets from a CSV or JSON Lines file, e.g. one written by an export.
+ *
+ * A virtual thread parses and validates rows while the caller's thread writes the
+ * previous batch, with a bounded queue between them so memory stays flat however
+ * large the file is. Each batch is one transaction: its tickets go in through
+ * {@link ITicketRepository#saveAll} together with a checkpoint of how far into the
+ * file the import has got. A rejected row is reported with its row number and
+ * does not stop the import; if the batch insert fails, the batch is retried row
+ * by row to find the rows at fault.
+ *
+ * If a run stops early (a crash, an unreadable file, a failed commit), running it
+ * again on the same file resumes after the last committed batch. Columns: title
+ * and created_by are required; id, description, priority, status, category,
+ * assigned_to and created_at are optional; others are ignored. created_by and
+ * assigned_to may hold user IDs or usernames.
+ */
+public class TicketImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    // Resolved user references kept between batches
+    private static final int MAX_CACHED_USERS = 50_000;
+
+    private static final DateTimeFormatter SQLITE_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern OFFSET_SUFFIX = Pattern.compile("[+-]\\d\\d:\\d\\d$");
+
+    private final ITicketRepository ticketRepository;
+    private final IUserRepository userRepository;
+    private final IImportCheckpointRepository checkpointRepository;
+    private final TransactionManager transactions;
+    private final Map<String, String> userIdCache = new HashMap<>();
+
+    public TicketImporter() {
+        this(new TicketRepository(), new UserRepository(), new ImportCheckpointRepository(),
+            DBConnection.getInstance().getTransactionManager());
+    }
+
+    // Constructor for dependency injection (e.g. repositories on a test database)
+    public TicketImporter(ITicketRepository ticketRepository, IUserRepository userRepository,
+                          IImportCheckpointRepository checkpointRepository, TransactionManager transactions) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Import a file, resuming after the last committed batch of an earlier run.
+     * @param file .csv or .jsonl file, optionally gzipped (.gz)
+     * @param batchSize Rows per transaction
+     * @param resume false to forget an earlier run and start from the first row
+     * @param progress Called after each batch commits with the number of data rows committed so far,
+     *                 counting those of earlier runs
+     * @return What was imported and rejected
+     */
+    public synchronized ImportReport run(Path file, int batchSize, boolean resume, LongConsumer progress) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        userIdCache.clear(); // users may have changed since the last run
+        long start = System.nanoTime();
+        String source = file.toAbsolutePath().normalize().toString();
+        if (!resume) {
+            checkpointRepository.delete(source);
+        }
+        ImportCheckpoint first = checkpointRepository.find(source).orElse(ImportCheckpoint.start(source));
+
+        ImportReader reader;
+        try {
+            reader = ImportReader.open(file);
+        } catch (IOException | IllegalArgumentException e) {
+            return new ImportReport(file, first.rowsRead(), 0, 0, 0, List.of(), System.nanoTime() - start,
+                "Cannot read " + file + ": " + e.getMessage());
+        }
+
+        Run run = new Run(reader, first.rowsRead(), batchSize);
+        Thread parser = Thread.ofVirtual().name("ticket-import-reader").start(run::read);
+        ImportCheckpoint checkpoint = first;
+        List<ImportError> errors = new ArrayList<>();
+        String failure = null;
+        try {
+            boolean more = true;
+            while (more) {
+                List<Row> rows = new ArrayList<>(batchSize);
+                more = run.fill(rows);
+                if (rows.isEmpty()) {
+                    continue;
+                }
+                Batch batch = write(rows, checkpoint);
+                checkpoint = batch.checkpoint();
+                for (ImportError error : batch.errors()) {
+                    if (errors.size() < ImportReport.MAX_ERRORS) {
+                        errors.add(error);
+                    }
+                }
+                progress.accept(checkpoint.rowsRead());
+            }
+            failure = run.failure;
+        } catch (SQLException e) {
+            failure = "Batch after row " + checkpoint.rowsRead() + " was not saved: " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "Interrupted";
+        } finally {
+            parser.interrupt();
+            try {
+                parser.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                reader.close();
+            } catch (IOException e) {
+                System.err.println("Error closing import file: " + e.getMessage());
+            }
+        }
+
+        return new ImportReport(file, first.rowsRead(), checkpoint.rowsRead() - first.rowsRead(),
+            checkpoint.imported() - first.imported(), checkpoint.failed() - first.failed(),
+            errors, System.nanoTime() - start, failure);
+    }
+
+    // Store one batch and advance the checkpoint past it, in one transaction
+    private Batch write(List<Row> rows, ImportCheckpoint checkpoint) throws SQLException {
+        List<ImportError> rejected = new ArrayList<>();
+        List<Ticket> drafts = new ArrayList<>(rows.size());
+        List<Long> draftRows = new ArrayList<>(rows.size());
+        Set<String> importedIds = new HashSet<>();
+        Map<String, String> userIds = resolveUsers(rows);
+        for (Row row : rows) {
+            if (row.error() != null) {
+                rejected.add(new ImportError(row.number(), row.error()));
+                continue;
+            }
+            Draft draft = row.draft();
+            String createdBy = userIds.get(draft.createdBy());
+            String assignedTo = draft.assignedTo() != null ? userIds.get(draft.assignedTo()) : null;
+            if (createdBy == null) {
+                rejected.add(new ImportError(row.number(), "Unknown user '" + draft.createdBy() + "' in created_by"));
+            } else if (draft.assignedTo() != null && assignedTo == null) {
+                rejected.add(new ImportError(row.number(), "Unknown user '" + draft.assignedTo() + "' in assigned_to"));
+            } else {
+                drafts.add(draft.toTicket(createdBy, assignedTo));
+                draftRows.add(row.number());
+                if (draft.id() != null) {
+                    importedIds.add(draft.id());
+                }
+            }
+        }
+
+        return transactions.inTransaction(tx -> {
+            List<ImportError> errors = new ArrayList<>(rejected);
+            // The primary key only covers active tickets, so an id held by the archive is checked here;
+            // inside the transaction, so no ticket can be archived under it before the insert
+            Set<String> archived = importedIds.isEmpty() ? Set.of() : ticketRepository.findArchivedIds(importedIds);
+            List<Ticket> tickets = new ArrayList<>(drafts.size());
+            List<Long> ticketRows = new ArrayList<>(drafts.size());
+            for (int i = 0; i < drafts.size(); i++) {
+                if (archived.contains(drafts.get(i).getId())) {
+                    errors.add(new ImportError(draftRows.get(i),
+                        "Ticket id '" + drafts.get(i).getId() + "' is taken by an archived ticket"));
+                } else {
+                    tickets.add(drafts.get(i));
+                    ticketRows.add(draftRows.get(i));
+                }
+            }
+            List<BatchResult> results = ticketRepository.saveAll(tickets, Math.max(tickets.size(), 1));
+            if (!results.isEmpty() && !results.get(0).succeeded()) {
+                // Retry one row per savepoint so only the rows at fault are rejected
+                results = ticketRepository.saveAll(tickets, 1);
+                for (int i = 0; i < results.size(); i++) {
+                    if (!results.get(i).succeeded()) {
+                        errors.add(new ImportError(ticketRows.get(i), results.get(i).error()));
+                    }
+                }
+            }
+            errors.sort(Comparator.comparingLong(ImportError::row));
+            int stored = BatchResult.totalWritten(results);
+            ImportCheckpoint next = checkpoint.advance(rows.size(), stored, rows.size() - stored);
+            if (!checkpointRepository.save(next)) {
+                throw new SQLException("Could not save the import checkpoint");
+            }
+            return new Batch(next, errors);
+        });
+    }
+
+    // One query per batch for the references not seen before; unknown ones map to null
+    private Map<String, String> resolveUsers(List<Row> rows) {
+        Set<String> missing = new HashSet<>();
+        for (Row row : rows) {
+            if (row.draft() == null) {
+                continue;
+            }
+            if (!userIdCache.containsKey(row.draft().createdBy())) {
+                missing.add(row.draft().createdBy());
+            }
+            if (row.draft().assignedTo() != null && !userIdCache.containsKey(row.draft().assignedTo())) {
+                missing.add(row.draft().assignedTo());
+            }
+        }
+        if (!missing.isEmpty()) {
+            if (userIdCache.size() + missing.size() > MAX_CACHED_USERS) {
+                userIdCache.clear();
+            }
+            Map<String, String> found = userRepository.findIdsByIdOrUsername(missing);
+            for (String reference : missing) {
+                userIdCache.put(reference, found.get(reference));
+            }
+        }
+        return userIdCache;
+    }
+
+    /**
+     * Check one record and normalize its values.
+     * @throws IllegalArgumentException with a message for the user if the record is invalid
+     */
+    static Draft validate(Map<String, String> record) {
+        String title = text(record, "title");
+        if (title == null) {
+            throw new IllegalArgumentException("Missing title");
+        }
+        String createdBy = text(record, "created_by");
+        if (createdBy == null) {
+            throw new IllegalArgumentException("Missing created_by");
+        }
+        String description = record.get("description");
+        return new Draft(
+            text(record, "id"),
+            title,
+            description != null ? description : "",
+            constant(Priority.class, text(record, "priority"), Priority.MEDIUM),
+            constant(Status.class, text(record, "status"), Status.OPEN),
+            text(record, "category"),
+            createdBy,
+            text(record, "assigned_to"),
+            createdAt(text(record, "created_at")));
+    }
+
+    // Trimmed value, with empty (how CSV writes null) read as absent
+    private static String text(Map<String, String> record, String column) {
+        String value = record.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String value, E fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName().toLowerCase(Locale.ROOT)
+                + " '" + value + "'");
+        }
+    }
+
+    // Accepts SQLite's "yyyy-MM-dd HH:mm:ss", ISO-8601 with or without an offset, or a bare date
+    private static String createdAt(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            LocalDateTime time;
+            if (value.length() == 10) {
+                time = LocalDate.parse(value).atStartOfDay();
+            } else if (value.endsWith("Z") || OFFSET_SUFFIX.matcher(value).find()) {
+                time = OffsetDateTime.parse(value.replace(' ', 'T')).toLocalDateTime();
+            } else {
+                time = LocalDateTime.parse(value.replace(' ', 'T'));
+            }
+            return time.format(SQLITE_DATETIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid created_at '" + value + "'");
+        }
+    }
+
+    /**
+     * A validated row whose user references are not yet resolved.
+     */
+    record Draft(String id, String title, String description, Priority priority, Status status,
+                 String category, String createdBy, String assignedTo, String createdAt) {
+
+        Ticket toTicket(String createdById, String assignedToId) {
+            return new Ticket(id != null ? id : IdUtil.newId(), title, description, priority.name(), status.name(),
+                category, createdById, assignedToId, createdAt);
+        }
+    }
+
+    // One data row as handed from the reader to the writer: a draft or the reason it was rejected
+    private record Row(long number, Draft draft, String error) {
+    }
+
+    private record Batch(ImportCheckpoint checkpoint, List<ImportError> errors) {
+    }
+
+    // Reader side of one run, and the queue it fills
+    private static final class Run {
+
+        private static final Row END = new Row(0, null, null);
+
+        private final ImportReader reader;
+        private final long skip;
+        private final int batchSize;
+        private final BlockingQueue<Row> queue;
+        private volatile String failure;
+
+        Run(ImportReader reader, long skip, int batchSize) {
+            this.reader = reader;
+            this.skip = skip;
+            this.batchSize = batchSize;
+            this.queue = new ArrayBlockingQueue<>(Math.min(batchSize, DEFAULT_BATCH_SIZE) * 4);
+        }
+
+        void read() {
+            try {
+                long number = 0;
+                while (true) {
+                    Map<String, String> record;
+                    String error = null;
+                    try {
+                        record = reader.next();
+                        if (record == null) {
+                            break;
+                        }
+                    } catch (IllegalArgumentException e) {
+                        record = null;
+                        error = e.getMessage();
+                    }
+                    if (++number <= skip) {
+                        continue;
+                    }
+                    if (record == null) {
+                        queue.put(new Row(number, null, error));
+                        continue;
+                    }
+                    try {
+                        queue.put(new Row(number, validate(record), null));
+                    } catch (IllegalArgumentException e) {
+                        queue.put(new Row(number, null, e.getMessage()));
+                    }
+                }
+            } catch (IOException e) {
+                failure = "Error reading file: " + e.getMessage();
+            } catch (InterruptedException e) {
+                return; // the writer stopped
+            }
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                // the writer stopped
+            }
+        }
+
+        /**
+         * Take rows until the batch is full or the file ends.
+         * @return false if the file has ended
+         */
+        boolean fill(List<Row> rows) throws InterruptedException {
+            while (rows.size() < batchSize) {
+                rows.add(queue.take());
+                queue.drainTo(rows, batchSize - rows.size());
+                // END is the last row ever queued, so it can only be the last one taken
+                if (rows.getLast() == END) {
+                    rows.removeLast();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
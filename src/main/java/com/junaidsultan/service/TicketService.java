@@ -1,13 +1,27 @@
 package com.junaidsultan.service;
 
+import com.junaidsultan.config.SystemProperties;
 import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDashboard;
+import com.junaidsultan.entity.TicketDetails;
+import com.junaidsultan.entity.TicketSearchHit;
+import com.junaidsultan.entity.TicketSummary;
 import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
 import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.TicketCriteria;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.repository.paging.SearchPage;
+import com.junaidsultan.repository.paging.Slice;
 import com.junaidsultan.repository.ITicketRepository;
+import com.junaidsultan.repository.ITicketRollupRepository;
 import com.junaidsultan.repository.TicketRepository;
+import com.junaidsultan.repository.TicketRollupRepository;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 
 /**
  * Implementation of ITicketService.
@@ -16,14 +30,30 @@ import java.util.Optional;
 public class TicketService implements ITicketService {
     
     private final ITicketRepository ticketRepository;
+    private final ITicketRollupRepository rollupRepository;
+    private final TicketImporter importer;
+    private final int archiveAfterDays;
     
     public TicketService() {
         this.ticketRepository = new TicketRepository();
+        this.rollupRepository = new TicketRollupRepository();
+        this.importer = new TicketImporter();
+        this.archiveAfterDays = SystemProperties.nonNegativeInt(ARCHIVE_AFTER_DAYS_PROPERTY, DEFAULT_ARCHIVE_AFTER_DAYS);
     }
     
     // Constructor for dependency injection
-    public TicketService(ITicketRepository ticketRepository) {
+    public TicketService(ITicketRepository ticketRepository, ITicketRollupRepository rollupRepository,
+                         TicketImporter importer) {
+        this(ticketRepository, rollupRepository, importer, DEFAULT_ARCHIVE_AFTER_DAYS);
+    }
+    
+    // Constructor for dependency injection
+    public TicketService(ITicketRepository ticketRepository, ITicketRollupRepository rollupRepository,
+                         TicketImporter importer, int archiveAfterDays) {
         this.ticketRepository = ticketRepository;
+        this.rollupRepository = rollupRepository;
+        this.importer = importer;
+        this.archiveAfterDays = archiveAfterDays;
     }
     
     @Override
@@ -37,6 +67,11 @@ public class TicketService implements ITicketService {
         return ticketRepository.findById(ticketId);
     }
     
+    @Override
+    public Optional<TicketDetails> getTicketDetails(String ticketId) {
+        return ticketRepository.findDetailsById(ticketId);
+    }
+    
     @Override
     public List<Ticket> getAllTickets() {
         return ticketRepository.findAll();
@@ -121,4 +156,65 @@ public class TicketService implements ITicketService {
     public List<Ticket> getTicketsByStatus(Status status) {
         return ticketRepository.findByStatus(status);
     }
+    
+    @Override
+    public Slice<Ticket> getTicketPage(TicketCriteria criteria, PageRequest page) {
+        return ticketRepository.findPage(criteria, page);
+    }
+    
+    @Override
+    public Slice<TicketSummary> getTicketSummaryPage(TicketCriteria criteria, PageRequest page) {
+        return ticketRepository.findSummaryPage(criteria, page);
+    }
+    
+    @Override
+    public TicketDashboard getDashboard(String userId, Role role) {
+        return switch (role) {
+            case ADMIN -> rollupRepository.findDashboard();
+            case STAFF -> rollupRepository.findDashboardForAssignee(userId);
+            case STUDENT -> rollupRepository.findDashboardForCreator(userId);
+        };
+    }
+    
+    @Override
+    public int rebuildDashboardRollups() {
+        return rollupRepository.rebuild();
+    }
+    
+    @Override
+    public SearchPage<TicketSearchHit> search(String query, TicketCriteria filters, int page) {
+        return ticketRepository.search(query, filters, page, SEARCH_PAGE_SIZE);
+    }
+    
+    @Override
+    public int rebuildSearchIndex() {
+        return ticketRepository.rebuildSearchIndex();
+    }
+    
+    @Override
+    public int archiveClosedTickets() {
+        int batchSize = ITicketRepository.DEFAULT_ARCHIVE_BATCH_SIZE;
+        int total = 0;
+        int moved;
+        do {
+            moved = ticketRepository.archiveClosedBefore(archiveAfterDays, batchSize);
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+    
+    @Override
+    public int getArchiveAfterDays() {
+        return archiveAfterDays;
+    }
+    
+    @Override
+    public boolean restoreArchivedTicket(String ticketId) {
+        return ticketRepository.restoreFromArchive(ticketId);
+    }
+    
+    @Override
+    public ImportReport importTickets(Path file, int batchSize, boolean resume, LongConsumer progress) {
+        return importer.run(file, batchSize, resume, progress);
+    }
 }
@@ -0,0 +1,201 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Role;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of users for {@link UserService}: a bounded LRU map by id,
+ * a username index over it, and the full user list of each role.
+ *
+ * Users change rarely but are looked up on almost every page, so entries live
+ * until evicted or invalidated by a write through the service. User is immutable,
+ * so cached instances are shared with callers as they are. A generation
+ * counter, bumped on every invalidation, stops a lookup that raced with a write
+ * from caching what it read before the write.
+ */
+public class UserCache {
+
+    public static final int DEFAULT_CAPACITY = 1_000;
+
+    private final LinkedHashMap<String, User> byId;
+    private final Map<String, String> idByUsername = new HashMap<>();
+    private final Map<Role, List<User>> byRole = new EnumMap<>(Role.class);
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public UserCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public UserCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, User> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                idByUsername.remove(eldest.getValue().getUsername());
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Cached user by id, loading and caching it on a miss.
+     */
+    public Optional<User> getById(String userId, Supplier<Optional<User>> loader) {
+        long loadedAt;
+        synchronized (this) {
+            User user = byId.get(userId);
+            if (user != null) {
+                hits++;
+                return Optional.of(user);
+            }
+            misses++;
+            loadedAt = generation;
+        }
+        Optional<User> loaded = loader.get();
+        loaded.ifPresent(user -> putIfCurrent(user, loadedAt));
+        return loaded;
+    }
+
+    /**
+     * Cached users for many ids; the ids not cached are loaded with one loader call.
+     * @return The users found, keyed by id
+     */
+    public Map<String, User> getAllById(Collection<String> userIds,
+                                        Function<Collection<String>, Map<String, User>> loader) {
+        Map<String, User> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        long loadedAt;
+        synchronized (this) {
+            for (String userId : userIds) {
+                if (userId == null || found.containsKey(userId) || missing.contains(userId)) {
+                    continue;
+                }
+                User user = byId.get(userId);
+                if (user != null) {
+                    hits++;
+                    found.put(userId, user);
+                } else {
+                    misses++;
+                    missing.add(userId);
+                }
+            }
+            loadedAt = generation;
+        }
+        if (!missing.isEmpty()) {
+            Map<String, User> loaded = loader.apply(missing);
+            loaded.values().forEach(user -> putIfCurrent(user, loadedAt));
+            found.putAll(loaded);
+        }
+        return found;
+    }
+
+    /**
+     * Cached user by username, loading and caching it on a miss.
+     */
+    public Optional<User> getByUsername(String username, Supplier<Optional<User>> loader) {
+        long loadedAt;
+        synchronized (this) {
+            String userId = idByUsername.get(username);
+            User user = userId == null ? null : byId.get(userId);
+            if (user != null) {
+                hits++;
+                return Optional.of(user);
+            }
+            misses++;
+            loadedAt = generation;
+        }
+        Optional<User> loaded = loader.get();
+        loaded.ifPresent(user -> putIfCurrent(user, loadedAt));
+        return loaded;
+    }
+
+    /**
+     * Cached list of every user with this role, loading it on a miss.
+     * The list is unmodifiable; its users are also cached by id.
+     */
+    public List<User> getByRole(Role role, Supplier<List<User>> loader) {
+        long loadedAt;
+        synchronized (this) {
+            List<User> users = byRole.get(role);
+            if (users != null) {
+                hits++;
+                return users;
+            }
+            misses++;
+            loadedAt = generation;
+        }
+        List<User> loaded = List.copyOf(loader.get());
+        synchronized (this) {
+            if (generation == loadedAt) {
+                byRole.put(role, loaded);
+                loaded.forEach(this::put);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop one user and every role list, after that user was created, changed or deleted.
+     */
+    public synchronized void invalidate(String userId) {
+        User removed = byId.remove(userId);
+        if (removed != null) {
+            idByUsername.remove(removed.getUsername());
+        }
+        byRole.clear();
+        generation++;
+        invalidations++;
+    }
+
+    /**
+     * Drop everything, e.g. after users were written without going through the service.
+     */
+    public synchronized void invalidateAll() {
+        byId.clear();
+        idByUsername.clear();
+        byRole.clear();
+        generation++;
+        invalidations++;
+    }
+
+    public synchronized UserCacheStats getStats() {
+        return new UserCacheStats(hits, misses, evictions, invalidations, byId.size());
+    }
+
+    private synchronized void putIfCurrent(User user, long loadedAt) {
+        if (generation == loadedAt) {
+            put(user);
+        }
+    }
+
+    // Caller holds the lock
+    private void put(User user) {
+        User previous = byId.put(user.getId(), user);
+        if (previous != null && !previous.getUsername().equals(user.getUsername())) {
+            idByUsername.remove(previous.getUsername());
+        }
+        idByUsername.put(user.getUsername(), user.getId());
+    }
+}
@@ -0,0 +1,24 @@
+package com.junaidsultan.service;
+
+/**
+ * User cache counters since the cache was created.
+ *
+ * @param hits          lookups answered from the cache
+ * @param misses        lookups that went to the database
+ * @param evictions     users dropped to stay within the capacity
+ * @param invalidations writes that cleared cached entries
+ * @param size          users currently cached by id
+ */
+public record UserCacheStats(long hits, long misses, long evictions, long invalidations, int size) {
+
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("users hits=%d misses=%d evictions=%d invalidations=%d size=%d (hit rate %.1f%%)",
+            hits, misses, evictions, invalidations, size, hitRate() * 100);
+    }
+}
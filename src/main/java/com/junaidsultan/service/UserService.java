@@ -1,13 +1,20 @@
 package com.junaidsultan.service;
 
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.TransactionManager;
 import com.junaidsultan.entity.User;
 import com.junaidsultan.enums.Role;
 import com.junaidsultan.repository.IUserRepository;
 import com.junaidsultan.repository.UserRepository;
 import com.junaidsultan.util.PasswordUtil;
 
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 
 /**
  * Implementation of IUserService.
@@ -17,19 +24,29 @@ import java.util.Optional;
 public class UserService implements IUserService {
     
     private final IUserRepository userRepository;
+    private final TransactionManager transactionManager;
+    // Users are read on nearly every page and change rarely; every write below invalidates
+    private final UserCache userCache;
+    private final StudentImporter studentImporter;
     
     public UserService() {
         this.userRepository = new UserRepository();
+        this.transactionManager = DBConnection.getInstance().getTransactionManager();
+        this.userCache = new UserCache();
+        this.studentImporter = new StudentImporter(userRepository, transactionManager);
     }
     
     // Constructor for dependency injection (useful for testing)
-    public UserService(IUserRepository userRepository) {
+    public UserService(IUserRepository userRepository, TransactionManager transactionManager, UserCache userCache) {
         this.userRepository = userRepository;
+        this.transactionManager = transactionManager;
+        this.userCache = userCache;
+        this.studentImporter = new StudentImporter(userRepository, transactionManager);
     }
     
     @Override
     public Optional<User> login(String username, String password) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
+        Optional<User> userOpt = findByUsername(username);
         
         if (userOpt.isPresent()) {
             User user = userOpt.get();
@@ -43,40 +60,46 @@ public class UserService implements IUserService {
     
     @Override
     public User registerStudent(String username, String email, String name, String password) {
-        // Validation
-        if (!isUsernameAvailable(username)) {
-            System.out.println("Username already exists.");
-            return null;
-        }
-        if (!isEmailAvailable(email)) {
-            System.out.println("Email already exists.");
-            return null;
-        }
-        
-        // Create user with hashed password
-        String hashedPassword = PasswordUtil.hashPassword(password);
-        User user = new User(username, email, name, hashedPassword, Role.STUDENT);
-        
-        return userRepository.save(user);
+        return register(username, email, name, password, Role.STUDENT);
     }
     
     @Override
     public User registerStaff(String username, String email, String name, String password) {
-        // Validation
-        if (!isUsernameAvailable(username)) {
-            System.out.println("Username already exists.");
-            return null;
-        }
-        if (!isEmailAvailable(email)) {
-            System.out.println("Email already exists.");
-            return null;
-        }
-        
-        // Create staff user with hashed password
+        return register(username, email, name, password, Role.STAFF);
+    }
+    
+    private User register(String username, String email, String name, String password, Role role) {
+        // Hash before taking the write lock; it is slow and needs no database access
         String hashedPassword = PasswordUtil.hashPassword(password);
-        User user = new User(username, email, name, hashedPassword, Role.STAFF);
+        User user = new User(username, email, name, hashedPassword, role);
         
-        return userRepository.save(user);
+        try {
+            // Checks and insert commit together, so two registrations cannot both
+            // pass the availability check for the same username or email
+            User saved = transactionManager.inTransaction(tx -> {
+                if (!isUsernameAvailable(username)) {
+                    System.out.println("Username already exists.");
+                    return null;
+                }
+                if (!isEmailAvailable(email)) {
+                    System.out.println("Email already exists.");
+                    return null;
+                }
+                return userRepository.save(user);
+            });
+            userCache.invalidate(user.getId()); // the role list gained a member
+            return saved;
+        } catch (SQLException e) {
+            System.err.println("Error registering user: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    @Override
+    public ImportReport importStudents(Path roster, int batchSize, LongConsumer progress) {
+        ImportReport report = studentImporter.run(roster, batchSize, progress);
+        userCache.invalidateAll(); // written around the cache, and the student list gained members
+        return report;
     }
     
     @Override
@@ -92,7 +115,9 @@ public class UserService implements IUserService {
             }
             
             String hashedPassword = PasswordUtil.hashPassword(newPassword);
-            return userRepository.updatePassword(user.getId(), hashedPassword);
+            boolean updated = userRepository.updatePassword(user.getId(), hashedPassword);
+            userCache.invalidate(user.getId()); // login reads the hash from the cache
+            return updated;
         }
         
         System.out.println("User not found with this email.");
@@ -101,37 +126,46 @@ public class UserService implements IUserService {
     
     @Override
     public Optional<User> findById(String userId) {
-        return userRepository.findById(userId);
+        return userCache.getById(userId, () -> userRepository.findById(userId));
     }
     
     @Override
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userCache.getByUsername(username, () -> userRepository.findByUsername(username));
+    }
+    
+    @Override
+    public Map<String, User> findByIds(Collection<String> userIds) {
+        return userCache.getAllById(userIds, userRepository::findByIds);
     }
     
     @Override
     public List<User> findByRole(Role role) {
-        return userRepository.findByRole(role);
+        return userCache.getByRole(role, () -> userRepository.findByRole(role));
     }
     
     @Override
     public List<User> getAllStudents() {
-        return userRepository.findByRole(Role.STUDENT);
+        return findByRole(Role.STUDENT);
     }
     
     @Override
     public List<User> getAllStaff() {
-        return userRepository.findByRole(Role.STAFF);
+        return findByRole(Role.STAFF);
     }
     
     @Override
     public User updateUser(User user) {
-        return userRepository.update(user);
+        User updated = userRepository.update(user);
+        userCache.invalidate(user.getId());
+        return updated;
     }
     
     @Override
     public boolean deleteUser(String userId) {
-        return userRepository.deleteById(userId);
+        boolean deleted = userRepository.deleteById(userId);
+        userCache.invalidate(userId);
+        return deleted;
     }
     
     @Override
@@ -143,4 +177,9 @@ public class UserService implements IUserService {
     public boolean isEmailAvailable(String email) {
         return !userRepository.existsByEmail(email);
     }
+    
+    @Override
+    public UserCacheStats getCacheStats() {
+        return userCache.getStats();
+    }
 }
@@ -1,15 +1,19 @@
 package com.junaidsultan.ui.dashboards.admin;
 
+import com.junaidsultan.entity.TicketDashboard;
 import com.junaidsultan.service.INotificationService;
+import com.junaidsultan.service.ITicketService;
 import com.junaidsultan.service.ServiceLocator;
 import com.junaidsultan.ui.core.input.InputReader;
 import com.junaidsultan.ui.core.screen.Screen;
 import com.junaidsultan.ui.dashboards.auth.LoginPage;
 import com.junaidsultan.ui.dashboards.shared.CreateTicketPage;
 import com.junaidsultan.ui.dashboards.shared.NotificationsPage;
+import com.junaidsultan.ui.dashboards.shared.SearchTicketsPage;
 import com.junaidsultan.ui.dashboards.shared.ViewTicketsPage;
 import com.junaidsultan.ui.scene_manager.Page;
 import com.junaidsultan.ui.scene_manager.Session;
+import com.junaidsultan.ui.shared.DisplayHelper;
 
 /**
  * Admin Dashboard - Main menu for administrators.
@@ -18,15 +22,19 @@ import com.junaidsultan.ui.scene_manager.Session;
 public class AdminDashboardPage implements Page {
     
     private final INotificationService notificationService;
+    private final ITicketService ticketService;
     
     public AdminDashboardPage() {
         this.notificationService = ServiceLocator.getInstance().getNotificationService();
+        this.ticketService = ServiceLocator.getInstance().getTicketService();
     }
     
     @Override
     public Page show(Screen screen, InputReader input) {
         String userId = Session.getCurrentUser().getId();
         int unreadCount = notificationService.getUnreadCount(userId);
+        // Precomputed rollups: one small read however many tickets there are
+        TicketDashboard dashboard = ticketService.getDashboard(userId, Session.getCurrentUser().getRole());
         
         String notifBadge = unreadCount > 0 ? " (" + unreadCount + " new)" : "";
         
@@ -47,13 +55,17 @@ public class AdminDashboardPage implements Page {
             [8]  Register Student
             [9]  View/Manage Students
             [10] View/Manage Staff
+            [15] Import Students from Roster
             
             OTHER:
             [11] Send Notification
             [12] My Notifications%s
+            [13] Maintenance
+            [14] Search Tickets
             [0]  Logout
             """,
             Session.getCurrentUser().getName(),
+            DisplayHelper.formatTicketDashboard(dashboard),
             notifBadge
         );
         
@@ -73,6 +85,9 @@ public class AdminDashboardPage implements Page {
             case 10 -> new ManageUsersPage(ManageUsersPage.UserType.STAFF);
             case 11 -> new SendNotificationPage();
             case 12 -> new NotificationsPage();
+            case 13 -> new MaintenancePage();
+            case 14 -> new SearchTicketsPage();
+            case 15 -> new ImportStudentsPage();
             case 0 -> {
                 Session.logout();
                 System.out.println("\n[OK] Logged out successfully.");
@@ -0,0 +1,101 @@
+package com.junaidsultan.ui.dashboards.admin;
+
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.ExportCriteria;
+import com.junaidsultan.repository.ExportSource;
+import com.junaidsultan.service.ExportFormat;
+import com.junaidsultan.service.ExportReport;
+import com.junaidsultan.service.IExportService;
+import com.junaidsultan.service.ServiceLocator;
+import com.junaidsultan.ui.core.input.InputReader;
+import com.junaidsultan.ui.core.screen.Screen;
+import com.junaidsultan.ui.scene_manager.Page;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Admin page for exporting a table to a CSV or JSON Lines file.
+ * Blank answers keep the defaults: all columns, no filters, CSV, uncompressed.
+ */
+public class ExportPage implements Page {
+
+    private final IExportService exportService;
+
+    public ExportPage() {
+        this.exportService = ServiceLocator.getInstance().getExportService();
+    }
+
+    @Override
+    public Page show(Screen screen, InputReader input) {
+        String menu = """
+
+            1. Tickets
+            2. Users
+            3. Notifications
+            0. Back
+            """;
+
+        screen.refresh("EXPORT DATA", menu, "");
+        int choice = input.readInt("");
+
+        ExportSource source = switch (choice) {
+            case 1 -> ExportSource.TICKETS;
+            case 2 -> ExportSource.USERS;
+            case 3 -> ExportSource.NOTIFICATIONS;
+            default -> null;
+        };
+        if (choice == 0) {
+            return new MaintenancePage();
+        }
+        if (source == null) {
+            System.out.println("[!] Invalid option.");
+            input.pause();
+            return this;
+        }
+
+        try {
+            ExportCriteria criteria = readCriteria(source, input);
+            ExportFormat format = input.readString("Format, csv or jsonl (blank for csv):").equalsIgnoreCase("jsonl")
+                ? ExportFormat.JSONL : ExportFormat.CSV;
+            boolean gzip = input.readString("Compress with gzip? (yes/no):").equalsIgnoreCase("yes");
+            Path defaultTarget = exportService.defaultTarget(criteria, format, gzip);
+            String file = input.readString("File (blank for " + defaultTarget + "):");
+            Path target = file.isBlank() ? defaultTarget : Path.of(file.trim());
+
+            Optional<ExportReport> report = exportService.export(criteria, format, gzip, target,
+                rows -> System.out.println("  " + rows + " rows written..."));
+            if (report.isPresent()) {
+                System.out.println("\n[OK] " + report.get());
+            } else {
+                System.out.println("\n[X] Export failed.");
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.out.println("[X] " + e.getMessage());
+        }
+        input.pause();
+        return this;
+    }
+
+    private ExportCriteria readCriteria(ExportSource source, InputReader input) {
+        System.out.println("\nColumns: " + String.join(", ", source.columns()));
+        String columns = input.readString("Columns to export, comma separated (blank for all):");
+        ExportCriteria criteria = ExportCriteria.of(source);
+        if (!columns.isBlank()) {
+            criteria = criteria.withColumns(Arrays.stream(columns.split(",")).map(String::trim).toList());
+        }
+        if (source == ExportSource.TICKETS) {
+            String status = input.readString("Status, OPEN/RESOLVED/CLOSED/ON_HOLD (blank for any):");
+            if (!status.isBlank()) {
+                criteria = criteria.withStatus(Status.valueOf(status.trim().toUpperCase()));
+            }
+        }
+        String from = input.readString("Created from, yyyy-MM-dd (blank for no limit):");
+        String to = input.readString("Created to, yyyy-MM-dd (blank for no limit):");
+        return criteria.withCreatedBetween(from.isBlank() ? null : LocalDate.parse(from.trim()),
+            to.isBlank() ? null : LocalDate.parse(to.trim()));
+    }
+}
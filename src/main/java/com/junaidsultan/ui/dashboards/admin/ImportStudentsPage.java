@@ -0,0 +1,63 @@
+package com.junaidsultan.ui.dashboards.admin;
+
+import com.junaidsultan.service.IUserService;
+import com.junaidsultan.service.ImportReport;
+import com.junaidsultan.service.ServiceLocator;
+import com.junaidsultan.service.StudentImporter;
+import com.junaidsultan.ui.core.input.InputReader;
+import com.junaidsultan.ui.core.screen.Screen;
+import com.junaidsultan.ui.scene_manager.Page;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Admin page for registering a semester's students from a roster file
+ * instead of one at a time.
+ */
+public class ImportStudentsPage implements Page {
+    
+    // Rejected rows listed after an import
+    private static final int MAX_ERRORS_SHOWN = 20;
+    
+    private final IUserService userService;
+    
+    public ImportStudentsPage() {
+        this.userService = ServiceLocator.getInstance().getUserService();
+    }
+    
+    @Override
+    public Page show(Screen screen, InputReader input) {
+        String info = """
+            
+            Roster file: CSV with a header row, or JSON Lines, optionally gzipped (.gz),
+            with the columns username, email, name and password.
+            Students whose username or email is already registered are skipped.
+            
+            Enter '0' to cancel.
+            """;
+        
+        screen.refresh("IMPORT STUDENTS", info, "");
+        
+        String file = input.readString("Roster file:");
+        if (file.equals("0") || file.isBlank()) return new AdminDashboardPage();
+        
+        Path roster = Path.of(file.trim());
+        if (!Files.isRegularFile(roster)) {
+            System.out.println("\n[X] File not found: " + roster);
+            input.pause();
+            return this;
+        }
+        
+        ImportReport report = userService.importStudents(roster, StudentImporter.DEFAULT_BATCH_SIZE,
+            rows -> System.out.println("  " + rows + " rows processed..."));
+        report.errors().stream().limit(MAX_ERRORS_SHOWN).forEach(error -> System.out.println("  " + error));
+        if (report.failed() > MAX_ERRORS_SHOWN) {
+            System.out.println("  ... and " + (report.failed() - MAX_ERRORS_SHOWN) + " more rejected rows");
+        }
+        System.out.println("\n" + (report.completed() ? "[OK] " : "[X] ") + report);
+        
+        input.pause();
+        return new AdminDashboardPage();
+    }
+}
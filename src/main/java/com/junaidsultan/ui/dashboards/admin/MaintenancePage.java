@@ -0,0 +1,152 @@
+package com.junaidsultan.ui.dashboards.admin;
+
+import com.junaidsultan.config.BackupReport;
+import com.junaidsultan.service.IBackupService;
+import com.junaidsultan.service.INotificationService;
+import com.junaidsultan.service.ITicketService;
+import com.junaidsultan.service.ImportReport;
+import com.junaidsultan.service.ServiceLocator;
+import com.junaidsultan.service.TicketImporter;
+import com.junaidsultan.ui.core.input.InputReader;
+import com.junaidsultan.ui.core.screen.Screen;
+import com.junaidsultan.ui.scene_manager.Page;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Admin page for database housekeeping.
+ * The counters behind the dashboards are kept current automatically; rebuilding
+ * them is only needed after the database was edited outside the application.
+ */
+public class MaintenancePage implements Page {
+    
+    // Rejected rows listed after an import; the command-line import lists more
+    private static final int MAX_ERRORS_SHOWN = 20;
+    
+    // Newest snapshots listed after a backup
+    private static final int MAX_SNAPSHOTS_SHOWN = 5;
+    
+    private final ITicketService ticketService;
+    private final INotificationService notificationService;
+    private final IBackupService backupService;
+    
+    public MaintenancePage() {
+        this.ticketService = ServiceLocator.getInstance().getTicketService();
+        this.notificationService = ServiceLocator.getInstance().getNotificationService();
+        this.backupService = ServiceLocator.getInstance().getBackupService();
+    }
+    
+    @Override
+    public Page show(Screen screen, InputReader input) {
+        String menu = """
+            
+            1. Rebuild Ticket Dashboard Counts
+            2. Rebuild Unread Notification Counts
+            3. Notification Delivery Status
+            4. Rebuild Ticket Search Index
+            5. Purge Old Notifications
+            6. Enable Incremental Vacuum (one-time, rewrites the database)
+            7. Archive Closed Tickets
+            8. Export Data (CSV / JSON Lines)
+            9. Import Tickets (CSV / JSON Lines)
+            10. Back Up Database Now
+            0. Back
+            """;
+        
+        screen.refresh("MAINTENANCE", menu, "");
+        int choice = input.readInt("");
+        
+        switch (choice) {
+            case 1 -> {
+                int rows = ticketService.rebuildDashboardRollups();
+                System.out.println("\n[OK] Ticket dashboard counts rebuilt (" + rows + " groups).");
+            }
+            case 2 -> {
+                int users = notificationService.rebuildUnreadCounters();
+                System.out.println("\n[OK] Unread counts rebuilt for " + users + " user(s).");
+            }
+            case 3 -> System.out.println("\n" + notificationService.getDeliveryStats());
+            case 4 -> {
+                int tickets = ticketService.rebuildSearchIndex();
+                System.out.println("\n[OK] Search index rebuilt for " + tickets + " ticket(s).");
+            }
+            case 5 -> {
+                System.out.println("\nPolicy: " + notificationService.getRetentionPolicy());
+                System.out.println("[OK] " + notificationService.purgeNotifications());
+            }
+            case 6 -> {
+                String confirm = input.readString("The database is locked while it is rewritten. Continue? (yes/no):");
+                if (!confirm.equalsIgnoreCase("yes")) {
+                    System.out.println("[!] Cancelled.");
+                } else if (notificationService.enableIncrementalVacuum()) {
+                    // VACUUM may renumber ticket rowids, which the search index refers to
+                    int tickets = ticketService.rebuildSearchIndex();
+                    System.out.println("\n[OK] Incremental vacuum enabled; search index rebuilt for "
+                        + tickets + " ticket(s).");
+                } else {
+                    System.out.println("\n[!] Incremental vacuum was already enabled or could not be enabled.");
+                }
+            }
+            case 7 -> {
+                int tickets = ticketService.archiveClosedTickets();
+                System.out.println("\n[OK] Archived " + tickets + " ticket(s) closed more than "
+                    + ticketService.getArchiveAfterDays() + " days ago.");
+            }
+            case 8 -> {
+                return new ExportPage();
+            }
+            case 9 -> importTickets(input);
+            case 10 -> backUp();
+            case 0 -> {
+                return new AdminDashboardPage();
+            }
+            default -> System.out.println("[!] Invalid option.");
+        }
+        input.pause();
+        return this;
+    }
+    
+    private void backUp() {
+        System.out.println("\nPolicy: " + backupService.getPolicy());
+        Optional<BackupReport> report = backupService.backup();
+        if (report.isEmpty()) {
+            System.out.println("[X] Backup failed.");
+            return;
+        }
+        System.out.println("[OK] Backed up " + report.get());
+        List<Path> snapshots = backupService.listSnapshots();
+        System.out.println("\nSnapshots (" + snapshots.size() + "):");
+        snapshots.stream().limit(MAX_SNAPSHOTS_SHOWN).forEach(snapshot -> System.out.println("  " + snapshot));
+        // Restoring under a running session would leave its caches stale
+        System.out.println("\nTo restore one, exit and run: Application restore <snapshot>");
+    }
+    
+    private void importTickets(InputReader input) {
+        System.out.println("\nColumns: title and created_by (user ID or username) are required;");
+        System.out.println("id, description, priority, status, category, assigned_to and created_at are optional.");
+        String file = input.readString("File (.csv or .jsonl, optionally .gz):");
+        if (file.isBlank()) {
+            System.out.println("[!] Cancelled.");
+            return;
+        }
+        Path path = Path.of(file.trim());
+        if (!Files.isRegularFile(path)) {
+            System.out.println("[X] File not found: " + path);
+            return;
+        }
+        // An interrupted import of the same file carries on after its last committed batch
+        boolean resume = !input.readString("Start again from the first row if this file was imported before? (yes/no):")
+            .equalsIgnoreCase("yes");
+        
+        ImportReport report = ticketService.importTickets(path, TicketImporter.DEFAULT_BATCH_SIZE, resume,
+            rows -> System.out.println("  " + rows + " rows committed..."));
+        report.errors().stream().limit(MAX_ERRORS_SHOWN).forEach(error -> System.out.println("  " + error));
+        if (report.failed() > MAX_ERRORS_SHOWN) {
+            System.out.println("  ... and " + (report.failed() - MAX_ERRORS_SHOWN) + " more rejected rows");
+        }
+        System.out.println("\n" + (report.completed() ? "[OK] " : "[X] ") + report);
+    }
+}
@@ -1,5 +1,6 @@
 package com.junaidsultan.ui.dashboards.admin;
 
+import com.junaidsultan.entity.Broadcast;
 import com.junaidsultan.entity.User;
 import com.junaidsultan.enums.Role;
 import com.junaidsultan.service.INotificationService;
@@ -45,9 +46,9 @@ public class SendNotificationPage implements Page {
         
         return switch (choice) {
             case 1 -> sendToUser(input);
-            case 2 -> sendToRole(Role.STUDENT, input);
-            case 3 -> sendToRole(Role.STAFF, input);
-            case 4 -> sendToAll(input);
+            case 2 -> composeAndBroadcast(Role.STUDENT, input);
+            case 3 -> composeAndBroadcast(Role.STAFF, input);
+            case 4 -> composeAndBroadcast(null, input);
             case 0 -> new AdminDashboardPage();
             default -> {
                 System.out.println("[!] Invalid option.");
@@ -86,35 +87,33 @@ public class SendNotificationPage implements Page {
         return this;
     }
     
-    private Page sendToRole(Role role, InputReader input) {
-        List<User> users = userService.findByRole(role);
+    private Page composeAndSend(List<String> receiverIds, InputReader input) {
+        System.out.println("\nCompose Notification:");
+        System.out.println("(Enter '0' to cancel)\n");
         
-        if (users.isEmpty()) {
-            System.out.println("No " + role.name().toLowerCase() + "s found.");
-            input.pause();
-            return this;
-        }
+        String title = input.readString("Title:");
+        if (title.equals("0")) return this;
         
-        List<String> userIds = users.stream().map(User::getId).toList();
-        return composeAndSend(userIds, input);
-    }
-    
-    private Page sendToAll(InputReader input) {
-        List<User> allUsers = new ArrayList<>();
-        allUsers.addAll(userService.getAllStudents());
-        allUsers.addAll(userService.getAllStaff());
+        String message = input.readString("Message:");
+        if (message.equals("0")) return this;
         
-        if (allUsers.isEmpty()) {
-            System.out.println("No users found.");
-            input.pause();
-            return this;
+        String createdBy = Session.getCurrentUser().getId();
+        int queued = notificationService.sendBulkNotification(receiverIds, title, message, createdBy);
+        
+        System.out.println("\n[OK] Notification queued for " + queued + " user(s).");
+        if (queued < receiverIds.size()) {
+            System.out.println("[!] " + (receiverIds.size() - queued) + " notification(s) could not be queued; try again shortly.");
         }
+        input.pause();
         
-        List<String> userIds = allUsers.stream().map(User::getId).toList();
-        return composeAndSend(userIds, input);
+        return new AdminDashboardPage();
     }
     
-    private Page composeAndSend(List<String> receiverIds, InputReader input) {
+    /**
+     * Send one broadcast to a role (or everyone when role is null). Stored once,
+     * however many users it reaches.
+     */
+    private Page composeAndBroadcast(Role role, InputReader input) {
         System.out.println("\nCompose Notification:");
         System.out.println("(Enter '0' to cancel)\n");
         
@@ -125,9 +124,14 @@ public class SendNotificationPage implements Page {
         if (message.equals("0")) return this;
         
         String createdBy = Session.getCurrentUser().getId();
-        int sent = notificationService.sendBulkNotification(receiverIds, title, message, createdBy);
+        Broadcast broadcast = notificationService.sendBroadcast(role, title, message, createdBy);
         
-        System.out.println("\n[OK] Notification sent to " + sent + " user(s).");
+        if (broadcast == null) {
+            System.out.println("\n[X] Failed to send notification.");
+        } else {
+            String audience = role == null ? "all users" : "all " + role.name().toLowerCase() + " users";
+            System.out.println("\n[OK] Notification sent to " + audience + ".");
+        }
         input.pause();
         
         return new AdminDashboardPage();
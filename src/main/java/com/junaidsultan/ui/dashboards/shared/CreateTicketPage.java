@@ -10,6 +10,7 @@ import com.junaidsultan.ui.dashboards.admin.AdminDashboardPage;
 import com.junaidsultan.ui.dashboards.student.StudentDashboardPage;
 import com.junaidsultan.ui.scene_manager.Page;
 import com.junaidsultan.ui.scene_manager.Session;
+import com.junaidsultan.ui.shared.DisplayHelper;
 
 /**
  * Create Ticket Page - Used by both Students and Admins.
@@ -64,7 +65,7 @@ public class CreateTicketPage implements Page {
         
         if (ticket != null) {
             System.out.println("\n[OK] Ticket created successfully!");
-            System.out.println("     Ticket ID: " + ticket.getId().substring(0, 8));
+            System.out.println("     Ticket ID: " + DisplayHelper.shortId(ticket.getId()));
         } else {
             System.out.println("\n[X] Failed to create ticket. Please try again.");
         }
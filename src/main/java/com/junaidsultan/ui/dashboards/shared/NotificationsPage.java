@@ -66,7 +66,7 @@ public class NotificationsPage implements Page {
                 int notifChoice = input.readInt("Enter notification number to view:");
                 if (notifChoice > 0 && notifChoice <= notifications.size()) {
                     Notification notif = notifications.get(notifChoice - 1);
-                    notificationService.markAsRead(notif.getId());
+                    notificationService.markAsRead(notif);
                     System.out.println("\n" + notif.getTitle());
                     System.out.println("-".repeat(40));
                     System.out.println(notif.getMessage());
@@ -0,0 +1,129 @@
+package com.junaidsultan.ui.dashboards.shared;
+
+import com.junaidsultan.entity.TicketSearchHit;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.repository.TicketCriteria;
+import com.junaidsultan.repository.paging.SearchPage;
+import com.junaidsultan.service.ITicketService;
+import com.junaidsultan.service.ServiceLocator;
+import com.junaidsultan.ui.core.input.InputReader;
+import com.junaidsultan.ui.core.screen.Screen;
+import com.junaidsultan.ui.dashboards.admin.AdminDashboardPage;
+import com.junaidsultan.ui.dashboards.staff.StaffDashboardPage;
+import com.junaidsultan.ui.dashboards.student.StudentDashboardPage;
+import com.junaidsultan.ui.scene_manager.Page;
+import com.junaidsultan.ui.scene_manager.Session;
+import com.junaidsultan.ui.shared.DisplayHelper;
+
+import java.util.List;
+
+/**
+ * Search Tickets Page - Full-text search over title, description and category.
+ * Admins search every ticket, staff their assigned tickets, students their own.
+ */
+public class SearchTicketsPage implements Page {
+    
+    private final ITicketService ticketService;
+    
+    // Query and page survive a round trip through TicketDetailsPage, which returns to this instance
+    private String query;
+    private int page;
+    
+    public SearchTicketsPage() {
+        this.ticketService = ServiceLocator.getInstance().getTicketService();
+    }
+    
+    @Override
+    public Page show(Screen screen, InputReader input) {
+        if (query == null) {
+            screen.refresh("SEARCH TICKETS", "\nSearch title, description and category.\n(Enter '0' to go back)\n", "");
+            String text = input.readString("Search for:");
+            if (text.equals("0")) {
+                return getBackPage();
+            }
+            query = text;
+            page = 0;
+        }
+        
+        SearchPage<TicketSearchHit> results = ticketService.search(query, getScope(), page);
+        List<TicketSearchHit> hits = results.items();
+        
+        String content = String.format("""
+            
+            Results for "%s" - page %d%s
+            
+            %s
+            
+            Enter result number to view details,
+            %s's' for a new search, or 0 to go back.
+            """, query, page + 1, results.hasNext() ? "" : " (last)",
+            DisplayHelper.formatTicketSearchHits(hits), getNavigationHint(results));
+        
+        screen.refresh("SEARCH TICKETS", content, "");
+        String choice = input.readString("").toLowerCase();
+        
+        if (choice.equals("n") && results.hasNext()) {
+            page++;
+            return this;
+        }
+        if (choice.equals("p") && results.hasPrevious()) {
+            page--;
+            return this;
+        }
+        if (choice.equals("s")) {
+            query = null;
+            return this;
+        }
+        
+        int number;
+        try {
+            number = Integer.parseInt(choice);
+        } catch (NumberFormatException e) {
+            number = -1;
+        }
+        
+        if (number == 0) {
+            return getBackPage();
+        }
+        
+        if (number > 0 && number <= hits.size()) {
+            return new TicketDetailsPage(hits.get(number - 1).getSummary().getId(), this);
+        }
+        
+        System.out.println("[!] Invalid selection.");
+        input.pause();
+        return this;
+    }
+    
+    private String getNavigationHint(SearchPage<TicketSearchHit> results) {
+        if (results.hasNext() && results.hasPrevious()) {
+            return "'n' for next page, 'p' for previous page,\n";
+        }
+        if (results.hasNext()) {
+            return "'n' for next page,\n";
+        }
+        if (results.hasPrevious()) {
+            return "'p' for previous page,\n";
+        }
+        return "";
+    }
+    
+    // The same tickets the user can list in ViewTicketsPage
+    private TicketCriteria getScope() {
+        String userId = Session.getCurrentUser().getId();
+        Role role = Session.getCurrentUser().getRole();
+        return switch (role) {
+            case ADMIN -> TicketCriteria.all();
+            case STAFF -> TicketCriteria.assignedTo(userId);
+            case STUDENT -> TicketCriteria.createdBy(userId);
+        };
+    }
+    
+    private Page getBackPage() {
+        return switch (Session.getCurrentUser().getRole()) {
+            case ADMIN -> new AdminDashboardPage();
+            case STAFF -> new StaffDashboardPage();
+            case STUDENT -> new StudentDashboardPage();
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.junaidsultan.ui.dashboards.shared;
 
 import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDetails;
 import com.junaidsultan.entity.User;
 import com.junaidsultan.enums.Priority;
 import com.junaidsultan.enums.Role;
@@ -37,18 +38,30 @@ public class TicketDetailsPage implements Page {
     
     @Override
     public Page show(Screen screen, InputReader input) {
-        Optional<Ticket> ticketOpt = ticketService.findById(ticketId);
+        // Ticket plus creator and assignee names in one query
+        Optional<TicketDetails> detailsOpt = ticketService.getTicketDetails(ticketId);
         
-        if (ticketOpt.isEmpty()) {
+        if (detailsOpt.isEmpty()) {
             System.out.println("Ticket not found.");
             input.pause();
             return previousPage;
         }
         
-        Ticket ticket = ticketOpt.get();
+        Ticket ticket = detailsOpt.get().getTicket();
         Role userRole = Session.getCurrentUser().getRole();
         
-        String details = DisplayHelper.formatTicketDetails(ticket);
+        String details = DisplayHelper.formatTicketDetails(detailsOpt.get());
+        
+        // Archived tickets are read-only until an admin restores them
+        if (detailsOpt.get().isArchived()) {
+            String menu = userRole == Role.ADMIN
+                ? "Actions:\n1. Restore from Archive\n0. Back\n"
+                : "Actions:\n0. Back\n";
+            screen.refresh("Ticket Details", details + "\n" + menu, "");
+            int choice = input.readInt("");
+            return handleArchivedChoice(choice, ticket, userRole, input);
+        }
+        
         String menu = getMenuForRole(userRole, ticket);
         
         screen.refresh("Ticket Details", details + "\n" + menu, "");
@@ -57,6 +70,22 @@ public class TicketDetailsPage implements Page {
         return handleChoice(choice, ticket, userRole, input);
     }
     
+    private Page handleArchivedChoice(int choice, Ticket ticket, Role role, InputReader input) {
+        if (choice == 0 || role != Role.ADMIN) return previousPage;
+        
+        if (choice == 1) {
+            if (ticketService.restoreArchivedTicket(ticket.getId())) {
+                System.out.println("[OK] Ticket restored from the archive.");
+            } else {
+                System.out.println("[X] Failed to restore ticket.");
+            }
+        } else {
+            System.out.println("Invalid option.");
+        }
+        input.pause();
+        return this;
+    }
+    
     private String getMenuForRole(Role role, Ticket ticket) {
         StringBuilder menu = new StringBuilder();
         menu.append("Actions:\n");
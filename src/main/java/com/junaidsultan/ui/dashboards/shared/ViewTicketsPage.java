@@ -1,8 +1,11 @@
 package com.junaidsultan.ui.dashboards.shared;
 
-import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketSummary;
 import com.junaidsultan.enums.Role;
 import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.TicketCriteria;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.repository.paging.Slice;
 import com.junaidsultan.service.ITicketService;
 import com.junaidsultan.service.ServiceLocator;
 import com.junaidsultan.ui.core.input.InputReader;
@@ -17,7 +20,7 @@ import com.junaidsultan.ui.shared.DisplayHelper;
 import java.util.List;
 
 /**
- * View Tickets Page - Displays tickets based on filter.
+ * View Tickets Page - Displays tickets based on filter, one page at a time.
  * Used by Students, Staff, and Admins with different contexts.
  */
 public class ViewTicketsPage implements Page {
@@ -26,10 +29,17 @@ public class ViewTicketsPage implements Page {
         ALL, OPEN, CLOSED, RESOLVED, ON_HOLD, ASSIGNED, UNASSIGNED
     }
     
+    private static final int PAGE_SIZE = 10;
+    
     private final ITicketService ticketService;
     private final TicketFilter filter;
     private final boolean isAssignedView; // For staff viewing assigned tickets
     
+    // Paging state survives a round trip through TicketDetailsPage, which returns to this instance
+    private PageRequest pageRequest = PageRequest.first(PAGE_SIZE);
+    private int pageNumber = 1;
+    private boolean includeArchived;
+    
     public ViewTicketsPage(TicketFilter filter) {
         this.ticketService = ServiceLocator.getInstance().getTicketService();
         this.filter = filter;
@@ -46,31 +56,65 @@ public class ViewTicketsPage implements Page {
     public Page show(Screen screen, InputReader input) {
         String userId = Session.getCurrentUser().getId();
         Role userRole = Session.getCurrentUser().getRole();
+        TicketCriteria criteria = getCriteria(userId, userRole);
         
-        List<Ticket> tickets = getTickets(userId, userRole);
+        Slice<TicketSummary> slice = ticketService.getTicketSummaryPage(criteria, pageRequest);
+        if (slice.isEmpty() && pageNumber > 1) {
+            // Tickets on this page were closed or deleted meanwhile; start over
+            pageRequest = PageRequest.first(PAGE_SIZE);
+            pageNumber = 1;
+            slice = ticketService.getTicketSummaryPage(criteria, pageRequest);
+        }
+        List<TicketSummary> tickets = slice.items();
         
         String title = getTitle();
-        String ticketList = DisplayHelper.formatTicketList(tickets);
+        String ticketList = DisplayHelper.formatTicketSummaryList(tickets);
         
         String content = String.format("""
             
-            Total: %d ticket(s)
+            Page %d%s%s
             
             %s
             
             Enter ticket number to view details,
-            or 0 to go back.
-            """, tickets.size(), ticketList);
+            %s%sor 0 to go back.
+            """, pageNumber, slice.hasNext() ? "" : " (last)", includeArchived ? ", including archived" : "",
+            ticketList, getNavigationHint(slice), getArchiveHint());
         
         screen.refresh(title.toUpperCase(), content, "");
-        int choice = input.readInt("");
+        String choice = input.readString("").toLowerCase();
+        
+        if (choice.equals("n") && slice.hasNext()) {
+            pageRequest = slice.nextPage();
+            pageNumber++;
+            return this;
+        }
+        if (choice.equals("p") && slice.hasPrevious()) {
+            pageRequest = slice.previousPage();
+            pageNumber--;
+            return this;
+        }
+        if (choice.equals("a") && canShowArchived()) {
+            // Cursors of one table are not positions in the other; start over
+            includeArchived = !includeArchived;
+            pageRequest = PageRequest.first(PAGE_SIZE);
+            pageNumber = 1;
+            return this;
+        }
         
-        if (choice == 0) {
+        int number;
+        try {
+            number = Integer.parseInt(choice);
+        } catch (NumberFormatException e) {
+            number = -1;
+        }
+        
+        if (number == 0) {
             return getBackPage();
         }
         
-        if (choice > 0 && choice <= tickets.size()) {
-            Ticket selectedTicket = tickets.get(choice - 1);
+        if (number > 0 && number <= tickets.size()) {
+            TicketSummary selectedTicket = tickets.get(number - 1);
             return new TicketDetailsPage(selectedTicket.getId(), this);
         }
         
@@ -79,44 +123,59 @@ public class ViewTicketsPage implements Page {
         return this;
     }
     
-    private List<Ticket> getTickets(String userId, Role role) {
+    private String getNavigationHint(Slice<TicketSummary> slice) {
+        if (slice.hasNext() && slice.hasPrevious()) {
+            return "'n' for next page, 'p' for previous page,\n";
+        }
+        if (slice.hasNext()) {
+            return "'n' for next page,\n";
+        }
+        if (slice.hasPrevious()) {
+            return "'p' for previous page,\n";
+        }
+        return "";
+    }
+    
+    // Only closed tickets are archived, so only these lists can contain them
+    private boolean canShowArchived() {
+        return filter == TicketFilter.ALL || filter == TicketFilter.CLOSED;
+    }
+    
+    private String getArchiveHint() {
+        if (!canShowArchived()) {
+            return "";
+        }
+        return includeArchived ? "'a' to hide archived tickets,\n" : "'a' to include archived tickets,\n";
+    }
+    
+    private TicketCriteria getCriteria(String userId, Role role) {
+        return getActiveCriteria(userId, role).withArchived(includeArchived);
+    }
+    
+    private TicketCriteria getActiveCriteria(String userId, Role role) {
+        Status status = switch (filter) {
+            case OPEN -> Status.OPEN;
+            case CLOSED -> Status.CLOSED;
+            case RESOLVED -> Status.RESOLVED;
+            case ON_HOLD -> Status.ON_HOLD;
+            default -> null;
+        };
+        
         // Admin sees all tickets based on filter
         if (role == Role.ADMIN) {
-            return switch (filter) {
-                case OPEN -> ticketService.getTicketsByStatus(Status.OPEN);
-                case CLOSED -> ticketService.getTicketsByStatus(Status.CLOSED);
-                case RESOLVED -> ticketService.getTicketsByStatus(Status.RESOLVED);
-                case ON_HOLD -> ticketService.getTicketsByStatus(Status.ON_HOLD);
-                case UNASSIGNED -> ticketService.getUnassignedTickets();
-                default -> ticketService.getAllTickets();
-            };
+            if (filter == TicketFilter.UNASSIGNED) {
+                return TicketCriteria.unassigned();
+            }
+            return TicketCriteria.all().withStatus(status);
         }
         
         // Staff sees assigned tickets
-        if (role == Role.STAFF) {
-            if (isAssignedView) {
-                return switch (filter) {
-                    case OPEN -> ticketService.getTicketsByAssignee(userId).stream()
-                        .filter(t -> t.getStatus() == Status.OPEN).toList();
-                    case CLOSED -> ticketService.getTicketsByAssignee(userId).stream()
-                        .filter(t -> t.getStatus() == Status.CLOSED).toList();
-                    case RESOLVED -> ticketService.getTicketsByAssignee(userId).stream()
-                        .filter(t -> t.getStatus() == Status.RESOLVED).toList();
-                    case ON_HOLD -> ticketService.getTicketsByAssignee(userId).stream()
-                        .filter(t -> t.getStatus() == Status.ON_HOLD).toList();
-                    default -> ticketService.getTicketsByAssignee(userId);
-                };
-            }
+        if (role == Role.STAFF && isAssignedView) {
+            return TicketCriteria.assignedTo(userId).withStatus(status);
         }
         
         // Students see their own tickets
-        return switch (filter) {
-            case OPEN -> ticketService.getOpenTickets(userId);
-            case CLOSED -> ticketService.getClosedTickets(userId);
-            case RESOLVED -> ticketService.getResolvedTickets(userId);
-            case ON_HOLD -> ticketService.getTicketsOnHold(userId);
-            default -> ticketService.getTicketsByCreator(userId);
-        };
+        return TicketCriteria.createdBy(userId).withStatus(status);
     }
     
     private String getTitle() {
@@ -1,14 +1,18 @@
 package com.junaidsultan.ui.dashboards.staff;
 
+import com.junaidsultan.entity.TicketDashboard;
 import com.junaidsultan.service.INotificationService;
+import com.junaidsultan.service.ITicketService;
 import com.junaidsultan.service.ServiceLocator;
 import com.junaidsultan.ui.core.input.InputReader;
 import com.junaidsultan.ui.core.screen.Screen;
 import com.junaidsultan.ui.dashboards.auth.LoginPage;
 import com.junaidsultan.ui.dashboards.shared.NotificationsPage;
+import com.junaidsultan.ui.dashboards.shared.SearchTicketsPage;
 import com.junaidsultan.ui.dashboards.shared.ViewTicketsPage;
 import com.junaidsultan.ui.scene_manager.Page;
 import com.junaidsultan.ui.scene_manager.Session;
+import com.junaidsultan.ui.shared.DisplayHelper;
 
 /**
  * Staff Dashboard - Main menu for staff members.
@@ -17,21 +21,26 @@ import com.junaidsultan.ui.scene_manager.Session;
 public class StaffDashboardPage implements Page {
     
     private final INotificationService notificationService;
+    private final ITicketService ticketService;
     
     public StaffDashboardPage() {
         this.notificationService = ServiceLocator.getInstance().getNotificationService();
+        this.ticketService = ServiceLocator.getInstance().getTicketService();
     }
     
     @Override
     public Page show(Screen screen, InputReader input) {
         String userId = Session.getCurrentUser().getId();
         int unreadCount = notificationService.getUnreadCount(userId);
+        // Precomputed rollups: one small read however many tickets there are
+        TicketDashboard dashboard = ticketService.getDashboard(userId, Session.getCurrentUser().getRole());
         
         String notifBadge = unreadCount > 0 ? " (" + unreadCount + " new)" : "";
         
         String menu = String.format("""
             
             Welcome, %s!
+            %s
             
             ASSIGNED TICKETS:
             [1] View All Assigned Tickets
@@ -42,9 +51,11 @@ public class StaffDashboardPage implements Page {
             
             OTHER:
             [6] Notifications%s
+            [7] Search Assigned Tickets
             [0] Logout
             """,
             Session.getCurrentUser().getName(),
+            DisplayHelper.formatTicketDashboard(dashboard),
             notifBadge
         );
         
@@ -58,6 +69,7 @@ public class StaffDashboardPage implements Page {
             case 4 -> new ViewTicketsPage(ViewTicketsPage.TicketFilter.CLOSED, true);
             case 5 -> new ViewTicketsPage(ViewTicketsPage.TicketFilter.ON_HOLD, true);
             case 6 -> new NotificationsPage();
+            case 7 -> new SearchTicketsPage();
             case 0 -> {
                 Session.logout();
                 System.out.println("\n[OK] Logged out successfully.");
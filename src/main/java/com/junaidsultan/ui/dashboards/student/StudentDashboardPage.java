@@ -1,15 +1,19 @@
 package com.junaidsultan.ui.dashboards.student;
 
+import com.junaidsultan.entity.TicketDashboard;
 import com.junaidsultan.service.INotificationService;
+import com.junaidsultan.service.ITicketService;
 import com.junaidsultan.service.ServiceLocator;
 import com.junaidsultan.ui.core.input.InputReader;
 import com.junaidsultan.ui.core.screen.Screen;
 import com.junaidsultan.ui.dashboards.auth.LoginPage;
 import com.junaidsultan.ui.dashboards.shared.CreateTicketPage;
 import com.junaidsultan.ui.dashboards.shared.NotificationsPage;
+import com.junaidsultan.ui.dashboards.shared.SearchTicketsPage;
 import com.junaidsultan.ui.dashboards.shared.ViewTicketsPage;
 import com.junaidsultan.ui.scene_manager.Page;
 import com.junaidsultan.ui.scene_manager.Session;
+import com.junaidsultan.ui.shared.DisplayHelper;
 
 /**
  * Student Dashboard - Main menu for students.
@@ -18,21 +22,26 @@ import com.junaidsultan.ui.scene_manager.Session;
 public class StudentDashboardPage implements Page {
     
     private final INotificationService notificationService;
+    private final ITicketService ticketService;
     
     public StudentDashboardPage() {
         this.notificationService = ServiceLocator.getInstance().getNotificationService();
+        this.ticketService = ServiceLocator.getInstance().getTicketService();
     }
     
     @Override
     public Page show(Screen screen, InputReader input) {
         String userId = Session.getCurrentUser().getId();
         int unreadCount = notificationService.getUnreadCount(userId);
+        // Precomputed rollups: one small read however many tickets there are
+        TicketDashboard dashboard = ticketService.getDashboard(userId, Session.getCurrentUser().getRole());
         
         String notifBadge = unreadCount > 0 ? " (" + unreadCount + " new)" : "";
         
         String menu = String.format("""
             
             Welcome, %s!
+            %s
             
             TICKET MANAGEMENT:
             [1] Create New Ticket
@@ -44,9 +53,11 @@ public class StudentDashboardPage implements Page {
             
             OTHER:
             [7] Notifications%s
+            [8] Search My Tickets
             [0] Logout
             """,
             Session.getCurrentUser().getName(),
+            DisplayHelper.formatTicketDashboard(dashboard),
             notifBadge
         );
         
@@ -61,6 +72,7 @@ public class StudentDashboardPage implements Page {
             case 5 -> new ViewTicketsPage(ViewTicketsPage.TicketFilter.ON_HOLD);
             case 6 -> new ViewTicketsPage(ViewTicketsPage.TicketFilter.ALL);
             case 7 -> new NotificationsPage();
+            case 8 -> new SearchTicketsPage();
             case 0 -> {
                 Session.logout();
                 System.out.println("\n[OK] Logged out successfully.");
@@ -1,9 +1,15 @@
 package com.junaidsultan.ui.shared;
 
 import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDashboard;
+import com.junaidsultan.entity.TicketDetails;
+import com.junaidsultan.entity.TicketSearchHit;
+import com.junaidsultan.entity.TicketSummary;
 import com.junaidsultan.entity.Notification;
 import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Status;
 
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 /**
@@ -12,13 +18,15 @@ import java.util.List;
  */
 public class DisplayHelper {
     
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    
     /**
      * Format a single ticket for display.
      */
     public static String formatTicket(Ticket ticket) {
         return String.format(
             "[%s] %s\n  Priority: %s | Status: %s\n  Category: %s",
-            ticket.getId().substring(0, 8),
+            shortId(ticket.getId()),
             ticket.getTitle(),
             ticket.getPriority(),
             ticket.getStatus(),
@@ -36,7 +44,7 @@ public class DisplayHelper {
             ticket.getStatus(),
             ticket.getTitle(),
             ticket.getPriority(),
-            ticket.getId().substring(0, 8)
+            shortId(ticket.getId())
         );
     }
     
@@ -56,10 +64,63 @@ public class DisplayHelper {
         return sb.toString();
     }
     
+    /**
+     * Format a ticket summary for list view (compact), with who raised it and who has it.
+     */
+    public static String formatTicketCompact(TicketSummary ticket, int index) {
+        return String.format(
+            "  [%d] [%s] %s - %s (%s)\n       %s -> %s",
+            index,
+            ticket.getStatus(),
+            ticket.getTitle(),
+            ticket.getPriority(),
+            shortId(ticket.getId()),
+            displayName(ticket.getCreatedByName(), "Unknown user"),
+            displayName(ticket.getAssignedToName(), "Unassigned")
+        );
+    }
+    
+    /**
+     * Format a list of ticket summaries for display.
+     */
+    public static String formatTicketSummaryList(List<TicketSummary> tickets) {
+        if (tickets.isEmpty()) {
+            return "  No tickets found.";
+        }
+        
+        StringBuilder sb = new StringBuilder();
+        int index = 1;
+        for (TicketSummary ticket : tickets) {
+            sb.append(formatTicketCompact(ticket, index++)).append("\n");
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Format search results: the ticket's list row, then the matching excerpt.
+     */
+    public static String formatTicketSearchHits(List<TicketSearchHit> hits) {
+        if (hits.isEmpty()) {
+            return "  No matching tickets.";
+        }
+        
+        StringBuilder sb = new StringBuilder();
+        int index = 1;
+        for (TicketSearchHit hit : hits) {
+            sb.append(formatTicketCompact(hit.getSummary(), index++)).append("\n");
+            if (hit.getSnippet() != null && !hit.getSnippet().isBlank()) {
+                // Excerpts of descriptions may span lines; keep each hit to one line
+                sb.append("       \"").append(hit.getSnippet().replaceAll("\\s+", " ").strip()).append("\"\n");
+            }
+        }
+        return sb.toString();
+    }
+    
     /**
      * Format ticket details for full view.
      */
-    public static String formatTicketDetails(Ticket ticket) {
+    public static String formatTicketDetails(TicketDetails details) {
+        Ticket ticket = details.getTicket();
         return String.format("""
             +--------------------------------------+
             |         TICKET DETAILS               |
@@ -71,6 +132,7 @@ public class DisplayHelper {
               Status:      %s
               Category:    %s
               Created By:  %s
+              Created On:  %s
               Assigned To: %s
             +--------------------------------------+
             """,
@@ -78,10 +140,38 @@ public class DisplayHelper {
             ticket.getTitle(),
             ticket.getDescription(),
             ticket.getPriority(),
-            ticket.getStatus(),
+            details.isArchived() ? ticket.getStatus() + " (archived)" : ticket.getStatus(),
             ticket.getCategory() != null ? ticket.getCategory() : "N/A",
-            ticket.getCreatedBy(),
-            ticket.getAssignedTo() != null ? ticket.getAssignedTo() : "Unassigned"
+            displayName(details.getCreatedByName(), ticket.getCreatedBy()),
+            ticket.getCreatedAt() != null ? ticket.getCreatedAt().format(DATE_TIME) : "N/A",
+            ticket.getAssignedTo() == null ? "Unassigned" : displayName(details.getAssignedToName(), ticket.getAssignedTo())
+        );
+    }
+    
+    /**
+     * Short form of an id for list rows. Uses the random tail: time-ordered ids
+     * created close together share their leading characters.
+     */
+    public static String shortId(String id) {
+        return id.length() > 8 ? id.substring(id.length() - 8) : id;
+    }
+    
+    // Resolved user name, or the fallback when the user is missing
+    private static String displayName(String name, String fallback) {
+        return name != null ? name : fallback;
+    }
+    
+    /**
+     * Format dashboard ticket counts as one line.
+     */
+    public static String formatTicketDashboard(TicketDashboard dashboard) {
+        return String.format(
+            "Tickets: %d open | %d on hold | %d resolved | %d closed | %d unassigned",
+            dashboard.count(Status.OPEN),
+            dashboard.count(Status.ON_HOLD),
+            dashboard.count(Status.RESOLVED),
+            dashboard.count(Status.CLOSED),
+            dashboard.getUnassignedActive()
         );
     }
     
@@ -1,32 +1,68 @@
 package com.junaidsultan.util;
 
+import com.junaidsultan.config.DBConnection;
+import com.junaidsultan.config.TransactionManager;
 import com.junaidsultan.entity.Ticket;
 import com.junaidsultan.entity.User;
 import com.junaidsultan.enums.Priority;
 import com.junaidsultan.enums.Role;
+import com.junaidsultan.repository.BaseRepository;
+import com.junaidsultan.repository.BroadcastRepository;
+import com.junaidsultan.repository.IBroadcastRepository;
+import com.junaidsultan.repository.INotificationRepository;
+import com.junaidsultan.repository.ITicketRepository;
+import com.junaidsultan.repository.IUserRepository;
+import com.junaidsultan.repository.NotificationRepository;
 import com.junaidsultan.repository.TicketRepository;
 import com.junaidsultan.repository.UserRepository;
 
+import java.sql.SQLException;
+
 /**
  * Database Seeder - Creates initial test data for development and testing.
  * This class seeds the database with sample users and tickets.
  */
 public class DatabaseSeeder {
     
-    private final UserRepository userRepository;
-    private final TicketRepository ticketRepository;
+    private final IUserRepository userRepository;
+    private final ITicketRepository ticketRepository;
+    private final INotificationRepository notificationRepository;
+    private final IBroadcastRepository broadcastRepository;
+    private final TransactionManager transactionManager;
     
     public DatabaseSeeder() {
-        this.userRepository = new UserRepository();
-        this.ticketRepository = new TicketRepository();
+        this(new UserRepository(), new TicketRepository(), new NotificationRepository(), new BroadcastRepository(),
+            DBConnection.getInstance().getTransactionManager());
+    }
+    
+    // Constructor for dependency injection (e.g. repositories on a test database)
+    public DatabaseSeeder(IUserRepository userRepository, ITicketRepository ticketRepository,
+                          INotificationRepository notificationRepository, IBroadcastRepository broadcastRepository,
+                          TransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.ticketRepository = ticketRepository;
+        this.notificationRepository = notificationRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.transactionManager = transactionManager;
     }
     
     /**
      * Seeds the database with initial data if it's empty.
+     * Runs as one transaction: the repositories report a failed write by returning
+     * null or false, and the first one rolls back everything seeded before it, so the
+     * database is left empty (and seedable on the next start) rather than half seeded.
      */
     public void seed() {
-        // Check if data already exists
-        if (!userRepository.findAll().isEmpty()) {
+        try {
+            transactionManager.runInTransaction(tx -> seedIfEmpty());
+        } catch (SQLException e) {
+            System.err.println("Error seeding database: " + e.getMessage());
+        }
+    }
+    
+    private void seedIfEmpty() throws SQLException {
+        // Check if data already exists (reads at most one row)
+        if (userRepository.existsAny()) {
             System.out.println("Database already contains data. Skipping seeding.");
             return;
         }
@@ -41,7 +77,7 @@ public class DatabaseSeeder {
             PasswordUtil.hashPassword("admin123"),
             Role.ADMIN
         );
-        userRepository.save(admin);
+        saved(userRepository.save(admin), admin.getUsername());
         System.out.println("  ✓ Created admin user (username: admin, password: admin123)");
         
         // Create Staff users
@@ -52,7 +88,7 @@ public class DatabaseSeeder {
             PasswordUtil.hashPassword("staff123"),
             Role.STAFF
         );
-        userRepository.save(staff1);
+        saved(userRepository.save(staff1), staff1.getUsername());
         
         User staff2 = new User(
             "staff2",
@@ -61,7 +97,7 @@ public class DatabaseSeeder {
             PasswordUtil.hashPassword("staff123"),
             Role.STAFF
         );
-        userRepository.save(staff2);
+        saved(userRepository.save(staff2), staff2.getUsername());
         System.out.println("  ✓ Created 2 staff users (password: staff123)");
         
         // Create Student users
@@ -72,7 +108,7 @@ public class DatabaseSeeder {
             PasswordUtil.hashPassword("student123"),
             Role.STUDENT
         );
-        userRepository.save(student1);
+        saved(userRepository.save(student1), student1.getUsername());
         
         User student2 = new User(
             "student2",
@@ -81,7 +117,7 @@ public class DatabaseSeeder {
             PasswordUtil.hashPassword("student123"),
             Role.STUDENT
         );
-        userRepository.save(student2);
+        saved(userRepository.save(student2), student2.getUsername());
         
         User student3 = new User(
             "student3",
@@ -90,7 +126,7 @@ public class DatabaseSeeder {
             PasswordUtil.hashPassword("student123"),
             Role.STUDENT
         );
-        userRepository.save(student3);
+        saved(userRepository.save(student3), student3.getUsername());
         System.out.println("  ✓ Created 3 student users (password: student123)");
         
         // Create some sample tickets
@@ -101,7 +137,7 @@ public class DatabaseSeeder {
             "Technical",
             student1.getId()
         );
-        ticketRepository.save(ticket1);
+        saved(ticketRepository.save(ticket1), ticket1.getTitle());
         
         Ticket ticket2 = new Ticket(
             "Air Conditioning Issue",
@@ -110,7 +146,7 @@ public class DatabaseSeeder {
             "Facility",
             student2.getId()
         );
-        ticketRepository.save(ticket2);
+        saved(ticketRepository.save(ticket2), ticket2.getTitle());
         
         Ticket ticket3 = new Ticket(
             "Course Registration Error",
@@ -119,7 +155,7 @@ public class DatabaseSeeder {
             "Academic",
             student1.getId()
         );
-        ticketRepository.save(ticket3);
+        saved(ticketRepository.save(ticket3), ticket3.getTitle());
         
         Ticket ticket4 = new Ticket(
             "Parking Permit Issue",
@@ -128,7 +164,7 @@ public class DatabaseSeeder {
             "Administrative",
             student3.getId()
         );
-        ticketRepository.save(ticket4);
+        saved(ticketRepository.save(ticket4), ticket4.getTitle());
         
         Ticket ticket5 = new Ticket(
             "Missing Grade",
@@ -137,11 +173,11 @@ public class DatabaseSeeder {
             "Academic",
             student2.getId()
         );
-        ticketRepository.save(ticket5);
+        saved(ticketRepository.save(ticket5), ticket5.getTitle());
         
         // Assign some tickets to staff
-        ticketRepository.assignToStaff(ticket1.getId(), staff1.getId());
-        ticketRepository.assignToStaff(ticket3.getId(), staff2.getId());
+        assign(ticket1, staff1);
+        assign(ticket3, staff2);
         
         System.out.println("  ✓ Created 5 sample tickets (2 assigned to staff)");
         
@@ -160,14 +196,39 @@ public class DatabaseSeeder {
      */
     public void forceSeed() {
         System.out.println("Warning: This will clear all existing data!");
-        // Clear existing data
-        for (User user : userRepository.findAll()) {
-            userRepository.deleteById(user.getId());
+        try {
+            transactionManager.runInTransaction(tx -> {
+                // Clear existing data, children before the users they reference
+                cleared(notificationRepository, "notifications");
+                cleared(broadcastRepository, "broadcasts");
+                cleared(ticketRepository, "tickets");
+                cleared(userRepository, "users");
+                // Now seed
+                seedIfEmpty();
+            });
+        } catch (SQLException e) {
+            System.err.println("Error re-seeding database: " + e.getMessage());
+        }
+    }
+    
+    // A null from save() means the repository caught and reported an error
+    private static void saved(Object entity, String name) throws SQLException {
+        if (entity == null) {
+            throw new SQLException("Could not save '" + name + "'");
         }
-        for (Ticket ticket : ticketRepository.findAll()) {
-            ticketRepository.deleteById(ticket.getId());
+    }
+    
+    private void assign(Ticket ticket, User staff) throws SQLException {
+        if (!ticketRepository.assignToStaff(ticket.getId(), staff.getId())) {
+            throw new SQLException("Could not assign '" + ticket.getTitle() + "' to " + staff.getUsername());
+        }
+    }
+    
+    // deleteAll() returns 0 both for an empty table and on error, so check the table itself
+    private static void cleared(BaseRepository<?, ?> repository, String table) throws SQLException {
+        repository.deleteAll();
+        if (repository.existsAny()) {
+            throw new SQLException("Could not clear " + table);
         }
-        // Now seed
-        seed();
     }
 }
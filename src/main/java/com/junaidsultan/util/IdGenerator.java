@@ -0,0 +1,21 @@
+package com.junaidsultan.util;
+
+import java.util.UUID;
+
+/**
+ * Source of primary keys for new entities. Ids are rendered in the canonical
+ * 36-character UUID form stored in the TEXT id columns.
+ * The generator in use is chosen with {@link IdUtil#setGenerator(IdGenerator)}.
+ */
+public interface IdGenerator {
+
+    /**
+     * Random version 4 UUIDs. Inserts land at random positions in the primary key index.
+     */
+    IdGenerator RANDOM_UUID = () -> UUID.randomUUID().toString();
+
+    /**
+     * @return A new id, unique across calls and threads
+     */
+    String nextId();
+}
@@ -0,0 +1,29 @@
+package com.junaidsultan.util;
+
+/**
+ * Utility class that hands out primary keys for new entities.
+ * Uses a {@link TimeOrderedIdGenerator} unless another generator is installed.
+ */
+public class IdUtil {
+
+    private static volatile IdGenerator generator = new TimeOrderedIdGenerator();
+
+    /**
+     * @return A new entity id from the current generator
+     */
+    public static String newId() {
+        return generator.nextId();
+    }
+
+    public static IdGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Replace the generator used for new entities (e.g. {@link IdGenerator#RANDOM_UUID}).
+     * @param generator The generator to use from now on
+     */
+    public static void setGenerator(IdGenerator generator) {
+        IdUtil.generator = generator;
+    }
+}
@@ -0,0 +1,811 @@
+package com.junaidsultan.benchmark;
+
+import com.junaidsultan.config.BackupReport;
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.ConversionReport;
+import com.junaidsultan.config.DatabaseBackup;
+import com.junaidsultan.config.DatabaseCompactor;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.StorageConverter;
+import com.junaidsultan.config.StorageFormat;
+import com.junaidsultan.config.StorageProfile;
+import com.junaidsultan.config.migration.Migrations;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Notification;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.BatchResult;
+import com.junaidsultan.repository.ExportCriteria;
+import com.junaidsultan.repository.ExportRepository;
+import com.junaidsultan.repository.ExportSource;
+import com.junaidsultan.repository.ImportCheckpointRepository;
+import com.junaidsultan.repository.NotificationRepository;
+import com.junaidsultan.repository.TicketCriteria;
+import com.junaidsultan.repository.TicketRepository;
+import com.junaidsultan.repository.UserRepository;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.service.ExportFormat;
+import com.junaidsultan.service.ExportReport;
+import com.junaidsultan.service.ExportService;
+import com.junaidsultan.service.ImportReport;
+import com.junaidsultan.service.NotificationRetention;
+import com.junaidsultan.service.RetentionPolicy;
+import com.junaidsultan.service.RetentionReport;
+import com.junaidsultan.service.StudentImporter;
+import com.junaidsultan.service.TicketImporter;
+import com.junaidsultan.service.UserCache;
+import com.junaidsultan.service.UserService;
+import com.junaidsultan.util.IdGenerator;
+import com.junaidsultan.util.IdUtil;
+import com.junaidsultan.util.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Micro-benchmarks for the data access layer. Excluded from the normal build:
+ * <pre>
+ * mvn test -Pbenchmark
+ * </pre>
+ * Each benchmark builds its own database in a temporary directory and prints its results.
+ */
+@Tag("benchmark")
+public class RepositoryBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Statement cache: per-call latency of findById and countUnreadByReceiverId")
+    public void statementCache() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("statement-cache.db");
+        User user = new User("bench", "bench@university.edu", "Bench User", "x", Role.STUDENT);
+
+        try (ConnectionPool pool = newPool(url, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            new UserRepository(pool).save(user);
+            NotificationRepository notifications = new NotificationRepository(pool);
+            for (int i = 0; i < 50; i++) {
+                notifications.save(new Notification(user.getId(), "Title " + i, "Message", null));
+            }
+        }
+
+        System.out.println("\n--- Statement cache ---");
+        for (int cacheSize : new int[] {0, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE}) {
+            try (ConnectionPool pool = newPool(url, cacheSize)) {
+                UserRepository users = new UserRepository(pool);
+                NotificationRepository notifications = new NotificationRepository(pool);
+                String label = cacheSize == 0 ? "uncached" : "cached  ";
+
+                measure(label + " findById", () -> users.findById(user.getId()));
+                measure(label + " countUnreadByReceiverId", () -> notifications.countUnreadByReceiverId(user.getId()));
+                System.out.println("  " + pool.getStatementCacheStats());
+
+                Assertions.assertEquals(50, notifications.countUnreadByReceiverId(user.getId()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("List projection: full-row page vs TicketSummary page with 4KB descriptions")
+    public void summaryProjection() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("projection.db");
+        String description = "x".repeat(4096);
+
+        try (ConnectionPool pool = newPool(url, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            User user = new User("bench", "bench@university.edu", "Bench User", "x", Role.STUDENT);
+            new UserRepository(pool).save(user);
+            TicketRepository tickets = new TicketRepository(pool);
+            for (int i = 0; i < 2_000; i++) {
+                tickets.save(new Ticket("Ticket " + i, description, Priority.MEDIUM, "General", user.getId()));
+            }
+
+            PageRequest page = PageRequest.first(50);
+            System.out.println("\n--- List projection (page of 50) ---");
+            measure("findPage (SELECT *)", 2_000, () -> tickets.findPage(TicketCriteria.all(), page));
+            measure("findSummaryPage", 2_000, () -> tickets.findSummaryPage(TicketCriteria.all(), page));
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk notifications: one autocommitted INSERT per row vs chunked batches")
+    public void bulkNotifications() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("bulk.db");
+        int rows = 10_000;
+
+        try (ConnectionPool pool = newPool(url, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            NotificationRepository notifications = new NotificationRepository(pool);
+
+            System.out.println("\n--- Bulk notifications (" + rows + " rows) ---");
+            long start = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                notifications.save(new Notification("row-by-row", "Title", "Message", null));
+            }
+            report("save() per row", rows, System.nanoTime() - start);
+
+            for (int chunkSize : new int[] {100, 1_000, 5_000}) {
+                List<Notification> batch = new ArrayList<>(rows);
+                for (int i = 0; i < rows; i++) {
+                    batch.add(new Notification("chunk-" + chunkSize, "Title", "Message", null));
+                }
+                start = System.nanoTime();
+                List<BatchResult> results = notifications.saveAll(batch, chunkSize);
+                report("saveAll chunk=" + chunkSize, rows, System.nanoTime() - start);
+                Assertions.assertEquals(rows, BatchResult.totalWritten(results));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Name resolution: findById per creator/assignee vs names in the page query")
+    public void nameResolution() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("names.db");
+
+        try (ConnectionPool pool = newPool(url, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            UserRepository users = new UserRepository(pool);
+            TicketRepository tickets = new TicketRepository(pool);
+            List<User> students = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                User student = new User("student" + i, "student" + i + "@university.edu", "Student " + i, "x", Role.STUDENT);
+                users.save(student);
+                students.add(student);
+            }
+            User staff = new User("staff", "staff@university.edu", "Staff", "x", Role.STAFF);
+            users.save(staff);
+            for (int i = 0; i < 2_000; i++) {
+                Ticket ticket = new Ticket("Ticket " + i, "Description", Priority.MEDIUM, "General",
+                    students.get(i % students.size()).getId());
+                tickets.save(ticket);
+                tickets.assignToStaff(ticket.getId(), staff.getId());
+            }
+
+            PageRequest page = PageRequest.first(50);
+            System.out.println("\n--- Name resolution (page of 50) ---");
+            measure("findPage + 2 findById per ticket", 2_000, () -> {
+                for (Ticket ticket : tickets.findPage(TicketCriteria.all(), page).items()) {
+                    users.findById(ticket.getCreatedBy());
+                    users.findById(ticket.getAssignedTo());
+                }
+            });
+            measure("findPage + findByIds", 2_000, () -> {
+                List<String> ids = new ArrayList<>();
+                for (Ticket ticket : tickets.findPage(TicketCriteria.all(), page).items()) {
+                    ids.add(ticket.getCreatedBy());
+                    ids.add(ticket.getAssignedTo());
+                }
+                users.findByIds(ids);
+            });
+            measure("findSummaryPage (names in query)", 2_000, () -> tickets.findSummaryPage(TicketCriteria.all(), page));
+        }
+    }
+
+    @Test
+    @DisplayName("Unread badge: COUNT(*) over the inbox vs the trigger-maintained counter")
+    public void unreadBadge() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("badge.db");
+        int rows = 20_000;
+
+        try (ConnectionPool pool = newPool(url, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            NotificationRepository notifications = new NotificationRepository(pool);
+            List<Notification> inbox = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                inbox.add(new Notification("reader", "Title " + i, "Message", null));
+            }
+            long start = System.nanoTime();
+            notifications.saveAll(inbox);
+            System.out.println("\n--- Unread badge (inbox of " + rows + ") ---");
+            report("saveAll with counter triggers", rows, System.nanoTime() - start);
+            notifications.markAllAsRead("reader");
+            notifications.saveAll(inbox.subList(0, 5_000).stream()
+                .map(n -> new Notification("reader", n.getTitle(), n.getMessage(), null)).toList());
+
+            String countSql = "SELECT COUNT(*) FROM notifications WHERE receiver_id = ? AND is_read = 0";
+            measure("COUNT(*) over unread rows", 2_000, () -> {
+                try (PooledConnection conn = pool.acquireRead()) {
+                    PreparedStatement stmt = conn.prepareCached(countSql);
+                    stmt.setString(1, "reader");
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            measure("countUnreadByReceiverId (counter)", () -> notifications.countUnreadByReceiverId("reader"));
+            Assertions.assertEquals(5_000, notifications.countUnreadByReceiverId("reader"));
+        }
+    }
+
+    @Test
+    @DisplayName("Primary keys: random UUIDv4 vs time-ordered UUIDv7 inserts into a 1M-row TEXT key")
+    public void primaryKeyOrder() throws SQLException {
+        int rows = 1_000_000;
+        int chunk = 10_000;
+        System.out.println("\n--- Primary keys (" + rows + " rows, " + chunk + " per transaction) ---");
+
+        for (IdGenerator generator : new IdGenerator[] {IdGenerator.RANDOM_UUID, new TimeOrderedIdGenerator()}) {
+            String label = generator == IdGenerator.RANDOM_UUID ? "UUIDv4" : "UUIDv7";
+            measure(label + " nextId()", 200_000, generator::nextId);
+
+            Path file = tempDir.resolve(label + ".db");
+            try (ConnectionPool pool = newPool("jdbc:sqlite:" + file, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE);
+                 PooledConnection conn = pool.acquireWrite()) {
+                try (Statement stmt = conn.createStatement()) {
+                    // Same key shape as tickets, users and notifications
+                    stmt.execute("CREATE TABLE keyed (id TEXT PRIMARY KEY, payload TEXT NOT NULL)");
+                }
+                conn.connection().setAutoCommit(false);
+                PreparedStatement insert = conn.prepareCached("INSERT INTO keyed (id, payload) VALUES (?, ?)");
+                long start = System.nanoTime();
+                long lastChunkStart = start;
+                for (int i = 1; i <= rows; i++) {
+                    insert.setString(1, generator.nextId());
+                    insert.setString(2, "payload");
+                    insert.addBatch();
+                    if (i % chunk == 0) {
+                        insert.executeBatch();
+                        conn.connection().commit();
+                        if (i == rows - chunk * 10) {
+                            lastChunkStart = System.nanoTime();
+                        }
+                    }
+                }
+                long end = System.nanoTime();
+                conn.connection().setAutoCommit(true);
+                report(label + " insert all", rows, end - start);
+                report(label + " insert last 100k", chunk * 10, end - lastChunkStart);
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("PRAGMA page_count")) {
+                    rs.next();
+                    System.out.println("  " + label + " pages after load: " + rs.getLong(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Storage format: text vs compact (BLOB ids, INTEGER codes and epoch millis), converted")
+    public void storageFormat() throws Exception {
+        int tickets = 100_000;
+        int notifications = 500_000;
+        System.out.println("\n--- Storage format (" + tickets + " tickets, " + notifications + " notifications) ---");
+
+        Path text = tempDir.resolve("text.db");
+        try (ConnectionPool pool = newPool("jdbc:sqlite:" + text, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                users.add(new User("user" + i, "user" + i + "@university.edu", "User " + i, "hash",
+                    i % 10 == 0 ? Role.STAFF : Role.STUDENT));
+            }
+            new UserRepository(pool).saveAll(users);
+            List<Ticket> batch = new ArrayList<>();
+            TicketRepository ticketRepository = new TicketRepository(pool);
+            for (int i = 0; i < tickets; i++) {
+                Ticket ticket = new Ticket("Ticket " + i, "Description of ticket " + i + " ".repeat(150),
+                    Priority.values()[i % 3], "General", users.get(i % users.size()).getId());
+                ticket.setStatus(Status.values()[i % 4]);
+                ticket.setAssignedTo(users.get((i + 7) % users.size()).getId());
+                batch.add(ticket);
+                if (batch.size() == 10_000) {
+                    ticketRepository.saveAll(batch);
+                    batch.clear();
+                }
+            }
+            List<Notification> inbox = new ArrayList<>();
+            NotificationRepository notificationRepository = new NotificationRepository(pool);
+            for (int i = 0; i < notifications; i++) {
+                inbox.add(new Notification(users.get(i % users.size()).getId(), "Ticket updated",
+                    "Your ticket has been updated.", users.get((i + 1) % users.size()).getId()));
+                if (inbox.size() == 10_000) {
+                    notificationRepository.saveAll(inbox);
+                    inbox.clear();
+                }
+            }
+        }
+
+        ConversionReport compact = new StorageConverter().convert(text, tempDir.resolve("compact.db"), StorageFormat.COMPACT);
+        System.out.printf("  %-40s %8.1f MB%n", "text    data in use", compact.sourceBytes() / 1024.0 / 1024.0);
+        System.out.printf("  %-40s %8.1f MB%n", "compact data in use", compact.targetBytes() / 1024.0 / 1024.0);
+        System.out.printf("  %-40s %8.0f ms%n", "convert to compact", compact.elapsedMillis());
+        ConversionReport back = new StorageConverter().convert(compact.target(), tempDir.resolve("text-again.db"),
+            StorageFormat.TEXT);
+        System.out.printf("  %-40s %8.0f ms%n", "convert back to text", back.elapsedMillis());
+
+        for (Path file : List.of(text, compact.target())) {
+            try (ConnectionPool pool = newPool("jdbc:sqlite:" + file, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+                String label = pool.getStorageFormat() == StorageFormat.COMPACT ? "compact" : "text   ";
+                TicketRepository ticketRepository = new TicketRepository(pool);
+                NotificationRepository notificationRepository = new NotificationRepository(pool);
+                measure(label + " streamAll notifications", 5, () -> {
+                    try (Stream<Notification> rows = notificationRepository.streamAll()) {
+                        Assertions.assertEquals(notifications, rows.count());
+                    }
+                });
+                measure(label + " streamAll tickets", 5, () -> {
+                    try (Stream<Ticket> rows = ticketRepository.streamAll()) {
+                        Assertions.assertEquals(tickets, rows.count());
+                    }
+                });
+                try (PooledConnection conn = pool.acquireRead()) {
+                    measure(label + " status counts (full scan)", 10,
+                        () -> scan(conn, "SELECT status, COUNT(*) FROM tickets NOT INDEXED GROUP BY status"));
+                }
+                measure(label + " first summary page", 2_000,
+                    () -> ticketRepository.findSummaryPage(TicketCriteria.all().withStatus(Status.OPEN), PageRequest.first(20)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Ticket search: LIKE '%term%' scan vs FTS5 over 200k tickets")
+    public void ticketSearch() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("search.db");
+        int rows = 200_000;
+        String[] categories = {"IT", "Facilities", "Academic", "Finance", "General"};
+
+        try (ConnectionPool pool = newPool(url, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            UserRepository users = new UserRepository(pool);
+            List<User> students = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                User student = new User("student" + i, "student" + i + "@university.edu", "Student " + i, "x", Role.STUDENT);
+                users.save(student);
+                students.add(student);
+            }
+
+            // 20 words per ticket from a 5,000 word vocabulary; "printer" is in 2% of
+            // tickets and "stapler" in 0.05%
+            Random random = new Random(42);
+            long start = System.nanoTime();
+            try (PooledConnection conn = pool.acquireWrite()) {
+                conn.connection().setAutoCommit(false);
+                PreparedStatement insert = conn.prepareCached("INSERT INTO tickets (id, title, description, "
+                    + "priority, status, category, created_by, created_at) VALUES (?, ?, ?, 'MEDIUM', 'OPEN', ?, ?, datetime('now'))");
+                StringBuilder text = new StringBuilder();
+                for (int i = 1; i <= rows; i++) {
+                    text.setLength(0);
+                    for (int w = 0; w < 20; w++) {
+                        text.append("word").append(random.nextInt(5_000)).append(' ');
+                    }
+                    if (i % 50 == 0) {
+                        text.append("printer");
+                    }
+                    insert.setString(1, IdUtil.newId());
+                    insert.setString(2, (i % 2_000 == 0 ? "Stapler " : "Issue ") + "word" + random.nextInt(5_000));
+                    insert.setString(3, text.toString());
+                    insert.setString(4, categories[i % categories.length]);
+                    insert.setString(5, students.get(i % students.size()).getId());
+                    insert.addBatch();
+                    if (i % 10_000 == 0) {
+                        insert.executeBatch();
+                        conn.connection().commit();
+                    }
+                }
+                conn.connection().setAutoCommit(true);
+            }
+            System.out.println("\n--- Ticket search (" + rows + " tickets) ---");
+            report("load with index triggers", rows, System.nanoTime() - start);
+
+            TicketRepository tickets = new TicketRepository(pool);
+            String likeSql = "SELECT id FROM tickets WHERE title LIKE ? OR description LIKE ? OR category LIKE ? LIMIT 10";
+            for (String term : new String[] {"stapler", "printer"}) {
+                measure("LIKE '%" + term + "%' (first 10)", 5, () -> {
+                    try (PooledConnection conn = pool.acquireRead()) {
+                        PreparedStatement stmt = conn.prepareCached(likeSql);
+                        for (int p = 1; p <= 3; p++) {
+                            stmt.setString(p, "%" + term + "%");
+                        }
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                rs.getString(1);
+                            }
+                        }
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                measure("search '" + term + "' (ranked page)", 50,
+                    () -> tickets.search(term, TicketCriteria.all(), 0, 10));
+            }
+            measure("search 'stap' (prefix)", 50, () -> tickets.search("stap", TicketCriteria.all(), 0, 10));
+            measure("search 'printer' in one user's tickets", 50,
+                () -> tickets.search("printer", TicketCriteria.createdBy(students.getFirst().getId()), 0, 10));
+            Assertions.assertEquals(10, tickets.search("stapler", TicketCriteria.all(), 0, 10).items().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Retention: one DELETE vs batched purge, with a sender inserting meanwhile")
+    public void notificationRetention() throws Exception {
+        int rows = 300_000;
+        System.out.println("\n--- Notification retention (" + rows + " rows, 2/3 read and 100 days old) ---");
+        for (boolean batched : new boolean[] {false, true}) {
+            Path file = tempDir.resolve("retention-" + batched + ".db");
+            try (ConnectionPool pool = newPool("jdbc:sqlite:" + file, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+                new SchemaMigrator(pool).migrate();
+                NotificationRepository notifications = new NotificationRepository(pool);
+                List<Notification> inbox = new ArrayList<>(rows);
+                for (int i = 0; i < rows; i++) {
+                    inbox.add(new Notification("user" + (i % 1_000), "Title " + i, "m".repeat(200), null));
+                }
+                notifications.saveAll(inbox, 10_000);
+                try (PooledConnection conn = pool.acquireWrite(); Statement stmt = conn.createStatement()) {
+                    stmt.execute("UPDATE notifications SET is_read = 1, created_at = datetime('now', '-100 days') "
+                        + "WHERE rowid % 3 != 0");
+                    stmt.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+                }
+                long sizeBefore = Files.size(file);
+
+                DatabaseCompactor compactor = new DatabaseCompactor(pool);
+                AtomicBoolean purging = new AtomicBoolean(true);
+                AtomicLong maxSendNanos = new AtomicLong();
+                Thread sender = Thread.ofVirtual().start(() -> {
+                    while (purging.get()) {
+                        long start = System.nanoTime();
+                        notifications.save(new Notification("user0", "During purge", "Message", null));
+                        maxSendNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+                        LockSupport.parkNanos(1_000_000);
+                    }
+                });
+
+                long start = System.nanoTime();
+                String label;
+                if (batched) {
+                    RetentionPolicy policy = new RetentionPolicy(90, 0, RetentionPolicy.DEFAULT_BATCH_SIZE,
+                        DatabaseCompactor.DEFAULT_PAGES_PER_STEP);
+                    RetentionReport report = new NotificationRetention(notifications, compactor, policy).run();
+                    label = String.format("batched (%d rows, %d batches, longest %.1f ms, %d pages)",
+                        report.readPurged(), report.batches(), report.maxBatchMillis(), report.pagesReclaimed());
+                } else {
+                    int deleted;
+                    try (PooledConnection conn = pool.acquireWrite(); Statement stmt = conn.createStatement()) {
+                        deleted = stmt.executeUpdate("DELETE FROM notifications "
+                            + "WHERE is_read = 1 AND created_at < datetime('now', '-90 days')");
+                        stmt.executeUpdate("PRAGMA incremental_vacuum");
+                    }
+                    label = "one DELETE (" + deleted + " rows)";
+                }
+                long elapsed = System.nanoTime() - start;
+                purging.set(false);
+                sender.join();
+                try (PooledConnection conn = pool.acquireWrite(); Statement stmt = conn.createStatement()) {
+                    stmt.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+                }
+
+                System.out.println("  " + label);
+                System.out.printf("    purge %8.0f ms, slowest concurrent send %8.1f ms, file %d MB -> %d MB%n",
+                    elapsed / 1_000_000.0, maxSendNanos.get() / 1_000_000.0,
+                    sizeBefore >> 20, Files.size(file) >> 20);
+                Assertions.assertEquals(0, compactor.freePages());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Export: findAll() into a list vs streaming CSV / JSON Lines / gzip over 300k tickets")
+    public void ticketExport() throws Exception {
+        String url = "jdbc:sqlite:" + tempDir.resolve("export.db");
+        int rows = 300_000;
+
+        try (ConnectionPool pool = newPool(url, ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            User student = new User("student", "student@university.edu", "Student", "x", Role.STUDENT);
+            new UserRepository(pool).save(student);
+            try (PooledConnection conn = pool.acquireWrite(); Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < " + rows + ") "
+                    + "INSERT INTO tickets (id, title, description, priority, status, category, created_by, created_at) "
+                    + "SELECT printf('%08d', i), 'Ticket ' || i, 'Description, with \"quotes\" ' || hex(randomblob(60)), "
+                    + "'MEDIUM', CASE WHEN i % 4 = 0 THEN 'CLOSED' ELSE 'OPEN' END, 'IT', '" + student.getId() + "', "
+                    + "datetime('2024-01-01', '+' || (i / 1000) || ' days') FROM n");
+            }
+            System.out.println("\n--- Ticket export (" + rows + " tickets) ---");
+
+            TicketRepository tickets = new TicketRepository(pool);
+            System.gc();
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            List<Ticket> all = tickets.findAll();
+            long elapsed = System.nanoTime() - start;
+            System.gc();
+            report("findAll() into a list", all.size(), elapsed);
+            System.out.printf("    retained heap %d MB%n", (usedHeap() - heapBefore) >> 20);
+            all = null;
+
+            ExportService exports = new ExportService(new ExportRepository(pool));
+            ExportCriteria criteria = ExportCriteria.of(ExportSource.TICKETS);
+            for (ExportFormat format : ExportFormat.values()) {
+                for (boolean gzip : new boolean[] {false, true}) {
+                    ExportReport report = exports.export(criteria, format, gzip,
+                        tempDir.resolve("tickets." + format.extension() + (gzip ? ".gz" : "")),
+                        written -> { }).orElseThrow();
+                    Assertions.assertEquals(rows, report.rows());
+                    report("export " + format + (gzip ? " + gzip" : "") + " (" + (report.bytes() >> 20) + " MB)",
+                        rows, report.elapsedNanos());
+                }
+            }
+
+            // Untimed pass: live heap after a GC at every progress point
+            System.gc();
+            long baseline = usedHeap();
+            AtomicLong peakRetained = new AtomicLong();
+            exports.export(criteria, ExportFormat.JSONL, true, tempDir.resolve("retained.jsonl.gz"), written -> {
+                System.gc();
+                peakRetained.accumulateAndGet(usedHeap() - baseline, Math::max);
+            }).orElseThrow();
+            System.out.printf("    streaming export retained heap <= %d KB%n", peakRetained.get() >> 10);
+            ExportCriteria closedIn2024 = criteria.withStatus(Status.CLOSED)
+                .withCreatedBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+            ExportReport filtered = exports.export(closedIn2024, ExportFormat.CSV, false,
+                tempDir.resolve("closed-2024.csv"), written -> { }).orElseThrow();
+            report("export CSV, CLOSED in 2024 (" + filtered.rows() + ")", (int) filtered.rows(), filtered.elapsedNanos());
+        }
+    }
+
+    @Test
+    @DisplayName("Import: save() per row vs batched, checkpointed import of 200k tickets")
+    public void ticketImport() throws Exception {
+        int rows = 200_000;
+        Path csv = tempDir.resolve("import.csv");
+        Path jsonl = tempDir.resolve("import.jsonl.gz");
+        try (BufferedWriter out = Files.newBufferedWriter(csv);
+             BufferedWriter json = new BufferedWriter(new OutputStreamWriter(
+                 new GZIPOutputStream(Files.newOutputStream(jsonl)), StandardCharsets.UTF_8))) {
+            out.write("title,description,priority,status,category,created_by,assigned_to,created_at\n");
+            for (int i = 0; i < rows; i++) {
+                String assignee = i % 3 == 0 ? "staff" : "";
+                String createdAt = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i).toString().replace('T', ' ') + ":00";
+                out.write("Ticket " + i + ",\"Description, with \"\"quotes\"\" " + i + "\",HIGH,OPEN,IT,student,"
+                    + assignee + "," + createdAt + "\n");
+                json.write("{\"title\":\"Ticket " + i + "\",\"description\":\"Description " + i
+                    + "\",\"priority\":\"HIGH\",\"created_by\":\"student\",\"assigned_to\":"
+                    + (assignee.isEmpty() ? "null" : "\"staff\"") + ",\"created_at\":\"" + createdAt + "\"}\n");
+            }
+        }
+        System.out.println("\n--- Ticket import (" + rows + " tickets) ---");
+
+        try (ConnectionPool pool = importDatabase("import-save.db")) {
+            TicketRepository tickets = new TicketRepository(pool);
+            String studentId = new UserRepository(pool).findByUsername("student").orElseThrow().getId();
+            int sample = 20_000;
+            long start = System.nanoTime();
+            pool.getTransactionManager().inTransaction(tx -> {
+                for (int i = 0; i < sample; i++) {
+                    tickets.save(new Ticket("Ticket " + i, "Description " + i, Priority.HIGH, "IT", studentId));
+                }
+                return null;
+            });
+            report("save() per row, one transaction", sample, System.nanoTime() - start);
+        }
+
+        Object[][] runs = {{csv, 1_000}, {csv, TicketImporter.DEFAULT_BATCH_SIZE}, {jsonl, TicketImporter.DEFAULT_BATCH_SIZE}};
+        for (int r = 0; r < runs.length; r++) {
+            Path file = (Path) runs[r][0];
+            int batchSize = (int) runs[r][1];
+            try (ConnectionPool pool = importDatabase("import-" + r + ".db")) {
+                TicketImporter importer = new TicketImporter(new TicketRepository(pool), new UserRepository(pool),
+                    new ImportCheckpointRepository(pool), pool.getTransactionManager());
+                ImportReport report = importer.run(file, batchSize, true, committed -> { });
+                Assertions.assertTrue(report.completed(), report.toString());
+                Assertions.assertEquals(rows, report.imported());
+                report("import " + file.getFileName() + ", batch " + batchSize, rows, report.elapsedNanos());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Roster: registerStudent() one by one vs batched import of 20k students")
+    public void studentImport() throws Exception {
+        int students = 20_000;
+        Path roster = tempDir.resolve("roster.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(roster)) {
+            out.write("username,email,name,password\n");
+            for (int i = 0; i < students; i++) {
+                out.write("student" + i + ",student" + i + "@university.edu,Student " + i + ",password-" + i + "\n");
+            }
+        }
+        System.out.println("\n--- Student roster import (" + students + " students) ---");
+
+        try (ConnectionPool pool = newPool("jdbc:sqlite:" + tempDir.resolve("roster-single.db"),
+                ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            UserService users = new UserService(new UserRepository(pool), pool.getTransactionManager(), new UserCache());
+            int sample = 2_000;
+            long start = System.nanoTime();
+            for (int i = 0; i < sample; i++) {
+                Assertions.assertNotNull(users.registerStudent("student" + i, "student" + i + "@university.edu",
+                    "Student " + i, "password-" + i));
+            }
+            report("registerStudent() per row", sample, System.nanoTime() - start);
+        }
+
+        for (int batchSize : new int[] {StudentImporter.DEFAULT_BATCH_SIZE, 5_000}) {
+            try (ConnectionPool pool = newPool("jdbc:sqlite:" + tempDir.resolve("roster-" + batchSize + ".db"),
+                    ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+                new SchemaMigrator(pool).migrate();
+                UserService users = new UserService(new UserRepository(pool), pool.getTransactionManager(), new UserCache());
+                ImportReport report = users.importStudents(roster, batchSize, rows -> { });
+                Assertions.assertTrue(report.completed(), report.toString());
+                Assertions.assertEquals(students, report.imported());
+                report("importStudents(), batch " + batchSize, students, report.elapsedNanos());
+
+                // Every row is taken now; each batch is rejected by its one set-based check
+                report = users.importStudents(roster, batchSize, rows -> { });
+                Assertions.assertEquals(students, report.failed());
+                report("same roster again (all taken)", students, report.elapsedNanos());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Backup: writer stalls during an online backup of 300k tickets, by pages per step and VACUUM INTO")
+    public void onlineBackup() throws Exception {
+        int rows = 300_000;
+        try (ConnectionPool pool = newPool("jdbc:sqlite:" + tempDir.resolve("backup.db"),
+                ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE)) {
+            new SchemaMigrator(pool).migrate();
+            User student = new User("student", "student@university.edu", "Student", "x", Role.STUDENT);
+            new UserRepository(pool).save(student);
+            try (PooledConnection conn = pool.acquireWrite(); Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < " + rows + ") "
+                    + "INSERT INTO tickets (id, title, description, priority, status, category, created_by, created_at) "
+                    + "SELECT printf('%08d', i), 'Ticket ' || i, 'Description ' || hex(randomblob(100)), "
+                    + "'MEDIUM', 'OPEN', 'IT', '" + student.getId() + "', datetime('2024-01-01', '+' || (i / 1000) || ' days') FROM n");
+                stmt.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+            }
+            System.out.println("\n--- Online backup (" + rows + " tickets, "
+                + (Files.size(tempDir.resolve("backup.db")) >> 20) + " MB), one ticket saved per ms meanwhile ---");
+
+            TicketRepository tickets = new TicketRepository(pool);
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                tickets.save(new Ticket("Warm-up", "d", Priority.HIGH, null, student.getId()));
+            }
+            DatabaseBackup backup = new DatabaseBackup(pool);
+            String[] labels = {"no backup (baseline, 1 s)", "backup, 64 pages/step", "backup, "
+                + DatabaseBackup.DEFAULT_PAGES_PER_STEP + " pages/step", "backup, whole file in one step", "VACUUM INTO"};
+            for (int run = 0; run < labels.length; run++) {
+                AtomicBoolean copying = new AtomicBoolean(true);
+                AtomicLong maxSaveNanos = new AtomicLong();
+                AtomicLong saves = new AtomicLong();
+                Thread sender = Thread.ofVirtual().start(() -> {
+                    while (copying.get()) {
+                        long start = System.nanoTime();
+                        tickets.save(new Ticket("During backup", "d", Priority.HIGH, null, student.getId()));
+                        maxSaveNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+                        saves.incrementAndGet();
+                        LockSupport.parkNanos(1_000_000);
+                    }
+                });
+
+                Path target = tempDir.resolve("snapshot-" + run + ".db");
+                long start = System.nanoTime();
+                String detail = "";
+                switch (run) {
+                    case 0 -> Thread.sleep(1_000);
+                    case 4 -> {
+                        try (PooledConnection conn = pool.acquireRead(); Statement stmt = conn.createStatement()) {
+                            stmt.execute("VACUUM INTO '" + target + "'");
+                        }
+                    }
+                    default -> {
+                        int pagesPerStep = run == 1 ? 64 : run == 2 ? DatabaseBackup.DEFAULT_PAGES_PER_STEP : Integer.MAX_VALUE;
+                        BackupReport report = backup.backup(target, pagesPerStep);
+                        detail = String.format(", %d steps, probed stall %.2f ms", report.steps(), report.maxWriterStallMillis());
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+                copying.set(false);
+                sender.join();
+                if (run > 0) {
+                    Assertions.assertEquals(Migrations.latestVersion(), backup.verify(target));
+                }
+                System.out.printf("  %-34s %7.0f ms, %5d saves, slowest save %6.2f ms%s%n",
+                    labels[run], elapsed / 1_000_000.0, saves.get(), maxSaveNanos.get() / 1_000_000.0, detail);
+            }
+        }
+    }
+
+    private ConnectionPool importDatabase(String name) throws SQLException {
+        ConnectionPool pool = newPool("jdbc:sqlite:" + tempDir.resolve(name), ConnectionPool.DEFAULT_STATEMENT_CACHE_SIZE);
+        new SchemaMigrator(pool).migrate();
+        UserRepository users = new UserRepository(pool);
+        users.save(new User("student", "student@university.edu", "Student", "x", Role.STUDENT));
+        users.save(new User("staff", "staff@university.edu", "Staff", "x", Role.STAFF));
+        return pool;
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Reads every column of every row, as a mapper would
+    private static void scan(PooledConnection conn, String sql) {
+        try {
+            PreparedStatement stmt = conn.prepareCached(sql);
+            try (ResultSet rs = stmt.executeQuery()) {
+                int columns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    for (int c = 1; c <= columns; c++) {
+                        rs.getObject(c);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --- Helpers ---
+
+    static void report(String label, int rows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("  %-40s %8.0f ms %10.0f rows/s%n", label, seconds * 1_000, rows / seconds);
+    }
+
+    static ConnectionPool newPool(String url, int statementCacheSize) throws SQLException {
+        return new ConnectionPool(url, StorageProfile.BALANCED, ConnectionPool.DEFAULT_MAX_READERS,
+            ConnectionPool.DEFAULT_ACQUIRE_TIMEOUT_MILLIS, statementCacheSize);
+    }
+
+    static void measure(String label, Runnable operation) {
+        measure(label, ITERATIONS, operation);
+    }
+
+    static void measure(String label, int iterations, Runnable operation) {
+        for (int i = 0; i < Math.min(WARMUP_ITERATIONS, iterations); i++) {
+            operation.run();
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("  %-40s %8.2f µs/op %10.1f KB/op allocated%n",
+            label, elapsed / 1_000.0 / iterations, allocated / 1024.0 / iterations);
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or 0 if the JVM cannot tell.
+     */
+    static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,149 @@
+package com.junaidsultan.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Map;
+
+public class ConnectionPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("pool-test.db");
+        pool = new ConnectionPool(url, 2, 200);
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE items (id INTEGER PRIMARY KEY, name TEXT)");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Readers see committed writes and cannot write themselves")
+    public void testReadersAreReadOnly() throws SQLException {
+        try (PooledConnection writer = pool.acquireWrite();
+             Statement stmt = writer.createStatement()) {
+            stmt.executeUpdate("INSERT INTO items (name) VALUES ('first')");
+        }
+
+        try (PooledConnection reader = pool.acquireRead();
+             Statement stmt = reader.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+            Assertions.assertTrue(rs.next());
+            Assertions.assertEquals(1, rs.getInt(1));
+            Assertions.assertThrows(SQLException.class,
+                () -> stmt.executeUpdate("INSERT INTO items (name) VALUES ('nope')"));
+        }
+    }
+
+    @Test
+    @DisplayName("Only one writer lease at a time; waiting callers time out")
+    public void testSingleWriter() throws SQLException {
+        try (PooledConnection ignored = pool.acquireWrite()) {
+            Assertions.assertEquals(1, pool.getStats().writerActive());
+            Assertions.assertThrows(SQLTimeoutException.class, pool::acquireWrite);
+        }
+        Assertions.assertEquals(0, pool.getStats().writerActive());
+        Assertions.assertEquals(1, pool.getStats().timeouts());
+    }
+
+    @Test
+    @DisplayName("Reader leases are bounded and returned connections are reused")
+    public void testReaderBoundAndReuse() throws SQLException {
+        PooledConnection first = pool.acquireRead();
+        PooledConnection second = pool.acquireRead();
+        Assertions.assertEquals(2, pool.getStats().readersActive());
+        Assertions.assertThrows(SQLTimeoutException.class, pool::acquireRead);
+
+        first.close();
+        first.close(); // double close must not release twice
+        Assertions.assertEquals(1, pool.getStats().readersActive());
+        Assertions.assertEquals(1, pool.getStats().readersIdle());
+
+        try (PooledConnection third = pool.acquireRead()) {
+            Assertions.assertSame(first.connection(), third.connection());
+        }
+        second.close();
+        Assertions.assertEquals(0, pool.getStats().readersActive());
+    }
+
+    @Test
+    @DisplayName("Uncommitted work is rolled back when a lease is returned")
+    public void testReleaseRollsBackOpenTransaction() throws SQLException {
+        try (PooledConnection writer = pool.acquireWrite();
+             Statement stmt = writer.createStatement()) {
+            writer.connection().setAutoCommit(false);
+            stmt.executeUpdate("INSERT INTO items (name) VALUES ('pending')");
+        }
+
+        try (PooledConnection writer = pool.acquireWrite();
+             Statement stmt = writer.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+            Assertions.assertTrue(writer.connection().getAutoCommit());
+            Assertions.assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Storage profile pragmas are in effect on writer and readers")
+    public void testStorageProfileApplied() throws SQLException {
+        Map<String, String> pragmas = pool.getEffectivePragmas();
+        Assertions.assertEquals("wal", pragmas.get("journal_mode"));
+        Assertions.assertEquals("1", pragmas.get("synchronous")); // NORMAL
+        Assertions.assertEquals("2", pragmas.get("temp_store"));  // MEMORY
+
+        try (PooledConnection reader = pool.acquireRead();
+             Statement stmt = reader.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA cache_size")) {
+            Assertions.assertEquals(-20_000, rs.getInt(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Cached statements are reused across leases and survive a failed execution")
+    public void testStatementCacheReuse() throws SQLException {
+        String insert = "INSERT INTO items (id, name) VALUES (?, ?)";
+        PreparedStatement first;
+        try (PooledConnection writer = pool.acquireWrite()) {
+            first = writer.prepareCached(insert);
+            first.setInt(1, 1);
+            first.setString(2, "one");
+            first.executeUpdate();
+        }
+
+        try (PooledConnection writer = pool.acquireWrite()) {
+            PreparedStatement again = writer.prepareCached(insert);
+            Assertions.assertSame(first, again);
+            again.setInt(1, 1);
+            again.setString(2, "duplicate");
+            Assertions.assertThrows(SQLException.class, again::executeUpdate);
+
+            again.setInt(1, 2);
+            again.setString(2, "two");
+            Assertions.assertEquals(1, again.executeUpdate());
+        }
+
+        StatementCacheStats stats = pool.getStatementCacheStats();
+        Assertions.assertEquals(1, stats.misses());
+        Assertions.assertEquals(1, stats.hits());
+    }
+}
@@ -5,7 +5,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.io.File;
-import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
 
@@ -22,18 +21,19 @@ public class DatabaseTest {
         // ASSERTION: The instance should not be null
         Assertions.assertNotNull(dbInstance, "DBConnection instance should be created.");
 
-        // 2. Get Connection
-        Connection conn = dbInstance.getConnection();
+        // 2. Get Connection Pool
+        ConnectionPool pool = dbInstance.getPool();
 
-        // ASSERTION: Connection object should exist
-        Assertions.assertNotNull(conn, "Connection object should not be null.");
+        // ASSERTION: Connection pool should exist
+        Assertions.assertNotNull(pool, "Connection pool should not be null.");
 
         // 3. Check if file exists on disk
         File dbFile = new File("tms.db");
         Assertions.assertTrue(dbFile.exists(), "tms.db file should exist in project root.");
 
         // 4. Verify Tables
-        try (Statement stmt = conn.createStatement();
+        try (PooledConnection conn = pool.acquireRead();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type='table';")) {
 
             boolean usersFound = false;
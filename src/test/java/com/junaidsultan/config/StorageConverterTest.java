@@ -0,0 +1,316 @@
+package com.junaidsultan.config;
+
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Broadcast;
+import com.junaidsultan.entity.Notification;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDashboard;
+import com.junaidsultan.entity.TicketSummary;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.BroadcastRepository;
+import com.junaidsultan.repository.ExportCriteria;
+import com.junaidsultan.repository.ExportRepository;
+import com.junaidsultan.repository.ExportSource;
+import com.junaidsultan.repository.NotificationRepository;
+import com.junaidsultan.repository.TicketCriteria;
+import com.junaidsultan.repository.TicketRepository;
+import com.junaidsultan.repository.TicketRollupRepository;
+import com.junaidsultan.repository.UserRepository;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.repository.paging.Slice;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A database converted to the compact format is smaller, serves every repository
+ * the same data as before, and converts back to an identical text database.
+ */
+public class StorageConverterTest {
+
+    private static final List<String> TABLES = List.of("users", "tickets", "tickets_archive", "broadcasts",
+        "broadcast_receipts", "notifications", "import_checkpoints", "schema_version");
+
+    @TempDir
+    Path tempDir;
+
+    private Path textFile;
+    private User student;
+    private User staff;
+    private TicketDashboard dashboard;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        textFile = tempDir.resolve("text.db");
+        try (ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + textFile)) {
+            new SchemaMigrator(pool).migrate();
+            UserRepository users = new UserRepository(pool);
+            student = users.save(new User("student", "student@university.edu", "Student", "hash", Role.STUDENT));
+            staff = users.save(new User("staff", "staff@university.edu", "Staff", "hash", Role.STAFF));
+
+            List<Ticket> tickets = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                Ticket ticket = new Ticket("Printer " + i + " jammed", "Paper stuck in tray " + i,
+                    Priority.values()[i % 3], i % 2 == 0 ? "IT" : "Facilities", student.getId());
+                ticket.setStatus(Status.values()[i % 4]);
+                ticket.setAssignedTo(i % 5 == 0 ? null : staff.getId());
+                tickets.add(ticket);
+            }
+            // Ids from an import file stay text in the compact format
+            tickets.add(new Ticket("legacy-1", "Imported", "From the old tracker", "LOW", "OPEN", null,
+                student.getId(), null, "2024-03-01 09:30:00"));
+            TicketRepository ticketRepository = new TicketRepository(pool);
+            ticketRepository.saveAll(tickets);
+            execute(pool, "UPDATE tickets SET updated_at = datetime('now', ?) WHERE rowid % 40 = 3", "-400 days");
+            Assertions.assertEquals(25, ticketRepository.archiveClosedBefore(365, 100));
+
+            List<Notification> notifications = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                notifications.add(new Notification(notificationId(i), i % 2 == 0 ? student.getId() : staff.getId(),
+                    "Ticket updated", "Ticket " + i + " changed", i % 3 == 0, staff.getId()));
+            }
+            new NotificationRepository(pool).saveAll(notifications);
+
+            BroadcastRepository broadcasts = new BroadcastRepository(pool);
+            Broadcast outage = broadcasts.save(new Broadcast(Role.STUDENT, "Outage", "Email is down", staff.getId()));
+            broadcasts.save(new Broadcast(null, "Maintenance", "Saturday night", staff.getId()));
+            broadcasts.markAsRead(outage.getId(), student.getId());
+
+            dashboard = new TicketRollupRepository(pool).findDashboard();
+        }
+    }
+
+    @Test
+    @DisplayName("The compact copy is smaller and holds the same rows")
+    public void testConvertToCompact() throws Exception {
+        ConversionReport report = convert(textFile, "compact.db", StorageFormat.COMPACT);
+
+        Assertions.assertTrue(report.targetBytes() < report.sourceBytes(), report.toString());
+        Assertions.assertFalse(Files.exists(tempDir.resolve("compact.db.part")));
+        try (ConnectionPool compact = new ConnectionPool("jdbc:sqlite:" + report.target())) {
+            Assertions.assertEquals(StorageFormat.COMPACT, compact.getStorageFormat());
+            Assertions.assertEquals(0, new SchemaMigrator(compact).migrate());
+            Assertions.assertEquals(List.of("blob", "integer", "integer", "integer"), query(compact,
+                "SELECT typeof(id), typeof(priority), typeof(status), typeof(created_at) FROM tickets LIMIT 1"));
+            Assertions.assertEquals(List.of("text"), query(compact, "SELECT typeof(id) FROM tickets WHERE id = 'legacy-1'"));
+
+            try (ConnectionPool text = new ConnectionPool("jdbc:sqlite:" + textFile)) {
+                for (String table : TABLES) {
+                    Assertions.assertEquals(count(text, table), count(compact, table), table);
+                }
+                ExportCriteria export = ExportCriteria.of(ExportSource.TICKETS)
+                    .withStatus(Status.CLOSED).withCreatedBetween(LocalDate.of(2024, 1, 1), null);
+                Assertions.assertEquals(exported(text, export), exported(compact, export));
+                ExportCriteria inbox = ExportCriteria.of(ExportSource.NOTIFICATIONS);
+                Assertions.assertEquals(new HashSet<>(exported(text, inbox)), new HashSet<>(exported(compact, inbox)));
+            }
+
+            // Derived tables are rebuilt by the triggers as the rows are copied
+            TicketDashboard rebuilt = new TicketRollupRepository(compact).findDashboard();
+            Assertions.assertEquals(dashboard.getTotal(), rebuilt.getTotal());
+            Assertions.assertEquals(dashboard.getUnassignedActive(), rebuilt.getUnassignedActive());
+            Assertions.assertEquals(dashboard.getByCategory(), rebuilt.getByCategory());
+            NotificationRepository notifications = new NotificationRepository(compact);
+            Assertions.assertEquals(333, notifications.countUnreadByReceiverId(student.getId()));
+            Assertions.assertFalse(new TicketRepository(compact)
+                .search("jammed", TicketCriteria.all(), 0, 10).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Repositories read and write the compact format through the same interfaces")
+    public void testRepositoriesOnCompact() throws Exception {
+        Path file = convert(textFile, "compact.db", StorageFormat.COMPACT).target();
+        try (ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + file)) {
+            UserRepository users = new UserRepository(pool);
+            Assertions.assertEquals("student", users.findById(student.getId()).orElseThrow().getUsername());
+            Assertions.assertEquals(Role.STAFF, users.findByUsername("staff").orElseThrow().getRole());
+            Assertions.assertEquals(Set.of(student.getId(), staff.getId()),
+                users.findByIds(List.of(student.getId(), staff.getId(), "missing")).keySet());
+            Assertions.assertEquals(Map.of("staff", staff.getId(), student.getId(), student.getId()),
+                users.findIdsByIdOrUsername(List.of("staff", student.getId())));
+
+            TicketRepository tickets = new TicketRepository(pool);
+            Ticket created = tickets.save(new Ticket("Projector", "No signal", Priority.HIGH, "AV", student.getId()));
+            Assertions.assertTrue(tickets.assignToStaff(created.getId(), staff.getId()));
+            Assertions.assertTrue(tickets.updateStatus(created.getId(), Status.ON_HOLD));
+            Ticket saved = tickets.findById(created.getId()).orElseThrow();
+            Assertions.assertEquals(Status.ON_HOLD, saved.getStatus());
+            Assertions.assertEquals(staff.getId(), saved.getAssignedTo());
+            Assertions.assertNotNull(saved.getCreatedAt());
+            Assertions.assertEquals("2024-03-01T09:30", tickets.findById("legacy-1").orElseThrow().getCreatedAt().toString());
+            Assertions.assertTrue(tickets.findByStatus(Status.ON_HOLD).stream()
+                .anyMatch(ticket -> ticket.getId().equals(created.getId())));
+
+            // Keyset pages walk every ticket once, in both directions
+            TicketCriteria criteria = TicketCriteria.assignedTo(staff.getId()).withStatus(Status.OPEN);
+            List<String> forward = new ArrayList<>();
+            Slice<TicketSummary> page = tickets.findSummaryPage(criteria, PageRequest.first(37));
+            Slice<TicketSummary> last = page;
+            while (!page.isEmpty()) {
+                page.items().forEach(summary -> forward.add(summary.getId()));
+                last = page;
+                page = page.hasNext() ? tickets.findSummaryPage(criteria, page.nextPage()) : Slice.empty(37);
+            }
+            Assertions.assertEquals(tickets.findByAssignedToAndStatus(staff.getId(), Status.OPEN).size(), forward.size());
+            Assertions.assertEquals(forward.size(), new HashSet<>(forward).size());
+            Slice<TicketSummary> previous = tickets.findSummaryPage(criteria, last.previousPage());
+            Assertions.assertEquals(forward.subList(forward.size() - last.items().size() - 37,
+                forward.size() - last.items().size()), previous.items().stream().map(TicketSummary::getId).toList());
+
+            // The 'CLOSED' literal and datetime('now', ?) are adapted to the format when prepared
+            execute(pool, "UPDATE tickets SET updated_at = datetime('now', ?) WHERE status = 'CLOSED'", "-400 days");
+            int archived = tickets.archiveClosedBefore(365, 1_000);
+            Assertions.assertTrue(archived > 0);
+            Assertions.assertTrue(tickets.findByStatus(Status.CLOSED).isEmpty());
+            String restored = query(pool, "SELECT lower(hex(id)) FROM tickets_archive LIMIT 1").getFirst();
+            String restoredId = restored.substring(0, 8) + "-" + restored.substring(8, 12) + "-"
+                + restored.substring(12, 16) + "-" + restored.substring(16, 20) + "-" + restored.substring(20);
+            Assertions.assertTrue(tickets.restoreFromArchive(restoredId));
+            Assertions.assertTrue(tickets.findById(restoredId).isPresent());
+
+            NotificationRepository notifications = new NotificationRepository(pool);
+            Assertions.assertEquals(333, notifications.findUnreadByReceiverId(student.getId()).size());
+            Assertions.assertEquals(333, notifications.markAllAsRead(student.getId()));
+            Assertions.assertEquals(0, notifications.countUnreadByReceiverId(student.getId()));
+            Assertions.assertEquals(List.of(student.getId(), staff.getId()).stream().sorted().toList(),
+                notifications.findReceiversOverCap(100).stream().sorted().toList());
+            Assertions.assertEquals(400, notifications.deleteOverCap(student.getId(), 100, 1_000));
+            Assertions.assertEquals(100, notifications.findByReceiverId(student.getId()).size());
+            int read = countRead(pool, student.getId()) + countRead(pool, staff.getId());
+            execute(pool, "UPDATE notifications SET created_at = datetime('now', ?)", "-60 days");
+            Assertions.assertEquals(read, notifications.deleteReadOlderThan(30, 1_000));
+            Assertions.assertEquals(0, countRead(pool, student.getId()) + countRead(pool, staff.getId()));
+
+            BroadcastRepository broadcasts = new BroadcastRepository(pool);
+            List<Notification> visible = broadcasts.findVisibleTo(student.getId());
+            Assertions.assertEquals(2, visible.size());
+            Assertions.assertEquals(1, broadcasts.countUnreadVisibleTo(student.getId()));
+            Assertions.assertEquals(1, broadcasts.findVisibleTo(staff.getId()).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Converting back to text gives the original rows")
+    public void testRoundTrip() throws Exception {
+        Path compact = convert(textFile, "compact.db", StorageFormat.COMPACT).target();
+        Path text = convert(compact, "text-again.db", StorageFormat.TEXT).target();
+
+        try (ConnectionPool original = new ConnectionPool("jdbc:sqlite:" + textFile);
+             ConnectionPool copy = new ConnectionPool("jdbc:sqlite:" + text)) {
+            Assertions.assertEquals(StorageFormat.TEXT, copy.getStorageFormat());
+            Assertions.assertEquals(0, new SchemaMigrator(copy).migrate());
+            for (String table : TABLES) {
+                Assertions.assertEquals(rows(original, table), rows(copy, table), table);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A database already in the format, an existing target or a mismatched snapshot is rejected")
+    public void testRejections() throws Exception {
+        Path compact = convert(textFile, "compact.db", StorageFormat.COMPACT).target();
+
+        StorageConverter converter = new StorageConverter();
+        Assertions.assertThrows(SQLException.class,
+            () -> converter.convert(compact, tempDir.resolve("again.db"), StorageFormat.COMPACT));
+        Assertions.assertThrows(IOException.class,
+            () -> converter.convert(textFile, compact, StorageFormat.COMPACT));
+        Assertions.assertThrows(SQLException.class,
+            () -> converter.convert(tempDir.resolve("missing.db"), tempDir.resolve("out.db"), StorageFormat.COMPACT));
+
+        // A text snapshot cannot be restored over a compact database
+        try (ConnectionPool pool = new ConnectionPool("jdbc:sqlite:" + compact)) {
+            SQLException error = Assertions.assertThrows(SQLException.class,
+                () -> new DatabaseBackup(pool).verify(textFile));
+            Assertions.assertTrue(error.getMessage().contains("format"), error.getMessage());
+        }
+    }
+
+    private ConversionReport convert(Path source, String target, StorageFormat format) throws Exception {
+        return new StorageConverter().convert(source, tempDir.resolve(target), format);
+    }
+
+    // A time-ordered id per index, so notifications sort as they were sent
+    private static String notificationId(int i) {
+        return String.format("01900000-0000-7000-8000-%012x", i);
+    }
+
+    private static void execute(ConnectionPool pool, String sql, String modifier) throws SQLException {
+        try (PooledConnection conn = pool.acquireWrite();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, modifier);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static List<String> query(ConnectionPool pool, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (PooledConnection conn = pool.acquireRead();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                    values.add(rs.getString(i));
+                }
+            }
+        }
+        return values;
+    }
+
+    private static int count(ConnectionPool pool, String table) throws SQLException {
+        return Integer.parseInt(query(pool, "SELECT COUNT(*) FROM " + table).getFirst());
+    }
+
+    private static int countRead(ConnectionPool pool, String receiverId) throws SQLException {
+        return (int) new NotificationRepository(pool).findByReceiverId(receiverId).stream()
+            .filter(Notification::isRead).count();
+    }
+
+    private static List<List<Object>> rows(ConnectionPool pool, String table) throws SQLException {
+        List<List<Object>> rows = new ArrayList<>();
+        try (PooledConnection conn = pool.acquireRead();
+             PreparedStatement stmt = conn.prepareStatement("SELECT * FROM " + table + " ORDER BY 1, 2");
+             ResultSet rs = stmt.executeQuery()) {
+            int width = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                List<Object> row = new ArrayList<>(width);
+                for (int i = 1; i <= width; i++) {
+                    row.add(rs.getObject(i));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static List<List<Object>> exported(ConnectionPool pool, ExportCriteria criteria) {
+        try (Stream<Object[]> rows = new ExportRepository(pool).streamRows(criteria, 100)) {
+            return rows.map(row -> Arrays.asList((Object[]) row)).map(row -> {
+                List<Object> text = new ArrayList<>(row.size());
+                row.forEach(value -> text.add(value == null ? null : value.toString()));
+                return text;
+            }).toList();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.junaidsultan.config;
+
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Notification;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.repository.NotificationRepository;
+import com.junaidsultan.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Unit of work over the pool: repository calls made inside a transaction share
+ * its connection and commit or roll back together.
+ */
+public class TransactionManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private TransactionManager transactions;
+    private UserRepository users;
+    private NotificationRepository notifications;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("tx-test.db"));
+        new SchemaMigrator(pool).migrate();
+        transactions = pool.getTransactionManager();
+        users = new UserRepository(pool);
+        notifications = new NotificationRepository(pool);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Writes inside a transaction commit together and are visible to reads inside it")
+    public void testCommit() throws SQLException {
+        User user = newUser("alice");
+        int unread = transactions.inTransaction(tx -> {
+            users.save(user);
+            notifications.save(new Notification(user.getId(), "One", "Message", null));
+            notifications.save(new Notification(user.getId(), "Two", "Message", null));
+            return notifications.countUnreadByReceiverId(user.getId());
+        });
+
+        Assertions.assertEquals(2, unread);
+        Assertions.assertEquals(2, notifications.countUnreadByReceiverId(user.getId()));
+        Assertions.assertEquals(1, transactions.getStats().commits());
+        Assertions.assertEquals(0, pool.getStats().writerActive());
+        Assertions.assertFalse(transactions.isActive());
+    }
+
+    @Test
+    @DisplayName("An exception or setRollbackOnly discards every write in the transaction")
+    public void testRollback() throws SQLException {
+        User user = newUser("bob");
+        Assertions.assertThrows(IllegalStateException.class, () -> transactions.runInTransaction(tx -> {
+            users.save(user);
+            throw new IllegalStateException("boom");
+        }));
+        Assertions.assertTrue(users.findById(user.getId()).isEmpty());
+
+        transactions.runInTransaction(tx -> {
+            users.save(user);
+            tx.setRollbackOnly();
+        });
+        Assertions.assertTrue(users.findById(user.getId()).isEmpty());
+        Assertions.assertEquals(2, transactions.getStats().rollbacks());
+    }
+
+    @Test
+    @DisplayName("A nested scope rolls back to its savepoint and leaves the outer work intact")
+    public void testNestedSavepoint() throws SQLException {
+        User user = newUser("carol");
+        transactions.runInTransaction(outer -> {
+            users.save(user);
+            transactions.runInTransaction(inner -> {
+                Assertions.assertTrue(inner.isNested());
+                notifications.save(new Notification(user.getId(), "Dropped", "Message", null));
+                inner.setRollbackOnly();
+            });
+            transactions.runInTransaction(inner ->
+                notifications.save(new Notification(user.getId(), "Kept", "Message", null)));
+        });
+
+        Assertions.assertTrue(users.findById(user.getId()).isPresent());
+        Assertions.assertEquals(1, notifications.countUnreadByReceiverId(user.getId()));
+        Assertions.assertEquals("Kept", notifications.findByReceiverId(user.getId()).getFirst().getTitle());
+        Assertions.assertEquals(2, transactions.getStats().savepoints());
+        Assertions.assertEquals(1, transactions.getStats().commits());
+    }
+
+    @Test
+    @DisplayName("Read-only transactions run on a reader and refuse writes")
+    public void testReadOnly() throws SQLException {
+        User user = newUser("dave");
+        users.save(user);
+
+        boolean found = transactions.inReadOnlyTransaction(tx -> {
+            Assertions.assertEquals(1, pool.getStats().readersActive());
+            Assertions.assertThrows(SQLException.class, pool::acquireWrite);
+            Assertions.assertThrows(IllegalStateException.class, () -> transactions.runInTransaction(inner -> { }));
+            // Repositories report the refused write by return value
+            Assertions.assertNull(notifications.save(new Notification(user.getId(), "Nope", "Message", null)));
+            return users.findById(user.getId()).isPresent();
+        });
+
+        Assertions.assertTrue(found);
+        Assertions.assertEquals(0, pool.getStats().readersActive());
+        Assertions.assertEquals(1, transactions.getStats().readOnly());
+    }
+
+    @Test
+    @DisplayName("saveAll inside a transaction commits with it instead of committing each chunk")
+    public void testBatchJoinsTransaction() throws SQLException {
+        User user = newUser("erin");
+        users.save(user);
+        transactions.runInTransaction(tx -> {
+            notifications.saveAll(List.of(
+                new Notification(user.getId(), "A", "Message", null),
+                new Notification(user.getId(), "B", "Message", null)), 1);
+            tx.setRollbackOnly();
+        });
+
+        Assertions.assertEquals(0, notifications.countUnreadByReceiverId(user.getId()));
+    }
+
+    private static User newUser(String username) {
+        return new User(username, username + "@university.edu", username, "x", Role.STUDENT);
+    }
+}
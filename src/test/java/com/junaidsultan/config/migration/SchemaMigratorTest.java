@@ -0,0 +1,75 @@
+package com.junaidsultan.config.migration;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+public class SchemaMigratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("migrate-test.db"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Fresh database is migrated to the latest version, second run is a no-op")
+    public void testMigrateFreshDatabase() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator(pool);
+
+        Assertions.assertEquals(Migrations.all().size(), migrator.migrate());
+        Assertions.assertEquals(Migrations.latestVersion(), migrator.currentVersion());
+        Assertions.assertEquals(0, migrator.migrate(), "Up-to-date database should take the fast path.");
+    }
+
+    @Test
+    @DisplayName("A failing migration is rolled back and leaves the previous version")
+    public void testFailedMigrationRollsBack() throws SQLException {
+        List<Migration> migrations = List.of(
+            new Migration(1, "Create table", "CREATE TABLE items (id INTEGER PRIMARY KEY)"),
+            new Migration(2, "Broken step",
+                "INSERT INTO items (id) VALUES (1)",
+                "INSERT INTO no_such_table VALUES (1)")
+        );
+        SchemaMigrator migrator = new SchemaMigrator(pool, migrations);
+
+        Assertions.assertThrows(SQLException.class, migrator::migrate);
+        Assertions.assertEquals(1, migrator.currentVersion());
+
+        try (PooledConnection conn = pool.acquireRead();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+            Assertions.assertEquals(0, rs.getInt(1), "Partial work of V2 must be rolled back.");
+        }
+    }
+
+    @Test
+    @DisplayName("Out-of-order migration lists are rejected")
+    public void testRejectsUnorderedMigrations() {
+        List<Migration> migrations = List.of(
+            new Migration(2, "Second", "SELECT 1"),
+            new Migration(1, "First", "SELECT 1")
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SchemaMigrator(pool, migrations));
+    }
+}
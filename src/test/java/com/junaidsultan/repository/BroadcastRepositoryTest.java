@@ -0,0 +1,126 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Broadcast;
+import com.junaidsultan.entity.Notification;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Broadcast audience rules and per-user receipts.
+ */
+public class BroadcastRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private BroadcastRepository repository;
+    private UserRepository userRepository;
+    private User student;
+    private User staff;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("broadcast-test.db"));
+        new SchemaMigrator(pool).migrate();
+        repository = new BroadcastRepository(pool);
+        userRepository = new UserRepository(pool);
+
+        student = userRepository.save(new User("student", "student@university.edu", "Student", "x", Role.STUDENT));
+        staff = userRepository.save(new User("staff", "staff@university.edu", "Staff", "x", Role.STAFF));
+        backdate(student, staff);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("A role broadcast is stored once and reaches only that role")
+    public void testAudience() throws Exception {
+        repository.save(new Broadcast(Role.STUDENT, "Exams", "Exam week starts Monday", null));
+        repository.save(new Broadcast(null, "Maintenance", "Portal down tonight", null));
+
+        Assertions.assertEquals(2, countRows("broadcasts"));
+        Assertions.assertEquals(0, countRows("broadcast_receipts"));
+        Assertions.assertEquals(2, repository.findVisibleTo(student.getId()).size());
+        Assertions.assertEquals(List.of("Maintenance"),
+            repository.findVisibleTo(staff.getId()).stream().map(Notification::getTitle).toList());
+        Assertions.assertEquals(2, repository.countUnreadVisibleTo(student.getId()));
+        Assertions.assertEquals(1, repository.countUnreadVisibleTo(staff.getId()));
+    }
+
+    @Test
+    @DisplayName("Users registered after a broadcast do not receive it")
+    public void testLaterUsersDoNotSeeEarlierBroadcasts() throws Exception {
+        repository.save(new Broadcast(null, "Welcome week", "Events all week", null));
+        User newcomer = userRepository.save(new User("late", "late@university.edu", "Late", "x", Role.STUDENT));
+        try (PooledConnection conn = pool.acquireWrite();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE users SET created_at = datetime('now', '+1 minute') WHERE id = ?")) {
+            stmt.setString(1, newcomer.getId());
+            stmt.executeUpdate();
+        }
+
+        Assertions.assertTrue(repository.findVisibleTo(newcomer.getId()).isEmpty());
+        Assertions.assertEquals(1, repository.findVisibleTo(student.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Reading and dismissing only affect the acting user")
+    public void testReceipts() {
+        Broadcast first = repository.save(new Broadcast(null, "First", "One", null));
+        repository.save(new Broadcast(null, "Second", "Two", null));
+
+        Assertions.assertTrue(repository.markAsRead(first.getId(), student.getId()));
+        Assertions.assertFalse(repository.markAsRead(first.getId(), student.getId()), "Already read");
+        Assertions.assertEquals(1, repository.countUnreadVisibleTo(student.getId()));
+        Assertions.assertEquals(2, repository.countUnreadVisibleTo(staff.getId()));
+
+        Assertions.assertEquals(1, repository.markAllAsRead(student.getId()));
+        Assertions.assertEquals(0, repository.countUnreadVisibleTo(student.getId()));
+        Assertions.assertTrue(repository.findVisibleTo(student.getId()).stream().allMatch(Notification::isRead));
+
+        Assertions.assertTrue(repository.dismiss(first.getId(), staff.getId()));
+        Assertions.assertEquals(1, repository.findVisibleTo(staff.getId()).size());
+        Assertions.assertEquals(1, repository.countUnreadVisibleTo(staff.getId()));
+        Assertions.assertEquals(1, repository.dismissAll(staff.getId()));
+        Assertions.assertTrue(repository.findVisibleTo(staff.getId()).isEmpty());
+        Assertions.assertEquals(2, repository.findVisibleTo(student.getId()).size());
+    }
+
+    private void backdate(User... users) throws Exception {
+        // Broadcasts sent in the same second as registration are visible; keep the tests clear of that edge
+        try (PooledConnection conn = pool.acquireWrite();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE users SET created_at = datetime('now', '-1 day') WHERE id = ?")) {
+            for (User user : users) {
+                stmt.setString(1, user.getId());
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    private int countRows(String table) throws Exception {
+        try (PooledConnection conn = pool.acquireRead();
+             PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM " + table);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chunked batch inserts: chunk boundaries, per-chunk results and isolation of a failed chunk.
+ */
+public class NotificationBatchTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private NotificationRepository repository;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("batch-test.db"));
+        new SchemaMigrator(pool).migrate();
+        repository = new NotificationRepository(pool);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Rows are written in chunks of the requested size")
+    public void testChunks() {
+        List<BatchResult> results = repository.saveAll(notifications("receiver", 25), 10);
+
+        Assertions.assertEquals(List.of(10, 10, 5), results.stream().map(BatchResult::attempted).toList());
+        Assertions.assertTrue(results.stream().allMatch(BatchResult::succeeded));
+        Assertions.assertEquals(25, BatchResult.totalWritten(results));
+        Assertions.assertEquals(25, repository.countUnreadByReceiverId("receiver"));
+    }
+
+    @Test
+    @DisplayName("A failing chunk is rolled back without undoing the other chunks")
+    public void testFailedChunkIsIsolated() {
+        List<Notification> rows = notifications("receiver", 30);
+        // Duplicate primary key inside the second chunk
+        rows.set(15, rows.get(12));
+
+        List<BatchResult> results = repository.saveAll(rows, 10);
+
+        Assertions.assertTrue(results.get(0).succeeded());
+        Assertions.assertFalse(results.get(1).succeeded());
+        Assertions.assertEquals(0, results.get(1).written());
+        Assertions.assertTrue(results.get(2).succeeded());
+        Assertions.assertEquals(20, repository.countUnreadByReceiverId("receiver"));
+
+        // The pooled writer is back in autocommit mode for the next caller
+        Assertions.assertNotNull(repository.save(new Notification("receiver", "After", "Message", null)));
+        Assertions.assertEquals(21, repository.countUnreadByReceiverId("receiver"));
+    }
+
+    static List<Notification> notifications(String receiverId, int count) {
+        List<Notification> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Notification(receiverId, "Title " + i, "Message " + i, null));
+        }
+        return rows;
+    }
+}
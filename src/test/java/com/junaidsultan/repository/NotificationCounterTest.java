@@ -0,0 +1,99 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The trigger-maintained unread counters agree with a COUNT(*) over the
+ * notifications table after every kind of write.
+ */
+public class NotificationCounterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private NotificationRepository repository;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("counter-test.db"));
+        new SchemaMigrator(pool).migrate();
+        repository = new NotificationRepository(pool);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Inserts, reads, updates and deletes keep the counter exact")
+    public void testCounterFollowsWrites() throws SQLException {
+        Notification first = repository.save(new Notification("alice", "One", "Message", null));
+        Notification second = repository.save(new Notification("alice", "Two", "Message", null));
+        repository.saveAll(NotificationBatchTest.notifications("alice", 5), 2);
+        repository.save(new Notification("bob", "Other", "Message", null));
+        assertCounter("alice", 7);
+        assertCounter("bob", 1);
+
+        repository.markAsRead(first.getId());
+        repository.markAsRead(first.getId()); // already read: no change
+        assertCounter("alice", 6);
+
+        repository.update(new Notification(second.getId(), "alice", "Two", "Message", true, null));
+        assertCounter("alice", 5);
+
+        repository.deleteById(first.getId()); // read row: no change
+        repository.deleteById(repository.findUnreadByReceiverId("alice").getFirst().getId());
+        assertCounter("alice", 4);
+
+        Assertions.assertEquals(4, repository.markAllAsRead("alice"));
+        assertCounter("alice", 0);
+
+        repository.deleteAllByReceiverId("bob");
+        assertCounter("bob", 0);
+        Assertions.assertEquals(0, repository.countUnreadByReceiverId("nobody"));
+    }
+
+    @Test
+    @DisplayName("Rebuilding recomputes counters that drifted")
+    public void testRebuild() throws SQLException {
+        repository.saveAll(NotificationBatchTest.notifications("alice", 3));
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE notification_counters SET unread = 42");
+        }
+        Assertions.assertEquals(42, repository.countUnreadByReceiverId("alice"));
+
+        Assertions.assertEquals(1, repository.rebuildUnreadCounters());
+        assertCounter("alice", 3);
+    }
+
+    private void assertCounter(String receiverId, int expected) throws SQLException {
+        Assertions.assertEquals(expected, repository.countUnreadByReceiverId(receiverId));
+        try (PooledConnection conn = pool.acquireRead();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT COUNT(*) FROM notifications WHERE receiver_id = ? AND is_read = 0")) {
+            stmt.setString(1, receiverId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Assertions.assertTrue(rs.next());
+                Assertions.assertEquals(expected, rs.getInt(1), "Table count for " + receiverId);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.StorageConverter;
+import com.junaidsultan.config.StorageFormat;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Status;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Guards the secondary indexes: every filtered repository query must be answered
+ * from an index, without a full table scan or a temporary sort, in both storage formats.
+ */
+public class QueryPlanTest {
+
+    @TempDir
+    static Path tempDir;
+
+    private static ConnectionPool pool;
+    private static ConnectionPool compactPool;
+
+    private static List<String> indexedQueries(StorageFormat format) {
+        return List.of(
+            TicketRepository.FIND_ALL_SQL,
+            TicketRepository.FIND_BY_CREATED_BY_SQL,
+            TicketRepository.FIND_BY_ASSIGNED_TO_SQL,
+            TicketRepository.FIND_BY_STATUS_SQL,
+            TicketRepository.FIND_BY_CREATED_BY_AND_STATUS_SQL,
+            TicketRepository.FIND_BY_ASSIGNED_TO_AND_STATUS_SQL,
+            TicketRepository.FIND_BY_PRIORITY_SQL,
+            TicketRepository.FIND_UNASSIGNED_SQL,
+            TicketRepository.FIND_DETAILS_SQL,
+            TicketRepository.FIND_ARCHIVABLE_SQL,
+            TicketRepository.findArchivedIdsSql(format),
+            UserRepository.findByIdsSql(format),
+            UserRepository.findIdsByIdOrUsernameSql(format),
+            UserRepository.FIND_CONFLICTS_SQL,
+            NotificationRepository.FIND_BY_RECEIVER_SQL,
+            NotificationRepository.FIND_UNREAD_BY_RECEIVER_SQL,
+            NotificationRepository.COUNT_UNREAD_BY_RECEIVER_SQL,
+            NotificationRepository.byKey(NotificationRepository.DELETE_READ_OLDER_THAN_SQL, format),
+            NotificationRepository.FIND_RECEIVERS_OVER_CAP_SQL,
+            NotificationRepository.byKey(NotificationRepository.DELETE_OVER_CAP_SQL, format),
+            BroadcastRepository.FIND_VISIBLE_SQL,
+            BroadcastRepository.FIND_UNREAD_VISIBLE_SQL,
+            BroadcastRepository.COUNT_UNREAD_VISIBLE_SQL,
+            TicketRollupRepository.DASHBOARD_BY_CREATOR_SQL,
+            TicketRollupRepository.DASHBOARD_BY_ASSIGNEE_SQL
+        );
+    }
+
+    // Every criteria shape ViewTicketsPage builds
+    private static final List<TicketCriteria> PAGE_CRITERIA = List.of(
+        TicketCriteria.all(),
+        TicketCriteria.all().withStatus(Status.OPEN),
+        TicketCriteria.all().withPriority(Priority.HIGH),
+        TicketCriteria.unassigned(),
+        TicketCriteria.createdBy("u"),
+        TicketCriteria.createdBy("u").withStatus(Status.OPEN),
+        TicketCriteria.assignedTo("s"),
+        TicketCriteria.assignedTo("s").withStatus(Status.OPEN),
+        TicketCriteria.all().withArchived(true),
+        TicketCriteria.all().withStatus(Status.CLOSED).withArchived(true),
+        TicketCriteria.createdBy("u").withArchived(true),
+        TicketCriteria.assignedTo("s").withStatus(Status.CLOSED).withArchived(true)
+    );
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("plan-test.db"));
+        new SchemaMigrator(pool).migrate();
+        Path compact = tempDir.resolve("plan-test-compact.db");
+        new StorageConverter().convert(tempDir.resolve("plan-test.db"), compact, StorageFormat.COMPACT);
+        compactPool = new ConnectionPool("jdbc:sqlite:" + compact);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        pool.close();
+        compactPool.close();
+    }
+
+    private static List<ConnectionPool> pools() {
+        return List.of(pool, compactPool);
+    }
+
+    private static String name(ConnectionPool pool, String sql) {
+        return pool.getStorageFormat().name().toLowerCase() + ": " + sql;
+    }
+
+    @TestFactory
+    @DisplayName("Repository queries use an index")
+    public Stream<DynamicTest> testQueriesUseIndexes() {
+        return pools().stream().flatMap(pool -> indexedQueries(pool.getStorageFormat()).stream()
+            .map(sql -> DynamicTest.dynamicTest(name(pool, sql), () -> assertIndexed(pool, sql))));
+    }
+
+    @TestFactory
+    @DisplayName("Keyset page queries use an index and seek to the cursor")
+    public Stream<DynamicTest> testPageQueriesUseIndexes() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (ConnectionPool pool : pools()) {
+            for (String columns : List.of(TicketRepository.TICKET_COLUMNS, TicketRepository.SUMMARY_COLUMNS)) {
+                for (TicketCriteria criteria : PAGE_CRITERIA) {
+                    String first = TicketRepository.pageSql(columns, criteria, false, false);
+                    String next = TicketRepository.pageSql(columns, criteria, true, false);
+                    String previous = TicketRepository.pageSql(columns, criteria, true, true);
+                    tests.add(DynamicTest.dynamicTest(name(pool, first), () -> assertIndexed(pool, first)));
+                    tests.add(DynamicTest.dynamicTest(name(pool, next), () -> assertSeeks(pool, next)));
+                    tests.add(DynamicTest.dynamicTest(name(pool, previous), () -> assertSeeks(pool, previous)));
+                }
+            }
+        }
+        return tests.stream();
+    }
+
+    @TestFactory
+    @DisplayName("Search queries start from the full-text index and join tickets by rowid")
+    public Stream<DynamicTest> testSearchQueryPlans() {
+        return pools().stream().flatMap(pool -> PAGE_CRITERIA.stream().map(criteria -> {
+            String sql = TicketRepository.searchSql(criteria);
+            return DynamicTest.dynamicTest(name(pool, sql), () -> {
+                List<String> plan = explain(pool, sql);
+                Assertions.assertTrue(plan.getFirst().startsWith("SCAN tickets_fts VIRTUAL TABLE"), "Plan " + plan);
+                Assertions.assertTrue(plan.get(1).contains("USING INTEGER PRIMARY KEY (rowid=?)"),
+                    "Tickets are not joined by rowid: " + plan);
+                Assertions.assertTrue(plan.stream().noneMatch(step -> step.contains("TEMP B-TREE")),
+                    "Temporary sort in plan " + plan);
+            });
+        }));
+    }
+
+    @TestFactory
+    @DisplayName("Ticket exports stream in index order without a sort")
+    public Stream<DynamicTest> testExportQueryPlans() {
+        ExportCriteria tickets = ExportCriteria.of(ExportSource.TICKETS);
+        return Stream.of(
+                tickets,
+                tickets.withStatus(Status.CLOSED),
+                tickets.withCreatedBetween(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30)),
+                tickets.withStatus(Status.OPEN).withCreatedBetween(LocalDate.of(2025, 1, 1), null))
+            .map(ExportRepository::exportSql)
+            .flatMap(sql -> pools().stream()
+                .map(pool -> DynamicTest.dynamicTest(name(pool, sql), () -> assertIndexed(pool, sql))));
+    }
+
+    /**
+     * Indexed, and the cursor is part of the index search rather than a filter
+     * applied while walking the index from the start.
+     */
+    static void assertSeeks(ConnectionPool pool, String sql) throws Exception {
+        assertIndexed(pool, sql);
+        List<String> plan = explain(pool, sql);
+        Assertions.assertTrue(plan.stream().anyMatch(step -> step.startsWith("SEARCH ") && step.contains("(created_at,id)")),
+            "Cursor is not used to seek in plan " + plan + " for: " + sql);
+    }
+
+    static void assertIndexed(ConnectionPool pool, String sql) throws Exception {
+        List<String> plan = explain(pool, sql);
+
+        for (String step : plan) {
+            Assertions.assertFalse(step.startsWith("SCAN ") && !step.contains(" INDEX "),
+                "Full table scan in plan " + plan + " for: " + sql);
+            Assertions.assertFalse(step.contains("TEMP B-TREE"),
+                "Temporary sort in plan " + plan + " for: " + sql);
+        }
+    }
+
+    static List<String> explain(ConnectionPool pool, String sql) throws Exception {
+        List<String> plan = new ArrayList<>();
+        try (PooledConnection conn = pool.acquireRead();
+             PreparedStatement stmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,92 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Streaming reads: every row is delivered, and the read lease is returned
+ * whether the stream is exhausted or closed early.
+ */
+public class RowStreamTest {
+
+    private static final int TICKETS = 40;
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private UserRepository userRepository;
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("stream-test.db"));
+        new SchemaMigrator(pool).migrate();
+        userRepository = new UserRepository(pool);
+        ticketRepository = new TicketRepository(pool);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("existsAny reflects an empty and a non-empty table")
+    public void testExistsAny() {
+        Assertions.assertFalse(userRepository.existsAny());
+        seed();
+        Assertions.assertTrue(userRepository.existsAny());
+        Assertions.assertTrue(ticketRepository.existsAny());
+    }
+
+    @Test
+    @DisplayName("An exhausted stream returns its connection even if never closed")
+    public void testExhaustedStreamReleasesLease() {
+        seed();
+        long count = ticketRepository.streamAll(7).count();
+
+        Assertions.assertEquals(TICKETS, count);
+        Assertions.assertEquals(0, pool.getStats().readersActive());
+    }
+
+    @Test
+    @DisplayName("Closing a partly consumed stream returns its connection")
+    public void testClosedStreamReleasesLease() {
+        seed();
+        try (Stream<Ticket> tickets = ticketRepository.streamAll(5)) {
+            Assertions.assertEquals(3, tickets.limit(3).count());
+            Assertions.assertEquals(1, pool.getStats().readersActive());
+        }
+        Assertions.assertEquals(0, pool.getStats().readersActive());
+    }
+
+    @Test
+    @DisplayName("deleteAll empties the table")
+    public void testDeleteAll() {
+        seed();
+        Assertions.assertEquals(TICKETS, ticketRepository.deleteAll());
+        Assertions.assertFalse(ticketRepository.existsAny());
+    }
+
+    private void seed() {
+        User student = new User("streamer", "streamer@university.edu", "Streamer", "x", Role.STUDENT);
+        userRepository.save(student);
+        for (int i = 0; i < TICKETS; i++) {
+            ticketRepository.save(new Ticket("Ticket " + i, "Description", Priority.LOW, "General", student.getId()));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDashboard;
+import com.junaidsultan.entity.TicketDetails;
+import com.junaidsultan.entity.TicketSummary;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.repository.paging.Slice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Long-closed tickets move to the archive in batches, stay readable and countable
+ * there, leave the active lists and search, and can be restored.
+ */
+public class TicketArchiveTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private TicketRepository repository;
+    private TicketRollupRepository rollups;
+    private User student;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("archive-test.db"));
+        new SchemaMigrator(pool).migrate();
+        repository = new TicketRepository(pool);
+        rollups = new TicketRollupRepository(pool);
+
+        student = new User("student", "student@university.edu", "Student", "x", Role.STUDENT);
+        new UserRepository(pool).save(student);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Only tickets closed before the cutoff are moved, one batch at a time")
+    public void testArchiveBatches() throws SQLException {
+        List<Ticket> old = createClosed("Old", 5, 200);
+        createClosed("Recent", 2, 10);
+        Ticket open = repository.save(new Ticket("Open", "Still broken", Priority.HIGH, "IT", student.getId()));
+        execute("UPDATE tickets SET updated_at = datetime('now', '-300 days') WHERE id = '" + open.getId() + "'");
+        TicketDashboard before = rollups.findDashboard();
+
+        Assertions.assertEquals(2, repository.archiveClosedBefore(180, 2));
+        Assertions.assertEquals(2, repository.archiveClosedBefore(180, 2));
+        Assertions.assertEquals(1, repository.archiveClosedBefore(180, 2));
+        Assertions.assertEquals(0, repository.archiveClosedBefore(180, 2));
+
+        Assertions.assertEquals(5, count("tickets_archive"));
+        Assertions.assertEquals(3, count("tickets"));
+        for (Ticket ticket : old) {
+            Assertions.assertTrue(repository.findById(ticket.getId()).isEmpty());
+        }
+
+        // Dashboards keep counting archived tickets, and a rebuild agrees
+        TicketDashboard after = rollups.findDashboard();
+        Assertions.assertEquals(before.getTotal(), after.getTotal());
+        Assertions.assertEquals(7, after.count(Status.CLOSED));
+        rollups.rebuild();
+        Assertions.assertEquals(7, rollups.findDashboard().count(Status.CLOSED));
+        Assertions.assertEquals(7, rollups.findDashboardForCreator(student.getId()).count(Status.CLOSED));
+    }
+
+    @Test
+    @DisplayName("Archived tickets are found by id, listed only on request, and not searched")
+    public void testReadingArchivedTickets() {
+        List<Ticket> old = createClosed("Old projector", 3, 200);
+        createClosed("New projector", 2, 10);
+        repository.archiveClosedBefore(180, ITicketRepository.DEFAULT_ARCHIVE_BATCH_SIZE);
+
+        TicketDetails details = repository.findDetailsById(old.get(0).getId()).orElseThrow();
+        Assertions.assertTrue(details.isArchived());
+        Assertions.assertEquals("Student", details.getCreatedByName());
+        Assertions.assertEquals(Status.CLOSED, details.getTicket().getStatus());
+
+        TicketCriteria closed = TicketCriteria.createdBy(student.getId()).withStatus(Status.CLOSED);
+        Assertions.assertEquals(2, collect(closed, 10).size());
+        Assertions.assertEquals(5, collect(closed.withArchived(true), 10).size());
+        // Keyset paging walks both tables in one order, without gaps or repeats
+        Assertions.assertEquals(5, new HashSet<>(collect(closed.withArchived(true), 2)).size());
+
+        Assertions.assertEquals(2, repository.search("projector", TicketCriteria.all(), 0, 10).items().size());
+    }
+
+    @Test
+    @DisplayName("A restored ticket is active, editable and searchable again")
+    public void testRestore() {
+        Ticket ticket = createClosed("Heater", 1, 200).get(0);
+        repository.archiveClosedBefore(180, 10);
+
+        Assertions.assertTrue(repository.restoreFromArchive(ticket.getId()));
+        Assertions.assertFalse(repository.restoreFromArchive(ticket.getId()));
+
+        Assertions.assertFalse(repository.findDetailsById(ticket.getId()).orElseThrow().isArchived());
+        Assertions.assertTrue(repository.updateStatus(ticket.getId(), Status.OPEN));
+        Assertions.assertEquals(1, repository.search("heater", TicketCriteria.all(), 0, 10).items().size());
+        Assertions.assertEquals(0, repository.archiveClosedBefore(0, 10)); // reopened, so not archivable
+        Assertions.assertEquals(1, rollups.findDashboard().count(Status.OPEN));
+        Assertions.assertEquals(0, rollups.findDashboard().count(Status.CLOSED));
+    }
+
+    @Test
+    @DisplayName("deleteAll clears the archive too, so the users can be deleted")
+    public void testDeleteAllIncludesArchive() throws SQLException {
+        createClosed("Old", 3, 200);
+        createClosed("Recent", 2, 10);
+        repository.archiveClosedBefore(180, 10);
+
+        Assertions.assertEquals(5, repository.deleteAll());
+        Assertions.assertEquals(0, count("tickets_archive"));
+        Assertions.assertEquals(0, count("ticket_rollups"));
+        Assertions.assertEquals(1, new UserRepository(pool).deleteAll());
+    }
+
+    // Closed tickets last changed the given number of days ago
+    private List<Ticket> createClosed(String title, int count, int daysAgo) {
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Ticket ticket = repository.save(new Ticket(title + " " + i, "Details", Priority.LOW, "IT", student.getId()));
+            repository.updateStatus(ticket.getId(), Status.CLOSED);
+            tickets.add(ticket);
+        }
+        try {
+            execute("UPDATE tickets SET updated_at = datetime('now', '-" + daysAgo + " days') "
+                + "WHERE title LIKE '" + title + " %' AND status = 'CLOSED'");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return tickets;
+    }
+
+    private List<String> collect(TicketCriteria criteria, int size) {
+        List<String> ids = new ArrayList<>();
+        PageRequest page = PageRequest.first(size);
+        while (true) {
+            Slice<TicketSummary> slice = repository.findSummaryPage(criteria, page);
+            slice.items().forEach(summary -> ids.add(summary.getId()));
+            if (!slice.hasNext()) {
+                return ids;
+            }
+            page = slice.nextPage();
+        }
+    }
+
+    private int count(String table) throws SQLException {
+        try (PooledConnection conn = pool.acquireRead();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDetails;
+import com.junaidsultan.entity.TicketSummary;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.paging.PageRequest;
+import com.junaidsultan.repository.paging.Slice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Keyset pagination over tickets. All tickets are inserted within the same second,
+ * so ordering and page boundaries depend on the id tie-breaker.
+ */
+public class TicketPaginationTest {
+
+    private static final int TICKETS = 23;
+    private static final int PAGE_SIZE = 5;
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private TicketRepository repository;
+    private User student;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("paging-test.db"));
+        new SchemaMigrator(pool).migrate();
+        repository = new TicketRepository(pool);
+
+        student = new User("pager", "pager@university.edu", "Pager", "x", Role.STUDENT);
+        new UserRepository(pool).save(student);
+        for (int i = 0; i < TICKETS; i++) {
+            Priority priority = i % 2 == 0 ? Priority.HIGH : Priority.LOW;
+            repository.save(new Ticket("Ticket " + i, "Description " + i, priority, "General", student.getId()));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Walking forward visits every ticket exactly once, then backward returns the same pages")
+    public void testForwardAndBackward() {
+        List<Slice<Ticket>> pages = new ArrayList<>();
+        PageRequest request = PageRequest.first(PAGE_SIZE);
+        while (request != null) {
+            Slice<Ticket> slice = repository.findPage(TicketCriteria.all(), request);
+            pages.add(slice);
+            request = slice.nextPage();
+        }
+
+        Assertions.assertEquals(5, pages.size());
+        Assertions.assertFalse(pages.getFirst().hasPrevious());
+        Assertions.assertFalse(pages.getLast().hasNext());
+        Assertions.assertEquals(3, pages.getLast().items().size());
+
+        List<String> seen = pages.stream().flatMap(s -> s.items().stream()).map(Ticket::getId).toList();
+        Assertions.assertEquals(TICKETS, seen.size());
+        Assertions.assertEquals(TICKETS, new HashSet<>(seen).size(), "A ticket appeared on two pages");
+
+        // Back from the last page: each previous page matches what we saw going forward
+        Slice<Ticket> current = pages.getLast();
+        for (int i = pages.size() - 2; i >= 0; i--) {
+            current = repository.findPage(TicketCriteria.all(), current.previousPage());
+            Assertions.assertEquals(ids(pages.get(i)), ids(current));
+        }
+        Assertions.assertFalse(current.hasPrevious());
+    }
+
+    @Test
+    @DisplayName("Criteria filter the page and its neighbours")
+    public void testCriteria() {
+        TicketCriteria high = TicketCriteria.createdBy(student.getId()).withPriority(Priority.HIGH);
+        Slice<Ticket> first = repository.findPage(high, PageRequest.first(10));
+        Slice<Ticket> second = repository.findPage(high, first.nextPage());
+
+        Assertions.assertEquals(10, first.items().size());
+        Assertions.assertEquals(2, second.items().size());
+        Assertions.assertFalse(second.hasNext());
+        Assertions.assertTrue(second.items().stream().allMatch(t -> t.getPriority() == Priority.HIGH));
+
+        Assertions.assertTrue(repository.findPage(TicketCriteria.all().withStatus(Status.CLOSED),
+            PageRequest.first(PAGE_SIZE)).isEmpty());
+        Assertions.assertEquals(PAGE_SIZE, repository.findPage(TicketCriteria.unassigned(),
+            PageRequest.first(PAGE_SIZE)).items().size());
+    }
+
+    @Test
+    @DisplayName("Summary pages list the same tickets as full pages")
+    public void testSummaryPage() {
+        Slice<Ticket> full = repository.findPage(TicketCriteria.all(), PageRequest.first(PAGE_SIZE));
+        Slice<TicketSummary> summary = repository.findSummaryPage(TicketCriteria.all(), PageRequest.first(PAGE_SIZE));
+
+        Assertions.assertEquals(ids(full), summary.items().stream().map(TicketSummary::getId).toList());
+        Assertions.assertEquals(full.last(), summary.last());
+        Assertions.assertNotNull(summary.items().getFirst().getCreatedAt());
+        Assertions.assertEquals(full.items().getFirst().getTitle(), summary.items().getFirst().getTitle());
+        Assertions.assertEquals("Pager", summary.items().getFirst().getCreatedByName());
+        Assertions.assertNull(summary.items().getFirst().getAssignedToName());
+    }
+
+    @Test
+    @DisplayName("Ticket details carry creator and assignee names")
+    public void testDetails() {
+        User staff = new User("helper", "helper@university.edu", "Helper", "x", Role.STAFF);
+        new UserRepository(pool).save(staff);
+        String ticketId = repository.findPage(TicketCriteria.all(), PageRequest.first(1)).items().getFirst().getId();
+        repository.assignToStaff(ticketId, staff.getId());
+
+        TicketDetails details = repository.findDetailsById(ticketId).orElseThrow();
+        Assertions.assertEquals(ticketId, details.getTicket().getId());
+        Assertions.assertEquals("Pager", details.getCreatedByName());
+        Assertions.assertEquals("Helper", details.getAssignedToName());
+        Assertions.assertEquals("Helper", repository.findSummaryPage(TicketCriteria.assignedTo(staff.getId()),
+            PageRequest.first(1)).items().getFirst().getAssignedToName());
+        Assertions.assertTrue(repository.findDetailsById("missing").isEmpty());
+    }
+
+    private static List<String> ids(Slice<Ticket> slice) {
+        return slice.items().stream().map(Ticket::getId).toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketDashboard;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * The trigger-maintained ticket rollups agree with the tickets table after
+ * every kind of ticket write, for each dashboard scope.
+ */
+public class TicketRollupTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private TicketRepository tickets;
+    private TicketRollupRepository rollups;
+    private User student;
+    private User staff;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("rollup-test.db"));
+        new SchemaMigrator(pool).migrate();
+        tickets = new TicketRepository(pool);
+        rollups = new TicketRollupRepository(pool);
+
+        UserRepository users = new UserRepository(pool);
+        student = new User("student", "student@university.edu", "Student", "x", Role.STUDENT);
+        staff = new User("staff", "staff@university.edu", "Staff", "x", Role.STAFF);
+        users.save(student);
+        users.save(staff);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Saves, status, priority and assignment changes and deletes move the counts")
+    public void testRollupsFollowWrites() {
+        Ticket first = tickets.save(new Ticket("First", "D", Priority.HIGH, "Technical", student.getId()));
+        Ticket second = tickets.save(new Ticket("Second", "D", Priority.LOW, null, student.getId()));
+        Ticket third = tickets.save(new Ticket("Third", "D", Priority.LOW, "Technical", staff.getId()));
+
+        TicketDashboard all = rollups.findDashboard();
+        Assertions.assertEquals(3, all.getTotal());
+        Assertions.assertEquals(3, all.count(Status.OPEN));
+        Assertions.assertEquals(2, all.count(Priority.LOW));
+        Assertions.assertEquals(3, all.getUnassignedActive());
+        Assertions.assertEquals(2, all.getByCategory().get("Technical"));
+        Assertions.assertEquals(1, all.getByCategory().get(""));
+
+        tickets.assignToStaff(first.getId(), staff.getId());
+        tickets.updateStatus(first.getId(), Status.RESOLVED);
+        tickets.updatePriority(second.getId(), Priority.HIGH);
+        tickets.updateStatus(second.getId(), Status.ON_HOLD);
+        tickets.deleteById(third.getId());
+
+        all = rollups.findDashboard();
+        Assertions.assertEquals(2, all.getTotal());
+        Assertions.assertEquals(0, all.count(Status.OPEN));
+        Assertions.assertEquals(1, all.count(Status.RESOLVED));
+        Assertions.assertEquals(1, all.count(Status.ON_HOLD));
+        Assertions.assertEquals(2, all.count(Priority.HIGH));
+        Assertions.assertEquals(1, all.getUnassignedActive());
+
+        TicketDashboard mine = rollups.findDashboardForCreator(student.getId());
+        Assertions.assertEquals(2, mine.getTotal());
+        TicketDashboard assigned = rollups.findDashboardForAssignee(staff.getId());
+        Assertions.assertEquals(1, assigned.getTotal());
+        Assertions.assertEquals(1, assigned.count(Status.RESOLVED));
+        Assertions.assertEquals(0, rollups.findDashboardForCreator(staff.getId()).getTotal());
+        assertMatchesTickets();
+    }
+
+    @Test
+    @DisplayName("Rebuilding recomputes rollups that drifted")
+    public void testRebuild() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            tickets.save(new Ticket("Ticket " + i, "D", Priority.MEDIUM, "General", student.getId()));
+        }
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE ticket_rollups SET ticket_count = 99");
+        }
+        Assertions.assertEquals(99, rollups.findDashboard().getTotal());
+
+        Assertions.assertEquals(1, rollups.rebuild());
+        assertMatchesTickets();
+    }
+
+    private void assertMatchesTickets() {
+        List<Ticket> all = tickets.findAll();
+        TicketDashboard dashboard = rollups.findDashboard();
+        Assertions.assertEquals(all.size(), dashboard.getTotal());
+        for (Status status : Status.values()) {
+            Assertions.assertEquals(all.stream().filter(t -> t.getStatus() == status).count(),
+                dashboard.count(status), "Count for " + status);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.junaidsultan.repository;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.TicketSearchHit;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.paging.SearchPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Full-text search over tickets: the index follows inserts, updates and deletes,
+ * results are ranked and highlighted, and typed text cannot break the query.
+ */
+public class TicketSearchTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private TicketRepository repository;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("search-test.db"));
+        new SchemaMigrator(pool).migrate();
+        repository = new TicketRepository(pool);
+
+        UserRepository users = new UserRepository(pool);
+        alice = new User("alice", "alice@university.edu", "Alice", "x", Role.STUDENT);
+        bob = new User("bob", "bob@university.edu", "Bob", "x", Role.STUDENT);
+        users.save(alice);
+        users.save(bob);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Title matches rank above description matches; snippets highlight the words")
+    public void testRankingAndSnippets() {
+        repository.save(new Ticket("Projector flickers", "The lecture hall printer is also slow", Priority.LOW,
+            "Facilities", alice.getId()));
+        repository.save(new Ticket("Printer jammed", "Paper stuck in tray two", Priority.HIGH, "IT", alice.getId()));
+
+        List<TicketSearchHit> hits = search("printer", TicketCriteria.all());
+        Assertions.assertEquals(2, hits.size());
+        Assertions.assertEquals("Printer jammed", hits.get(0).getSummary().getTitle());
+        Assertions.assertTrue(hits.get(0).getScore() <= hits.get(1).getScore());
+        Assertions.assertEquals("Alice", hits.get(0).getSummary().getCreatedByName());
+        Assertions.assertTrue(hits.get(1).getSnippet().contains("[printer]"), hits.get(1).getSnippet());
+
+        Assertions.assertEquals(1, search("facilities", TicketCriteria.all()).size()); // category
+        Assertions.assertEquals(1, search("pap", TicketCriteria.all()).size()); // prefix on the last word
+        Assertions.assertEquals(1, search("printer tray", TicketCriteria.all()).size()); // every word must match
+    }
+
+    @Test
+    @DisplayName("The index follows ticket updates and deletes")
+    public void testIndexFollowsWrites() {
+        Ticket ticket = repository.save(new Ticket("Wifi down", "No signal in the library", Priority.HIGH,
+            "Network", alice.getId()));
+        Assertions.assertEquals(1, search("wifi", TicketCriteria.all()).size());
+
+        repository.update(new Ticket(ticket.getId(), "Ethernet down", "No signal in the library", "HIGH", "OPEN",
+            "Network", alice.getId(), null, null));
+        Assertions.assertTrue(search("wifi", TicketCriteria.all()).isEmpty());
+        Assertions.assertEquals(1, search("ethernet", TicketCriteria.all()).size());
+
+        repository.updateStatus(ticket.getId(), Status.RESOLVED);
+        Assertions.assertEquals(1, search("library", TicketCriteria.all().withStatus(Status.RESOLVED)).size());
+
+        repository.deleteById(ticket.getId());
+        Assertions.assertTrue(search("ethernet", TicketCriteria.all()).isEmpty());
+        Assertions.assertEquals(0, repository.rebuildSearchIndex());
+    }
+
+    @Test
+    @DisplayName("Filters scope the results and pages are counted by number")
+    public void testFiltersAndPaging() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(new Ticket("Login error " + i, "Cannot sign in", Priority.MEDIUM, "IT", alice.getId()));
+        }
+        repository.save(new Ticket("Login error", "Cannot sign in", Priority.MEDIUM, "IT", bob.getId()));
+
+        Assertions.assertEquals(1, search("login", TicketCriteria.createdBy(bob.getId())).size());
+
+        SearchPage<TicketSearchHit> first = repository.search("login", TicketCriteria.createdBy(alice.getId()), 0, 3);
+        SearchPage<TicketSearchHit> second = repository.search("login", TicketCriteria.createdBy(alice.getId()), 1, 3);
+        Assertions.assertEquals(3, first.items().size());
+        Assertions.assertTrue(first.hasNext());
+        Assertions.assertEquals(2, second.items().size());
+        Assertions.assertFalse(second.hasNext());
+        Assertions.assertTrue(second.hasPrevious());
+    }
+
+    @Test
+    @DisplayName("Punctuation and FTS5 operators in typed text are taken literally")
+    public void testQuerySanitizing() {
+        repository.save(new Ticket("C++ compiler crash", "gcc fails: NEAR end of file", Priority.LOW, "IT", alice.getId()));
+
+        Assertions.assertEquals("\"c\" \"compiler\"*", TicketRepository.matchExpression("c++ compiler"));
+        Assertions.assertEquals("\"crash\" \"gc\"", TicketRepository.matchExpression("crash gc"));
+        Assertions.assertNull(TicketRepository.matchExpression(" \"*()- "));
+        Assertions.assertEquals(1, search("c++ (compiler", TicketCriteria.all()).size());
+        Assertions.assertEquals(1, search("NEAR \"end", TicketCriteria.all()).size());
+        Assertions.assertTrue(search("gcc AND OR", TicketCriteria.all()).isEmpty()); // searched as words, not operators
+        Assertions.assertTrue(search("*", TicketCriteria.all()).isEmpty());
+    }
+
+    private List<TicketSearchHit> search(String query, TicketCriteria criteria) {
+        return repository.search(query, criteria, 0, 10).items();
+    }
+}
@@ -0,0 +1,150 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.BackupReport;
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.DatabaseBackup;
+import com.junaidsultan.config.migration.Migrations;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.repository.TicketRepository;
+import com.junaidsultan.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Snapshots are consistent copies taken while writers keep committing, rotation
+ * keeps the newest ones, and a restore brings a snapshot back after saving the
+ * current data.
+ */
+public class BackupServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private TicketRepository tickets;
+    private BackupService backups;
+    private User student;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("live.db"));
+        SchemaMigrator migrator = new SchemaMigrator(pool);
+        migrator.migrate();
+        tickets = new TicketRepository(pool);
+        // A few pages per step, so even a small database is copied in many steps
+        backups = new BackupService(new DatabaseBackup(pool), migrator,
+            new BackupPolicy(tempDir.resolve("backups"), 3, 0, 8));
+
+        student = new User("student", "student@university.edu", "Student", "hash", Role.STUDENT);
+        new UserRepository(pool).save(student);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("A backup taken while a writer commits is one consistent snapshot")
+    public void testBackupDuringWrites() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            tickets.save(new Ticket("Ticket " + i, "x".repeat(500), Priority.LOW, "IT", student.getId()));
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger written = new AtomicInteger();
+        Thread writer = Thread.ofVirtual().start(() -> {
+            while (writing.get()) {
+                tickets.save(new Ticket("During backup", "d", Priority.HIGH, null, student.getId()));
+                written.incrementAndGet();
+            }
+        });
+
+        BackupReport report;
+        try {
+            report = backups.backup().orElseThrow();
+        } finally {
+            writing.set(false);
+            writer.join();
+        }
+
+        Assertions.assertTrue(report.steps() > 1, report.toString());
+        Assertions.assertTrue(report.writerProbes() > 0, report.toString());
+        Assertions.assertEquals(report.bytes(), Files.size(report.file()));
+        Assertions.assertFalse(Files.exists(report.file().resolveSibling(report.file().getFileName() + ".part")));
+
+        // The snapshot is an intact database of its own, holding some prefix of the writes
+        Assertions.assertEquals(Migrations.latestVersion(), new DatabaseBackup(pool).verify(report.file()));
+        try (ConnectionPool copy = new ConnectionPool("jdbc:sqlite:" + report.file())) {
+            int copied = new TicketRepository(copy).findAll().size();
+            Assertions.assertTrue(copied >= 500 && copied <= 500 + written.get(), copied + " tickets");
+        }
+    }
+
+    @Test
+    @DisplayName("Only the newest snapshots are kept")
+    public void testRotation() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(backups.backup().isPresent());
+            Thread.sleep(2); // snapshot names are to the millisecond
+        }
+        List<Path> snapshots = backups.listSnapshots();
+        Assertions.assertEquals(3, snapshots.size());
+        Assertions.assertEquals(backups.getLastBackup().orElseThrow().file(), snapshots.get(0));
+    }
+
+    @Test
+    @DisplayName("A restore brings the snapshot back and keeps the replaced data as a snapshot")
+    public void testRestore() throws Exception {
+        tickets.save(new Ticket("Before", "d", Priority.LOW, null, student.getId()));
+        Path snapshot = backups.backup().orElseThrow().file();
+        Thread.sleep(2);
+        tickets.save(new Ticket("After", "d", Priority.LOW, null, student.getId()));
+
+        BackupReport report = backups.restore(snapshot).orElseThrow();
+        Assertions.assertEquals(snapshot, report.file());
+        Assertions.assertEquals(List.of("Before"), tickets.findAll().stream().map(Ticket::getTitle).toList());
+
+        // The data the restore replaced is the newest snapshot now
+        Path saved = backups.listSnapshots().get(0);
+        Assertions.assertNotEquals(snapshot, saved);
+        try (Stream<Path> files = Files.list(tempDir.resolve("backups"))) {
+            Assertions.assertEquals(2, files.count()); // no -wal or -shm left beside the snapshots
+        }
+        try (ConnectionPool copy = new ConnectionPool("jdbc:sqlite:" + saved)) {
+            Assertions.assertEquals(2, new TicketRepository(copy).findAll().size());
+        }
+    }
+
+    @Test
+    @DisplayName("A file that is not a ticket database is rejected and nothing changes")
+    public void testRestoreRejectsOtherFiles() throws Exception {
+        tickets.save(new Ticket("Kept", "d", Priority.LOW, null, student.getId()));
+        Path text = Files.writeString(tempDir.resolve("notes.db"), "not a database");
+        Path empty = tempDir.resolve("empty.db");
+        new ConnectionPool("jdbc:sqlite:" + empty).close();
+
+        Assertions.assertTrue(backups.restore(text).isEmpty());
+        Assertions.assertTrue(backups.restore(empty).isEmpty());
+        Assertions.assertTrue(backups.restore(tempDir.resolve("missing.db")).isEmpty());
+        Assertions.assertThrows(SQLException.class, () -> new DatabaseBackup(pool).verify(empty));
+
+        Assertions.assertEquals(1, tickets.findAll().size());
+        Assertions.assertEquals(List.of(), backups.listSnapshots());
+    }
+}
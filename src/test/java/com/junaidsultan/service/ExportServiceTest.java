@@ -0,0 +1,168 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.ExportCriteria;
+import com.junaidsultan.repository.ExportRepository;
+import com.junaidsultan.repository.ExportSource;
+import com.junaidsultan.repository.TicketRepository;
+import com.junaidsultan.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Exports write exactly the selected columns and rows, escape values for their
+ * format, and only ever leave complete files behind.
+ */
+public class ExportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private ExportService exportService;
+    private TicketRepository tickets;
+    private User student;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("export-test.db"));
+        new SchemaMigrator(pool).migrate();
+        exportService = new ExportService(new ExportRepository(pool));
+        tickets = new TicketRepository(pool);
+
+        student = new User("student", "student@university.edu", "Student", "secret-hash", Role.STUDENT);
+        new UserRepository(pool).save(student);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("CSV quotes commas, quotes and line breaks; nulls are empty")
+    public void testCsv() throws IOException {
+        tickets.save(new Ticket("Printer, 2nd floor", "Says \"PC LOAD LETTER\"\nthen stops", Priority.HIGH,
+            null, student.getId()));
+
+        ExportCriteria criteria = ExportCriteria.of(ExportSource.TICKETS)
+            .withColumns(List.of("title", "description", "category", "archived"));
+        ExportReport report = export(criteria, ExportFormat.CSV, false, "tickets.csv");
+
+        Assertions.assertEquals(1, report.rows());
+        Assertions.assertEquals("title,description,category,archived\r\n"
+                + "\"Printer, 2nd floor\",\"Says \"\"PC LOAD LETTER\"\"\nthen stops\",,0\r\n",
+            Files.readString(report.file()));
+    }
+
+    @Test
+    @DisplayName("JSON Lines escapes strings and keeps numbers and nulls unquoted")
+    public void testJsonLines() throws IOException {
+        tickets.save(new Ticket("Path C:\\temp", "Tab\there", Priority.LOW, null, student.getId()));
+
+        ExportCriteria criteria = ExportCriteria.of(ExportSource.TICKETS)
+            .withColumns(List.of("title", "description", "assigned_to", "archived"));
+        ExportReport report = export(criteria, ExportFormat.JSONL, false, "tickets.jsonl");
+
+        Assertions.assertEquals(
+            "{\"title\":\"Path C:\\\\temp\",\"description\":\"Tab\\there\",\"assigned_to\":null,\"archived\":0}\n",
+            Files.readString(report.file()));
+    }
+
+    @Test
+    @DisplayName("Status and date filters select rows; gzip output reads back; progress is reported")
+    public void testFiltersAndGzip() throws Exception {
+        pool.getTransactionManager().inTransaction(tx -> {
+            for (int i = 0; i < 25_000; i++) {
+                Ticket ticket = new Ticket("Ticket " + i, "Details", Priority.MEDIUM, "IT", student.getId());
+                if (i % 5 == 0) {
+                    ticket.setStatus(Status.CLOSED);
+                }
+                tickets.save(ticket);
+            }
+            return null;
+        });
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            // A tenth of the tickets were filed in 2024
+            stmt.executeUpdate("UPDATE tickets SET created_at = '2024-03-01 09:00:00' WHERE rowid % 10 = 0");
+        }
+
+        List<Long> progress = new ArrayList<>();
+        ExportCriteria closed = ExportCriteria.of(ExportSource.TICKETS).withStatus(Status.CLOSED)
+            .withColumns(List.of("id", "status"));
+        ExportReport report = exportService.export(closed, ExportFormat.CSV, true,
+            tempDir.resolve("out/closed.csv.gz"), progress::add).orElseThrow();
+
+        Assertions.assertEquals(5_000, report.rows());
+        Assertions.assertEquals(List.of(5_000L), progress);
+        List<String> lines = readGzip(report.file());
+        Assertions.assertEquals(5_001, lines.size());
+        Assertions.assertTrue(lines.stream().skip(1).allMatch(line -> line.endsWith(",CLOSED")));
+
+        ExportCriteria from2024 = ExportCriteria.of(ExportSource.TICKETS)
+            .withCreatedBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1));
+        progress.clear();
+        report = exportService.export(from2024, ExportFormat.JSONL, false, tempDir.resolve("2024.jsonl"),
+            progress::add).orElseThrow();
+        Assertions.assertEquals(2_500, report.rows());
+        Assertions.assertEquals(List.of(2_500L), progress);
+
+        ExportCriteria all = ExportCriteria.of(ExportSource.TICKETS).withColumns(List.of("id"));
+        progress.clear();
+        report = exportService.export(all, ExportFormat.CSV, false, tempDir.resolve("all.csv"), progress::add)
+            .orElseThrow();
+        Assertions.assertEquals(List.of(10_000L, 20_000L, 25_000L), progress);
+        Assertions.assertFalse(Files.exists(tempDir.resolve("all.csv.part")));
+    }
+
+    @Test
+    @DisplayName("Unknown and secret columns are rejected before anything is written")
+    public void testColumnValidation() throws IOException {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> ExportCriteria.of(ExportSource.USERS).withColumns(List.of("id", "password_hash")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> ExportCriteria.of(ExportSource.TICKETS).withColumns(List.of("id; DROP TABLE tickets")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> ExportCriteria.of(ExportSource.USERS).withStatus(Status.OPEN));
+
+        ExportReport report = export(ExportCriteria.of(ExportSource.USERS), ExportFormat.CSV, false, "users.csv");
+        String csv = Files.readString(report.file());
+        Assertions.assertTrue(csv.startsWith("id,username,email,name,role,created_at\r\n"), csv);
+        Assertions.assertFalse(csv.contains("secret-hash"));
+    }
+
+    private ExportReport export(ExportCriteria criteria, ExportFormat format, boolean gzip, String file) {
+        return exportService.export(criteria, format, gzip, tempDir.resolve(file), rows -> { }).orElseThrow();
+    }
+
+    private static List<String> readGzip(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
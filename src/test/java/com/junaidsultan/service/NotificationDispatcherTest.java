@@ -0,0 +1,144 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.DatabaseCompactor;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Notification;
+import com.junaidsultan.repository.BatchResult;
+import com.junaidsultan.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notifications queued on the dispatcher are written in batches by its writer,
+ * senders are held back or refused when the queue is full, and close() stores
+ * whatever is still queued.
+ */
+public class NotificationDispatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private NotificationRepository repository;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("dispatcher-test.db"));
+        new SchemaMigrator(pool).migrate();
+        repository = new NotificationRepository(pool);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Queued notifications are coalesced into batched transactions")
+    public void testDelivery() {
+        NotificationService service = new NotificationService(repository, null, pool.getTransactionManager(),
+            new NotificationDispatcher(repository, 1_000, 100, 1_000),
+            new NotificationRetention(repository, new DatabaseCompactor(pool), RetentionPolicy.defaults()));
+        try {
+            Assertions.assertNotNull(service.sendNotification("alice", "Hello", "Message", null));
+            Assertions.assertEquals(500, service.sendBulkNotification(receivers("bob", 500), "Hi", "Message", null));
+            Assertions.assertTrue(service.flushNotifications(10_000));
+
+            Assertions.assertEquals(1, repository.countUnreadByReceiverId("alice"));
+            Assertions.assertEquals(500, repository.countUnreadByReceiverId("bob"));
+            DeliveryStats stats = service.getDeliveryStats();
+            Assertions.assertEquals(501, stats.delivered());
+            Assertions.assertEquals(0, stats.queueDepth());
+            Assertions.assertTrue(stats.batches() >= 6 && stats.batches() <= 501, stats.toString());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A full queue refuses senders after the offer timeout; close() stores the rest")
+    public void testBackpressure() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationRepository blocked = new NotificationRepository(pool) {
+            @Override
+            public List<BatchResult> saveAll(List<Notification> notifications, int chunkSize) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.saveAll(notifications, chunkSize);
+            }
+        };
+        NotificationDispatcher dispatcher = new NotificationDispatcher(blocked, 2, 10, 50);
+
+        Assertions.assertTrue(dispatcher.enqueue(new Notification("carol", "1", "Message", null)));
+        Assertions.assertTrue(writing.await(5, TimeUnit.SECONDS)); // the writer holds the first one
+        Assertions.assertEquals(2, dispatcher.enqueueAll(List.of(
+            new Notification("carol", "2", "Message", null),
+            new Notification("carol", "3", "Message", null),
+            new Notification("carol", "4", "Message", null))));
+        Assertions.assertFalse(dispatcher.flush(50));
+
+        release.countDown();
+        dispatcher.close();
+        Assertions.assertFalse(dispatcher.enqueue(new Notification("carol", "5", "Message", null)));
+
+        Assertions.assertEquals(3, repository.countUnreadByReceiverId("carol"));
+        DeliveryStats stats = dispatcher.getStats();
+        Assertions.assertEquals(3, stats.delivered());
+        Assertions.assertEquals(2, stats.rejected());
+        Assertions.assertEquals(2, stats.maxQueueDepth());
+    }
+
+    @Test
+    @DisplayName("A failed batch is retried row by row so only the bad row is lost")
+    public void testFailedRowIsolated() {
+        NotificationRepository picky = new NotificationRepository(pool) {
+            @Override
+            public List<BatchResult> saveAll(List<Notification> notifications, int chunkSize) {
+                boolean bad = notifications.stream().anyMatch(n -> n.getTitle().equals("bad"));
+                return bad ? List.of(new BatchResult(0, notifications.size(), 0, "rejected"))
+                    : super.saveAll(notifications, chunkSize);
+            }
+
+            @Override
+            public Notification save(Notification notification) {
+                return notification.getTitle().equals("bad") ? null : super.save(notification);
+            }
+        };
+        NotificationDispatcher dispatcher = new NotificationDispatcher(picky, 100, 100, 1_000);
+        List<Notification> batch = new ArrayList<>();
+        for (String title : List.of("good", "bad", "good")) {
+            batch.add(new Notification("dave", title, "Message", null));
+        }
+        dispatcher.enqueueAll(batch);
+        dispatcher.close();
+
+        Assertions.assertEquals(2, repository.countUnreadByReceiverId("dave"));
+        Assertions.assertEquals(1, dispatcher.getStats().failed());
+        Assertions.assertTrue(dispatcher.flush(0));
+    }
+
+    private static List<String> receivers(String receiverId, int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(receiverId);
+        }
+        return ids;
+    }
+}
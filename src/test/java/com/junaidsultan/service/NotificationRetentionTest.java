@@ -0,0 +1,159 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.DatabaseCompactor;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Notification;
+import com.junaidsultan.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retention purges old read notifications and oversized inboxes in batches,
+ * keeps the unread counters right, and gives the freed pages back to the file system.
+ */
+public class NotificationRetentionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Old read notifications and the oldest rows of full inboxes are purged")
+    public void testPolicies() throws SQLException {
+        NotificationRepository repository = open("policy-test.db", false);
+        insert(repository, "alice", 10, "x");
+        insert(repository, "bob", 12, "x");
+        // alice: 5 read and 100 days old, 3 read and recent, 2 unread and 100 days old
+        execute("UPDATE notifications SET is_read = 1 WHERE receiver_id = 'alice' AND title < 'n08'");
+        execute("UPDATE notifications SET created_at = datetime('now', '-100 days') "
+            + "WHERE receiver_id = 'alice' AND title NOT IN ('n05', 'n06', 'n07')");
+        // bob: 12 unread, one day apart, n00 oldest
+        execute("UPDATE notifications SET created_at = datetime('now', '-' || (12 - CAST(substr(title, 2) AS INTEGER)) || ' days') "
+            + "WHERE receiver_id = 'bob'");
+
+        NotificationRetention retention = new NotificationRetention(repository, new DatabaseCompactor(pool),
+            new RetentionPolicy(90, 10, 2, 16));
+        RetentionReport report = retention.run();
+
+        Assertions.assertEquals(5, report.readPurged(), report.toString());
+        Assertions.assertEquals(2, report.overCapPurged(), report.toString());
+        Assertions.assertTrue(report.batches() >= 5, report.toString()); // 2 rows per batch
+        Assertions.assertEquals(5, repository.findByReceiverId("alice").size());
+        Assertions.assertEquals(2, repository.countUnreadByReceiverId("alice"));
+
+        List<Notification> bob = repository.findByReceiverId("bob");
+        Assertions.assertEquals(10, bob.size());
+        Assertions.assertTrue(bob.stream().noneMatch(n -> n.getTitle().equals("n00") || n.getTitle().equals("n01")));
+        Assertions.assertEquals(10, repository.countUnreadByReceiverId("bob"));
+
+        Assertions.assertEquals(0, retention.run().totalPurged());
+    }
+
+    @Test
+    @DisplayName("The default policy never deletes unread notifications")
+    public void testDefaultsKeepUnread() throws SQLException {
+        NotificationRepository repository = open("defaults-test.db", false);
+        insert(repository, "erin", 1_500, "x");
+        execute("UPDATE notifications SET created_at = datetime('now', '-100 days')");
+        execute("UPDATE notifications SET is_read = 1 WHERE title < 'n10'");
+
+        RetentionReport report = new NotificationRetention(repository, new DatabaseCompactor(pool),
+            RetentionPolicy.defaults()).run();
+
+        Assertions.assertEquals(10, report.readPurged(), report.toString());
+        Assertions.assertEquals(0, report.overCapPurged(), report.toString());
+        Assertions.assertEquals(1_490, repository.countUnreadByReceiverId("erin"));
+    }
+
+    @Test
+    @DisplayName("Purged pages are truncated off the file on new databases")
+    public void testIncrementalVacuum() throws Exception {
+        NotificationRepository repository = open("vacuum-test.db", false);
+        DatabaseCompactor compactor = new DatabaseCompactor(pool);
+        Assertions.assertTrue(compactor.isIncrementalVacuumEnabled());
+
+        insert(repository, "carol", 2_000, "x".repeat(2_000));
+        execute("UPDATE notifications SET is_read = 1, created_at = datetime('now', '-1 year')");
+        long before = Files.size(tempDir.resolve("vacuum-test.db"));
+
+        RetentionReport report = new NotificationRetention(repository, compactor,
+            new RetentionPolicy(30, 0, 500, 64)).run();
+        execute("PRAGMA wal_checkpoint(TRUNCATE)");
+
+        Assertions.assertEquals(2_000, report.readPurged());
+        Assertions.assertTrue(report.incrementalVacuum());
+        Assertions.assertTrue(report.pagesReclaimed() > 500, report.toString());
+        Assertions.assertEquals(0, report.freePages());
+        Assertions.assertTrue(Files.size(tempDir.resolve("vacuum-test.db")) < before / 4);
+    }
+
+    @Test
+    @DisplayName("A database created before auto_vacuum needs the one-time switch")
+    public void testEnableOnOlderDatabase() throws SQLException {
+        NotificationRepository repository = open("legacy-test.db", true);
+        NotificationRetention retention = new NotificationRetention(repository, new DatabaseCompactor(pool),
+            RetentionPolicy.defaults());
+
+        insert(repository, "dave", 200, "x".repeat(2_000));
+        execute("DELETE FROM notifications");
+        RetentionReport report = retention.run();
+        Assertions.assertFalse(report.incrementalVacuum());
+        Assertions.assertEquals(0, report.pagesReclaimed());
+        Assertions.assertTrue(report.freePages() > 0);
+
+        Assertions.assertTrue(retention.enableIncrementalVacuum());
+        Assertions.assertFalse(retention.enableIncrementalVacuum());
+        Assertions.assertTrue(retention.run().incrementalVacuum());
+    }
+
+    // legacy: create the file outside the pool, as databases from before auto_vacuum was set were
+    private NotificationRepository open(String file, boolean legacy) throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve(file);
+        if (legacy) {
+            try (Connection conn = DriverManager.getConnection(url);
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE legacy (id INTEGER PRIMARY KEY)");
+            }
+        }
+        pool = new ConnectionPool(url);
+        new SchemaMigrator(pool).migrate();
+        return new NotificationRepository(pool);
+    }
+
+    private void insert(NotificationRepository repository, String receiverId, int count, String message) {
+        List<Notification> notifications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            notifications.add(new Notification(receiverId, String.format("n%02d", i), message, null));
+        }
+        repository.saveAll(notifications);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+}
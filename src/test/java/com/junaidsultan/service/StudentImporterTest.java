@@ -0,0 +1,105 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roster imports register every new student with a usable password, and report
+ * taken, repeated and invalid rows by row number instead of registering them.
+ */
+public class StudentImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private UserService userService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("roster-test.db"));
+        new SchemaMigrator(pool).migrate();
+        userService = new UserService(new UserRepository(pool), pool.getTransactionManager(), new UserCache());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Taken, repeated and invalid rows are reported; the rest can log in")
+    public void testConflictsAndErrors() throws Exception {
+        userService.registerStudent("taken", "taken@university.edu", "Taken", "secret");
+        Assertions.assertEquals(1, userService.getAllStudents().size()); // cached from here on
+
+        Path roster = Files.writeString(tempDir.resolve("roster.csv"), String.join("\n",
+            "username,email,name,password",
+            "alice,alice@university.edu,Alice,pw-alice",
+            "taken,new@university.edu,Someone,pw",
+            "bob,taken@university.edu,Bob,pw",
+            "alice,alice2@university.edu,Alice Two,pw",
+            "carol,alice@university.edu,Carol,pw",
+            "dave,not-an-email,Dave,pw",
+            "erin,erin@university.edu,Erin,",
+            "\"frank\",frank@university.edu,\"Frank, Jr.\",pw-frank",
+            ""));
+
+        ImportReport report = userService.importStudents(roster, 3, rows -> { });
+
+        Assertions.assertTrue(report.completed(), report.toString());
+        Assertions.assertEquals(8, report.rowsRead());
+        Assertions.assertEquals(2, report.imported());
+        Assertions.assertEquals(6, report.failed());
+        Assertions.assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L), report.errors().stream().map(ImportError::row).toList());
+        Assertions.assertTrue(report.errors().get(0).message().contains("already taken"));
+        Assertions.assertTrue(report.errors().get(1).message().contains("already registered"));
+        Assertions.assertTrue(report.errors().get(2).message().contains("repeats row 1"));
+        Assertions.assertTrue(report.errors().get(3).message().contains("repeats row 1"));
+
+        Assertions.assertEquals(3, userService.getAllStudents().size()); // the import dropped the cached list
+        Assertions.assertTrue(userService.login("alice", "pw-alice").isPresent());
+        User frank = userService.login("frank", "pw-frank").orElseThrow();
+        Assertions.assertEquals("Frank, Jr.", frank.getName());
+        Assertions.assertEquals(Role.STUDENT, frank.getRole());
+    }
+
+    @Test
+    @DisplayName("A large roster imports in batches, and importing it again registers nobody twice")
+    public void testLargeRosterTwice() throws Exception {
+        StringBuilder jsonl = new StringBuilder();
+        for (int i = 0; i < 2_500; i++) {
+            jsonl.append("{\"username\":\"s").append(i).append("\",\"email\":\"s").append(i)
+                .append("@university.edu\",\"name\":\"Student ").append(i).append("\",\"password\":\"pw").append(i)
+                .append("\"}\n");
+        }
+        Path roster = Files.writeString(tempDir.resolve("roster.jsonl"), jsonl);
+
+        List<Long> progress = new ArrayList<>();
+        ImportReport report = userService.importStudents(roster, 1_000, progress::add);
+        Assertions.assertEquals(2_500, report.imported());
+        Assertions.assertEquals(List.of(1_000L, 2_000L, 2_500L), progress);
+        Assertions.assertEquals(2_500, userService.getAllStudents().size());
+        Assertions.assertTrue(userService.login("s1234", "pw1234").isPresent());
+
+        report = userService.importStudents(roster, 1_000, rows -> { });
+        Assertions.assertEquals(0, report.imported());
+        Assertions.assertEquals(2_500, report.failed());
+        Assertions.assertEquals(ImportReport.MAX_ERRORS, report.errors().size());
+        Assertions.assertEquals(2_500, userService.getAllStudents().size());
+    }
+}
@@ -0,0 +1,233 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.PooledConnection;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.enums.Priority;
+import com.junaidsultan.enums.Role;
+import com.junaidsultan.enums.Status;
+import com.junaidsultan.repository.ExportCriteria;
+import com.junaidsultan.repository.ExportRepository;
+import com.junaidsultan.repository.ExportSource;
+import com.junaidsultan.repository.ImportCheckpoint;
+import com.junaidsultan.repository.ImportCheckpointRepository;
+import com.junaidsultan.repository.TicketRepository;
+import com.junaidsultan.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Imports store every valid row, report every rejected one by row number, and
+ * resume after the last committed batch instead of repeating it.
+ */
+public class TicketImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private TicketRepository tickets;
+    private ImportCheckpointRepository checkpoints;
+    private TicketImporter importer;
+    private User student;
+    private User staff;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("import-test.db"));
+        new SchemaMigrator(pool).migrate();
+        tickets = new TicketRepository(pool);
+        checkpoints = new ImportCheckpointRepository(pool);
+        UserRepository users = new UserRepository(pool);
+        importer = new TicketImporter(tickets, users, checkpoints, pool.getTransactionManager());
+
+        student = new User("student", "student@university.edu", "Student", "hash", Role.STUDENT);
+        staff = new User("staff", "staff@university.edu", "Staff", "hash", Role.STAFF);
+        users.save(student);
+        users.save(staff);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("CSV rows keep their values, users may be named by username, and defaults fill blanks")
+    public void testCsv() throws Exception {
+        Path file = write("tickets.csv",
+            "Title,Description,Priority,Status,Category,Created_By,Assigned_To,Created_At,archived\r\n"
+            + "\"Printer, 2nd floor\",\"Says \"\"PC LOAD LETTER\"\"\nthen stops\",high,ON_HOLD,IT,student,staff,"
+            + "2024-03-01 09:30:00,0\r\n"
+            + "\r\n"
+            + "Projector," + ",,,," + student.getId() + ",,2024-03-02T10:00:00Z,0\r\n");
+
+        ImportReport report = importer.run(file, 100, true, rows -> { });
+
+        Assertions.assertTrue(report.completed(), report.toString());
+        Assertions.assertEquals(2, report.rowsRead());
+        Assertions.assertEquals(2, report.imported());
+        Assertions.assertEquals(List.of(), report.errors());
+
+        List<Ticket> stored = sortedByCreation();
+        Ticket printer = stored.get(0);
+        Assertions.assertEquals("Printer, 2nd floor", printer.getTitle());
+        Assertions.assertEquals("Says \"PC LOAD LETTER\"\nthen stops", printer.getDescription());
+        Assertions.assertEquals(Priority.HIGH, printer.getPriority());
+        Assertions.assertEquals(Status.ON_HOLD, printer.getStatus());
+        Assertions.assertEquals(student.getId(), printer.getCreatedBy());
+        Assertions.assertEquals(staff.getId(), printer.getAssignedTo());
+        Assertions.assertEquals(LocalDateTime.of(2024, 3, 1, 9, 30), printer.getCreatedAt());
+
+        Ticket projector = stored.get(1);
+        Assertions.assertEquals("", projector.getDescription());
+        Assertions.assertEquals(Priority.MEDIUM, projector.getPriority());
+        Assertions.assertEquals(Status.OPEN, projector.getStatus());
+        Assertions.assertNull(projector.getCategory());
+        Assertions.assertNull(projector.getAssignedTo());
+        Assertions.assertEquals(LocalDateTime.of(2024, 3, 2, 10, 0), projector.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Rejected JSON Lines rows are reported by row number without stopping the import")
+    public void testRejectedRows() throws Exception {
+        tickets.save(new Ticket("Existing", "d", Priority.LOW, null, student.getId()));
+        String existingId = tickets.findAll().get(0).getId();
+        Path file = write("tickets.jsonl", String.join("\n",
+            "{\"title\": \"Good 1\", \"created_by\": \"student\", \"priority\": \"LOW\"}",
+            "{\"title\": \"Bad priority\", \"created_by\": \"student\", \"priority\": \"URGENT\"}",
+            "{\"title\": \"Unknown user\", \"created_by\": \"nobody\"}",
+            "{\"title\": \"Broken\", ",
+            "{\"id\": \"" + existingId + "\", \"title\": \"Duplicate id\", \"created_by\": \"student\"}",
+            "{\"created_by\": \"student\"}",
+            "{\"title\": \"Good 2\", \"created_by\": \"staff\", \"assigned_to\": null, \"archived\": 0}",
+            ""));
+
+        ImportReport report = importer.run(file, 100, true, rows -> { });
+
+        Assertions.assertTrue(report.completed(), report.toString());
+        Assertions.assertEquals(7, report.rowsRead());
+        Assertions.assertEquals(2, report.imported());
+        Assertions.assertEquals(5, report.failed());
+        Assertions.assertEquals(List.of(2L, 3L, 4L, 5L, 6L),
+            report.errors().stream().map(ImportError::row).toList());
+        Assertions.assertTrue(report.errors().get(0).message().contains("URGENT"));
+        Assertions.assertTrue(report.errors().get(1).message().contains("nobody"));
+        Assertions.assertTrue(report.errors().get(4).message().contains("title"));
+        Assertions.assertEquals(3, tickets.findAll().size());
+    }
+
+    @Test
+    @DisplayName("A row whose id is taken by an archived ticket is rejected, and the archived ticket kept")
+    public void testArchivedIdRejected() throws Exception {
+        Ticket old = tickets.save(new Ticket("Old", "d", Priority.LOW, null, student.getId()));
+        tickets.updateStatus(old.getId(), Status.CLOSED);
+        try (PooledConnection conn = pool.acquireWrite();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("UPDATE tickets SET updated_at = datetime('now', '-1 year')");
+        }
+        Assertions.assertEquals(1, tickets.archiveClosedBefore(180, 10));
+        Path file = write("archived.csv", "id,title,created_by\n"
+            + "new-1,Fresh,student\n"
+            + old.getId() + ",Imported over the archive,student\n");
+
+        ImportReport report = importer.run(file, 100, true, rows -> { });
+
+        Assertions.assertEquals(1, report.imported());
+        Assertions.assertEquals(List.of(2L), report.errors().stream().map(ImportError::row).toList());
+        Assertions.assertTrue(report.errors().get(0).message().contains("archived"), report.toString());
+        Assertions.assertEquals(List.of("new-1"), tickets.findAll().stream().map(Ticket::getId).toList());
+        Assertions.assertEquals("Old", tickets.findDetailsById(old.getId()).orElseThrow().getTicket().getTitle());
+        Assertions.assertTrue(tickets.restoreFromArchive(old.getId()));
+    }
+
+    @Test
+    @DisplayName("A re-run resumes after the last committed batch; --restart starts from the first row")
+    public void testResume() throws Exception {
+        StringBuilder csv = new StringBuilder("title,created_by\n");
+        for (int i = 1; i <= 10; i++) {
+            csv.append("Ticket ").append(i).append(",student\n");
+        }
+        Path file = write("resume.csv", csv.toString());
+        String source = file.toAbsolutePath().normalize().toString();
+
+        // As if an earlier run crashed after committing its first batch of four rows
+        checkpoints.save(ImportCheckpoint.start(source).advance(4, 4, 0));
+        List<Long> progress = new ArrayList<>();
+        ImportReport report = importer.run(file, 4, true, progress::add);
+
+        Assertions.assertEquals(4, report.resumedFrom());
+        Assertions.assertEquals(6, report.imported());
+        Assertions.assertEquals(List.of(8L, 10L), progress);
+        Assertions.assertEquals(List.of("Ticket 10", "Ticket 5", "Ticket 6", "Ticket 7", "Ticket 8", "Ticket 9"),
+            tickets.findAll().stream().map(Ticket::getTitle).sorted().toList());
+        Assertions.assertEquals(new ImportCheckpoint(source, 10, 10, 0), checkpoints.find(source).orElseThrow());
+
+        report = importer.run(file, 4, true, rows -> { });
+        Assertions.assertEquals(0, report.imported());
+        Assertions.assertEquals(6, tickets.findAll().size());
+
+        report = importer.run(file, 4, false, rows -> { });
+        Assertions.assertEquals(10, report.imported());
+        Assertions.assertEquals(16, tickets.findAll().size());
+    }
+
+    @Test
+    @DisplayName("A gzipped export imports back into an empty database unchanged")
+    public void testExportRoundTrip() throws Exception {
+        for (int i = 0; i < 2_500; i++) {
+            Ticket ticket = new Ticket("Ticket " + i, "Line one\nline \"two\"", Priority.values()[i % 3],
+                i % 2 == 0 ? "IT" : null, i % 2 == 0 ? student.getId() : staff.getId());
+            ticket.setAssignedTo(i % 4 == 0 ? staff.getId() : null);
+            tickets.save(ticket);
+        }
+        List<Ticket> original = sortedById();
+        Path file = new ExportService(new ExportRepository(pool)).export(ExportCriteria.of(ExportSource.TICKETS),
+            ExportFormat.JSONL, true, tempDir.resolve("tickets.jsonl.gz"), rows -> { }).orElseThrow().file();
+        tickets.deleteAll();
+
+        ImportReport report = importer.run(file, 1_000, true, rows -> { });
+
+        Assertions.assertTrue(report.completed(), report.toString());
+        Assertions.assertEquals(2_500, report.imported());
+        List<Ticket> imported = sortedById();
+        for (int i = 0; i < original.size(); i++) {
+            Ticket expected = original.get(i);
+            Ticket actual = imported.get(i);
+            Assertions.assertEquals(expected.getId(), actual.getId());
+            Assertions.assertEquals(expected.getTitle(), actual.getTitle());
+            Assertions.assertEquals(expected.getDescription(), actual.getDescription());
+            Assertions.assertEquals(expected.getPriority(), actual.getPriority());
+            Assertions.assertEquals(expected.getCategory(), actual.getCategory());
+            Assertions.assertEquals(expected.getCreatedBy(), actual.getCreatedBy());
+            Assertions.assertEquals(expected.getAssignedTo(), actual.getAssignedTo());
+            Assertions.assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        }
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+
+    private List<Ticket> sortedByCreation() {
+        return tickets.findAll().stream().sorted(Comparator.comparing(Ticket::getCreatedAt)).toList();
+    }
+
+    private List<Ticket> sortedById() {
+        return tickets.findAll().stream().sorted(Comparator.comparing(Ticket::getId)).toList();
+    }
+}
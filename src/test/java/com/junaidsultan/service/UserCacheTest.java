@@ -0,0 +1,125 @@
+package com.junaidsultan.service;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.User;
+import com.junaidsultan.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * User lookups through UserService are served from its cache until a write
+ * through the service invalidates them.
+ */
+public class UserCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private UserCache cache;
+    private UserService userService;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("user-cache-test.db"));
+        new SchemaMigrator(pool).migrate();
+        cache = new UserCache(3);
+        userService = new UserService(new UserRepository(pool), pool.getTransactionManager(), cache);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("Repeated lookups by id, username and role are cache hits")
+    public void testReadThrough() {
+        User staff = userService.registerStaff("staff", "staff@university.edu", "Staff", "secret");
+
+        Assertions.assertEquals(staff.getId(), userService.findById(staff.getId()).orElseThrow().getId());
+        Assertions.assertTrue(userService.findByUsername("staff").isPresent());
+        Assertions.assertEquals(1, userService.getAllStaff().size());
+        Assertions.assertEquals(1, userService.getAllStaff().size());
+        Assertions.assertTrue(userService.findById(staff.getId()).isPresent());
+
+        UserCacheStats stats = userService.getCacheStats();
+        Assertions.assertEquals(2, stats.misses()); // findById and the first getAllStaff
+        Assertions.assertEquals(3, stats.hits());
+        Assertions.assertTrue(userService.findById("missing").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Registering, updating and deleting users invalidate what they change")
+    public void testInvalidation() {
+        User first = userService.registerStaff("first", "first@university.edu", "First", "secret");
+        Assertions.assertEquals(1, userService.getAllStaff().size());
+
+        userService.registerStaff("second", "second@university.edu", "Second", "secret");
+        List<User> staff = userService.getAllStaff();
+        Assertions.assertEquals(2, staff.size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> staff.remove(0));
+
+        userService.findById(first.getId()).orElseThrow();
+        userService.updateUser(new User(first.getId(), "first", "first@university.edu", "Renamed",
+            first.getPasswordHash(), first.getRole().name()));
+        Assertions.assertEquals("Renamed", userService.findByUsername("first").orElseThrow().getName());
+
+        userService.deleteUser(first.getId());
+        Assertions.assertTrue(userService.findById(first.getId()).isEmpty());
+        Assertions.assertEquals(1, userService.getAllStaff().size());
+    }
+
+    @Test
+    @DisplayName("A password reset is seen by the next login")
+    public void testResetPassword() {
+        userService.registerStudent("student", "student@university.edu", "Student", "old-password");
+        Assertions.assertTrue(userService.login("student", "old-password").isPresent());
+
+        Assertions.assertTrue(userService.resetPassword("student@university.edu", "new-password"));
+        Assertions.assertTrue(userService.login("student", "old-password").isEmpty());
+        Assertions.assertTrue(userService.login("student", "new-password").isPresent());
+    }
+
+    @Test
+    @DisplayName("findByIds serves cached users and loads the rest in one query")
+    public void testFindByIds() {
+        User a = userService.registerStudent("a", "a@university.edu", "A", "secret");
+        User b = userService.registerStudent("b", "b@university.edu", "B", "secret");
+        userService.findById(a.getId());
+
+        Map<String, User> found = userService.findByIds(Arrays.asList(a.getId(), b.getId(), b.getId(), null, "missing"));
+        Assertions.assertEquals(Set.of(a.getId(), b.getId()), found.keySet());
+        Assertions.assertEquals("B", found.get(b.getId()).getName());
+        Assertions.assertEquals(1, userService.getCacheStats().hits()); // a; b and "missing" were loaded together
+
+        Assertions.assertEquals(2, userService.findByIds(List.of(a.getId(), b.getId())).size());
+        Assertions.assertEquals(3, userService.getCacheStats().hits());
+        Assertions.assertTrue(userService.findByIds(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("The least recently used user is evicted at capacity")
+    public void testEviction() {
+        for (int i = 0; i < 4; i++) {
+            userService.registerStudent("s" + i, "s" + i + "@university.edu", "Student " + i, "secret");
+        }
+        Assertions.assertEquals(4, userService.getAllStudents().size());
+
+        UserCacheStats stats = userService.getCacheStats();
+        Assertions.assertEquals(3, stats.size());
+        Assertions.assertEquals(1, stats.evictions());
+    }
+}
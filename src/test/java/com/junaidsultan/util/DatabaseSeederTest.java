@@ -0,0 +1,90 @@
+package com.junaidsultan.util;
+
+import com.junaidsultan.config.ConnectionPool;
+import com.junaidsultan.config.migration.SchemaMigrator;
+import com.junaidsultan.entity.Ticket;
+import com.junaidsultan.repository.BroadcastRepository;
+import com.junaidsultan.repository.NotificationRepository;
+import com.junaidsultan.repository.TicketRepository;
+import com.junaidsultan.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+/**
+ * Seeding is all or nothing: a write that fails part way rolls back everything
+ * written before it.
+ */
+public class DatabaseSeederTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool;
+    private UserRepository users;
+    private TicketRepository tickets;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDir.resolve("seed-test.db"));
+        new SchemaMigrator(pool).migrate();
+        users = new UserRepository(pool);
+        tickets = new TicketRepository(pool);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("A seed completes with every user and ticket")
+    public void testSeed() {
+        seeder(tickets).seed();
+
+        Assertions.assertEquals(6, users.findAll().size());
+        Assertions.assertEquals(5, tickets.findAll().size());
+        Assertions.assertEquals(2, tickets.findAll().stream().filter(t -> t.getAssignedTo() != null).count());
+    }
+
+    @Test
+    @DisplayName("A ticket that fails to save leaves the database empty")
+    public void testFailedSeedRollsBack() {
+        seeder(failingOn("Parking Permit Issue")).seed();
+
+        Assertions.assertFalse(users.existsAny());
+        Assertions.assertFalse(tickets.existsAny());
+    }
+
+    @Test
+    @DisplayName("A failed re-seed keeps the data it was about to replace")
+    public void testFailedForceSeedRollsBack() {
+        seeder(tickets).seed();
+        String admin = users.findByUsername("admin").orElseThrow().getId();
+
+        seeder(failingOn("Missing Grade")).forceSeed();
+
+        Assertions.assertEquals(admin, users.findByUsername("admin").orElseThrow().getId());
+        Assertions.assertEquals(5, tickets.findAll().size());
+    }
+
+    private DatabaseSeeder seeder(TicketRepository ticketRepository) {
+        return new DatabaseSeeder(users, ticketRepository, new NotificationRepository(pool),
+            new BroadcastRepository(pool), pool.getTransactionManager());
+    }
+
+    // Reports a failure for one ticket the way the repositories do: by returning null
+    private TicketRepository failingOn(String title) {
+        return new TicketRepository(pool) {
+            @Override
+            public Ticket save(Ticket ticket) {
+                return ticket.getTitle().equals(title) ? null : super.save(ticket);
+            }
+        };
+    }
+}
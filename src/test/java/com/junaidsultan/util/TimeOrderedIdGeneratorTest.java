@@ -0,0 +1,75 @@
+package com.junaidsultan.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered ids are valid version 7 UUIDs that sort in creation order,
+ * even under contention, a stalled clock or a clock that steps back.
+ */
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    @DisplayName("Ids are version 7 UUIDs carrying the creation millisecond")
+    public void testFormat() {
+        long now = 1_760_000_000_000L;
+        UUID uuid = new TimeOrderedIdGenerator(() -> now).nextUuid();
+
+        Assertions.assertEquals(7, uuid.version());
+        Assertions.assertEquals(2, uuid.variant());
+        Assertions.assertEquals(now, uuid.getMostSignificantBits() >>> 16);
+        Assertions.assertEquals(36, new TimeOrderedIdGenerator().nextId().length());
+    }
+
+    @Test
+    @DisplayName("Ids sort as strings in creation order when the clock stalls or goes back")
+    public void testMonotonic() {
+        AtomicLong clock = new AtomicLong(1_760_000_000_000L);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(clock::get);
+
+        String previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) { // more than one millisecond's worth of sequence
+            if (i == 5_000) {
+                clock.addAndGet(-60_000);
+            }
+            String next = generator.nextId();
+            Assertions.assertTrue(next.compareTo(previous) > 0, previous + " then " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent callers never receive the same id")
+    public void testConcurrentUnique() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int tasks = 16;
+        int perTask = 10_000;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < tasks; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perTask; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        Assertions.assertEquals(tasks * perTask, ids.size());
+    }
+}